@@ -1,12 +1,27 @@
 package main;
 
-import main.controller.LojaControllerImpl;
+import main.controller.LojaController;
+import main.controller.LojaControllerRelatorioCompartilhado;
+import main.controller.ModoExecucao;
+import main.factory.LojaControllerFactory;
+import main.http.ServidorHttpLoja;
+import main.lote.ExecucaoLote;
+import main.lote.ExecucaoParalela;
+import main.lote.ResumoLote;
 import main.service.FormatadoraCentralP2Cg;
 import util.io.Console;
-import util.io.Teclado;
+import util.io.EntradaBufferizada;
+import util.io.PontoDescarga;
+import util.io.Saida;
+import util.io.SaidaBufferizada;
 import main.facade.LojaFacade;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Classe que inicia o sistema.
@@ -14,18 +29,191 @@ import java.util.HashMap;
  */
 public class Main {
 
-    public static void main(String[] args) {
-        iniciaLoja();
+    private static final String OPCAO_LOTE = "--lote";
+    private static final String OPCAO_THREADS = "--threads";
+    private static final String OPCAO_MODO = "--modo";
+    private static final String OPCAO_HTTP = "--http";
+    private static final String OPCAO_JANELA_RELATORIO = "--janela-relatorio";
+
+    private static final String USO = "Uso: java main.Main [--lote <arquivo> [--threads <n>] | --http <porta> "
+            + "[--janela-relatorio <ms>]] [--modo <simples|particionado|atores|versionado>]";
+
+    /**
+     * Status de saída quando a linha de comando é inválida.
+     */
+    private static final int STATUS_USO_INVALIDO = 2;
+
+    private static final String DESCRITOR_ENTRADA = "/proc/self/fd/0";
+    private static final String PREFIXO_PIPE = "pipe:";
+
+    /**
+     * Inicia o sistema. Com {@code --lote <arquivo> [--threads <n>]}, executa o script de comandos indicado sem
+     * interação, opcionalmente em paralelo; com {@code --http <porta>}, atende a loja por HTTP; caso contrário,
+     * inicia o menu interativo. Em todos os casos, {@code --modo <simples|particionado|atores|versionado>} escolhe o
+     * {@link ModoExecucao} da loja. O servidor HTTP recebe requisições concorrentes, então usa o modo de atores caso
+     * nenhum seja indicado e não aceita o modo simples. Por padrão, cada requisição recebe o relatório de usuários à
+     * medida que ele é formatado; com {@code --janela-relatorio <ms>}, o relatório é mantido inteiro em memória e
+     * compartilhado entre requisições simultâneas, e também reaproveitado por esse tempo depois de escritas. A porta
+     * do servidor é informada na saída de erros, já que a saída padrão é reservada aos resultados. Opções desconhecidas
+     * ou sem valor, valores inválidos e o modo simples com {@code --http} encerram o sistema com o uso na saída de
+     * erros.
+     *
+     * @param args Argumentos da linha de comando.
+     */
+    public static void main(String[] args) throws IOException {
+        String arquivo = null;
+        int threads = 1;
+        int portaHttp = -1;
+        long janelaRelatorio = 0;
+        boolean compartilhaRelatorio = false;
+        ModoExecucao modo = null;
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) {
+                encerraComUso("Falta o valor da opção " + args[i] + ".");
+            }
+            try {
+                if (OPCAO_LOTE.equals(args[i])) {
+                    arquivo = args[i + 1];
+                } else if (OPCAO_THREADS.equals(args[i])) {
+                    threads = Integer.parseInt(args[i + 1]);
+                } else if (OPCAO_MODO.equals(args[i])) {
+                    modo = ModoExecucao.porNome(args[i + 1]);
+                } else if (OPCAO_HTTP.equals(args[i])) {
+                    portaHttp = Integer.parseInt(args[i + 1]);
+                } else if (OPCAO_JANELA_RELATORIO.equals(args[i])) {
+                    janelaRelatorio = Long.parseLong(args[i + 1]);
+                    compartilhaRelatorio = true;
+                } else {
+                    encerraComUso("Opção desconhecida: " + args[i]);
+                }
+            } catch (IllegalArgumentException e) {
+                encerraComUso("Valor inválido para " + args[i] + ": " + args[i + 1]);
+            }
+        }
+
+        if (arquivo != null) {
+            executaLote(arquivo, threads, modo != null ? modo : ModoExecucao.SIMPLES);
+        } else if (portaHttp >= 0) {
+            iniciaServidorHttp(portaHttp, modo != null ? modo : ModoExecucao.ATORES, compartilhaRelatorio,
+                    janelaRelatorio);
+        } else {
+            iniciaLoja(modo != null ? modo : ModoExecucao.SIMPLES);
+        }
+    }
+
+    /**
+     * Escreve {@code mensagem} e o uso do sistema na saída de erros e encerra a JVM com {@link #STATUS_USO_INVALIDO}.
+     *
+     * @param mensagem Descrição do erro na linha de comando.
+     */
+    private static void encerraComUso(final String mensagem) {
+        System.err.println(mensagem);
+        System.err.println(USO);
+        System.exit(STATUS_USO_INVALIDO);
+    }
+
+    /**
+     * Executa um script de comandos sobre uma loja nova e escreve o resumo da execução.
+     *
+     * @param arquivo Caminho do script.
+     * @param threads Quantidade de threads da execução.
+     * @param modo    {@link ModoExecucao} da loja.
+     * @throws IOException Caso o script não possa ser lido.
+     */
+    private static void executaLote(final String arquivo, final int threads, final ModoExecucao modo)
+            throws IOException {
+        SaidaBufferizada saida = new SaidaBufferizada();
+        saida.registraGanchoEncerramento();
+        LojaController lojaController = new LojaControllerFactory().criaLojaControllerLote(modo,
+                new FormatadoraCentralP2Cg());
+
+        ResumoLote resumo;
+        if (threads > 1) {
+            resumo = new ExecucaoParalela(lojaController, saida, threads).executa(Paths.get(arquivo));
+        } else {
+            resumo = new ExecucaoLote(lojaController, saida).executa(Paths.get(arquivo));
+        }
+        saida.escreve(resumo.toString());
+        saida.descarrega(PontoDescarga.ENCERRAMENTO);
+    }
+
+    /**
+     * Inicia o {@link ServidorHttpLoja} sobre uma loja nova, desativando o algoritmo de Nagle caso a linha de comando
+     * não tenha definido {@link ServidorHttpLoja#PROPRIEDADE_SEM_ATRASO}.
+     *
+     * @param porta                Porta na qual o servidor escutará.
+     * @param modo                 {@link ModoExecucao} da loja.
+     * @param compartilhaRelatorio {@code true} para compartilhar o relatório de usuários entre requisições.
+     * @param janelaRelatorio      Tempo, em milissegundos, durante o qual um relatório compartilhado é reaproveitado
+     *                             depois de escritas.
+     * @throws IOException Caso a porta não possa ser usada.
+     */
+    private static void iniciaServidorHttp(final int porta, final ModoExecucao modo,
+                                           final boolean compartilhaRelatorio, final long janelaRelatorio)
+            throws IOException {
+        if (System.getProperty(ServidorHttpLoja.PROPRIEDADE_SEM_ATRASO) == null) {
+            System.setProperty(ServidorHttpLoja.PROPRIEDADE_SEM_ATRASO, "true");
+        }
+        LojaController lojaController = null;
+        try {
+            lojaController = new LojaControllerFactory().criaLojaController(modo, new FormatadoraCentralP2Cg(), true);
+        } catch (IllegalArgumentException e) {
+            encerraComUso(e.getMessage());
+        }
+        if (compartilhaRelatorio) {
+            lojaController = new LojaControllerRelatorioCompartilhado(lojaController, janelaRelatorio,
+                    TimeUnit.MILLISECONDS);
+        }
+        ServidorHttpLoja servidor = new ServidorHttpLoja(lojaController, new InetSocketAddress(porta));
+        servidor.inicia();
+        System.err.println("Servidor HTTP na porta " + servidor.getPorta());
     }
 
     /**
      * Injeta as depêndencias de {@link LojaFacade} e inicia o sistema.
+     *
+     * @param modo {@link ModoExecucao} da loja.
      */
-    private static void iniciaLoja() {
-        LojaFacade loja = new LojaFacade(new Teclado(), new Console(),
-                new LojaControllerImpl(new HashMap<>(), new FormatadoraCentralP2Cg()));
+    private static void iniciaLoja(final ModoExecucao modo) {
+        LojaFacade loja = new LojaFacade(new EntradaBufferizada(), criaSaida(),
+                new LojaControllerFactory().criaLojaController(modo, new FormatadoraCentralP2Cg(), false));
 
         loja.iniciaSistema();
     }
 
+    /**
+     * Cria a {@link Saida} do menu. Enquanto alguém pode estar digitando, cada mensagem precisa aparecer antes da
+     * leitura seguinte, então é usado o {@link Console}, que descarrega a cada linha. A saída só é bufferizada quando
+     * a entrada padrão certamente não é um terminal, como ao ler um arquivo ou um pipe; a saída padrão redirecionada,
+     * sozinha, não basta, já que o usuário ainda pode estar respondendo ao menu.
+     *
+     * @return {@link Saida} do sistema.
+     */
+    private static Saida criaSaida() {
+        if (!entradaRedirecionada()) {
+            return new Console();
+        }
+        SaidaBufferizada saida = new SaidaBufferizada();
+        saida.registraGanchoEncerramento();
+        return saida;
+    }
+
+    /**
+     * Verifica se a entrada padrão é um arquivo ou um pipe, pelo descritor 0 em {@code /proc}. Onde isso não pode
+     * ser verificado, a entrada é tratada como interativa.
+     *
+     * @return {@code true} caso a entrada padrão certamente não seja um terminal.
+     */
+    private static boolean entradaRedirecionada() {
+        if (System.console() != null) {
+            return false;
+        }
+        try {
+            Path entrada = Files.readSymbolicLink(Paths.get(DESCRITOR_ENTRADA));
+            return entrada.toString().startsWith(PREFIXO_PIPE) || Files.isRegularFile(entrada);
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            return false;
+        }
+    }
+
 }
@@ -0,0 +1,122 @@
+package main.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Anel de hash consistente que distribui chaves entre nós identificados por nome. Cada nó ocupa várias posições
+ * (nós virtuais) no anel, o que equilibra a carga entre nós e faz com que, ao adicionar um nó, só as chaves das
+ * posições que ele assume mudem de dono.
+ * <p>
+ * Instâncias são imutáveis; {@link #comNo(String)} devolve um novo anel.
+ */
+public final class AnelConsistente {
+
+    public static final int NOS_VIRTUAIS_PADRAO = 128;
+
+    private static final long BASE_FNV = 0xcbf29ce484222325L;
+    private static final long PRIMO_FNV = 0x100000001b3L;
+
+    /**
+     * Quantidade de posições de cada nó no anel.
+     */
+    private final int nosVirtuais;
+
+    /**
+     * Nós do anel, na ordem em que foram adicionados.
+     */
+    private final Set<String> nos;
+
+    /**
+     * Posição no anel para o nó que a ocupa.
+     */
+    private final TreeMap<Long, String> posicoes;
+
+    /**
+     * Construtor de um anel vazio, com {@link #NOS_VIRTUAIS_PADRAO} posições por nó.
+     */
+    public AnelConsistente() {
+        this(NOS_VIRTUAIS_PADRAO);
+    }
+
+    /**
+     * Construtor de um anel vazio.
+     *
+     * @param nosVirtuais Quantidade de posições de cada nó no anel.
+     */
+    public AnelConsistente(final int nosVirtuais) {
+        this(nosVirtuais, new LinkedHashSet<>(), new TreeMap<>());
+        if (nosVirtuais < 1) {
+            throw new IllegalArgumentException("A quantidade de nós virtuais deve ser positiva.");
+        }
+    }
+
+    private AnelConsistente(final int nosVirtuais, final Set<String> nos, final TreeMap<Long, String> posicoes) {
+        this.nosVirtuais = nosVirtuais;
+        this.nos = nos;
+        this.posicoes = posicoes;
+    }
+
+    /**
+     * Cria um anel com os nós deste e mais {@code no}.
+     *
+     * @param no Identificador do nó a ser adicionado.
+     * @return O novo anel.
+     */
+    public AnelConsistente comNo(final String no) {
+        if (nos.contains(no)) {
+            throw new IllegalArgumentException("Nó já presente no anel: " + no);
+        }
+        Set<String> novosNos = new LinkedHashSet<>(nos);
+        novosNos.add(no);
+        TreeMap<Long, String> novasPosicoes = new TreeMap<>(posicoes);
+        for (int i = 0; i < nosVirtuais; i++) {
+            novasPosicoes.putIfAbsent(hash(no + "#" + i), no);
+        }
+        return new AnelConsistente(nosVirtuais, novosNos, novasPosicoes);
+    }
+
+    /**
+     * Recupera o nó responsável por {@code chave}: o da primeira posição do anel a partir do hash da chave.
+     *
+     * @param chave Chave a ser localizada; {@code null} é tratada como a chave vazia.
+     * @return Identificador do nó responsável.
+     * @throws IllegalStateException Caso o anel esteja vazio.
+     */
+    public String no(final String chave) {
+        if (posicoes.isEmpty()) {
+            throw new IllegalStateException("Anel sem nós.");
+        }
+        Map.Entry<Long, String> posicao = posicoes.ceilingEntry(hash(chave == null ? "" : chave));
+        return posicao != null ? posicao.getValue() : posicoes.firstEntry().getValue();
+    }
+
+    /**
+     * @return Os nós deste anel, na ordem em que foram adicionados.
+     */
+    public Set<String> getNos() {
+        return Collections.unmodifiableSet(nos);
+    }
+
+    /**
+     * Hash FNV-1a de 64 bits dos bytes UTF-8 de {@code texto}, seguido da mistura final do MurmurHash3 para
+     * espalhar chaves parecidas pelo anel.
+     */
+    static long hash(final String texto) {
+        long hash = BASE_FNV;
+        for (byte b : texto.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= PRIMO_FNV;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
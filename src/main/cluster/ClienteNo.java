@@ -0,0 +1,412 @@
+package main.cluster;
+
+import main.controller.LojaController;
+import main.entidade.usuario.Usuario;
+import main.exception.JogoInvalidoException;
+import main.exception.SaldoInsuficienteException;
+import main.exception.UsuarioInaptoException;
+import main.exception.UsuarioInvalidoException;
+import util.io.CodificacaoBinaria;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link LojaController} que encaminha cada operação a um {@link NoLoja} remoto, por uma única conexão TCP.
+ * <p>
+ * As chamadas são serializadas sobre a conexão: cada uma envia a requisição e espera a resposta antes de liberá-la.
+ * As exceções da loja lançadas pelo nó são relançadas com o mesmo tipo e mensagem; falhas de comunicação são
+ * lançadas como {@link UncheckedIOException}. Como a falha pode deixar uma resposta pela metade na conexão, ela é
+ * fechada e a chamada seguinte abre uma nova.
+ */
+public class ClienteNo implements LojaController, Closeable {
+
+    private final InetSocketAddress endereco;
+
+    private Socket socket;
+    private DataInputStream entrada;
+    private DataOutputStream saida;
+
+    /**
+     * Indica se {@link #close()} foi chamado, após o que a conexão não é reaberta.
+     */
+    private boolean fechado;
+
+    /**
+     * Construtor.
+     *
+     * @param endereco {@link InetSocketAddress} do nó.
+     * @throws IOException Caso não seja possível conectar ao nó.
+     */
+    public ClienteNo(final InetSocketAddress endereco) throws IOException {
+        this.endereco = endereco;
+        conecta();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void adicionaUsuario(final String nome, final String login,
+                                             final String tipo) throws UsuarioInvalidoException {
+        try {
+            conecta();
+            saida.writeByte(ProtocoloLoja.ADICIONA_USUARIO);
+            CodificacaoBinaria.escreveTexto(saida, nome);
+            CodificacaoBinaria.escreveTexto(saida, login);
+            CodificacaoBinaria.escreveTexto(saida, tipo);
+            Exception erro = recebeStatus();
+            relanca(erro, UsuarioInvalidoException.class);
+            falhaInesperada(erro);
+        } catch (IOException e) {
+            throw falha(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean adicionarDinheiroUsuario(final String login, final double quantia) {
+        try {
+            conecta();
+            saida.writeByte(ProtocoloLoja.ADICIONA_DINHEIRO);
+            CodificacaoBinaria.escreveTexto(saida, login);
+            saida.writeDouble(quantia);
+            falhaInesperada(recebeStatus());
+            return entrada.readBoolean();
+        } catch (IOException e) {
+            throw falha(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<String> getRelatorioUsuarios() {
+        try {
+            conecta();
+            saida.writeByte(ProtocoloLoja.RELATORIO);
+            falhaInesperada(recebeStatus());
+            return leLista();
+        } catch (IOException e) {
+            throw falha(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void vendeJogo(final String jogoNome, final double preco, final String jogabilidades,
+                                       final String estiloJogo, final String loginUser) throws JogoInvalidoException,
+            SaldoInsuficienteException, UsuarioInvalidoException {
+        try {
+            conecta();
+            saida.writeByte(ProtocoloLoja.VENDE_JOGO);
+            CodificacaoBinaria.escreveTexto(saida, jogoNome);
+            saida.writeDouble(preco);
+            CodificacaoBinaria.escreveTexto(saida, jogabilidades);
+            CodificacaoBinaria.escreveTexto(saida, estiloJogo);
+            CodificacaoBinaria.escreveTexto(saida, loginUser);
+            Exception erro = recebeStatus();
+            relanca(erro, JogoInvalidoException.class);
+            relanca(erro, SaldoInsuficienteException.class);
+            relanca(erro, UsuarioInvalidoException.class);
+            falhaInesperada(erro);
+        } catch (IOException e) {
+            throw falha(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void punir(final String nomeJogo, final String login, final int score,
+                                   final boolean zerou) throws JogoInvalidoException, UsuarioInvalidoException {
+        jogada(ProtocoloLoja.PUNIR, nomeJogo, login, score, zerou);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void recompensar(final String nomeJogo, final String login, final int score,
+                                         final boolean zerou) throws JogoInvalidoException, UsuarioInvalidoException {
+        jogada(ProtocoloLoja.RECOMPENSAR, nomeJogo, login, score, zerou);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void upgrade(final String login) throws UsuarioInvalidoException, UsuarioInaptoException {
+        try {
+            conecta();
+            saida.writeByte(ProtocoloLoja.UPGRADE);
+            CodificacaoBinaria.escreveTexto(saida, login);
+            Exception erro = recebeStatus();
+            relanca(erro, UsuarioInvalidoException.class);
+            relanca(erro, UsuarioInaptoException.class);
+            falhaInesperada(erro);
+        } catch (IOException e) {
+            throw falha(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized double confereCredito(final String login) throws UsuarioInvalidoException {
+        try {
+            conecta();
+            saida.writeByte(ProtocoloLoja.CONFERE_CREDITO);
+            CodificacaoBinaria.escreveTexto(saida, login);
+            Exception erro = recebeStatus();
+            relanca(erro, UsuarioInvalidoException.class);
+            falhaInesperada(erro);
+            return entrada.readDouble();
+        } catch (IOException e) {
+            throw falha(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int getX2pUsuario(final String login) throws UsuarioInvalidoException {
+        try {
+            conecta();
+            saida.writeByte(ProtocoloLoja.GET_X2P);
+            CodificacaoBinaria.escreveTexto(saida, login);
+            Exception erro = recebeStatus();
+            relanca(erro, UsuarioInvalidoException.class);
+            falhaInesperada(erro);
+            return entrada.readInt();
+        } catch (IOException e) {
+            throw falha(e);
+        }
+    }
+
+    /**
+     * @return Quantidade de usuários do nó.
+     */
+    public synchronized int getQuantidadeUsuarios() {
+        try {
+            conecta();
+            saida.writeByte(ProtocoloLoja.QTDE_USUARIOS);
+            falhaInesperada(recebeStatus());
+            return entrada.readInt();
+        } catch (IOException e) {
+            throw falha(e);
+        }
+    }
+
+    /**
+     * @return Crédito total dos usuários do nó.
+     */
+    public synchronized double getCreditoTotal() {
+        try {
+            conecta();
+            saida.writeByte(ProtocoloLoja.CREDITO_TOTAL);
+            falhaInesperada(recebeStatus());
+            return entrada.readDouble();
+        } catch (IOException e) {
+            throw falha(e);
+        }
+    }
+
+    /**
+     * @return Os logins dos usuários do nó.
+     */
+    public synchronized List<String> getLogins() {
+        try {
+            conecta();
+            saida.writeByte(ProtocoloLoja.LOGINS);
+            falhaInesperada(recebeStatus());
+            return leLista();
+        } catch (IOException e) {
+            throw falha(e);
+        }
+    }
+
+    /**
+     * Copia um usuário do nó, para transferi-lo a outro. O usuário continua no nó.
+     *
+     * @param login Login do usuário.
+     * @return Uma cópia do {@link Usuario}, ou {@code null} caso não exista no nó.
+     */
+    public synchronized Usuario copiaUsuario(final String login) {
+        try {
+            conecta();
+            saida.writeByte(ProtocoloLoja.COPIA_USUARIO);
+            CodificacaoBinaria.escreveTexto(saida, login);
+            falhaInesperada(recebeStatus());
+            return CodificacaoBinaria.leObjeto(entrada, Usuario.class, Usuario.CLASSES_SERIALIZADAS);
+        } catch (IOException e) {
+            throw falha(e);
+        }
+    }
+
+    /**
+     * Insere no nó um usuário copiado de outro.
+     *
+     * @param usuario {@link Usuario} a ser inserido.
+     * @throws UsuarioInvalidoException Caso o login já esteja cadastrado no nó.
+     */
+    public synchronized void insereUsuario(final Usuario usuario) throws UsuarioInvalidoException {
+        try {
+            conecta();
+            saida.writeByte(ProtocoloLoja.INSERE_USUARIO);
+            CodificacaoBinaria.escreveObjeto(saida, usuario);
+            Exception erro = recebeStatus();
+            relanca(erro, UsuarioInvalidoException.class);
+            falhaInesperada(erro);
+        } catch (IOException e) {
+            throw falha(e);
+        }
+    }
+
+    /**
+     * Remove um usuário do nó, depois que ele foi inserido em outro.
+     *
+     * @param login Login do usuário.
+     * @return {@code true}, caso o usuário existisse no nó.
+     */
+    public synchronized boolean removeUsuario(final String login) {
+        try {
+            conecta();
+            saida.writeByte(ProtocoloLoja.REMOVE_USUARIO);
+            CodificacaoBinaria.escreveTexto(saida, login);
+            falhaInesperada(recebeStatus());
+            return entrada.readBoolean();
+        } catch (IOException e) {
+            throw falha(e);
+        }
+    }
+
+    /**
+     * Fecha a conexão com o nó.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        fechado = true;
+        if (socket != null) {
+            socket.close();
+        }
+    }
+
+    private void jogada(final byte operacao, final String nomeJogo, final String login, final int score,
+                        final boolean zerou) throws JogoInvalidoException, UsuarioInvalidoException {
+        try {
+            conecta();
+            saida.writeByte(operacao);
+            CodificacaoBinaria.escreveTexto(saida, nomeJogo);
+            CodificacaoBinaria.escreveTexto(saida, login);
+            saida.writeInt(score);
+            saida.writeBoolean(zerou);
+            Exception erro = recebeStatus();
+            relanca(erro, JogoInvalidoException.class);
+            relanca(erro, UsuarioInvalidoException.class);
+            falhaInesperada(erro);
+        } catch (IOException e) {
+            throw falha(e);
+        }
+    }
+
+    /**
+     * Abre a conexão com o nó, caso uma falha anterior a tenha fechado.
+     */
+    private void conecta() throws IOException {
+        if (fechado) {
+            throw new IOException("Conexão com o nó já fechada.");
+        }
+        if (socket != null) {
+            return;
+        }
+        Socket novo = new Socket();
+        try {
+            novo.setTcpNoDelay(true);
+            novo.connect(endereco);
+            entrada = new DataInputStream(new BufferedInputStream(novo.getInputStream()));
+            saida = new DataOutputStream(new BufferedOutputStream(novo.getOutputStream()));
+        } catch (IOException e) {
+            novo.close();
+            throw e;
+        }
+        socket = novo;
+    }
+
+    /**
+     * Fecha a conexão após uma falha de comunicação, já que uma resposta pode ter ficado pela metade nela.
+     *
+     * @return A falha, como exceção não verificada.
+     */
+    private UncheckedIOException falha(final IOException e) {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ignorada) {
+                e.addSuppressed(ignorada);
+            }
+            socket = null;
+        }
+        return new UncheckedIOException(e);
+    }
+
+    /**
+     * Envia a requisição escrita e lê o status da resposta.
+     *
+     * @return A exceção correspondente ao status, ou {@code null} caso a operação tenha sido realizada.
+     */
+    private Exception recebeStatus() throws IOException {
+        saida.flush();
+        byte status = entrada.readByte();
+        if (status == ProtocoloLoja.OK) {
+            return null;
+        }
+        return ProtocoloLoja.erro(status, CodificacaoBinaria.leTexto(entrada));
+    }
+
+    private List<String> leLista() throws IOException {
+        int tamanho = entrada.readInt();
+        List<String> itens = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            itens.add(CodificacaoBinaria.leTexto(entrada));
+        }
+        return itens;
+    }
+
+    /**
+     * Relança {@code erro}, caso ele seja do tipo {@code tipo}.
+     */
+    private static <E extends Exception> void relanca(final Exception erro, final Class<E> tipo) throws E {
+        if (tipo.isInstance(erro)) {
+            throw tipo.cast(erro);
+        }
+    }
+
+    /**
+     * Lança {@code erro}, que não é previsto pela operação, como exceção não verificada.
+     */
+    private static void falhaInesperada(final Exception erro) {
+        if (erro instanceof RuntimeException) {
+            throw (RuntimeException) erro;
+        } else if (erro != null) {
+            throw new IllegalStateException(erro);
+        }
+    }
+}
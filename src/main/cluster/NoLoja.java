@@ -0,0 +1,321 @@
+package main.cluster;
+
+import main.controller.LojaControllerImpl;
+import main.entidade.usuario.Usuario;
+import main.service.Formatadora;
+import main.service.FormatadoraCentralP2Cg;
+import util.io.CodificacaoBinaria;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Nó de um cluster de lojas: um processo que guarda parte dos usuários e atende, pelo {@link ProtocoloLoja}, as
+ * operações encaminhadas pelo {@link RoteadorLoja}.
+ * <p>
+ * Cada conexão é atendida por uma thread própria, e as requisições de uma conexão são respondidas em ordem. As
+ * operações de todas as conexões são serializadas sobre um único {@link LojaControllerImpl}.
+ */
+public class NoLoja implements Closeable {
+
+    /**
+     * Linha escrita na saída padrão por {@link #main(String[])} quando o nó passa a aceitar conexões, seguida da
+     * porta.
+     */
+    public static final String PRONTO = "PRONTO";
+
+    private final LojaControllerImpl lojaController;
+
+    private final ServerSocket servidor;
+
+    /**
+     * Thread que aceita as conexões.
+     */
+    private final Thread aceitador;
+
+    /**
+     * Threads que atendem as conexões.
+     */
+    private final ExecutorService conexoes;
+
+    /**
+     * Construtor.
+     *
+     * @param formatadora {@link Formatadora} para formatação de dados.
+     * @param endereco    {@link InetSocketAddress} no qual o nó escutará; porta 0 escolhe uma porta livre.
+     * @throws IOException Caso o endereço não possa ser usado.
+     */
+    public NoLoja(final Formatadora formatadora, final InetSocketAddress endereco) throws IOException {
+        this.lojaController = new LojaControllerImpl(new HashMap<>(), formatadora);
+        this.servidor = new ServerSocket();
+        this.servidor.bind(endereco);
+        this.aceitador = new Thread(this::aceita, "no-loja-" + getPorta());
+        this.conexoes = Executors.newCachedThreadPool(tarefa -> {
+            Thread thread = new Thread(tarefa, "no-loja-conexao");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Inicia um nó no endereço de loopback. Uso: {@code java main.cluster.NoLoja <porta>}; a porta 0 escolhe uma
+     * porta livre. Quando o nó está pronto, escreve {@code PRONTO <porta>} na saída padrão.
+     *
+     * @param args Argumentos da linha de comando.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int porta = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        NoLoja no = new NoLoja(new FormatadoraCentralP2Cg(),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), porta));
+        no.inicia();
+        System.out.println(PRONTO + " " + no.getPorta());
+        System.out.flush();
+        no.aceitador.join();
+    }
+
+    /**
+     * Começa a aceitar conexões.
+     */
+    public void inicia() {
+        aceitador.start();
+    }
+
+    /**
+     * @return A porta na qual o nó escuta.
+     */
+    public int getPorta() {
+        return servidor.getLocalPort();
+    }
+
+    /**
+     * Para de aceitar conexões e encerra as threads das conexões abertas.
+     */
+    @Override
+    public void close() throws IOException {
+        servidor.close();
+        conexoes.shutdownNow();
+    }
+
+    private void aceita() {
+        while (!servidor.isClosed()) {
+            try {
+                Socket conexao = servidor.accept();
+                conexao.setTcpNoDelay(true);
+                conexoes.execute(() -> atende(conexao));
+            } catch (IOException e) {
+                if (!servidor.isClosed()) {
+                    System.err.println("Falha ao aceitar conexão: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Responde as requisições de uma conexão até que o cliente a feche.
+     */
+    private void atende(final Socket conexao) {
+        try (Socket socket = conexao;
+             DataInputStream entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (true) {
+                byte operacao;
+                try {
+                    operacao = entrada.readByte();
+                } catch (EOFException e) {
+                    return;
+                }
+                executa(operacao, entrada, saida);
+                saida.flush();
+            }
+        } catch (IOException e) {
+            if (!servidor.isClosed()) {
+                System.err.println("Conexão encerrada: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Lê os parâmetros de uma operação, a executa e escreve a resposta.
+     */
+    private void executa(final byte operacao, final DataInputStream entrada, final DataOutputStream saida)
+            throws IOException {
+        switch (operacao) {
+            case ProtocoloLoja.ADICIONA_USUARIO: {
+                String nome = CodificacaoBinaria.leTexto(entrada);
+                String login = CodificacaoBinaria.leTexto(entrada);
+                String tipo = CodificacaoBinaria.leTexto(entrada);
+                responde(saida, () -> lojaController.adicionaUsuario(nome, login, tipo));
+                break;
+            }
+            case ProtocoloLoja.ADICIONA_DINHEIRO: {
+                String login = CodificacaoBinaria.leTexto(entrada);
+                double quantia = entrada.readDouble();
+                boolean realizada;
+                synchronized (lojaController) {
+                    realizada = lojaController.adicionarDinheiroUsuario(login, quantia);
+                }
+                saida.writeByte(ProtocoloLoja.OK);
+                saida.writeBoolean(realizada);
+                break;
+            }
+            case ProtocoloLoja.VENDE_JOGO: {
+                String jogoNome = CodificacaoBinaria.leTexto(entrada);
+                double preco = entrada.readDouble();
+                String jogabilidades = CodificacaoBinaria.leTexto(entrada);
+                String estiloJogo = CodificacaoBinaria.leTexto(entrada);
+                String login = CodificacaoBinaria.leTexto(entrada);
+                responde(saida, () -> lojaController.vendeJogo(jogoNome, preco, jogabilidades, estiloJogo, login));
+                break;
+            }
+            case ProtocoloLoja.PUNIR:
+            case ProtocoloLoja.RECOMPENSAR: {
+                String nomeJogo = CodificacaoBinaria.leTexto(entrada);
+                String login = CodificacaoBinaria.leTexto(entrada);
+                int score = entrada.readInt();
+                boolean zerou = entrada.readBoolean();
+                if (operacao == ProtocoloLoja.PUNIR) {
+                    responde(saida, () -> lojaController.punir(nomeJogo, login, score, zerou));
+                } else {
+                    responde(saida, () -> lojaController.recompensar(nomeJogo, login, score, zerou));
+                }
+                break;
+            }
+            case ProtocoloLoja.UPGRADE: {
+                String login = CodificacaoBinaria.leTexto(entrada);
+                responde(saida, () -> lojaController.upgrade(login));
+                break;
+            }
+            case ProtocoloLoja.CONFERE_CREDITO: {
+                String login = CodificacaoBinaria.leTexto(entrada);
+                double[] credito = new double[1];
+                if (responde(saida, () -> credito[0] = lojaController.confereCredito(login))) {
+                    saida.writeDouble(credito[0]);
+                }
+                break;
+            }
+            case ProtocoloLoja.GET_X2P: {
+                String login = CodificacaoBinaria.leTexto(entrada);
+                int[] x2p = new int[1];
+                if (responde(saida, () -> x2p[0] = lojaController.getX2pUsuario(login))) {
+                    saida.writeInt(x2p[0]);
+                }
+                break;
+            }
+            case ProtocoloLoja.RELATORIO: {
+                List<String> relatorio;
+                synchronized (lojaController) {
+                    relatorio = lojaController.getRelatorioUsuarios();
+                }
+                saida.writeByte(ProtocoloLoja.OK);
+                escreveLista(saida, relatorio);
+                break;
+            }
+            case ProtocoloLoja.QTDE_USUARIOS: {
+                int quantidade;
+                synchronized (lojaController) {
+                    quantidade = lojaController.getUsuarios().size();
+                }
+                saida.writeByte(ProtocoloLoja.OK);
+                saida.writeInt(quantidade);
+                break;
+            }
+            case ProtocoloLoja.CREDITO_TOTAL: {
+                double total = 0;
+                synchronized (lojaController) {
+                    for (Usuario usuario : lojaController.getUsuarios()) {
+                        total += usuario.getCredito();
+                    }
+                }
+                saida.writeByte(ProtocoloLoja.OK);
+                saida.writeDouble(total);
+                break;
+            }
+            case ProtocoloLoja.LOGINS: {
+                List<String> logins = new ArrayList<>();
+                synchronized (lojaController) {
+                    for (Usuario usuario : lojaController.getUsuarios()) {
+                        logins.add(usuario.getLogin());
+                    }
+                }
+                saida.writeByte(ProtocoloLoja.OK);
+                escreveLista(saida, logins);
+                break;
+            }
+            case ProtocoloLoja.COPIA_USUARIO: {
+                String login = CodificacaoBinaria.leTexto(entrada);
+                Usuario usuario;
+                synchronized (lojaController) {
+                    usuario = lojaController.copiaUsuario(login);
+                }
+                saida.writeByte(ProtocoloLoja.OK);
+                CodificacaoBinaria.escreveObjeto(saida, usuario);
+                break;
+            }
+            case ProtocoloLoja.REMOVE_USUARIO: {
+                String login = CodificacaoBinaria.leTexto(entrada);
+                boolean removido;
+                synchronized (lojaController) {
+                    removido = lojaController.removeUsuario(login) != null;
+                }
+                saida.writeByte(ProtocoloLoja.OK);
+                saida.writeBoolean(removido);
+                break;
+            }
+            case ProtocoloLoja.INSERE_USUARIO: {
+                Usuario usuario = CodificacaoBinaria.leObjeto(entrada, Usuario.class,
+                        Usuario.CLASSES_SERIALIZADAS);
+                responde(saida, () -> lojaController.insereUsuario(usuario));
+                break;
+            }
+            default:
+                throw new IOException("Operação desconhecida: " + operacao);
+        }
+    }
+
+    /**
+     * Executa uma operação sobre o controller e escreve seu status, seguido da mensagem de erro em caso de falha.
+     *
+     * @return {@code true}, caso a operação tenha sido realizada e o resultado deva ser escrito em seguida.
+     */
+    private boolean responde(final DataOutputStream saida, final Operacao operacao) throws IOException {
+        try {
+            synchronized (lojaController) {
+                operacao.executa();
+            }
+            saida.writeByte(ProtocoloLoja.OK);
+            return true;
+        } catch (Exception e) {
+            saida.writeByte(ProtocoloLoja.status(e));
+            CodificacaoBinaria.escreveTexto(saida, e.getMessage());
+            return false;
+        }
+    }
+
+    private static void escreveLista(final DataOutputStream saida, final List<String> itens) throws IOException {
+        saida.writeInt(itens.size());
+        for (String item : itens) {
+            CodificacaoBinaria.escreveTexto(saida, item);
+        }
+    }
+
+    /**
+     * Operação sobre o controller que pode falhar com as exceções da loja.
+     */
+    private interface Operacao {
+        void executa() throws Exception;
+    }
+}
@@ -0,0 +1,80 @@
+package main.cluster;
+
+import main.exception.JogoInvalidoException;
+import main.exception.SaldoInsuficienteException;
+import main.exception.UsuarioInaptoException;
+import main.exception.UsuarioInvalidoException;
+import util.io.CodificacaoBinaria;
+
+import java.io.DataOutputStream;
+
+/**
+ * Protocolo binário entre {@link ClienteNo} e {@link NoLoja}.
+ * <p>
+ * Cada requisição é um byte de operação seguido dos parâmetros; cada resposta é um byte de status seguido, em caso de
+ * sucesso, do resultado da operação e, em caso de falha, da mensagem de erro. Inteiros, números de ponto flutuante e
+ * booleanos seguem a codificação de {@link DataOutputStream}; textos e usuários, a de {@link CodificacaoBinaria};
+ * listas são o tamanho seguido dos itens.
+ */
+final class ProtocoloLoja {
+
+    static final byte ADICIONA_USUARIO = 1;
+    static final byte ADICIONA_DINHEIRO = 2;
+    static final byte VENDE_JOGO = 3;
+    static final byte PUNIR = 4;
+    static final byte RECOMPENSAR = 5;
+    static final byte UPGRADE = 6;
+    static final byte CONFERE_CREDITO = 7;
+    static final byte GET_X2P = 8;
+    static final byte RELATORIO = 9;
+    static final byte QTDE_USUARIOS = 10;
+    static final byte CREDITO_TOTAL = 11;
+    static final byte LOGINS = 12;
+    static final byte COPIA_USUARIO = 13;
+    static final byte INSERE_USUARIO = 14;
+    static final byte REMOVE_USUARIO = 15;
+
+    static final byte OK = 0;
+    static final byte USUARIO_INVALIDO = 1;
+    static final byte JOGO_INVALIDO = 2;
+    static final byte SALDO_INSUFICIENTE = 3;
+    static final byte USUARIO_INAPTO = 4;
+    static final byte ERRO_INTERNO = 5;
+
+    private ProtocoloLoja() {
+    }
+
+    /**
+     * Recupera o status de resposta correspondente a uma exceção lançada por uma operação.
+     */
+    static byte status(final Exception erro) {
+        if (erro instanceof UsuarioInvalidoException) {
+            return USUARIO_INVALIDO;
+        } else if (erro instanceof JogoInvalidoException) {
+            return JOGO_INVALIDO;
+        } else if (erro instanceof SaldoInsuficienteException) {
+            return SALDO_INSUFICIENTE;
+        } else if (erro instanceof UsuarioInaptoException) {
+            return USUARIO_INAPTO;
+        }
+        return ERRO_INTERNO;
+    }
+
+    /**
+     * Recria, do lado do cliente, a exceção correspondente a um status de falha.
+     */
+    static Exception erro(final byte status, final String mensagem) {
+        switch (status) {
+            case USUARIO_INVALIDO:
+                return new UsuarioInvalidoException(mensagem);
+            case JOGO_INVALIDO:
+                return new JogoInvalidoException(mensagem);
+            case SALDO_INSUFICIENTE:
+                return new SaldoInsuficienteException(mensagem);
+            case USUARIO_INAPTO:
+                return new UsuarioInaptoException(mensagem);
+            default:
+                return new IllegalStateException("Falha no nó: " + mensagem);
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package main.cluster;
+
+import main.controller.LojaController;
+import main.entidade.usuario.Usuario;
+import main.exception.JogoInvalidoException;
+import main.exception.SaldoInsuficienteException;
+import main.exception.UsuarioInaptoException;
+import main.exception.UsuarioInvalidoException;
+import main.service.Formatadora;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * {@link LojaController} que distribui os usuários entre vários {@link NoLoja}, escolhendo o nó de cada login por um
+ * {@link AnelConsistente}. Operações sobre um usuário são encaminhadas ao seu nó; o relatório e os agregados são
+ * pedidos a todos os nós em paralelo e seus resultados, reunidos na ordem em que os nós foram adicionados.
+ * <p>
+ * Ao adicionar um nó com {@link #adicionaNo(String, InetSocketAddress)}, só os usuários cujo dono muda no anel são
+ * migrados, um a um, do nó antigo para o novo. Durante a migração a loja continua atendendo: operações sobre um
+ * usuário ainda não migrado vão ao nó antigo, e cada usuário fica bloqueado apenas enquanto é transferido. Caso a
+ * migração falhe, a adição do nó é desfeita.
+ */
+public class RoteadorLoja implements LojaController, Closeable {
+
+    private static final int QTDE_TRAVAS = 64;
+
+    /**
+     * Clientes dos nós do cluster, por identificador do nó.
+     */
+    private final Map<String, ClienteNo> nos = new ConcurrentHashMap<>();
+
+    /**
+     * Logins cujo dono mudou na última adição de nó e que ainda estão no nó antigo.
+     */
+    private final Set<String> pendentes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Travas por faixa de logins. Operações sobre um usuário usam a trava de leitura da sua faixa; a migração de um
+     * usuário usa a de escrita, e a troca do anel usa as de escrita de todas as faixas.
+     */
+    private final ReentrantReadWriteLock[] travas = new ReentrantReadWriteLock[QTDE_TRAVAS];
+
+    /**
+     * Itens iniciais de um relatório, que não pertencem a nenhum usuário.
+     */
+    private final List<String> cabecalhoRelatorio;
+
+    /**
+     * Threads das consultas enviadas a todos os nós.
+     */
+    private final ExecutorService consultas;
+
+    /**
+     * Serializa as adições de nós.
+     */
+    private final Object trocaAnel = new Object();
+
+    private volatile AnelConsistente anel = new AnelConsistente();
+
+    /**
+     * Anel anterior à última adição de nó, enquanto houver usuários pendentes de migração.
+     */
+    private volatile AnelConsistente anelAnterior;
+
+    /**
+     * Construtor de um roteador sem nós.
+     *
+     * @param formatadora {@link Formatadora} usada pelos nós, para a junção dos relatórios.
+     */
+    public RoteadorLoja(final Formatadora formatadora) {
+        for (int i = 0; i < QTDE_TRAVAS; i++) {
+            travas[i] = new ReentrantReadWriteLock();
+        }
+        this.cabecalhoRelatorio = formatadora.formataDadosUsuario(Collections.emptyList());
+        this.consultas = Executors.newCachedThreadPool(tarefa -> {
+            Thread thread = new Thread(tarefa, "roteador-loja");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Adiciona um nó ao cluster e migra para ele os usuários que passam a ser seus.
+     *
+     * @param id       Identificador do nó, que define suas posições no anel.
+     * @param endereco {@link InetSocketAddress} do nó.
+     * @return Quantidade de usuários migrados.
+     * @throws IOException              Caso não seja possível conectar ao nó.
+     * @throws UncheckedIOException     Caso a migração falhe, depois de desfeita a adição do nó.
+     * @throws IllegalArgumentException Caso já exista um nó com o identificador {@code id}.
+     */
+    public int adicionaNo(final String id, final InetSocketAddress endereco) throws IOException {
+        synchronized (trocaAnel) {
+            if (nos.containsKey(id)) {
+                throw new IllegalArgumentException("Nó já presente no cluster: " + id);
+            }
+            ClienteNo cliente = new ClienteNo(endereco);
+            AnelConsistente novoAnel = anel.comNo(id);
+
+            travaTodas(false);
+            try {
+                for (ClienteNo outro : nos.values()) {
+                    for (String login : outro.getLogins()) {
+                        if (!novoAnel.no(login).equals(anel.no(login))) {
+                            pendentes.add(login);
+                        }
+                    }
+                }
+                nos.put(id, cliente);
+                anelAnterior = anel;
+                anel = novoAnel;
+            } finally {
+                destravaTodas(false);
+            }
+
+            List<String> aMigrar = new ArrayList<>(pendentes);
+            int migrados = 0;
+            try {
+                for (String login : aMigrar) {
+                    if (migra(login)) {
+                        migrados++;
+                    }
+                }
+                return migrados;
+            } catch (RuntimeException e) {
+                desfazAdicao(id, cliente, e);
+                throw e;
+            } finally {
+                travaTodas(false);
+                try {
+                    pendentes.clear();
+                    anelAnterior = null;
+                } finally {
+                    destravaTodas(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Os identificadores dos nós do cluster, na ordem em que foram adicionados.
+     */
+    public Set<String> getNos() {
+        return anel.getNos();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void adicionaUsuario(final String nome, final String login,
+                                final String tipo) throws UsuarioInvalidoException {
+        Lock trava = trava(login).readLock();
+        trava.lock();
+        try {
+            destino(login).adicionaUsuario(nome, login, tipo);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean adicionarDinheiroUsuario(final String login, final double quantia) {
+        Lock trava = trava(login).readLock();
+        trava.lock();
+        try {
+            return destino(login).adicionarDinheiroUsuario(login, quantia);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getRelatorioUsuarios() {
+        List<String> relatorio = new ArrayList<>(cabecalhoRelatorio);
+        for (List<String> itens : consultaTodos(ClienteNo::getRelatorioUsuarios).values()) {
+            relatorio.addAll(itens.subList(cabecalhoRelatorio.size(), itens.size()));
+        }
+        return relatorio;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vendeJogo(final String jogoNome, final double preco, final String jogabilidades,
+                          final String estiloJogo, final String loginUser) throws JogoInvalidoException,
+            SaldoInsuficienteException, UsuarioInvalidoException {
+        Lock trava = trava(loginUser).readLock();
+        trava.lock();
+        try {
+            destino(loginUser).vendeJogo(jogoNome, preco, jogabilidades, estiloJogo, loginUser);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void punir(final String nomeJogo, final String login, final int score,
+                      final boolean zerou) throws JogoInvalidoException, UsuarioInvalidoException {
+        Lock trava = trava(login).readLock();
+        trava.lock();
+        try {
+            destino(login).punir(nomeJogo, login, score, zerou);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recompensar(final String nomeJogo, final String login, final int score,
+                            final boolean zerou) throws JogoInvalidoException, UsuarioInvalidoException {
+        Lock trava = trava(login).readLock();
+        trava.lock();
+        try {
+            destino(login).recompensar(nomeJogo, login, score, zerou);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void upgrade(final String login) throws UsuarioInvalidoException, UsuarioInaptoException {
+        Lock trava = trava(login).readLock();
+        trava.lock();
+        try {
+            destino(login).upgrade(login);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double confereCredito(final String login) throws UsuarioInvalidoException {
+        Lock trava = trava(login).readLock();
+        trava.lock();
+        try {
+            return destino(login).confereCredito(login);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getX2pUsuario(final String login) throws UsuarioInvalidoException {
+        Lock trava = trava(login).readLock();
+        trava.lock();
+        try {
+            return destino(login).getX2pUsuario(login);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Conta os usuários de todos os nós.
+     *
+     * @return Quantidade de usuários do cluster.
+     */
+    public int getQuantidadeUsuarios() {
+        int total = 0;
+        for (int quantidade : getQuantidadeUsuariosPorNo().values()) {
+            total += quantidade;
+        }
+        return total;
+    }
+
+    /**
+     * Conta os usuários de cada nó.
+     *
+     * @return Mapa do identificador de cada nó para sua quantidade de usuários.
+     */
+    public Map<String, Integer> getQuantidadeUsuariosPorNo() {
+        return consultaTodos(ClienteNo::getQuantidadeUsuarios);
+    }
+
+    /**
+     * Soma o crédito dos usuários de todos os nós.
+     *
+     * @return Crédito total dos usuários do cluster.
+     */
+    public double getCreditoTotal() {
+        double total = 0;
+        for (double credito : consultaTodos(ClienteNo::getCreditoTotal).values()) {
+            total += credito;
+        }
+        return total;
+    }
+
+    /**
+     * Fecha as conexões com os nós. Os nós continuam em execução.
+     */
+    @Override
+    public void close() throws IOException {
+        consultas.shutdown();
+        for (ClienteNo cliente : nos.values()) {
+            cliente.close();
+        }
+    }
+
+    /**
+     * Recupera o nó que guarda {@code login}. Deve ser chamado com a trava da faixa do login.
+     */
+    private ClienteNo destino(final String login) {
+        AnelConsistente atual = pendentes.contains(login) ? anelAnterior : anel;
+        return nos.get(atual.no(login));
+    }
+
+    /**
+     * Transfere um usuário pendente do nó antigo para o novo. O usuário só é removido do nó antigo depois de inserido
+     * no novo, de modo que uma falha no caminho o deixa no nó antigo, ainda pendente.
+     *
+     * @return {@code true}, caso o usuário ainda existisse no nó antigo.
+     */
+    private boolean migra(final String login) {
+        Lock trava = trava(login).writeLock();
+        trava.lock();
+        try {
+            ClienteNo origem = nos.get(anelAnterior.no(login));
+            Usuario usuario = origem.copiaUsuario(login);
+            if (usuario != null) {
+                nos.get(anel.no(login)).insereUsuario(usuario);
+                origem.removeUsuario(login);
+            }
+            pendentes.remove(login);
+            return usuario != null;
+        } catch (UsuarioInvalidoException e) {
+            throw new IllegalStateException("Usuário já presente no nó de destino: " + login, e);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Desfaz a adição de um nó cuja migração falhou: devolve aos nós do anel anterior todos os usuários do nó novo,
+     * tanto os já transferidos quanto os criados nele durante a migração, restaura o anel anterior e retira o nó do
+     * cluster. Falhas ao desfazer são anexadas a {@code falha}.
+     */
+    private void desfazAdicao(final String id, final ClienteNo cliente, final RuntimeException falha) {
+        travaTodas(false);
+        try {
+            for (String login : cliente.getLogins()) {
+                Usuario usuario = cliente.copiaUsuario(login);
+                if (usuario == null) {
+                    continue;
+                }
+                try {
+                    nos.get(anelAnterior.no(login)).insereUsuario(usuario);
+                } catch (UsuarioInvalidoException e) {
+                    // A falha ocorreu entre a inserção no nó novo e a remoção do antigo, cuja cópia prevalece.
+                }
+                cliente.removeUsuario(login);
+            }
+        } catch (RuntimeException e) {
+            falha.addSuppressed(e);
+        } finally {
+            nos.remove(id);
+            anel = anelAnterior;
+            destravaTodas(false);
+        }
+        try {
+            cliente.close();
+        } catch (IOException e) {
+            falha.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Executa uma consulta em todos os nós, em paralelo, sem que nenhum usuário seja migrado durante a consulta.
+     *
+     * @return Mapa do identificador de cada nó para o resultado da consulta, na ordem dos nós.
+     */
+    private <T> Map<String, T> consultaTodos(final Function<ClienteNo, T> consulta) {
+        travaTodas(true);
+        try {
+            Map<String, Future<T>> parciais = new LinkedHashMap<>();
+            for (String id : anel.getNos()) {
+                ClienteNo cliente = nos.get(id);
+                parciais.put(id, consultas.submit(() -> consulta.apply(cliente)));
+            }
+            Map<String, T> resultados = new LinkedHashMap<>();
+            for (Map.Entry<String, Future<T>> parcial : parciais.entrySet()) {
+                resultados.put(parcial.getKey(), aguarda(parcial.getValue()));
+            }
+            return resultados;
+        } finally {
+            destravaTodas(true);
+        }
+    }
+
+    private static <T> T aguarda(final Future<T> futuro) {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta interrompida.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ReentrantReadWriteLock trava(final String login) {
+        int hash = Objects.hashCode(login);
+        return travas[Math.floorMod(hash ^ (hash >>> 16), QTDE_TRAVAS)];
+    }
+
+    /**
+     * Adquire as travas de todas as faixas, sempre na mesma ordem.
+     */
+    private void travaTodas(final boolean leitura) {
+        for (ReentrantReadWriteLock trava : travas) {
+            (leitura ? trava.readLock() : trava.writeLock()).lock();
+        }
+    }
+
+    private void destravaTodas(final boolean leitura) {
+        for (int i = QTDE_TRAVAS - 1; i >= 0; i--) {
+            (leitura ? travas[i].readLock() : travas[i].writeLock()).unlock();
+        }
+    }
+}
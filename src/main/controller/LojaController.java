@@ -1,6 +1,7 @@
 package main.controller;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import main.entidade.jogo.Jogo;
 import main.exception.JogoInvalidoException;
@@ -42,6 +43,18 @@ public interface LojaController {
      */
     List<String> getRelatorioUsuarios();
 
+    /**
+     * Entrega o relatório de usuários a {@code destino}, um item por vez, na mesma ordem de
+     * {@link #getRelatorioUsuarios()}. Por padrão, gera o relatório inteiro antes de entregar o primeiro item;
+     * implementações que formatam um usuário por vez o sobrescrevem, para que a memória não cresça com a quantidade
+     * de usuários.
+     *
+     * @param destino Recebe cada item do relatório.
+     */
+    default void escreveRelatorioUsuarios(final Consumer<String> destino) {
+        getRelatorioUsuarios().forEach(destino);
+    }
+
     /**
      * Vende um jogo a um usuário.
      *
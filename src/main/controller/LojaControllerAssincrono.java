@@ -0,0 +1,58 @@
+package main.controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante assíncrona de {@link LojaController}. Cada operação devolve um {@link CompletableFuture} que é completado
+ * com o resultado da operação correspondente de {@link LojaController}, ou completado excepcionalmente com a mesma
+ * exceção que ela lançaria.
+ */
+public interface LojaControllerAssincrono {
+
+    /**
+     * @see LojaController#adicionaUsuario(String, String, String)
+     */
+    CompletableFuture<Void> adicionaUsuario(String nome, String login, String tipo);
+
+    /**
+     * @see LojaController#adicionarDinheiroUsuario(String, double)
+     */
+    CompletableFuture<Boolean> adicionarDinheiroUsuario(String login, double quantia);
+
+    /**
+     * @see LojaController#getRelatorioUsuarios()
+     */
+    CompletableFuture<List<String>> getRelatorioUsuarios();
+
+    /**
+     * @see LojaController#vendeJogo(String, double, String, String, String)
+     */
+    CompletableFuture<Void> vendeJogo(String jogoNome, double preco, String jogabilidades, String estiloJogo,
+                                      String loginUser);
+
+    /**
+     * @see LojaController#punir(String, String, int, boolean)
+     */
+    CompletableFuture<Void> punir(String nomeJogo, String login, int score, boolean zerou);
+
+    /**
+     * @see LojaController#recompensar(String, String, int, boolean)
+     */
+    CompletableFuture<Void> recompensar(String nomeJogo, String login, int score, boolean zerou);
+
+    /**
+     * @see LojaController#upgrade(String)
+     */
+    CompletableFuture<Void> upgrade(String login);
+
+    /**
+     * @see LojaController#confereCredito(String)
+     */
+    CompletableFuture<Double> confereCredito(String login);
+
+    /**
+     * @see LojaController#getX2pUsuario(String)
+     */
+    CompletableFuture<Integer> getX2pUsuario(String login);
+}
@@ -0,0 +1,403 @@
+package main.controller;
+
+import main.entidade.usuario.Usuario;
+import main.exception.JogoInvalidoException;
+import main.exception.SaldoInsuficienteException;
+import main.exception.UsuarioInaptoException;
+import main.exception.UsuarioInvalidoException;
+import main.service.Formatadora;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Implementação de {@link LojaController} em que cada usuário com operações pendentes tem uma caixa de mensagens,
+ * esvaziada por uma tarefa num {@link ExecutorService}. As operações sobre um mesmo login são executadas uma de cada
+ * vez, na ordem em que chegaram, sem nenhum bloqueio; operações sobre logins diferentes executam em paralelo.
+ * <p>
+ * Uma caixa só existe enquanto tem operações pendentes: quando a última é executada, a caixa é descartada e a
+ * tarefa devolve sua thread ao executor, de modo que usuários ociosos não ocupam threads nem memória além dos seus
+ * dados. Cada tarefa executa no máximo {@link #OPERACOES_POR_VEZ} operações antes de voltar ao fim da fila do
+ * executor, para que rajadas de um usuário não atrasem os demais.
+ * <p>
+ * O executor padrão tem uma thread por processador. Em JDKs com threads virtuais, pode-se passar
+ * {@code Executors.newVirtualThreadPerTaskExecutor()} ao construtor.
+ * <p>
+ * O relatório de usuários pede a cada usuário, pela sua caixa, uma cópia dos seus dados, e formata as cópias na
+ * thread que o pediu. Cada usuário aparece como estava entre duas das suas operações, mas usuários diferentes podem
+ * ser copiados em momentos diferentes. {@link #escreveRelatorioUsuarios(Consumer)} mantém no máximo
+ * {@link #COPIAS_POR_VEZ} cópias pedidas e ainda não formatadas, de modo que a memória não cresce com a quantidade
+ * de usuários.
+ */
+public class LojaControllerAtores implements LojaController, Closeable {
+
+    /**
+     * Quantidade máxima de operações de uma caixa executadas antes de a tarefa ceder sua thread.
+     */
+    public static final int OPERACOES_POR_VEZ = 64;
+
+    /**
+     * Quantidade máxima de cópias de usuários pedidas e ainda não formatadas durante o relatório.
+     */
+    public static final int COPIAS_POR_VEZ = 256;
+
+    /**
+     * Controller ao qual as operações são aplicadas.
+     */
+    private final LojaControllerImpl lojaController;
+
+    private final Formatadora formatadora;
+
+    /**
+     * Caixas dos logins com operações pendentes.
+     */
+    private final ConcurrentHashMap<String, Caixa> caixas = new ConcurrentHashMap<>();
+
+    /**
+     * Executor das tarefas que esvaziam as caixas.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Construtor com o executor padrão.
+     *
+     * @param formatadora {@link Formatadora} para formatação de dados.
+     */
+    public LojaControllerAtores(final Formatadora formatadora) {
+        this(formatadora, Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), tarefa -> {
+            Thread thread = new Thread(tarefa, "ator-loja");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param formatadora {@link Formatadora} para formatação de dados.
+     * @param executor    {@link ExecutorService} no qual as caixas serão esvaziadas.
+     */
+    public LojaControllerAtores(final Formatadora formatadora, final ExecutorService executor) {
+        this.lojaController = new LojaControllerImpl(new ConcurrentHashMap<>(), formatadora);
+        this.formatadora = formatadora;
+        this.executor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void adicionaUsuario(final String nome, final String login,
+                                final String tipo) throws UsuarioInvalidoException {
+        String chave = chave(login);
+        try {
+            Resultados.aguarda(envia(chave, controller -> {
+                controller.adicionaUsuario(nome, chave, tipo);
+                return null;
+            }));
+        } catch (ExecutionException e) {
+            Resultados.relanca(e.getCause(), UsuarioInvalidoException.class);
+            throw Resultados.erroInesperado(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean adicionarDinheiroUsuario(final String login, final double quantia) {
+        String chave = chave(login);
+        try {
+            return Resultados.aguarda(envia(chave, controller -> controller.adicionarDinheiroUsuario(chave, quantia)));
+        } catch (ExecutionException e) {
+            throw Resultados.erroInesperado(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getRelatorioUsuarios() {
+        List<String> relatorio = new ArrayList<>();
+        escreveRelatorioUsuarios(relatorio::add);
+        return relatorio;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void escreveRelatorioUsuarios(final Consumer<String> destino) {
+        formatadora.formataDadosUsuario(CopiasUsuarios::new, destino);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vendeJogo(final String jogoNome, final double preco, final String jogabilidades,
+                          final String estiloJogo, final String loginUser) throws JogoInvalidoException,
+            SaldoInsuficienteException, UsuarioInvalidoException {
+        String chave = chave(loginUser);
+        try {
+            Resultados.aguarda(envia(chave, controller -> {
+                controller.vendeJogo(jogoNome, preco, jogabilidades, estiloJogo, chave);
+                return null;
+            }));
+        } catch (ExecutionException e) {
+            Resultados.relanca(e.getCause(), JogoInvalidoException.class);
+            Resultados.relanca(e.getCause(), SaldoInsuficienteException.class);
+            Resultados.relanca(e.getCause(), UsuarioInvalidoException.class);
+            throw Resultados.erroInesperado(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void punir(final String nomeJogo, final String login, final int score,
+                      final boolean zerou) throws JogoInvalidoException, UsuarioInvalidoException {
+        String chave = chave(login);
+        try {
+            Resultados.aguarda(envia(chave, controller -> {
+                controller.punir(nomeJogo, chave, score, zerou);
+                return null;
+            }));
+        } catch (ExecutionException e) {
+            Resultados.relanca(e.getCause(), JogoInvalidoException.class);
+            Resultados.relanca(e.getCause(), UsuarioInvalidoException.class);
+            throw Resultados.erroInesperado(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recompensar(final String nomeJogo, final String login, final int score,
+                            final boolean zerou) throws JogoInvalidoException, UsuarioInvalidoException {
+        String chave = chave(login);
+        try {
+            Resultados.aguarda(envia(chave, controller -> {
+                controller.recompensar(nomeJogo, chave, score, zerou);
+                return null;
+            }));
+        } catch (ExecutionException e) {
+            Resultados.relanca(e.getCause(), JogoInvalidoException.class);
+            Resultados.relanca(e.getCause(), UsuarioInvalidoException.class);
+            throw Resultados.erroInesperado(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void upgrade(final String login) throws UsuarioInvalidoException, UsuarioInaptoException {
+        String chave = chave(login);
+        try {
+            Resultados.aguarda(envia(chave, controller -> {
+                controller.upgrade(chave);
+                return null;
+            }));
+        } catch (ExecutionException e) {
+            Resultados.relanca(e.getCause(), UsuarioInvalidoException.class);
+            Resultados.relanca(e.getCause(), UsuarioInaptoException.class);
+            throw Resultados.erroInesperado(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double confereCredito(final String login) throws UsuarioInvalidoException {
+        String chave = chave(login);
+        try {
+            return Resultados.aguarda(envia(chave, controller -> controller.confereCredito(chave)));
+        } catch (ExecutionException e) {
+            Resultados.relanca(e.getCause(), UsuarioInvalidoException.class);
+            throw Resultados.erroInesperado(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getX2pUsuario(final String login) throws UsuarioInvalidoException {
+        String chave = chave(login);
+        try {
+            return Resultados.aguarda(envia(chave, controller -> controller.getX2pUsuario(chave)));
+        } catch (ExecutionException e) {
+            Resultados.relanca(e.getCause(), UsuarioInvalidoException.class);
+            throw Resultados.erroInesperado(e);
+        }
+    }
+
+    /**
+     * @return Quantidade de caixas com operações pendentes no momento.
+     */
+    public int getQtdeCaixasAtivas() {
+        return caixas.size();
+    }
+
+    /**
+     * Recupera uma visão somente leitura dos usuários desta loja.
+     *
+     * @return {@link Collection} com os usuários desta loja.
+     */
+    public Collection<Usuario> getUsuarios() {
+        return lojaController.getUsuarios();
+    }
+
+    /**
+     * Encerra o executor, depois de executar as operações já enviadas.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Nenhum usuário tem login nulo ou vazio, então o login nulo, que não pode ser chave de um
+     * {@link ConcurrentHashMap}, é tratado como vazio: em ambos os casos o usuário não é encontrado.
+     */
+    private static String chave(final String login) {
+        return login == null ? "" : login;
+    }
+
+    /**
+     * Envia {@code operacao} à caixa de {@code login}, criando-a caso não exista, e agenda o esvaziamento da caixa
+     * caso ela estivesse vazia.
+     *
+     * @return {@link CompletableFuture} com o resultado da operação.
+     */
+    private <T> CompletableFuture<T> envia(final String login, final Operacao<T> operacao) {
+        CompletableFuture<T> futuro = new CompletableFuture<>();
+        Runnable mensagem = () -> {
+            try {
+                futuro.complete(operacao.executa(lojaController));
+            } catch (Throwable e) {
+                futuro.completeExceptionally(e);
+            }
+        };
+
+        Caixa[] agendar = new Caixa[1];
+        caixas.compute(login, (chave, caixa) -> {
+            if (caixa == null) {
+                caixa = new Caixa(chave);
+            }
+            caixa.mensagens.offer(mensagem);
+            if (caixa.pendentes.getAndIncrement() == 0) {
+                agendar[0] = caixa;
+            }
+            return caixa;
+        });
+        if (agendar[0] != null) {
+            executor.execute(agendar[0]);
+        }
+        return futuro;
+    }
+
+    /**
+     * Operação executada na caixa de um usuário.
+     */
+    private interface Operacao<T> {
+        T executa(LojaControllerImpl controller) throws Exception;
+    }
+
+    /**
+     * Percorre os usuários da loja, pedindo as cópias às caixas com até {@link #COPIAS_POR_VEZ} pedidos adiantados.
+     * Usuários removidos antes de serem copiados são pulados.
+     */
+    private final class CopiasUsuarios implements Iterator<Usuario> {
+
+        private final Iterator<Usuario> usuarios = lojaController.getUsuarios().iterator();
+
+        private final Queue<CompletableFuture<Usuario>> copias = new ArrayDeque<>();
+
+        private Usuario proximo;
+
+        @Override
+        public boolean hasNext() {
+            while (proximo == null) {
+                while (copias.size() < COPIAS_POR_VEZ && usuarios.hasNext()) {
+                    String login = usuarios.next().getLogin();
+                    copias.add(envia(login, controller -> controller.copiaUsuario(login)));
+                }
+                CompletableFuture<Usuario> copia = copias.poll();
+                if (copia == null) {
+                    return false;
+                }
+                try {
+                    proximo = Resultados.aguarda(copia);
+                } catch (ExecutionException e) {
+                    throw Resultados.erroInesperado(e);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Usuario next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Usuario usuario = proximo;
+            proximo = null;
+            return usuario;
+        }
+    }
+
+    /**
+     * Caixa de mensagens de um login. Só uma tarefa a esvazia por vez: ela é agendada quando a quantidade de
+     * mensagens pendentes passa de zero para um e termina quando essa quantidade volta a zero.
+     */
+    private final class Caixa implements Runnable {
+
+        private final String login;
+
+        private final Queue<Runnable> mensagens = new ConcurrentLinkedQueue<>();
+
+        /**
+         * Mensagens enviadas e ainda não executadas. Só é incrementada dentro de
+         * {@link ConcurrentHashMap#compute}, o que garante que uma caixa sem pendências não receba mensagens depois
+         * de ser descartada.
+         */
+        private final AtomicInteger pendentes = new AtomicInteger();
+
+        private Caixa(final String login) {
+            this.login = login;
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < OPERACOES_POR_VEZ; i++) {
+                mensagens.poll().run();
+                if (pendentes.decrementAndGet() == 0) {
+                    caixas.computeIfPresent(login, (chave, caixa) ->
+                            caixa == this && pendentes.get() == 0 ? null : caixa);
+                    return;
+                }
+            }
+            executor.execute(this);
+        }
+    }
+}
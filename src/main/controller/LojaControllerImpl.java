@@ -1,8 +1,20 @@
 package main.controller;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
 
+import main.controller.lote.Compra;
+import main.controller.lote.ExecucaoPorUsuario;
+import main.controller.lote.Jogada;
+import main.controller.lote.LiquidacaoTorneio;
+import main.controller.lote.LojaControllerLote;
+import main.controller.lote.Recarga;
+import main.controller.lote.StatusRegistro;
 import main.entidade.jogo.Jogo;
 import main.exception.JogoInvalidoException;
 import main.entidade.usuario.Usuario;
@@ -19,7 +31,7 @@ import main.exception.UsuarioInaptoException;
 /**
  * Implementação de {@link LojaController}. Created by rerissondcsm on 15/02/17.
  */
-public class LojaControllerImpl implements LojaController {
+public class LojaControllerImpl implements LojaController, LojaControllerLote, LojaControllerStatus {
 
     /**
      * Mapa de login para {@link Usuario} desta loja.
@@ -42,6 +54,11 @@ public class LojaControllerImpl implements LojaController {
      */
     private JogoFactory jogoFactory;
 
+    /**
+     * {@link OuvinteLoja} notificado das vendas e jogadas.
+     */
+    private OuvinteLoja ouvinte;
+
     /**
      * Construtor.
      *
@@ -50,10 +67,23 @@ public class LojaControllerImpl implements LojaController {
      */
     public LojaControllerImpl(Map<String, Usuario> usuarios,
                               Formatadora formatadora) {
+        this(usuarios, formatadora, OuvinteLoja.NENHUM);
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param usuarios    - {@link Map} com valores na forma loginUsuario,usuario.
+     * @param formatadora - {@link Formatadora} para formatação de dados.
+     * @param ouvinte     - {@link OuvinteLoja} notificado de cada venda e de cada jogada.
+     */
+    public LojaControllerImpl(final Map<String, Usuario> usuarios, final Formatadora formatadora,
+                              final OuvinteLoja ouvinte) {
         this.usuarios = usuarios;
         this.formatadora = formatadora;
         this.usuarioFactory = new UsuarioFactory();
         this.jogoFactory = new JogoFactory();
+        this.ouvinte = ouvinte;
     }
 
     /**
@@ -62,12 +92,23 @@ public class LojaControllerImpl implements LojaController {
     @Override
     public void adicionaUsuario(final String nome, final String login,
                                 final String tipo) throws UsuarioInvalidoException {
-        if (!existeUsuario(login)) {
-            Usuario usuario = usuarioFactory.criaUsuario(nome, login, tipo);
-            usuarios.put(login, usuario);
-        } else {
-            throw new UsuarioInvalidoException(USUARIO_EXISTENTE);
+        adicionaUsuarioComStatus(nome, login, tipo).lancaSeUsuarioInvalido();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StatusOperacao adicionaUsuarioComStatus(final String nome, final String login, final String tipo) {
+        if (existeUsuario(login)) {
+            return StatusOperacao.USUARIO_EXISTENTE;
         }
+        try {
+            usuarios.put(login, usuarioFactory.criaUsuario(nome, login, tipo));
+        } catch (UsuarioInvalidoException e) {
+            return StatusOperacao.de(e);
+        }
+        return StatusOperacao.OK;
     }
 
     /**
@@ -92,6 +133,58 @@ public class LojaControllerImpl implements LojaController {
         return this.formatadora.formataDadosUsuario(usuarios.values());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void escreveRelatorioUsuarios(final Consumer<String> destino) {
+        this.formatadora.formataDadosUsuario(usuarios.values(), destino);
+    }
+
+    /**
+     * Recupera uma visão somente leitura dos usuários desta loja. A visão acompanha o mapa de usuários e, como ele,
+     * só é segura para a thread que altera a loja, a menos que o mapa seja concorrente.
+     *
+     * @return {@link Collection} com os usuários desta loja.
+     */
+    public Collection<Usuario> getUsuarios() {
+        return Collections.unmodifiableCollection(usuarios.values());
+    }
+
+    /**
+     * Recupera uma cópia de um usuário desta loja, para que seja transferido a outra.
+     *
+     * @param login Login do usuário.
+     * @return Uma cópia do {@link Usuario}, ou {@code null} caso não exista.
+     */
+    public Usuario copiaUsuario(final String login) {
+        Usuario usuario = usuarios.get(login);
+        return usuario == null ? null : usuario.copia();
+    }
+
+    /**
+     * Retira um usuário desta loja, para que seja transferido a outra.
+     *
+     * @param login Login do usuário.
+     * @return O {@link Usuario} retirado, ou {@code null} caso não exista.
+     */
+    public Usuario removeUsuario(final String login) {
+        return usuarios.remove(login);
+    }
+
+    /**
+     * Insere nesta loja um usuário já existente, com seus jogos e saldo, vindo de outra loja.
+     *
+     * @param usuario {@link Usuario} a ser inserido.
+     * @throws UsuarioInvalidoException Caso o login do usuário já esteja cadastrado.
+     */
+    public void insereUsuario(final Usuario usuario) throws UsuarioInvalidoException {
+        if (existeUsuario(usuario.getLogin())) {
+            StatusOperacao.USUARIO_EXISTENTE.lancaSeUsuarioInvalido();
+        }
+        usuarios.put(usuario.getLogin(), usuario);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -99,10 +192,20 @@ public class LojaControllerImpl implements LojaController {
     public void punir(String nomeJogo, String login, int score,
                       boolean zerou) throws JogoInvalidoException,
             UsuarioInvalidoException {
+        StatusOperacao status = punirComStatus(nomeJogo, login, score, zerou);
+        status.lancaSeUsuarioInvalido();
+        status.lancaSeJogoInvalido();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StatusOperacao punirComStatus(final String nomeJogo, final String login, final int score,
+                                         final boolean zerou) {
         Usuario usuario = usuarios.get(login);
-        verificaValidadeUsuario(usuario);
-        usuario.punir(nomeJogo, score, zerou);
-        ajustaPapelUsuario(usuario);
+        return usuario == null ? StatusOperacao.USUARIO_NAO_ENCONTRADO
+                : aplicaJogada(usuario, nomeJogo, score, zerou, false);
     }
 
     /**
@@ -112,10 +215,20 @@ public class LojaControllerImpl implements LojaController {
     public void recompensar(String nomeJogo, String login, int score,
                             boolean zerou) throws JogoInvalidoException,
             UsuarioInvalidoException {
+        StatusOperacao status = recompensarComStatus(nomeJogo, login, score, zerou);
+        status.lancaSeUsuarioInvalido();
+        status.lancaSeJogoInvalido();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StatusOperacao recompensarComStatus(final String nomeJogo, final String login, final int score,
+                                               final boolean zerou) {
         Usuario usuario = usuarios.get(login);
-        verificaValidadeUsuario(usuario);
-        usuario.recompensar(nomeJogo, score, zerou);
-        ajustaPapelUsuario(usuario);
+        return usuario == null ? StatusOperacao.USUARIO_NAO_ENCONTRADO
+                : aplicaJogada(usuario, nomeJogo, score, zerou, true);
     }
 
     /**
@@ -123,11 +236,31 @@ public class LojaControllerImpl implements LojaController {
      **/
     @Override
     public double confereCredito(String login) throws UsuarioInvalidoException {
-        if (existeUsuario(login)) {
-            Usuario usuario = usuarios.get(login);
-            return usuario.getCredito();
+        Usuario usuario = usuarios.get(login);
+        verificaValidadeUsuario(usuario);
+        return usuario.getCredito();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double confereCreditoOu(final String login, final double seAusente) {
+        Usuario usuario = usuarios.get(login);
+        return usuario == null ? seAusente : usuario.getCredito();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StatusOperacao confereCreditoComStatus(final String login, final DoubleConsumer credito) {
+        Usuario usuario = usuarios.get(login);
+        if (usuario == null) {
+            return StatusOperacao.USUARIO_NAO_ENCONTRADO;
         }
-        throw new UsuarioInvalidoException(USUARIO_NAO_ENCONTRADO);
+        credito.accept(usuario.getCredito());
+        return StatusOperacao.OK;
     }
 
     /**
@@ -135,11 +268,31 @@ public class LojaControllerImpl implements LojaController {
      **/
     @Override
     public int getX2pUsuario(String login) throws UsuarioInvalidoException {
-        if (existeUsuario(login)) {
-            Usuario usuario = usuarios.get(login);
-            return usuario.getX2p();
+        Usuario usuario = usuarios.get(login);
+        verificaValidadeUsuario(usuario);
+        return usuario.getX2p();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getX2pUsuarioOu(final String login, final int seAusente) {
+        Usuario usuario = usuarios.get(login);
+        return usuario == null ? seAusente : usuario.getX2p();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StatusOperacao getX2pUsuarioComStatus(final String login, final IntConsumer x2p) {
+        Usuario usuario = usuarios.get(login);
+        if (usuario == null) {
+            return StatusOperacao.USUARIO_NAO_ENCONTRADO;
         }
-        throw new UsuarioInvalidoException(USUARIO_NAO_ENCONTRADO);
+        x2p.accept(usuario.getX2p());
+        return StatusOperacao.OK;
     }
 
     /**
@@ -148,16 +301,21 @@ public class LojaControllerImpl implements LojaController {
     @Override
     public void vendeJogo(final String jogoNome, final double preco, final String jogabilidades, final String estiloJogo, final String loginUser) throws JogoInvalidoException,
             SaldoInsuficienteException, UsuarioInvalidoException {
+        StatusOperacao status = vendeJogoComStatus(jogoNome, preco, jogabilidades, estiloJogo, loginUser);
+        status.lancaSeUsuarioInvalido();
+        status.lancaSeJogoInvalido();
+        status.lancaSeSaldoInsuficiente();
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StatusOperacao vendeJogoComStatus(final String jogoNome, final double preco, final String jogabilidades,
+                                             final String estiloJogo, final String loginUser) {
         Usuario usuario = usuarios.get(loginUser);
-        verificaValidadeUsuario(usuario);
-
-        Jogo jogo = jogoFactory.criaJogo(jogoNome, preco, estiloJogo,
-                jogabilidades);
-
-        verificaSaldoSuficiente(usuario, jogo);
-        usuario.adicionaJogo(jogo);
-        ajustaPapelUsuario(usuario);
+        return usuario == null ? StatusOperacao.USUARIO_NAO_ENCONTRADO
+                : aplicaCompra(usuario, jogoNome, preco, jogabilidades, estiloJogo);
     }
 
     /**
@@ -165,13 +323,194 @@ public class LojaControllerImpl implements LojaController {
      */
     @Override
     public void upgrade(final String login) throws UsuarioInvalidoException, UsuarioInaptoException {
-        if (existeUsuario(login)) {
-            Usuario usuario = usuarios.get(login);
-            verificaValidadeUsuario(usuario);
+        StatusOperacao status = upgradeComStatus(login);
+        status.lancaSeUsuarioInvalido();
+        status.lancaSeUsuarioInapto();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Assim como {@link #upgrade(String)}, devolve {@link StatusOperacao#USUARIO_NAO_ENCONTRADO} mesmo depois de
+     * promover um usuário existente.
+     */
+    @Override
+    public StatusOperacao upgradeComStatus(final String login) {
+        Usuario usuario = usuarios.get(login);
+        if (usuario != null) {
             verificaUsuarioAptoUpgrade(usuario);
             upgrade(usuario);
         }
-        throw new UsuarioInvalidoException(USUARIO_NAO_ENCONTRADO);
+        return StatusOperacao.USUARIO_NAO_ENCONTRADO;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * As falhas são detectadas antes de alterar o usuário, sem lançar exceções, exceto as de jogos inválidos, que
+     * vêm da criação do jogo.
+     */
+    @Override
+    public byte[] vendeJogos(final List<Compra> compras) {
+        return ExecucaoPorUsuario.executa(compras, Compra::getLogin, usuarios::get,
+                (usuario, compra) -> aplicaCompra(usuario, compra.getNomeJogo(), compra.getPreco(),
+                        compra.getJogabilidades(), compra.getEstiloJogo()).getCodigo());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] adicionaCreditos(final List<Recarga> recargas) {
+        return ExecucaoPorUsuario.executa(recargas, Recarga::getLogin, usuarios::get, (usuario, recarga) -> {
+            usuario.adicionaSaldo(recarga.getQuantia());
+            return StatusRegistro.OK;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] registraJogadas(final List<Jogada> jogadas) {
+        return ExecucaoPorUsuario.executa(jogadas, Jogada::getLogin, usuarios::get,
+                (usuario, jogada) -> aplicaJogada(usuario, jogada.getNomeJogo(), jogada.getScore(),
+                        jogada.isZerou(), jogada.isRecompensa()).getCodigo());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Caso um Noob passe do x2p mínimo de um Veterano no meio da sessão, o papel também é ajustado nesse ponto, já
+     * que as jogadas seguintes seriam recompensadas ou punidas como Veterano nas chamadas individuais.
+     */
+    @Override
+    public byte registraSessao(final String login, final String nomeJogo, final int[] scores, final boolean[] zerados,
+                               final boolean recompensa) {
+        if (zerados.length != scores.length) {
+            throw new IllegalArgumentException("Os vetores da sessão devem ter o mesmo tamanho.");
+        }
+        Usuario usuario = login == null ? null : usuarios.get(login);
+        if (usuario == null) {
+            return StatusRegistro.USUARIO_INVALIDO;
+        }
+        if (!usuario.possuiJogo(nomeJogo)) {
+            return StatusOperacao.JOGO_NAO_ENCONTRADO.getCodigo();
+        }
+        try {
+            int proxima = 0;
+            while (proxima < scores.length) {
+                int x2pParada = verificaUsuarioPodeSerPromovido(usuario) ? X2P_MINIMO_VETERANO : Integer.MAX_VALUE;
+                int inicio = proxima;
+                proxima = usuario.registraJogadas(nomeJogo, scores, zerados, proxima, recompensa, x2pParada);
+                Jogo jogo = usuario.getJogo(nomeJogo);
+                for (int i = inicio; i < proxima; i++) {
+                    ouvinte.aoJogar(usuario, jogo, scores[i], zerados[i]);
+                }
+                ajustaPapelUsuario(usuario);
+            }
+        } catch (JogoInvalidoException e) {
+            return StatusOperacao.de(e).getCodigo();
+        }
+        return StatusRegistro.OK;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * O papel de um participante só é ajustado entre dois dos seus resultados caso o primeiro tenha sido aplicado,
+     * como aconteceria nas chamadas individuais.
+     */
+    @Override
+    public LiquidacaoTorneio liquidaTorneio(final String nomeJogo, final String[] logins, final int[] scores,
+                                            final boolean[] zerados, final boolean[] recompensas) {
+        if (scores.length != logins.length || zerados.length != logins.length
+                || recompensas.length != logins.length) {
+            throw new IllegalArgumentException("Os vetores do torneio devem ter o mesmo tamanho.");
+        }
+        int[] deltas = new int[logins.length];
+        byte[] status = ExecucaoPorUsuario.executaPorGrupo(logins.length, i -> logins[i], usuarios::get,
+                (usuario, indices, tamanho, statusGrupo) -> {
+                    boolean ajustePendente = false;
+                    for (int j = 0; j < tamanho; j++) {
+                        int i = indices[j];
+                        if (ajustePendente) {
+                            ajustaPapelUsuario(usuario);
+                        }
+                        int x2pAnterior = usuario.getX2p();
+                        StatusOperacao resultado = registraJogada(usuario, nomeJogo, scores[i], zerados[i],
+                                recompensas[i]);
+                        statusGrupo[i] = resultado.getCodigo();
+                        deltas[i] = usuario.getX2p() - x2pAnterior;
+                        ajustePendente = resultado.isSucesso();
+                    }
+                    if (ajustePendente) {
+                        ajustaPapelUsuario(usuario);
+                    }
+                });
+        return new LiquidacaoTorneio(status, deltas);
+    }
+
+    /**
+     * Vende um jogo a um usuário existente, usado tanto pelas vendas individuais quanto pelas em lote. Todas as
+     * verificações acontecem antes de alterar o usuário.
+     */
+    private StatusOperacao aplicaCompra(final Usuario usuario, final String jogoNome, final double preco,
+                                        final String jogabilidades, final String estiloJogo) {
+        Jogo jogo;
+        try {
+            jogo = jogoFactory.criaJogo(jogoNome, preco, estiloJogo, jogabilidades);
+        } catch (JogoInvalidoException e) {
+            return StatusOperacao.de(e);
+        }
+        if (!possuiSaldoSuficiente(usuario, jogo)) {
+            return StatusOperacao.SALDO_INSUFICIENTE;
+        }
+        if (usuario.possuiJogo(jogo.getNome())) {
+            return StatusOperacao.JOGO_JA_VENDIDO;
+        }
+        double creditoAnterior = usuario.getCredito();
+        try {
+            usuario.adicionaJogo(jogo);
+        } catch (JogoInvalidoException e) {
+            return StatusOperacao.de(e);
+        }
+        ouvinte.aoVender(usuario, jogo, creditoAnterior - usuario.getCredito());
+        ajustaPapelUsuario(usuario);
+        return StatusOperacao.OK;
+    }
+
+    /**
+     * Registra uma jogada de um usuário existente, recompensando-o ou punindo-o.
+     */
+    private StatusOperacao aplicaJogada(final Usuario usuario, final String nomeJogo, final int score,
+                                        final boolean zerou, final boolean recompensa) {
+        StatusOperacao status = registraJogada(usuario, nomeJogo, score, zerou, recompensa);
+        if (status.isSucesso()) {
+            ajustaPapelUsuario(usuario);
+        }
+        return status;
+    }
+
+    /**
+     * Registra uma jogada de um usuário existente, recompensando-o ou punindo-o, sem ajustar o seu papel.
+     */
+    private StatusOperacao registraJogada(final Usuario usuario, final String nomeJogo, final int score,
+                                          final boolean zerou, final boolean recompensa) {
+        if (!usuario.possuiJogo(nomeJogo)) {
+            return StatusOperacao.JOGO_NAO_ENCONTRADO;
+        }
+        try {
+            if (recompensa) {
+                usuario.recompensar(nomeJogo, score, zerou);
+            } else {
+                usuario.punir(nomeJogo, score, zerou);
+            }
+        } catch (JogoInvalidoException e) {
+            return StatusOperacao.de(e);
+        }
+        ouvinte.aoJogar(usuario, usuario.getJogo(nomeJogo), score, zerou);
+        return StatusOperacao.OK;
     }
 
     /**
@@ -192,10 +531,8 @@ public class LojaControllerImpl implements LojaController {
      * Verifica a existencia de {@code usuario} entre os usuários desta loja.
      *
      * @param login login do usuário.
-     * @throws UsuarioInvalidoException Caso o usuário seja inválido.
      */
-    private boolean existeUsuario(final String login)
-            throws UsuarioInvalidoException {
+    private boolean existeUsuario(final String login) {
         Usuario usuario = usuarios.get(login);
         return usuario != null;
     }
@@ -209,7 +546,7 @@ public class LojaControllerImpl implements LojaController {
     private void verificaValidadeUsuario(final Usuario usuario)
             throws UsuarioInvalidoException {
         if (usuario == null) {
-            throw new UsuarioInvalidoException(USUARIO_NAO_ENCONTRADO);
+            StatusOperacao.USUARIO_NAO_ENCONTRADO.lancaSeUsuarioInvalido();
         }
     }
 
@@ -219,14 +556,10 @@ public class LojaControllerImpl implements LojaController {
      *
      * @param usuario - {@link Usuario} a ser verificado.
      * @param jogo    - Jogo a ser verificado.
-     * @throws SaldoInsuficienteException Caso o usuário não tenha saldo suficiente para a compra do
-     *                                    jogo.
+     * @return {@code true} caso o usuário tenha saldo suficiente para a compra do jogo.
      */
-    private void verificaSaldoSuficiente(final Usuario usuario, final Jogo jogo)
-            throws SaldoInsuficienteException {
-        if (usuario.getCredito() < jogo.getPreco() * (1 - usuario.getDesconto())) {
-            throw new SaldoInsuficienteException(SALDO_DE_USUARIO_INSUFICIENTE);
-        }
+    private boolean possuiSaldoSuficiente(final Usuario usuario, final Jogo jogo) {
+        return usuario.getCredito() >= jogo.getPreco() * (1 - usuario.getDesconto());
     }
 
     /**
@@ -235,8 +568,7 @@ public class LojaControllerImpl implements LojaController {
      * @param usuario {@link Usuario} a ser validado.
      */
     private boolean verificaUsuarioAptoUpgrade(Usuario usuario) {
-        Role papel = usuario.getRole();
-        if (papel != null && !Noob.class.equals(papel.getClass())) {
+        if (!verificaUsuarioPodeSerPromovido(usuario)) {
             return false;
         } else if (usuario.getX2p() <= X2P_MINIMO_VETERANO) {
             return false;
@@ -244,6 +576,16 @@ public class LojaControllerImpl implements LojaController {
         return true;
     }
 
+    /**
+     * Verifica se o papel de {@code usuario} permite um upgrade, caso ele acumule x2p suficiente.
+     *
+     * @param usuario {@link Usuario} a ser validado.
+     */
+    private boolean verificaUsuarioPodeSerPromovido(final Usuario usuario) {
+        Role papel = usuario.getRole();
+        return papel == null || Noob.class.equals(papel.getClass());
+    }
+
     /**
      * Verifica se {@code usuario} é apto ao downgrade.
      *
@@ -0,0 +1,312 @@
+package main.controller;
+
+import main.entidade.usuario.Usuario;
+import main.exception.JogoInvalidoException;
+import main.exception.SaldoInsuficienteException;
+import main.exception.UsuarioInaptoException;
+import main.exception.UsuarioInvalidoException;
+import main.service.Formatadora;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Implementação de {@link LojaController} que divide os usuários em partições pelo hash do login. Cada partição tem
+ * seu próprio mapa de usuários e seu próprio {@link LojaControllerImpl}, usados exclusivamente pela thread da
+ * partição; assim, operações sobre usuários de partições diferentes executam em paralelo sem nenhum bloqueio
+ * compartilhado, e operações sobre um mesmo usuário são sempre serializadas.
+ * <p>
+ * Operações globais, como {@link #getRelatorioUsuarios()} e os agregados, são distribuídas a todas as partições e
+ * seus resultados, reunidos na ordem das partições.
+ */
+public class LojaControllerParticionado implements LojaController, Closeable {
+
+    /**
+     * Partições desta loja.
+     */
+    private final Particao[] particoes;
+
+    /**
+     * Itens iniciais de um relatório, que não pertencem a nenhum usuário.
+     */
+    private final List<String> cabecalhoRelatorio;
+
+    /**
+     * Construtor.
+     *
+     * @param qtdeParticoes Quantidade de partições, cada uma com sua thread.
+     * @param formatadora   {@link Formatadora} para formatação de dados.
+     */
+    public LojaControllerParticionado(final int qtdeParticoes, final Formatadora formatadora) {
+        if (qtdeParticoes < 1) {
+            throw new IllegalArgumentException("A quantidade de partições deve ser positiva.");
+        }
+        this.particoes = new Particao[qtdeParticoes];
+        for (int i = 0; i < qtdeParticoes; i++) {
+            particoes[i] = new Particao(i, formatadora);
+        }
+        this.cabecalhoRelatorio = formatadora.formataDadosUsuario(Collections.emptyList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void adicionaUsuario(final String nome, final String login,
+                                final String tipo) throws UsuarioInvalidoException {
+        try {
+            Resultados.aguarda(particao(login).submete(controller -> {
+                controller.adicionaUsuario(nome, login, tipo);
+                return null;
+            }));
+        } catch (ExecutionException e) {
+            Resultados.relanca(e.getCause(), UsuarioInvalidoException.class);
+            throw Resultados.erroInesperado(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean adicionarDinheiroUsuario(final String login, final double quantia) {
+        try {
+            return Resultados.aguarda(particao(login).submete(
+                    controller -> controller.adicionarDinheiroUsuario(login, quantia)));
+        } catch (ExecutionException e) {
+            throw Resultados.erroInesperado(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getRelatorioUsuarios() {
+        List<Future<List<String>>> relatorios = new ArrayList<>(particoes.length);
+        for (Particao particao : particoes) {
+            relatorios.add(particao.submete(LojaController::getRelatorioUsuarios));
+        }
+
+        List<String> relatorio = new ArrayList<>(cabecalhoRelatorio);
+        try {
+            for (Future<List<String>> parcial : relatorios) {
+                List<String> itens = Resultados.aguarda(parcial);
+                relatorio.addAll(itens.subList(cabecalhoRelatorio.size(), itens.size()));
+            }
+        } catch (ExecutionException e) {
+            throw Resultados.erroInesperado(e);
+        }
+        return relatorio;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vendeJogo(final String jogoNome, final double preco, final String jogabilidades,
+                          final String estiloJogo, final String loginUser) throws JogoInvalidoException,
+            SaldoInsuficienteException, UsuarioInvalidoException {
+        try {
+            Resultados.aguarda(particao(loginUser).submete(controller -> {
+                controller.vendeJogo(jogoNome, preco, jogabilidades, estiloJogo, loginUser);
+                return null;
+            }));
+        } catch (ExecutionException e) {
+            Resultados.relanca(e.getCause(), JogoInvalidoException.class);
+            Resultados.relanca(e.getCause(), SaldoInsuficienteException.class);
+            Resultados.relanca(e.getCause(), UsuarioInvalidoException.class);
+            throw Resultados.erroInesperado(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void punir(final String nomeJogo, final String login, final int score,
+                      final boolean zerou) throws JogoInvalidoException, UsuarioInvalidoException {
+        try {
+            Resultados.aguarda(particao(login).submete(controller -> {
+                controller.punir(nomeJogo, login, score, zerou);
+                return null;
+            }));
+        } catch (ExecutionException e) {
+            Resultados.relanca(e.getCause(), JogoInvalidoException.class);
+            Resultados.relanca(e.getCause(), UsuarioInvalidoException.class);
+            throw Resultados.erroInesperado(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recompensar(final String nomeJogo, final String login, final int score,
+                            final boolean zerou) throws JogoInvalidoException, UsuarioInvalidoException {
+        try {
+            Resultados.aguarda(particao(login).submete(controller -> {
+                controller.recompensar(nomeJogo, login, score, zerou);
+                return null;
+            }));
+        } catch (ExecutionException e) {
+            Resultados.relanca(e.getCause(), JogoInvalidoException.class);
+            Resultados.relanca(e.getCause(), UsuarioInvalidoException.class);
+            throw Resultados.erroInesperado(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void upgrade(final String login) throws UsuarioInvalidoException, UsuarioInaptoException {
+        try {
+            Resultados.aguarda(particao(login).submete(controller -> {
+                controller.upgrade(login);
+                return null;
+            }));
+        } catch (ExecutionException e) {
+            Resultados.relanca(e.getCause(), UsuarioInvalidoException.class);
+            Resultados.relanca(e.getCause(), UsuarioInaptoException.class);
+            throw Resultados.erroInesperado(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double confereCredito(final String login) throws UsuarioInvalidoException {
+        try {
+            return Resultados.aguarda(particao(login).submete(controller -> controller.confereCredito(login)));
+        } catch (ExecutionException e) {
+            Resultados.relanca(e.getCause(), UsuarioInvalidoException.class);
+            throw Resultados.erroInesperado(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getX2pUsuario(final String login) throws UsuarioInvalidoException {
+        try {
+            return Resultados.aguarda(particao(login).submete(controller -> controller.getX2pUsuario(login)));
+        } catch (ExecutionException e) {
+            Resultados.relanca(e.getCause(), UsuarioInvalidoException.class);
+            throw Resultados.erroInesperado(e);
+        }
+    }
+
+    /**
+     * Conta os usuários de todas as partições.
+     *
+     * @return Quantidade de usuários desta loja.
+     */
+    public int getQuantidadeUsuarios() {
+        List<Future<Integer>> parciais = new ArrayList<>(particoes.length);
+        for (Particao particao : particoes) {
+            parciais.add(particao.submete(controller -> controller.getUsuarios().size()));
+        }
+        int total = 0;
+        try {
+            for (Future<Integer> parcial : parciais) {
+                total += Resultados.aguarda(parcial);
+            }
+        } catch (ExecutionException e) {
+            throw Resultados.erroInesperado(e);
+        }
+        return total;
+    }
+
+    /**
+     * Soma o crédito dos usuários de todas as partições.
+     *
+     * @return Crédito total dos usuários desta loja.
+     */
+    public double getCreditoTotal() {
+        List<Future<Double>> parciais = new ArrayList<>(particoes.length);
+        for (Particao particao : particoes) {
+            parciais.add(particao.submete(controller -> {
+                double credito = 0;
+                for (Usuario usuario : controller.getUsuarios()) {
+                    credito += usuario.getCredito();
+                }
+                return credito;
+            }));
+        }
+        double total = 0;
+        try {
+            for (Future<Double> parcial : parciais) {
+                total += Resultados.aguarda(parcial);
+            }
+        } catch (ExecutionException e) {
+            throw Resultados.erroInesperado(e);
+        }
+        return total;
+    }
+
+    /**
+     * @return Quantidade de partições desta loja.
+     */
+    public int getQtdeParticoes() {
+        return particoes.length;
+    }
+
+    /**
+     * Encerra as threads das partições, depois de executar as operações já submetidas.
+     */
+    @Override
+    public void close() {
+        for (Particao particao : particoes) {
+            particao.threads.shutdown();
+        }
+    }
+
+    /**
+     * Recupera a partição responsável por {@code login}.
+     */
+    private Particao particao(final String login) {
+        int hash = Objects.hashCode(login);
+        return particoes[Math.floorMod(hash ^ (hash >>> 16), particoes.length)];
+    }
+
+    /**
+     * Operação executada pela thread de uma partição.
+     */
+    private interface OperacaoParticao<T> {
+        T executa(LojaControllerImpl controller) throws Exception;
+    }
+
+    /**
+     * Partição da loja, com seus usuários e a única thread que os acessa.
+     */
+    private static final class Particao {
+
+        private final LojaControllerImpl controller;
+
+        private final ExecutorService threads;
+
+        private Particao(final int indice, final Formatadora formatadora) {
+            this.controller = new LojaControllerImpl(new HashMap<>(), formatadora);
+            this.threads = Executors.newSingleThreadExecutor(tarefa -> {
+                Thread thread = new Thread(tarefa, "particao-loja-" + indice);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private <T> Future<T> submete(final OperacaoParticao<T> operacao) {
+            return threads.submit(() -> operacao.executa(controller));
+        }
+    }
+}
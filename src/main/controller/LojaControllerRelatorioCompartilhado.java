@@ -0,0 +1,250 @@
+package main.controller;
+
+import main.exception.JogoInvalidoException;
+import main.exception.SaldoInsuficienteException;
+import main.exception.UsuarioInaptoException;
+import main.exception.UsuarioInvalidoException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link LojaController} que compartilha o relatório de usuários entre chamadas concorrentes. Quando várias threads
+ * pedem o relatório ao mesmo tempo, só uma o gera; as demais esperam e recebem a mesma lista, que não pode ser
+ * alterada.
+ * <p>
+ * Um relatório gerado continua sendo reaproveitado enquanto nenhuma escrita passar por este controller ou, mesmo que
+ * haja escritas, enquanto tiver menos que a janela de obsolescência configurada. Com janela zero, cada chamada
+ * recebe um relatório que reflete todas as escritas concluídas antes dela. Todas as escritas devem passar por este
+ * controller, que conta as versões da loja; as demais operações são repassadas sem alteração.
+ * <p>
+ * O relatório compartilhado é mantido inteiro em memória, inclusive quando entregue item a item por
+ * {@link #escreveRelatorioUsuarios}.
+ */
+public class LojaControllerRelatorioCompartilhado implements LojaController {
+
+    private final LojaController lojaController;
+
+    /**
+     * Tempo, em nanossegundos, durante o qual um relatório é reaproveitado mesmo depois de escritas.
+     */
+    private final long janelaObsolescenciaNanos;
+
+    /**
+     * Quantidade de escritas que passaram por este controller.
+     */
+    private final AtomicLong versao = new AtomicLong();
+
+    /**
+     * Relatório mais recente, concluído ou em geração.
+     */
+    private final AtomicReference<Relatorio> atual = new AtomicReference<>();
+
+    private final LongAdder qtdeGeracoes = new LongAdder();
+    private final LongAdder qtdeReaproveitamentos = new LongAdder();
+
+    /**
+     * Construtor com janela de obsolescência zero.
+     *
+     * @param lojaController {@link LojaController} que gera os relatórios e executa as demais operações.
+     */
+    public LojaControllerRelatorioCompartilhado(final LojaController lojaController) {
+        this(lojaController, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param lojaController      {@link LojaController} que gera os relatórios e executa as demais operações.
+     * @param janelaObsolescencia Tempo durante o qual um relatório é reaproveitado mesmo depois de escritas.
+     * @param unidade             {@link TimeUnit} de {@code janelaObsolescencia}.
+     */
+    public LojaControllerRelatorioCompartilhado(final LojaController lojaController, final long janelaObsolescencia,
+                                                final TimeUnit unidade) {
+        this.lojaController = lojaController;
+        this.janelaObsolescenciaNanos = unidade.toNanos(janelaObsolescencia);
+    }
+
+    /**
+     * @return Quantidade de relatórios gerados pelo controller decorado.
+     */
+    public long getQtdeGeracoes() {
+        return qtdeGeracoes.sum();
+    }
+
+    /**
+     * @return Quantidade de chamadas atendidas com um relatório gerado para outra chamada.
+     */
+    public long getQtdeReaproveitamentos() {
+        return qtdeReaproveitamentos.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getRelatorioUsuarios() {
+        while (true) {
+            long versaoAtual = versao.get();
+            Relatorio relatorio = atual.get();
+            if (relatorio != null && relatorio.podeSerReaproveitado(versaoAtual, janelaObsolescenciaNanos)) {
+                qtdeReaproveitamentos.increment();
+                return relatorio.aguarda();
+            }
+
+            Relatorio novo = new Relatorio(versaoAtual);
+            if (atual.compareAndSet(relatorio, novo)) {
+                return gera(novo);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void adicionaUsuario(final String nome, final String login,
+                                final String tipo) throws UsuarioInvalidoException {
+        try {
+            lojaController.adicionaUsuario(nome, login, tipo);
+        } finally {
+            versao.incrementAndGet();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean adicionarDinheiroUsuario(final String login, final double quantia) {
+        try {
+            return lojaController.adicionarDinheiroUsuario(login, quantia);
+        } finally {
+            versao.incrementAndGet();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vendeJogo(final String jogoNome, final double preco, final String jogabilidades,
+                          final String estiloJogo, final String loginUser) throws JogoInvalidoException,
+            SaldoInsuficienteException, UsuarioInvalidoException {
+        try {
+            lojaController.vendeJogo(jogoNome, preco, jogabilidades, estiloJogo, loginUser);
+        } finally {
+            versao.incrementAndGet();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void punir(final String nomeJogo, final String login, final int score,
+                      final boolean zerou) throws JogoInvalidoException, UsuarioInvalidoException {
+        try {
+            lojaController.punir(nomeJogo, login, score, zerou);
+        } finally {
+            versao.incrementAndGet();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recompensar(final String nomeJogo, final String login, final int score,
+                            final boolean zerou) throws JogoInvalidoException, UsuarioInvalidoException {
+        try {
+            lojaController.recompensar(nomeJogo, login, score, zerou);
+        } finally {
+            versao.incrementAndGet();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void upgrade(final String login) throws UsuarioInvalidoException, UsuarioInaptoException {
+        try {
+            lojaController.upgrade(login);
+        } finally {
+            versao.incrementAndGet();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double confereCredito(final String login) throws UsuarioInvalidoException {
+        return lojaController.confereCredito(login);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getX2pUsuario(final String login) throws UsuarioInvalidoException {
+        return lojaController.getX2pUsuario(login);
+    }
+
+    /**
+     * Gera o relatório e o entrega às chamadas que o esperam. Em caso de falha, todas recebem a mesma exceção, e o
+     * relatório deixa de ser reaproveitado.
+     */
+    private List<String> gera(final Relatorio relatorio) {
+        try {
+            List<String> itens = Collections.unmodifiableList(new ArrayList<>(lojaController.getRelatorioUsuarios()));
+            qtdeGeracoes.increment();
+            relatorio.resultado.complete(itens);
+            return itens;
+        } catch (RuntimeException | Error e) {
+            relatorio.resultado.completeExceptionally(e);
+            atual.compareAndSet(relatorio, null);
+            throw e;
+        }
+    }
+
+    /**
+     * Relatório concluído ou em geração, com a versão da loja em que a geração começou.
+     */
+    private static final class Relatorio {
+
+        private final long versao;
+
+        private final long inicio = System.nanoTime();
+
+        private final CompletableFuture<List<String>> resultado = new CompletableFuture<>();
+
+        private Relatorio(final long versao) {
+            this.versao = versao;
+        }
+
+        /**
+         * Um relatório começado na versão atual reflete todas as escritas já concluídas; um mais antigo só é
+         * aceito dentro da janela de obsolescência, contada a partir do início da geração.
+         */
+        private boolean podeSerReaproveitado(final long versaoAtual, final long janelaObsolescenciaNanos) {
+            return versao == versaoAtual || System.nanoTime() - inicio < janelaObsolescenciaNanos;
+        }
+
+        private List<String> aguarda() {
+            try {
+                return Resultados.aguarda(resultado);
+            } catch (ExecutionException e) {
+                throw Resultados.erroInesperado(e);
+            }
+        }
+    }
+}
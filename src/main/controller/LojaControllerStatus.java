@@ -0,0 +1,93 @@
+package main.controller;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Variante de {@link LojaController} sem exceções: as operações que podem falhar devolvem um {@link StatusOperacao}
+ * com a mesma mensagem que a exceção correspondente teria. As consultas entregam o valor a quem chama e devolvem o
+ * status, ou devolvem um valor indicado por quem chama caso o usuário não exista. Rejeições frequentes, como compras
+ * sem saldo, não custam a criação de exceções.
+ */
+public interface LojaControllerStatus {
+
+    /**
+     * @see LojaController#adicionaUsuario(String, String, String)
+     */
+    StatusOperacao adicionaUsuarioComStatus(String nome, String login, String tipo);
+
+    /**
+     * @see LojaController#vendeJogo(String, double, String, String, String)
+     */
+    StatusOperacao vendeJogoComStatus(String jogoNome, double preco, String jogabilidades, String estiloJogo,
+                                      String loginUser);
+
+    /**
+     * @see LojaController#punir(String, String, int, boolean)
+     */
+    StatusOperacao punirComStatus(String nomeJogo, String login, int score, boolean zerou);
+
+    /**
+     * @see LojaController#recompensar(String, String, int, boolean)
+     */
+    StatusOperacao recompensarComStatus(String nomeJogo, String login, int score, boolean zerou);
+
+    /**
+     * @see LojaController#upgrade(String)
+     */
+    StatusOperacao upgradeComStatus(String login);
+
+    /**
+     * Recupera o crédito de um usuário na loja.
+     *
+     * @param login     Login do usuário.
+     * @param seAusente Valor devolvido caso o usuário não exista.
+     * @return O crédito do usuário, ou {@code seAusente}.
+     * @see LojaController#confereCredito(String)
+     */
+    double confereCreditoOu(String login, double seAusente);
+
+    /**
+     * Recupera o crédito de um usuário na loja, entregando-o a {@code credito} caso o usuário exista.
+     *
+     * @param login   Login do usuário.
+     * @param credito Recebe o crédito do usuário.
+     * @return {@link StatusOperacao#OK}, ou {@link StatusOperacao#USUARIO_NAO_ENCONTRADO}.
+     * @see LojaController#confereCredito(String)
+     */
+    StatusOperacao confereCreditoComStatus(String login, DoubleConsumer credito);
+
+    /**
+     * Recupera o x2p de um usuário na loja.
+     *
+     * @param login     Login do usuário.
+     * @param seAusente Valor devolvido caso o usuário não exista.
+     * @return O x2p do usuário, ou {@code seAusente}.
+     * @see LojaController#getX2pUsuario(String)
+     */
+    int getX2pUsuarioOu(String login, int seAusente);
+
+    /**
+     * Recupera o x2p de um usuário na loja, entregando-o a {@code x2p} caso o usuário exista.
+     *
+     * @param login Login do usuário.
+     * @param x2p   Recebe o x2p do usuário.
+     * @return {@link StatusOperacao#OK}, ou {@link StatusOperacao#USUARIO_NAO_ENCONTRADO}.
+     * @see LojaController#getX2pUsuario(String)
+     */
+    StatusOperacao getX2pUsuarioComStatus(String login, IntConsumer x2p);
+
+    /**
+     * Recupera a variante sem exceções de {@code lojaController}: o próprio controller, caso já a implemente, ou um
+     * adaptador que converte as suas exceções em {@link StatusOperacao}.
+     *
+     * @param lojaController {@link LojaController} a adaptar.
+     * @return {@link LojaControllerStatus} que executa as operações em {@code lojaController}.
+     */
+    static LojaControllerStatus de(final LojaController lojaController) {
+        if (lojaController instanceof LojaControllerStatus) {
+            return (LojaControllerStatus) lojaController;
+        }
+        return new LojaControllerStatusAdaptado(lojaController);
+    }
+}
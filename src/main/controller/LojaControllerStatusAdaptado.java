@@ -0,0 +1,113 @@
+package main.controller;
+
+import main.exception.JogoInvalidoException;
+import main.exception.SaldoInsuficienteException;
+import main.exception.UsuarioInaptoException;
+import main.exception.UsuarioInvalidoException;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+
+/**
+ * {@link LojaControllerStatus} sobre um {@link LojaController} que só oferece a API com exceções, convertendo cada
+ * exceção no {@link StatusOperacao} correspondente.
+ */
+final class LojaControllerStatusAdaptado implements LojaControllerStatus {
+
+    private final LojaController lojaController;
+
+    LojaControllerStatusAdaptado(final LojaController lojaController) {
+        this.lojaController = lojaController;
+    }
+
+    @Override
+    public StatusOperacao adicionaUsuarioComStatus(final String nome, final String login, final String tipo) {
+        try {
+            lojaController.adicionaUsuario(nome, login, tipo);
+            return StatusOperacao.OK;
+        } catch (UsuarioInvalidoException e) {
+            return StatusOperacao.de(e);
+        }
+    }
+
+    @Override
+    public StatusOperacao vendeJogoComStatus(final String jogoNome, final double preco, final String jogabilidades,
+                                             final String estiloJogo, final String loginUser) {
+        try {
+            lojaController.vendeJogo(jogoNome, preco, jogabilidades, estiloJogo, loginUser);
+            return StatusOperacao.OK;
+        } catch (UsuarioInvalidoException | SaldoInsuficienteException | JogoInvalidoException e) {
+            return StatusOperacao.de(e);
+        }
+    }
+
+    @Override
+    public StatusOperacao punirComStatus(final String nomeJogo, final String login, final int score,
+                                         final boolean zerou) {
+        try {
+            lojaController.punir(nomeJogo, login, score, zerou);
+            return StatusOperacao.OK;
+        } catch (JogoInvalidoException | UsuarioInvalidoException e) {
+            return StatusOperacao.de(e);
+        }
+    }
+
+    @Override
+    public StatusOperacao recompensarComStatus(final String nomeJogo, final String login, final int score,
+                                               final boolean zerou) {
+        try {
+            lojaController.recompensar(nomeJogo, login, score, zerou);
+            return StatusOperacao.OK;
+        } catch (JogoInvalidoException | UsuarioInvalidoException e) {
+            return StatusOperacao.de(e);
+        }
+    }
+
+    @Override
+    public StatusOperacao upgradeComStatus(final String login) {
+        try {
+            lojaController.upgrade(login);
+            return StatusOperacao.OK;
+        } catch (UsuarioInvalidoException | UsuarioInaptoException e) {
+            return StatusOperacao.de(e);
+        }
+    }
+
+    @Override
+    public double confereCreditoOu(final String login, final double seAusente) {
+        try {
+            return lojaController.confereCredito(login);
+        } catch (UsuarioInvalidoException e) {
+            return seAusente;
+        }
+    }
+
+    @Override
+    public StatusOperacao confereCreditoComStatus(final String login, final DoubleConsumer credito) {
+        try {
+            credito.accept(lojaController.confereCredito(login));
+            return StatusOperacao.OK;
+        } catch (UsuarioInvalidoException e) {
+            return StatusOperacao.de(e);
+        }
+    }
+
+    @Override
+    public int getX2pUsuarioOu(final String login, final int seAusente) {
+        try {
+            return lojaController.getX2pUsuario(login);
+        } catch (UsuarioInvalidoException e) {
+            return seAusente;
+        }
+    }
+
+    @Override
+    public StatusOperacao getX2pUsuarioComStatus(final String login, final IntConsumer x2p) {
+        try {
+            x2p.accept(lojaController.getX2pUsuario(login));
+            return StatusOperacao.OK;
+        } catch (UsuarioInvalidoException e) {
+            return StatusOperacao.de(e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package main.controller;
+
+/**
+ * Modos de execução das operações da loja.
+ */
+public enum ModoExecucao {
+
+    /**
+     * {@link LojaControllerImpl}, com as operações executadas na thread que as chama.
+     */
+    SIMPLES("simples"),
+
+    /**
+     * {@link LojaControllerParticionado}, com uma thread por partição de usuários.
+     */
+    PARTICIONADO("particionado"),
+
+    /**
+     * {@link LojaControllerAtores}, com uma caixa de mensagens por usuário ativo.
+     */
+    ATORES("atores"),
+
+    /**
+     * {@link main.controller.mvcc.LojaControllerVersionado}, com leituras sem travas sobre versões imutáveis dos
+     * usuários.
+     */
+    VERSIONADO("versionado");
+
+    private final String nome;
+
+    ModoExecucao(final String nome) {
+        this.nome = nome;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Recupera o modo de nome {@code nome}.
+     *
+     * @param nome Nome do modo.
+     * @return {@link ModoExecucao} correspondente.
+     * @throws IllegalArgumentException Caso não haja modo com esse nome.
+     */
+    public static ModoExecucao porNome(final String nome) {
+        for (ModoExecucao modo : values()) {
+            if (modo.nome.equalsIgnoreCase(nome)) {
+                return modo;
+            }
+        }
+        throw new IllegalArgumentException("Modo de execução desconhecido: " + nome);
+    }
+}
@@ -0,0 +1,67 @@
+package main.controller;
+
+import main.entidade.jogo.Jogo;
+import main.entidade.usuario.Usuario;
+
+/**
+ * Recebe notificações das vendas e das jogadas aplicadas por um {@link LojaControllerImpl}, para alimentar
+ * estatísticas sem percorrer os usuários.
+ * <p>
+ * Os métodos são chamados pela thread que aplicou a operação, logo depois dela e antes do ajuste do papel do usuário;
+ * como a loja pode ser usada por várias threads, devem ser thread-safe e rápidos. Operações que falham não são
+ * notificadas.
+ */
+public interface OuvinteLoja {
+
+    /**
+     * Ouvinte que ignora todas as notificações.
+     */
+    OuvinteLoja NENHUM = new OuvinteLoja() {
+    };
+
+    /**
+     * Combina vários ouvintes num só, já que um {@link LojaControllerImpl} notifica apenas um.
+     *
+     * @param ouvintes Ouvintes notificados, na ordem informada.
+     * @return Um {@link OuvinteLoja} que repassa cada notificação a todos os {@code ouvintes}.
+     */
+    static OuvinteLoja todos(final OuvinteLoja... ouvintes) {
+        final OuvinteLoja[] copia = ouvintes.clone();
+        return new OuvinteLoja() {
+            @Override
+            public void aoVender(final Usuario usuario, final Jogo jogo, final double valorPago) {
+                for (OuvinteLoja ouvinte : copia) {
+                    ouvinte.aoVender(usuario, jogo, valorPago);
+                }
+            }
+
+            @Override
+            public void aoJogar(final Usuario usuario, final Jogo jogo, final int score, final boolean zerou) {
+                for (OuvinteLoja ouvinte : copia) {
+                    ouvinte.aoJogar(usuario, jogo, score, zerou);
+                }
+            }
+        };
+    }
+
+    /**
+     * Chamado após cada venda.
+     *
+     * @param usuario   {@link Usuario} que comprou o jogo.
+     * @param jogo      {@link Jogo} vendido.
+     * @param valorPago Valor descontado do crédito do usuário, já com o desconto do papel.
+     */
+    default void aoVender(Usuario usuario, Jogo jogo, double valorPago) {
+    }
+
+    /**
+     * Chamado após cada jogada registrada, seja ela uma recompensa ou uma punição.
+     *
+     * @param usuario {@link Usuario} que jogou.
+     * @param jogo    {@link Jogo} jogado, já com a jogada registrada.
+     * @param score   Score obtido.
+     * @param zerou   Indica se o usuário zerou o jogo.
+     */
+    default void aoJogar(Usuario usuario, Jogo jogo, int score, boolean zerou) {
+    }
+}
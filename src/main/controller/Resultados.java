@@ -0,0 +1,53 @@
+package main.controller;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Métodos auxiliares para as implementações de {@link LojaController} que executam as operações em outras threads e
+ * precisam devolver seus resultados, ou relançar suas exceções, na thread que as chamou.
+ */
+final class Resultados {
+
+    private Resultados() {
+    }
+
+    /**
+     * Espera o resultado de uma operação executada em outra thread.
+     *
+     * @param futuro {@link Future} da operação.
+     * @return O resultado da operação.
+     * @throws ExecutionException Caso a operação tenha lançado uma exceção.
+     */
+    static <T> T aguarda(final Future<T> futuro) throws ExecutionException {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Operação interrompida.", e);
+        }
+    }
+
+    /**
+     * Relança {@code causa}, caso ela seja do tipo {@code tipo}.
+     */
+    static <E extends Exception> void relanca(final Throwable causa, final Class<E> tipo) throws E {
+        if (tipo.isInstance(causa)) {
+            throw tipo.cast(causa);
+        }
+    }
+
+    /**
+     * Converte uma falha não prevista na API de {@link LojaController} numa exceção não verificada.
+     */
+    static RuntimeException erroInesperado(final ExecutionException e) {
+        Throwable causa = e.getCause();
+        if (causa instanceof RuntimeException) {
+            return (RuntimeException) causa;
+        }
+        if (causa instanceof Error) {
+            throw (Error) causa;
+        }
+        return new IllegalStateException(causa);
+    }
+}
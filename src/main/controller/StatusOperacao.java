@@ -0,0 +1,146 @@
+package main.controller;
+
+import main.controller.lote.StatusRegistro;
+import main.entidade.usuario.Usuario;
+import main.exception.JogoInvalidoException;
+import main.exception.SaldoInsuficienteException;
+import main.exception.UsuarioInaptoException;
+import main.exception.UsuarioInvalidoException;
+
+/**
+ * Resultado de uma operação de {@link LojaControllerStatus}: um código de {@link StatusRegistro} e a mesma mensagem
+ * que a exceção correspondente de {@link LojaController} teria. As falhas comuns são instâncias pré-alocadas e
+ * podem ser comparadas por referência; as demais são criadas a partir da exceção que as causou.
+ * <p>
+ * Cada falha guarda a sua exceção, que {@link LojaController} pode lançar a partir dela com os métodos
+ * {@code lancaSe*}. As exceções das falhas pré-alocadas são compartilhadas.
+ */
+public final class StatusOperacao {
+
+    public static final StatusOperacao OK = new StatusOperacao(StatusRegistro.OK, "", null);
+
+    public static final StatusOperacao USUARIO_NAO_ENCONTRADO = new StatusOperacao(StatusRegistro.USUARIO_INVALIDO,
+            LojaController.USUARIO_NAO_ENCONTRADO,
+            new UsuarioInvalidoException(LojaController.USUARIO_NAO_ENCONTRADO));
+
+    public static final StatusOperacao USUARIO_EXISTENTE = new StatusOperacao(StatusRegistro.USUARIO_INVALIDO,
+            LojaController.USUARIO_EXISTENTE, new UsuarioInvalidoException(LojaController.USUARIO_EXISTENTE));
+
+    public static final StatusOperacao SALDO_INSUFICIENTE = new StatusOperacao(StatusRegistro.SALDO_INSUFICIENTE,
+            LojaController.SALDO_DE_USUARIO_INSUFICIENTE,
+            new SaldoInsuficienteException(LojaController.SALDO_DE_USUARIO_INSUFICIENTE));
+
+    public static final StatusOperacao JOGO_NAO_ENCONTRADO = new StatusOperacao(StatusRegistro.JOGO_INVALIDO,
+            Usuario.O_JOGO_NAO_FOI_ENCONTRADO, new JogoInvalidoException(Usuario.O_JOGO_NAO_FOI_ENCONTRADO));
+
+    public static final StatusOperacao JOGO_JA_VENDIDO = new StatusOperacao(StatusRegistro.JOGO_INVALIDO,
+            Usuario.JOGO_JA_VENDIDO, new JogoInvalidoException(Usuario.JOGO_JA_VENDIDO));
+
+    private static final StatusOperacao[] PRE_ALOCADOS = {USUARIO_NAO_ENCONTRADO, USUARIO_EXISTENTE,
+            SALDO_INSUFICIENTE, JOGO_NAO_ENCONTRADO, JOGO_JA_VENDIDO};
+
+    private final byte codigo;
+
+    private final String mensagem;
+
+    private final Exception excecao;
+
+    private StatusOperacao(final byte codigo, final String mensagem, final Exception excecao) {
+        this.codigo = codigo;
+        this.mensagem = mensagem;
+        this.excecao = excecao;
+    }
+
+    /**
+     * Recupera o status correspondente a uma exceção lançada por uma operação da loja, reaproveitando uma instância
+     * pré-alocada caso haja uma com o mesmo código e a mesma mensagem.
+     *
+     * @param excecao Exceção lançada.
+     * @return {@link StatusOperacao} correspondente.
+     * @throws IllegalArgumentException Caso {@code excecao} não seja uma exceção da loja.
+     */
+    public static StatusOperacao de(final Exception excecao) {
+        byte codigo = codigo(excecao);
+        for (StatusOperacao status : PRE_ALOCADOS) {
+            if (status.codigo == codigo && status.mensagem.equals(excecao.getMessage())) {
+                return status;
+            }
+        }
+        return new StatusOperacao(codigo, excecao.getMessage(), excecao);
+    }
+
+    /**
+     * @return O código de {@link StatusRegistro} deste status.
+     */
+    public byte getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * @return A mensagem da falha, ou uma {@link String} vazia em caso de sucesso.
+     */
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public boolean isSucesso() {
+        return codigo == StatusRegistro.OK;
+    }
+
+    /**
+     * @throws UsuarioInvalidoException Caso este status seja de usuário inválido.
+     */
+    public void lancaSeUsuarioInvalido() throws UsuarioInvalidoException {
+        if (excecao instanceof UsuarioInvalidoException) {
+            throw (UsuarioInvalidoException) excecao;
+        }
+    }
+
+    /**
+     * @throws JogoInvalidoException Caso este status seja de jogo inválido.
+     */
+    public void lancaSeJogoInvalido() throws JogoInvalidoException {
+        if (excecao instanceof JogoInvalidoException) {
+            throw (JogoInvalidoException) excecao;
+        }
+    }
+
+    /**
+     * @throws SaldoInsuficienteException Caso este status seja de saldo insuficiente.
+     */
+    public void lancaSeSaldoInsuficiente() throws SaldoInsuficienteException {
+        if (excecao instanceof SaldoInsuficienteException) {
+            throw (SaldoInsuficienteException) excecao;
+        }
+    }
+
+    /**
+     * @throws UsuarioInaptoException Caso este status seja de usuário inapto.
+     */
+    public void lancaSeUsuarioInapto() throws UsuarioInaptoException {
+        if (excecao instanceof UsuarioInaptoException) {
+            throw (UsuarioInaptoException) excecao;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return isSucesso() ? "OK" : mensagem;
+    }
+
+    private static byte codigo(final Exception excecao) {
+        if (excecao instanceof UsuarioInvalidoException) {
+            return StatusRegistro.USUARIO_INVALIDO;
+        } else if (excecao instanceof JogoInvalidoException) {
+            return StatusRegistro.JOGO_INVALIDO;
+        } else if (excecao instanceof SaldoInsuficienteException) {
+            return StatusRegistro.SALDO_INSUFICIENTE;
+        } else if (excecao instanceof UsuarioInaptoException) {
+            return StatusRegistro.USUARIO_INAPTO;
+        }
+        throw new IllegalArgumentException("Exceção desconhecida: " + excecao, excecao);
+    }
+}
@@ -0,0 +1,305 @@
+package main.controller.escalonamento;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Escalonador de trabalho da loja com duas {@link Faixa}s, cada uma com a sua fila, atendidas por um conjunto fixo
+ * de threads. Quando as duas faixas têm tarefas, as threads executam até {@code pesoInterativo} tarefas interativas
+ * para cada tarefa de lote; quando só uma tem, ela usa todas as threads. Além disso, com mais de uma thread, no
+ * máximo {@code threads - 1} executam tarefas de lote ao mesmo tempo, de modo que sempre há uma thread livre para
+ * operações interativas.
+ * <p>
+ * Trabalhos longos devem ser submetidos como {@link TarefaEmPartes}: cada parte executada devolve a tarefa ao fim da
+ * faixa de lote, e as operações interativas que chegaram no meio tempo não esperam o trabalho inteiro. O tempo de
+ * espera na fila de cada faixa é medido e resumido em {@link EstatisticasFaixa}.
+ */
+public class EscalonadorLoja implements Closeable {
+
+    /**
+     * Quantidade padrão de tarefas interativas executadas para cada tarefa de lote, quando as duas faixas têm
+     * tarefas.
+     */
+    public static final int PESO_INTERATIVO_PADRAO = 4;
+
+    private final ReentrantLock trava = new ReentrantLock();
+
+    private final Condition haTarefas = trava.newCondition();
+
+    private final ArrayDeque<Tarefa> interativas = new ArrayDeque<>();
+
+    private final ArrayDeque<Tarefa> lote = new ArrayDeque<>();
+
+    private final int pesoInterativo;
+
+    /**
+     * Quantidade máxima de threads executando tarefas de lote ao mesmo tempo.
+     */
+    private final int maximoLote;
+
+    /**
+     * Tarefas interativas que ainda podem passar à frente do lote antes que uma tarefa de lote seja executada.
+     * Acessado com a trava.
+     */
+    private int creditoInterativo;
+
+    /**
+     * Threads executando tarefas de lote. Acessado com a trava.
+     */
+    private int executandoLote;
+
+    /**
+     * Acessado com a trava.
+     */
+    private boolean ativo = true;
+
+    private final HistogramaEspera[] esperas = new HistogramaEspera[Faixa.values().length];
+
+    private final Thread[] threads;
+
+    /**
+     * Construtor com uma thread por processador e o peso interativo padrão.
+     */
+    public EscalonadorLoja() {
+        this(Runtime.getRuntime().availableProcessors(), PESO_INTERATIVO_PADRAO);
+    }
+
+    /**
+     * Construtor. As threads são iniciadas imediatamente.
+     *
+     * @param qtdeThreads    Quantidade de threads do escalonador.
+     * @param pesoInterativo Quantidade de tarefas interativas executadas para cada tarefa de lote, quando as duas
+     *                       faixas têm tarefas.
+     */
+    public EscalonadorLoja(final int qtdeThreads, final int pesoInterativo) {
+        if (qtdeThreads < 1) {
+            throw new IllegalArgumentException("A quantidade de threads deve ser positiva.");
+        }
+        if (pesoInterativo < 1) {
+            throw new IllegalArgumentException("O peso interativo deve ser positivo.");
+        }
+        this.pesoInterativo = pesoInterativo;
+        this.creditoInterativo = pesoInterativo;
+        this.maximoLote = Math.max(1, qtdeThreads - 1);
+        for (Faixa faixa : Faixa.values()) {
+            esperas[faixa.ordinal()] = new HistogramaEspera();
+        }
+        this.threads = new Thread[qtdeThreads];
+        for (int i = 0; i < qtdeThreads; i++) {
+            threads[i] = new Thread(this::trabalha, "escalonador-loja-" + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    /**
+     * Submete uma tarefa à faixa {@code faixa}.
+     *
+     * @param faixa  {@link Faixa} da tarefa.
+     * @param tarefa Tarefa a executar.
+     * @return {@link CompletableFuture} completado com o resultado da tarefa, ou com a exceção lançada por ela.
+     * @throws IllegalStateException Caso o escalonador tenha sido encerrado.
+     */
+    public <T> CompletableFuture<T> submete(final Faixa faixa, final Callable<T> tarefa) {
+        CompletableFuture<T> futuro = new CompletableFuture<>();
+        enfileira(new Tarefa(faixa) {
+            @Override
+            boolean executa() {
+                try {
+                    futuro.complete(tarefa.call());
+                } catch (Throwable e) {
+                    futuro.completeExceptionally(e);
+                }
+                return false;
+            }
+        });
+        return futuro;
+    }
+
+    /**
+     * Submete um trabalho longo à {@link Faixa#LOTE}, executado uma parte de cada vez.
+     *
+     * @param tarefa {@link TarefaEmPartes} a executar.
+     * @return {@link CompletableFuture} completado com o resultado da tarefa depois da última parte, ou com a
+     * exceção lançada por uma das partes.
+     * @throws IllegalStateException Caso o escalonador tenha sido encerrado.
+     */
+    public <T> CompletableFuture<T> submeteEmPartes(final TarefaEmPartes<T> tarefa) {
+        CompletableFuture<T> futuro = new CompletableFuture<>();
+        enfileira(new Tarefa(Faixa.LOTE) {
+            @Override
+            boolean executa() {
+                try {
+                    if (tarefa.executaParte()) {
+                        return true;
+                    }
+                    futuro.complete(tarefa.getResultado());
+                } catch (Throwable e) {
+                    futuro.completeExceptionally(e);
+                }
+                return false;
+            }
+        });
+        return futuro;
+    }
+
+    /**
+     * @param faixa {@link Faixa} consultada.
+     * @return {@link EstatisticasFaixa} com os tempos de espera da faixa até o momento.
+     */
+    public EstatisticasFaixa getEstatisticas(final Faixa faixa) {
+        return esperas[faixa.ordinal()].resume(faixa);
+    }
+
+    /**
+     * @param faixa {@link Faixa} consultada.
+     * @return Quantidade de tarefas esperando na fila da faixa.
+     */
+    public int getQtdePendentes(final Faixa faixa) {
+        trava.lock();
+        try {
+            return fila(faixa).size();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Deixa de aceitar tarefas e espera que todas as já submetidas, inclusive as partes restantes das
+     * {@link TarefaEmPartes}, sejam executadas.
+     */
+    @Override
+    public void close() {
+        trava.lock();
+        try {
+            ativo = false;
+            haTarefas.signalAll();
+        } finally {
+            trava.unlock();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Coloca uma tarefa nova no fim da fila da sua faixa.
+     */
+    private void enfileira(final Tarefa tarefa) {
+        tarefa.enfileiradaEm = System.nanoTime();
+        trava.lock();
+        try {
+            if (!ativo) {
+                throw new IllegalStateException("O escalonador foi encerrado.");
+            }
+            fila(tarefa.faixa).addLast(tarefa);
+            haTarefas.signal();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Laço das threads do escalonador.
+     */
+    private void trabalha() {
+        while (true) {
+            Tarefa tarefa;
+            trava.lock();
+            try {
+                while ((tarefa = proxima()) == null) {
+                    if (!ativo && interativas.isEmpty() && lote.isEmpty() && executandoLote == 0) {
+                        haTarefas.signalAll();
+                        return;
+                    }
+                    haTarefas.awaitUninterruptibly();
+                }
+            } finally {
+                trava.unlock();
+            }
+            executa(tarefa);
+        }
+    }
+
+    /**
+     * Escolhe a próxima tarefa a executar, respeitando o peso interativo e o máximo de threads no lote. Deve ser
+     * chamado com a trava.
+     *
+     * @return A tarefa escolhida, ou {@code null} caso nenhuma possa ser executada agora.
+     */
+    private Tarefa proxima() {
+        boolean podeExecutarLote = !lote.isEmpty() && executandoLote < maximoLote;
+        if (!interativas.isEmpty() && (!podeExecutarLote || creditoInterativo > 0)) {
+            if (podeExecutarLote) {
+                creditoInterativo--;
+            }
+            return interativas.pollFirst();
+        }
+        if (podeExecutarLote) {
+            creditoInterativo = pesoInterativo;
+            executandoLote++;
+            return lote.pollFirst();
+        }
+        return null;
+    }
+
+    /**
+     * Executa {@code tarefa}, registrando o tempo que ela esperou na fila, e a devolve ao fim da fila caso ainda
+     * restem partes. As partes seguintes são aceitas mesmo depois de o escalonador ser encerrado.
+     */
+    private void executa(final Tarefa tarefa) {
+        esperas[tarefa.faixa.ordinal()].registra(System.nanoTime() - tarefa.enfileiradaEm);
+        boolean continua = tarefa.executa();
+        if (tarefa.faixa == Faixa.INTERATIVA) {
+            return;
+        }
+        trava.lock();
+        try {
+            executandoLote--;
+            if (continua) {
+                tarefa.enfileiradaEm = System.nanoTime();
+                lote.addLast(tarefa);
+            }
+            haTarefas.signal();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private ArrayDeque<Tarefa> fila(final Faixa faixa) {
+        return faixa == Faixa.INTERATIVA ? interativas : lote;
+    }
+
+    /**
+     * Unidade de trabalho numa fila do escalonador.
+     */
+    private abstract static class Tarefa {
+
+        private final Faixa faixa;
+
+        /**
+         * Momento, em {@link System#nanoTime()}, em que a tarefa entrou na fila pela última vez.
+         */
+        private long enfileiradaEm;
+
+        private Tarefa(final Faixa faixa) {
+            this.faixa = faixa;
+        }
+
+        /**
+         * Executa a tarefa, completando o seu futuro caso ela tenha terminado.
+         *
+         * @return {@code true} caso a tarefa deva voltar à fila.
+         */
+        abstract boolean executa();
+    }
+}
@@ -0,0 +1,53 @@
+package main.controller.escalonamento;
+
+/**
+ * Tempos de espera na fila de uma {@link Faixa} do {@link EscalonadorLoja}, do enfileiramento ao início da execução,
+ * desde a criação do escalonador. Cada parte de uma {@link TarefaEmPartes} conta como uma execução.
+ */
+public final class EstatisticasFaixa {
+
+    private final Faixa faixa;
+
+    private final long qtdeExecucoes;
+
+    private final long esperaP50Nanos;
+
+    private final long esperaP99Nanos;
+
+    private final long esperaMaximaNanos;
+
+    EstatisticasFaixa(final Faixa faixa, final long qtdeExecucoes, final long esperaP50Nanos,
+                      final long esperaP99Nanos, final long esperaMaximaNanos) {
+        this.faixa = faixa;
+        this.qtdeExecucoes = qtdeExecucoes;
+        this.esperaP50Nanos = esperaP50Nanos;
+        this.esperaP99Nanos = esperaP99Nanos;
+        this.esperaMaximaNanos = esperaMaximaNanos;
+    }
+
+    public Faixa getFaixa() {
+        return faixa;
+    }
+
+    public long getQtdeExecucoes() {
+        return qtdeExecucoes;
+    }
+
+    public long getEsperaP50Nanos() {
+        return esperaP50Nanos;
+    }
+
+    public long getEsperaP99Nanos() {
+        return esperaP99Nanos;
+    }
+
+    public long getEsperaMaximaNanos() {
+        return esperaMaximaNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d execuções | espera p50: %d µs | p99: %d µs | máxima: %d µs", faixa,
+                qtdeExecucoes, esperaP50Nanos / 1000, esperaP99Nanos / 1000, esperaMaximaNanos / 1000);
+    }
+}
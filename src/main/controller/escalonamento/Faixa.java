@@ -0,0 +1,17 @@
+package main.controller.escalonamento;
+
+/**
+ * Faixas de execução do {@link EscalonadorLoja}.
+ */
+public enum Faixa {
+
+    /**
+     * Operações pontuais e rápidas, como consultas e vendas, cuja latência é percebida por quem as pediu.
+     */
+    INTERATIVA,
+
+    /**
+     * Trabalhos longos, como relatórios, importações e varreduras, que podem esperar pelas operações interativas.
+     */
+    LOTE
+}
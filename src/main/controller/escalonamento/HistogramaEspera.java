@@ -0,0 +1,85 @@
+package main.controller.escalonamento;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de tempos de espera, em nanossegundos, com faixas logarítmicas: cada potência de dois é dividida em
+ * {@link #SUBDIVISOES} faixas iguais, de modo que o erro relativo dos quantis fica abaixo de 12,5%. O registro não
+ * aloca nem bloqueia e pode ser feito por várias threads ao mesmo tempo.
+ */
+final class HistogramaEspera {
+
+    private static final int BITS_SUBDIVISAO = 3;
+
+    private static final int SUBDIVISOES = 1 << BITS_SUBDIVISAO;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(64 * SUBDIVISOES);
+
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra uma espera de {@code nanos} nanossegundos.
+     */
+    void registra(final long nanos) {
+        long espera = Math.max(nanos, 0);
+        contagens.incrementAndGet(indice(espera));
+        if (espera > maximo.get()) {
+            maximo.accumulateAndGet(espera, Math::max);
+        }
+    }
+
+    /**
+     * Calcula quantis e contagem a partir de uma leitura das faixas.
+     *
+     * @param faixa {@link Faixa} à qual o histograma se refere.
+     * @return {@link EstatisticasFaixa} com os valores lidos.
+     */
+    EstatisticasFaixa resume(final Faixa faixa) {
+        long[] copia = new long[contagens.length()];
+        long total = 0;
+        for (int i = 0; i < copia.length; i++) {
+            copia[i] = contagens.get(i);
+            total += copia[i];
+        }
+        long maximoLido = maximo.get();
+        return new EstatisticasFaixa(faixa, total, quantil(copia, total, 0.5, maximoLido),
+                quantil(copia, total, 0.99, maximoLido), maximoLido);
+    }
+
+    /**
+     * @return O limite superior da faixa em que cai o quantil {@code q}, limitado ao máximo registrado.
+     */
+    private static long quantil(final long[] copia, final long total, final double q, final long maximoLido) {
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(q * total));
+        long acumulado = 0;
+        for (int i = 0; i < copia.length; i++) {
+            acumulado += copia[i];
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), maximoLido);
+            }
+        }
+        return maximoLido;
+    }
+
+    private static int indice(final long valor) {
+        if (valor < SUBDIVISOES) {
+            return (int) valor;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int subdivisao = (int) (valor >>> (expoente - BITS_SUBDIVISAO)) & (SUBDIVISOES - 1);
+        return (expoente - BITS_SUBDIVISAO + 1) * SUBDIVISOES + subdivisao;
+    }
+
+    private static long limiteSuperior(final int indice) {
+        if (indice < SUBDIVISOES) {
+            return indice;
+        }
+        int deslocamento = indice / SUBDIVISOES - 1;
+        long inicio = (long) (SUBDIVISOES + indice % SUBDIVISOES) << deslocamento;
+        return inicio + (1L << deslocamento) - 1;
+    }
+}
@@ -0,0 +1,150 @@
+package main.controller.escalonamento;
+
+import main.controller.LojaController;
+import main.controller.LojaControllerAssincrono;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implementação de {@link LojaControllerAssincrono} que executa as operações de um {@link LojaController} num
+ * {@link EscalonadorLoja}: as operações pontuais vão para a {@link Faixa#INTERATIVA} e o relatório de usuários,
+ * que percorre a loja inteira, para a {@link Faixa#LOTE}. Outros trabalhos longos sobre a mesma loja, como
+ * importações e varreduras, devem ser submetidos ao escalonador devolvido por {@link #getEscalonador()}.
+ * <p>
+ * As operações de um mesmo login podem executar em paralelo, então o {@link LojaController} delegado deve aceitar
+ * chamadas concorrentes, como os dos modos particionado, atores e versionado; o
+ * {@link main.controller.LojaControllerImpl} do modo simples não aceita.
+ */
+public class LojaControllerEscalonado implements LojaControllerAssincrono, Closeable {
+
+    private final LojaController lojaController;
+
+    private final EscalonadorLoja escalonador;
+
+    /**
+     * Construtor com um {@link EscalonadorLoja} padrão, encerrado junto com este controller.
+     *
+     * @param lojaController {@link LojaController} ao qual as operações serão aplicadas.
+     */
+    public LojaControllerEscalonado(final LojaController lojaController) {
+        this(lojaController, new EscalonadorLoja());
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param lojaController {@link LojaController} ao qual as operações serão aplicadas.
+     * @param escalonador    {@link EscalonadorLoja} no qual as operações serão executadas.
+     */
+    public LojaControllerEscalonado(final LojaController lojaController, final EscalonadorLoja escalonador) {
+        this.lojaController = lojaController;
+        this.escalonador = escalonador;
+    }
+
+    /**
+     * @return {@link EscalonadorLoja} no qual as operações são executadas.
+     */
+    public EscalonadorLoja getEscalonador() {
+        return escalonador;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> adicionaUsuario(final String nome, final String login, final String tipo) {
+        return escalonador.submete(Faixa.INTERATIVA, () -> {
+            lojaController.adicionaUsuario(nome, login, tipo);
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> adicionarDinheiroUsuario(final String login, final double quantia) {
+        return escalonador.submete(Faixa.INTERATIVA, () -> lojaController.adicionarDinheiroUsuario(login, quantia));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<String>> getRelatorioUsuarios() {
+        return escalonador.submete(Faixa.LOTE, lojaController::getRelatorioUsuarios);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> vendeJogo(final String jogoNome, final double preco, final String jogabilidades,
+                                             final String estiloJogo, final String loginUser) {
+        return escalonador.submete(Faixa.INTERATIVA, () -> {
+            lojaController.vendeJogo(jogoNome, preco, jogabilidades, estiloJogo, loginUser);
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> punir(final String nomeJogo, final String login, final int score,
+                                         final boolean zerou) {
+        return escalonador.submete(Faixa.INTERATIVA, () -> {
+            lojaController.punir(nomeJogo, login, score, zerou);
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> recompensar(final String nomeJogo, final String login, final int score,
+                                               final boolean zerou) {
+        return escalonador.submete(Faixa.INTERATIVA, () -> {
+            lojaController.recompensar(nomeJogo, login, score, zerou);
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> upgrade(final String login) {
+        return escalonador.submete(Faixa.INTERATIVA, () -> {
+            lojaController.upgrade(login);
+            return null;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Double> confereCredito(final String login) {
+        return escalonador.submete(Faixa.INTERATIVA, () -> lojaController.confereCredito(login));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Integer> getX2pUsuario(final String login) {
+        return escalonador.submete(Faixa.INTERATIVA, () -> lojaController.getX2pUsuario(login));
+    }
+
+    /**
+     * Encerra o escalonador, depois de executar todas as operações já submetidas.
+     */
+    @Override
+    public void close() {
+        escalonador.close();
+    }
+}
@@ -0,0 +1,61 @@
+package main.controller.escalonamento;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Trabalho longo dividido em partes, executado pelo {@link EscalonadorLoja} na {@link Faixa#LOTE}. Depois de cada
+ * parte, a tarefa volta ao fim da faixa, cedendo a thread às tarefas que chegaram enquanto ela executava.
+ * <p>
+ * As partes de uma mesma tarefa nunca executam em paralelo, mas podem executar em threads diferentes.
+ *
+ * @param <T> Tipo do resultado da tarefa.
+ */
+public interface TarefaEmPartes<T> {
+
+    /**
+     * Executa a próxima parte do trabalho.
+     *
+     * @return {@code true} caso ainda restem partes a executar.
+     * @throws Exception Caso a parte falhe; a tarefa é então encerrada com essa exceção.
+     */
+    boolean executaParte() throws Exception;
+
+    /**
+     * @return O resultado da tarefa, recuperado depois que a última parte for executada.
+     */
+    T getResultado();
+
+    /**
+     * Cria uma tarefa que aplica {@code acao} a cada item de {@code itens}, {@code tamanhoParte} itens por parte.
+     *
+     * @param itens        Itens a processar.
+     * @param tamanhoParte Quantidade máxima de itens por parte.
+     * @param acao         Ação aplicada a cada item.
+     * @return {@link TarefaEmPartes} cujo resultado é a quantidade de itens processados.
+     */
+    static <E> TarefaEmPartes<Integer> porItens(final List<E> itens, final int tamanhoParte,
+                                               final Consumer<? super E> acao) {
+        if (tamanhoParte < 1) {
+            throw new IllegalArgumentException("O tamanho da parte deve ser positivo.");
+        }
+        return new TarefaEmPartes<Integer>() {
+
+            private int processados;
+
+            @Override
+            public boolean executaParte() {
+                int fim = Math.min(itens.size(), processados + tamanhoParte);
+                for (; processados < fim; processados++) {
+                    acao.accept(itens.get(processados));
+                }
+                return processados < itens.size();
+            }
+
+            @Override
+            public Integer getResultado() {
+                return processados;
+            }
+        };
+    }
+}
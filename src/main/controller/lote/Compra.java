@@ -0,0 +1,56 @@
+package main.controller.lote;
+
+/**
+ * Registro de venda de um jogo a um usuário, com os mesmos dados de
+ * {@link main.controller.LojaController#vendeJogo(String, double, String, String, String)}.
+ */
+public final class Compra {
+
+    private final String login;
+
+    private final String nomeJogo;
+
+    private final double preco;
+
+    private final String jogabilidades;
+
+    private final String estiloJogo;
+
+    /**
+     * Construtor.
+     *
+     * @param login         Login do usuário.
+     * @param nomeJogo      Nome do jogo.
+     * @param preco         Preço do jogo.
+     * @param jogabilidades Jogabilidades do jogo, separadas por espaço.
+     * @param estiloJogo    Estilo do jogo.
+     */
+    public Compra(final String login, final String nomeJogo, final double preco, final String jogabilidades,
+                  final String estiloJogo) {
+        this.login = login;
+        this.nomeJogo = nomeJogo;
+        this.preco = preco;
+        this.jogabilidades = jogabilidades;
+        this.estiloJogo = estiloJogo;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public String getNomeJogo() {
+        return nomeJogo;
+    }
+
+    public double getPreco() {
+        return preco;
+    }
+
+    public String getJogabilidades() {
+        return jogabilidades;
+    }
+
+    public String getEstiloJogo() {
+        return estiloJogo;
+    }
+}
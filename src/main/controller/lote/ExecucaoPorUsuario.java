@@ -0,0 +1,155 @@
+package main.controller.lote;
+
+import main.entidade.usuario.Usuario;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Aplica os registros de um lote agrupados por usuário, para as implementações de {@link LojaControllerLote}. Cada
+ * grupo busca o seu usuário uma única vez e aplica os seus registros em ordem; a partir de
+ * {@link #MINIMO_PARALELO} registros, os grupos são aplicados em paralelo.
+ */
+public final class ExecucaoPorUsuario {
+
+    /**
+     * Quantidade mínima de registros para que os grupos sejam aplicados em paralelo.
+     */
+    public static final int MINIMO_PARALELO = 4096;
+
+    private ExecucaoPorUsuario() {
+    }
+
+    /**
+     * Aplica um registro ao seu usuário.
+     *
+     * @param <R> Tipo do registro.
+     */
+    public interface Aplicacao<R> {
+
+        /**
+         * @param usuario  {@link Usuario} do registro, que existe.
+         * @param registro Registro a aplicar.
+         * @return {@link StatusRegistro} do registro.
+         */
+        byte aplica(Usuario usuario, R registro);
+    }
+
+    /**
+     * Aplica a um usuário, de uma só vez, todos os registros dele num lote.
+     */
+    public interface AplicacaoGrupo {
+
+        /**
+         * @param usuario {@link Usuario} dos registros, que existe.
+         * @param indices Posições dos registros do usuário no lote, em ordem, de {@code 0} a {@code tamanho}.
+         * @param tamanho Quantidade de registros do usuário.
+         * @param status  {@link StatusRegistro} de todo o lote, a ser preenchido nas posições de {@code indices}.
+         */
+        void aplica(Usuario usuario, int[] indices, int tamanho, byte[] status);
+    }
+
+    /**
+     * Aplica {@code registros}. Os registros de usuários que não existem recebem
+     * {@link StatusRegistro#USUARIO_INVALIDO}.
+     *
+     * @param registros Registros do lote.
+     * @param login     Recupera o login de um registro.
+     * @param busca     Busca um usuário pelo login, devolvendo {@code null} caso ele não exista. Pode ser chamada
+     *                  por várias threads ao mesmo tempo, com logins diferentes.
+     * @param aplicacao {@link Aplicacao} de cada registro. Pode ser chamada por várias threads ao mesmo tempo, mas
+     *                  nunca para um mesmo usuário.
+     * @return O {@link StatusRegistro} de cada registro, na mesma ordem.
+     */
+    public static <R> byte[] executa(final List<R> registros, final Function<R, String> login,
+                                     final Function<String, Usuario> busca, final Aplicacao<R> aplicacao) {
+        return executaPorGrupo(registros.size(), i -> login.apply(registros.get(i)), busca,
+                (usuario, indices, tamanho, status) -> {
+                    for (int i = 0; i < tamanho; i++) {
+                        status[indices[i]] = aplicacao.aplica(usuario, registros.get(indices[i]));
+                    }
+                });
+    }
+
+    /**
+     * Aplica um lote de {@code quantidade} registros identificados pela posição, como os guardados em vetores
+     * paralelos, entregando a {@code aplicacao} todos os registros de cada usuário de uma vez. Os registros de
+     * usuários que não existem recebem {@link StatusRegistro#USUARIO_INVALIDO}.
+     *
+     * @param quantidade Quantidade de registros do lote.
+     * @param login      Recupera o login do registro numa posição.
+     * @param busca      Busca um usuário pelo login, como em {@link #executa(List, Function, Function, Aplicacao)}.
+     * @param aplicacao  {@link AplicacaoGrupo} dos registros de cada usuário. Pode ser chamada por várias threads ao
+     *                   mesmo tempo, mas nunca para um mesmo usuário.
+     * @return O {@link StatusRegistro} de cada registro, na mesma ordem.
+     */
+    public static byte[] executaPorGrupo(final int quantidade, final IntFunction<String> login,
+                                         final Function<String, Usuario> busca, final AplicacaoGrupo aplicacao) {
+        byte[] status = new byte[quantidade];
+        List<Grupo> grupos = agrupa(quantidade, login);
+        if (quantidade >= MINIMO_PARALELO && grupos.size() > 1) {
+            grupos.parallelStream().forEach(grupo -> aplicaGrupo(grupo, busca, aplicacao, status));
+        } else {
+            for (Grupo grupo : grupos) {
+                aplicaGrupo(grupo, busca, aplicacao, status);
+            }
+        }
+        return status;
+    }
+
+    private static List<Grupo> agrupa(final int quantidade, final IntFunction<String> login) {
+        Map<String, Grupo> porLogin = new HashMap<>();
+        List<Grupo> grupos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            String chave = login.apply(i);
+            Grupo grupo = porLogin.get(chave);
+            if (grupo == null) {
+                grupo = new Grupo(chave);
+                porLogin.put(chave, grupo);
+                grupos.add(grupo);
+            }
+            grupo.adiciona(i);
+        }
+        return grupos;
+    }
+
+    private static void aplicaGrupo(final Grupo grupo, final Function<String, Usuario> busca,
+                                    final AplicacaoGrupo aplicacao, final byte[] status) {
+        Usuario usuario = grupo.login == null ? null : busca.apply(grupo.login);
+        if (usuario == null) {
+            for (int i = 0; i < grupo.tamanho; i++) {
+                status[grupo.indices[i]] = StatusRegistro.USUARIO_INVALIDO;
+            }
+        } else {
+            aplicacao.aplica(usuario, grupo.indices, grupo.tamanho, status);
+        }
+    }
+
+    /**
+     * Posições dos registros de um login no lote, em ordem.
+     */
+    private static final class Grupo {
+
+        private final String login;
+
+        private int[] indices = new int[4];
+
+        private int tamanho;
+
+        private Grupo(final String login) {
+            this.login = login;
+        }
+
+        private void adiciona(final int indice) {
+            if (tamanho == indices.length) {
+                indices = Arrays.copyOf(indices, tamanho * 2);
+            }
+            indices[tamanho++] = indice;
+        }
+    }
+}
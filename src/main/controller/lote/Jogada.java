@@ -0,0 +1,57 @@
+package main.controller.lote;
+
+/**
+ * Registro de uma jogada de um usuário, que o recompensa ou o pune, com os mesmos dados de
+ * {@link main.controller.LojaController#recompensar(String, String, int, boolean)} e
+ * {@link main.controller.LojaController#punir(String, String, int, boolean)}.
+ */
+public final class Jogada {
+
+    private final String login;
+
+    private final String nomeJogo;
+
+    private final int score;
+
+    private final boolean zerou;
+
+    private final boolean recompensa;
+
+    /**
+     * Construtor.
+     *
+     * @param login      Login do usuário.
+     * @param nomeJogo   Nome do jogo.
+     * @param score      Score obtido no jogo.
+     * @param zerou      Indica se o usuário zerou o jogo.
+     * @param recompensa {@code true} caso a jogada recompense o usuário; {@code false} caso o puna.
+     */
+    public Jogada(final String login, final String nomeJogo, final int score, final boolean zerou,
+                  final boolean recompensa) {
+        this.login = login;
+        this.nomeJogo = nomeJogo;
+        this.score = score;
+        this.zerou = zerou;
+        this.recompensa = recompensa;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public String getNomeJogo() {
+        return nomeJogo;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public boolean isZerou() {
+        return zerou;
+    }
+
+    public boolean isRecompensa() {
+        return recompensa;
+    }
+}
@@ -0,0 +1,45 @@
+package main.controller.lote;
+
+/**
+ * Resultado de {@link LojaControllerLote#liquidaTorneio}, com uma posição por participante, na ordem em que foram
+ * informados.
+ */
+public final class LiquidacaoTorneio {
+
+    private final byte[] status;
+
+    private final int[] deltasX2p;
+
+    /**
+     * Construtor.
+     *
+     * @param status    {@link StatusRegistro} de cada participante.
+     * @param deltasX2p Variação do x2p causada pelo resultado de cada participante.
+     */
+    public LiquidacaoTorneio(final byte[] status, final int[] deltasX2p) {
+        this.status = status;
+        this.deltasX2p = deltasX2p;
+    }
+
+    /**
+     * @return O {@link StatusRegistro} de cada participante.
+     */
+    public byte[] getStatus() {
+        return status;
+    }
+
+    /**
+     * @return A variação do x2p de cada participante, com o x2p da jogada e a recompensa ou punição do papel. É zero
+     * para os resultados que não foram aplicados.
+     */
+    public int[] getDeltasX2p() {
+        return deltasX2p;
+    }
+
+    /**
+     * @return A quantidade de resultados aplicados.
+     */
+    public int getQtdeAplicados() {
+        return StatusRegistro.contaAplicados(status);
+    }
+}
@@ -0,0 +1,71 @@
+package main.controller.lote;
+
+import java.util.List;
+
+/**
+ * Operações da loja em lote. Os registros de um lote são agrupados por usuário, cada usuário é buscado uma única
+ * vez, e o resultado de cada registro é devolvido como um {@link StatusRegistro} em vez de uma exceção.
+ * <p>
+ * Os registros de um mesmo usuário são aplicados na ordem em que aparecem no lote, com o mesmo efeito das chamadas
+ * individuais correspondentes; registros de usuários diferentes podem ser aplicados em paralelo.
+ */
+public interface LojaControllerLote {
+
+    /**
+     * Vende os jogos de {@code compras}.
+     *
+     * @param compras {@link Compra}s a aplicar.
+     * @return O {@link StatusRegistro} de cada compra, na mesma ordem.
+     */
+    byte[] vendeJogos(List<Compra> compras);
+
+    /**
+     * Adiciona os créditos de {@code recargas}.
+     *
+     * @param recargas {@link Recarga}s a aplicar.
+     * @return O {@link StatusRegistro} de cada recarga, na mesma ordem.
+     */
+    byte[] adicionaCreditos(List<Recarga> recargas);
+
+    /**
+     * Registra as recompensas e punições de {@code jogadas}.
+     *
+     * @param jogadas {@link Jogada}s a aplicar.
+     * @return O {@link StatusRegistro} de cada jogada, na mesma ordem.
+     */
+    byte[] registraJogadas(List<Jogada> jogadas);
+
+    /**
+     * Registra as jogadas de uma sessão de um usuário num único jogo, como as jogadas offline sincronizadas de uma
+     * vez: a jogada {@code i} teve {@code scores[i]} e {@code zerados[i]}. O efeito é o mesmo de recompensar ou punir
+     * o usuário uma vez por jogada, em ordem, mas o usuário e o jogo são buscados uma única vez e o papel é ajustado
+     * no fim da sessão.
+     *
+     * @param login      Login do usuário.
+     * @param nomeJogo   Nome do jogo.
+     * @param scores     Score de cada jogada.
+     * @param zerados    Indica se o usuário zerou o jogo em cada jogada.
+     * @param recompensa {@code true} caso as jogadas recompensem o usuário; {@code false} caso o punam.
+     * @return O {@link StatusRegistro} da sessão. Caso não seja {@link StatusRegistro#OK}, nenhuma jogada foi
+     * registrada.
+     * @throws IllegalArgumentException Caso os vetores tenham tamanhos diferentes.
+     */
+    byte registraSessao(String login, String nomeJogo, int[] scores, boolean[] zerados, boolean recompensa);
+
+    /**
+     * Aplica os resultados de um torneio de um único jogo: o participante {@code i} teve {@code scores[i]} e
+     * {@code zerados[i]}, e é recompensado caso {@code recompensas[i]}, ou punido caso contrário. O papel de cada
+     * participante é ajustado uma vez, depois dos seus resultados; um login repetido tem os resultados aplicados em
+     * ordem, com o mesmo efeito das chamadas individuais.
+     *
+     * @param nomeJogo    Nome do jogo do torneio.
+     * @param logins      Login de cada participante.
+     * @param scores      Score de cada participante.
+     * @param zerados     Indica se cada participante zerou o jogo.
+     * @param recompensas Indica se cada participante é recompensado ou punido.
+     * @return {@link LiquidacaoTorneio} com o status e a variação do x2p de cada participante.
+     * @throws IllegalArgumentException Caso os vetores tenham tamanhos diferentes.
+     */
+    LiquidacaoTorneio liquidaTorneio(String nomeJogo, String[] logins, int[] scores, boolean[] zerados,
+                                     boolean[] recompensas);
+}
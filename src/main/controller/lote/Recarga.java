@@ -0,0 +1,31 @@
+package main.controller.lote;
+
+/**
+ * Registro de crédito adicionado a um usuário, com os mesmos dados de
+ * {@link main.controller.LojaController#adicionarDinheiroUsuario(String, double)}.
+ */
+public final class Recarga {
+
+    private final String login;
+
+    private final double quantia;
+
+    /**
+     * Construtor.
+     *
+     * @param login   Login do usuário.
+     * @param quantia Quantia adicionada.
+     */
+    public Recarga(final String login, final double quantia) {
+        this.login = login;
+        this.quantia = quantia;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public double getQuantia() {
+        return quantia;
+    }
+}
@@ -0,0 +1,54 @@
+package main.controller.lote;
+
+/**
+ * Status de cada registro de um lote, devolvidos por {@link LojaControllerLote} num {@code byte[]} com uma posição
+ * por registro, e códigos de {@link main.controller.StatusOperacao}. Cada status de falha corresponde à exceção que
+ * a operação individual lançaria.
+ */
+public final class StatusRegistro {
+
+    /**
+     * O registro foi aplicado.
+     */
+    public static final byte OK = 0;
+
+    /**
+     * O usuário não existe; corresponde a {@link main.exception.UsuarioInvalidoException}.
+     */
+    public static final byte USUARIO_INVALIDO = 1;
+
+    /**
+     * O jogo é inválido, já foi vendido ao usuário ou não é dele; corresponde a
+     * {@link main.exception.JogoInvalidoException}.
+     */
+    public static final byte JOGO_INVALIDO = 2;
+
+    /**
+     * O usuário não tem saldo para a compra; corresponde a {@link main.exception.SaldoInsuficienteException}.
+     */
+    public static final byte SALDO_INSUFICIENTE = 3;
+
+    /**
+     * O usuário não pode receber o upgrade; corresponde a {@link main.exception.UsuarioInaptoException}.
+     */
+    public static final byte USUARIO_INAPTO = 4;
+
+    private StatusRegistro() {
+    }
+
+    /**
+     * Conta os registros de um lote que foram aplicados.
+     *
+     * @param status Status devolvidos por {@link LojaControllerLote}.
+     * @return Quantidade de posições com {@link #OK}.
+     */
+    public static int contaAplicados(final byte[] status) {
+        int aplicados = 0;
+        for (byte s : status) {
+            if (s == OK) {
+                aplicados++;
+            }
+        }
+        return aplicados;
+    }
+}
@@ -0,0 +1,164 @@
+package main.controller.motor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Posição do anel de {@link MotorComandos}. Cada instância é pré-alocada e reutilizada por todos os comandos que
+ * ocupam a mesma posição do anel: o produtor preenche os campos usados pela sua operação, a thread do motor aplica o
+ * comando e guarda seu resultado, e os campos são limpos antes de a posição ser liberada.
+ */
+public final class ComandoMotor {
+
+    private TipoOperacao tipo;
+
+    /**
+     * Login do usuário afetado pelo comando.
+     */
+    private String login;
+
+    /**
+     * Nome do usuário ou do jogo, conforme a operação.
+     */
+    private String nome;
+
+    /**
+     * Tipo do usuário ou estilo do jogo, conforme a operação.
+     */
+    private String categoria;
+
+    private String jogabilidades;
+
+    /**
+     * Quantia ou preço, conforme a operação.
+     */
+    private double valor;
+
+    private int score;
+
+    private boolean zerou;
+
+    /**
+     * Resultado da aplicação do comando.
+     */
+    private Object resultado;
+
+    /**
+     * Exceção lançada na aplicação do comando, caso haja.
+     */
+    private Throwable erro;
+
+    /**
+     * Futuro que será completado com o resultado do comando.
+     */
+    private CompletableFuture<Object> futuro;
+
+    ComandoMotor() {
+    }
+
+    /**
+     * Prepara esta posição para uma nova operação, descartando os dados da anterior.
+     *
+     * @param tipo   {@link TipoOperacao} do comando.
+     * @param futuro Futuro que será completado com o resultado.
+     */
+    void prepara(final TipoOperacao tipo, final CompletableFuture<Object> futuro) {
+        this.tipo = tipo;
+        this.futuro = futuro;
+    }
+
+    /**
+     * Limpa as referências guardadas, para não reter objetos enquanto a posição não for reutilizada.
+     */
+    void limpa() {
+        login = null;
+        nome = null;
+        categoria = null;
+        jogabilidades = null;
+        resultado = null;
+        erro = null;
+        futuro = null;
+    }
+
+    CompletableFuture<Object> getFuturo() {
+        return futuro;
+    }
+
+    public TipoOperacao getTipo() {
+        return tipo;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    void setLogin(final String login) {
+        this.login = login;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    void setNome(final String nome) {
+        this.nome = nome;
+    }
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    void setCategoria(final String categoria) {
+        this.categoria = categoria;
+    }
+
+    public String getJogabilidades() {
+        return jogabilidades;
+    }
+
+    void setJogabilidades(final String jogabilidades) {
+        this.jogabilidades = jogabilidades;
+    }
+
+    public double getValor() {
+        return valor;
+    }
+
+    void setValor(final double valor) {
+        this.valor = valor;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    void setScore(final int score) {
+        this.score = score;
+    }
+
+    public boolean isZerou() {
+        return zerou;
+    }
+
+    void setZerou(final boolean zerou) {
+        this.zerou = zerou;
+    }
+
+    public Object getResultado() {
+        return resultado;
+    }
+
+    void setResultado(final Object resultado) {
+        this.resultado = resultado;
+    }
+
+    /**
+     * @return A exceção lançada na aplicação do comando, ou {@code null} caso ele tenha sido aplicado com sucesso.
+     */
+    public Throwable getErro() {
+        return erro;
+    }
+
+    void setErro(final Throwable erro) {
+        this.erro = erro;
+    }
+}
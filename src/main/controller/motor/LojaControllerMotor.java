@@ -0,0 +1,196 @@
+package main.controller.motor;
+
+import main.controller.LojaController;
+import main.controller.LojaControllerAssincrono;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implementação de {@link LojaControllerAssincrono} que publica cada operação num {@link MotorComandos}, de modo que
+ * todas as operações sejam aplicadas por uma única thread ao {@link LojaController} delegado.
+ */
+public class LojaControllerMotor implements LojaControllerAssincrono, Closeable {
+
+    private static final int CAPACIDADE_PADRAO = 1024;
+    private static final int TAMANHO_MAXIMO_LOTE_PADRAO = 256;
+
+    /**
+     * Motor no qual as operações são publicadas.
+     */
+    private final MotorComandos motor;
+
+    /**
+     * Construtor com a capacidade padrão e sem ouvinte.
+     *
+     * @param lojaController {@link LojaController} ao qual as operações serão aplicadas.
+     */
+    public LojaControllerMotor(final LojaController lojaController) {
+        this(lojaController, CAPACIDADE_PADRAO, TAMANHO_MAXIMO_LOTE_PADRAO, new OuvinteMotor() {
+        });
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param lojaController    {@link LojaController} ao qual as operações serão aplicadas.
+     * @param capacidade        Quantidade de posições do anel; deve ser uma potência de dois.
+     * @param tamanhoMaximoLote Quantidade máxima de comandos por lote.
+     * @param ouvinte           {@link OuvinteMotor} notificado a cada comando e a cada lote.
+     */
+    public LojaControllerMotor(final LojaController lojaController, final int capacidade,
+                               final int tamanhoMaximoLote, final OuvinteMotor ouvinte) {
+        this.motor = new MotorComandos(lojaController, capacidade, tamanhoMaximoLote, ouvinte);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> adicionaUsuario(final String nome, final String login, final String tipo) {
+        CompletableFuture<Object> futuro = new CompletableFuture<>();
+        long sequencia = motor.reserva();
+        ComandoMotor comando = motor.getComando(sequencia);
+        comando.prepara(TipoOperacao.ADICIONA_USUARIO, futuro);
+        comando.setNome(nome);
+        comando.setLogin(login);
+        comando.setCategoria(tipo);
+        motor.publica(sequencia);
+        return converte(futuro);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> adicionarDinheiroUsuario(final String login, final double quantia) {
+        CompletableFuture<Object> futuro = new CompletableFuture<>();
+        long sequencia = motor.reserva();
+        ComandoMotor comando = motor.getComando(sequencia);
+        comando.prepara(TipoOperacao.ADICIONA_CREDITO, futuro);
+        comando.setLogin(login);
+        comando.setValor(quantia);
+        motor.publica(sequencia);
+        return converte(futuro);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<String>> getRelatorioUsuarios() {
+        CompletableFuture<Object> futuro = new CompletableFuture<>();
+        long sequencia = motor.reserva();
+        motor.getComando(sequencia).prepara(TipoOperacao.RELATORIO_USUARIOS, futuro);
+        motor.publica(sequencia);
+        return converte(futuro);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> vendeJogo(final String jogoNome, final double preco, final String jogabilidades,
+                                             final String estiloJogo, final String loginUser) {
+        CompletableFuture<Object> futuro = new CompletableFuture<>();
+        long sequencia = motor.reserva();
+        ComandoMotor comando = motor.getComando(sequencia);
+        comando.prepara(TipoOperacao.VENDE_JOGO, futuro);
+        comando.setNome(jogoNome);
+        comando.setValor(preco);
+        comando.setJogabilidades(jogabilidades);
+        comando.setCategoria(estiloJogo);
+        comando.setLogin(loginUser);
+        motor.publica(sequencia);
+        return converte(futuro);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> punir(final String nomeJogo, final String login, final int score,
+                                         final boolean zerou) {
+        return publicaJogada(TipoOperacao.PUNIR, nomeJogo, login, score, zerou);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> recompensar(final String nomeJogo, final String login, final int score,
+                                               final boolean zerou) {
+        return publicaJogada(TipoOperacao.RECOMPENSAR, nomeJogo, login, score, zerou);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> upgrade(final String login) {
+        return publicaConsulta(TipoOperacao.UPGRADE, login);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Double> confereCredito(final String login) {
+        return publicaConsulta(TipoOperacao.CONFERE_CREDITO, login);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Integer> getX2pUsuario(final String login) {
+        return publicaConsulta(TipoOperacao.GET_X2P, login);
+    }
+
+    /**
+     * Encerra o motor, depois de aplicar todas as operações já publicadas.
+     */
+    @Override
+    public void close() {
+        motor.close();
+    }
+
+    /**
+     * Publica uma operação cujo único parâmetro é o login do usuário.
+     */
+    private <T> CompletableFuture<T> publicaConsulta(final TipoOperacao tipo, final String login) {
+        CompletableFuture<Object> futuro = new CompletableFuture<>();
+        long sequencia = motor.reserva();
+        ComandoMotor comando = motor.getComando(sequencia);
+        comando.prepara(tipo, futuro);
+        comando.setLogin(login);
+        motor.publica(sequencia);
+        return converte(futuro);
+    }
+
+    /**
+     * Publica uma punição ou recompensa.
+     */
+    private CompletableFuture<Void> publicaJogada(final TipoOperacao tipo, final String nomeJogo, final String login,
+                                                  final int score, final boolean zerou) {
+        CompletableFuture<Object> futuro = new CompletableFuture<>();
+        long sequencia = motor.reserva();
+        ComandoMotor comando = motor.getComando(sequencia);
+        comando.prepara(tipo, futuro);
+        comando.setNome(nomeJogo);
+        comando.setLogin(login);
+        comando.setScore(score);
+        comando.setZerou(zerou);
+        motor.publica(sequencia);
+        return converte(futuro);
+    }
+
+    /**
+     * O motor completa todos os futuros com {@link Object}; o tipo do resultado é garantido pela operação publicada.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> CompletableFuture<T> converte(final CompletableFuture<Object> futuro) {
+        return (CompletableFuture<T>) (CompletableFuture<?>) futuro;
+    }
+}
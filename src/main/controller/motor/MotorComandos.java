@@ -0,0 +1,317 @@
+package main.controller.motor;
+
+import main.controller.LojaController;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Motor de comandos com um único escritor: produtores de qualquer thread publicam {@link ComandoMotor}s num anel
+ * pré-alocado e uma única thread do motor os aplica, na ordem de publicação, a um {@link LojaController}. Como só essa
+ * thread altera a loja, o controller e as entidades não precisam de nenhuma sincronização.
+ * <p>
+ * A publicação tem três passos: {@link #reserva()} obtém uma sequência, {@link #getComando(long)} devolve a posição
+ * do anel a ser preenchida e {@link #publica(long)} a torna visível ao motor. A thread do motor consome em lotes todos
+ * os comandos publicados contiguamente, até {@code tamanhoMaximoLote}, notifica o {@link OuvinteMotor} ao fim de
+ * cada lote e só então completa os futuros dos comandos do lote.
+ * <p>
+ * Os futuros são completados pela thread do motor; ações dependentes que possam bloquear, ou que publiquem novos
+ * comandos com o anel cheio, devem ser registradas com os métodos {@code *Async} de {@link CompletableFuture}.
+ */
+public class MotorComandos implements Closeable {
+
+    /**
+     * Quantidade de esperas ativas da thread do motor antes de ela passar a dormir.
+     */
+    private static final int ESPERAS_ATIVAS = 1000;
+
+    /**
+     * Tempo máximo que a thread do motor dorme à espera de novos comandos.
+     */
+    private static final long ESPERA_MAXIMA_NANOS = 100_000L;
+
+    /**
+     * Posições pré-alocadas do anel.
+     */
+    private final ComandoMotor[] anel;
+
+    /**
+     * Sequência publicada em cada posição do anel.
+     */
+    private final AtomicLongArray publicados;
+
+    private final int mascara;
+
+    /**
+     * Próxima sequência a ser reservada por um produtor.
+     */
+    private final AtomicLong proximaSequencia = new AtomicLong();
+
+    /**
+     * Quantidade de comandos já consumidos, cujas posições podem ser reutilizadas.
+     */
+    private volatile long consumidos;
+
+    private final LojaController lojaController;
+
+    private final OuvinteMotor ouvinte;
+
+    private final int tamanhoMaximoLote;
+
+    /**
+     * Cópias dos futuros, resultados e erros do lote sendo completado, usadas para liberar as posições do anel antes
+     * de completar os futuros.
+     */
+    private final CompletableFuture<Object>[] futurosLote;
+    private final Object[] resultadosLote;
+    private final Throwable[] errosLote;
+
+    private final Thread threadMotor;
+
+    private volatile boolean ativo = true;
+
+    private volatile boolean motorDormindo;
+
+    /**
+     * Construtor. A thread do motor é iniciada imediatamente.
+     *
+     * @param lojaController    {@link LojaController} ao qual os comandos serão aplicados. Não deve ser usado por
+     *                          nenhuma outra thread enquanto o motor estiver ativo.
+     * @param capacidade        Quantidade de posições do anel; deve ser uma potência de dois.
+     * @param tamanhoMaximoLote Quantidade máxima de comandos aplicados entre duas notificações de fim de lote.
+     * @param ouvinte           {@link OuvinteMotor} notificado pela thread do motor.
+     */
+    @SuppressWarnings("unchecked")
+    public MotorComandos(final LojaController lojaController, final int capacidade, final int tamanhoMaximoLote,
+                         final OuvinteMotor ouvinte) {
+        if (capacidade < 1 || Integer.bitCount(capacidade) != 1) {
+            throw new IllegalArgumentException("A capacidade deve ser uma potência de dois.");
+        }
+        if (tamanhoMaximoLote < 1 || tamanhoMaximoLote > capacidade) {
+            throw new IllegalArgumentException("O tamanho máximo do lote deve estar entre 1 e a capacidade.");
+        }
+        this.lojaController = lojaController;
+        this.ouvinte = ouvinte;
+        this.tamanhoMaximoLote = tamanhoMaximoLote;
+        this.mascara = capacidade - 1;
+        this.anel = new ComandoMotor[capacidade];
+        this.publicados = new AtomicLongArray(capacidade);
+        for (int i = 0; i < capacidade; i++) {
+            anel[i] = new ComandoMotor();
+            publicados.set(i, -1);
+        }
+        this.futurosLote = (CompletableFuture<Object>[]) new CompletableFuture<?>[tamanhoMaximoLote];
+        this.resultadosLote = new Object[tamanhoMaximoLote];
+        this.errosLote = new Throwable[tamanhoMaximoLote];
+
+        this.threadMotor = new Thread(this::consome, "motor-loja");
+        this.threadMotor.setDaemon(true);
+        this.threadMotor.start();
+    }
+
+    /**
+     * Reserva a próxima sequência do anel, esperando caso ele esteja cheio.
+     * <p>
+     * O encerramento só é verificado depois da reserva: como {@link #close()} desativa o motor antes de a thread do
+     * motor comparar a próxima sequência com a última consumida, ou essa thread vê a reserva e espera pela sua
+     * publicação, ou o produtor vê o motor desativado e publica a posição como descartada. Assim, nenhuma reserva fica
+     * sem ser consumida e nenhum futuro fica pendente.
+     *
+     * @return A sequência reservada.
+     * @throws IllegalStateException Caso o motor tenha sido encerrado.
+     */
+    public long reserva() {
+        long sequencia = proximaSequencia.getAndIncrement();
+        aguardaEspaco(sequencia);
+        if (!ativo) {
+            getComando(sequencia).limpa();
+            publica(sequencia);
+            throw new IllegalStateException("O motor foi encerrado.");
+        }
+        return sequencia;
+    }
+
+    /**
+     * @param sequencia Sequência reservada por {@link #reserva()}.
+     * @return A posição do anel correspondente a {@code sequencia}, a ser preenchida antes de {@link #publica(long)}.
+     */
+    public ComandoMotor getComando(final long sequencia) {
+        return anel[(int) sequencia & mascara];
+    }
+
+    /**
+     * Torna o comando em {@code sequencia} visível à thread do motor.
+     *
+     * @param sequencia Sequência reservada e preenchida.
+     */
+    public void publica(final long sequencia) {
+        publicados.set((int) sequencia & mascara, sequencia);
+        if (motorDormindo) {
+            LockSupport.unpark(threadMotor);
+        }
+    }
+
+    /**
+     * Encerra o motor depois de aplicar todos os comandos já publicados e espera o fim da sua thread.
+     */
+    @Override
+    public void close() {
+        ativo = false;
+        LockSupport.unpark(threadMotor);
+        try {
+            threadMotor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Espera até que a posição de {@code sequencia} seja liberada. Depois do encerramento, a thread do motor só termina
+     * quando não há reservas pendentes, então, sem ela, não há mais o que esperar.
+     */
+    private void aguardaEspaco(final long sequencia) {
+        while (sequencia - consumidos >= anel.length && threadMotor.isAlive()) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Laço da thread do motor.
+     */
+    private void consome() {
+        long proxima = 0;
+        int esperas = 0;
+        while (true) {
+            long fim = proxima;
+            while (fim - proxima < tamanhoMaximoLote && publicados.get((int) fim & mascara) == fim) {
+                fim++;
+            }
+            if (fim == proxima) {
+                if (!ativo && proximaSequencia.get() == proxima) {
+                    return;
+                }
+                espera(proxima, ++esperas);
+                continue;
+            }
+            esperas = 0;
+            processaLote(proxima, (int) (fim - proxima));
+            proxima = fim;
+        }
+    }
+
+    /**
+     * Espera por novos comandos, primeiro ativamente e depois dormindo por intervalos curtos.
+     */
+    private void espera(final long proxima, final int esperas) {
+        if (esperas < ESPERAS_ATIVAS) {
+            Thread.onSpinWait();
+            return;
+        }
+        motorDormindo = true;
+        if (ativo && publicados.get((int) proxima & mascara) != proxima) {
+            LockSupport.parkNanos(ESPERA_MAXIMA_NANOS);
+        }
+        motorDormindo = false;
+    }
+
+    /**
+     * Aplica os {@code tamanho} comandos a partir de {@code inicio}, notifica o ouvinte, libera as posições do anel e
+     * completa os futuros. Posições descartadas por {@link #reserva()}, sem futuro, são apenas liberadas.
+     */
+    private void processaLote(final long inicio, final int tamanho) {
+        int aplicados = 0;
+        for (int i = 0; i < tamanho; i++) {
+            ComandoMotor comando = getComando(inicio + i);
+            if (comando.getFuturo() == null) {
+                continue;
+            }
+            aplica(comando);
+            aplicados++;
+            try {
+                ouvinte.aoAplicar(comando);
+            } catch (RuntimeException e) {
+                comando.setErro(e);
+            }
+        }
+
+        RuntimeException falhaLote = null;
+        if (aplicados > 0) {
+            try {
+                ouvinte.aoFimDoLote(aplicados);
+            } catch (RuntimeException e) {
+                falhaLote = e;
+            }
+        }
+
+        for (int i = 0; i < tamanho; i++) {
+            ComandoMotor comando = getComando(inicio + i);
+            futurosLote[i] = comando.getFuturo();
+            resultadosLote[i] = comando.getResultado();
+            errosLote[i] = falhaLote != null ? falhaLote : comando.getErro();
+            comando.limpa();
+        }
+        consumidos = inicio + tamanho;
+
+        for (int i = 0; i < tamanho; i++) {
+            if (futurosLote[i] == null) {
+                continue;
+            }
+            if (errosLote[i] != null) {
+                futurosLote[i].completeExceptionally(errosLote[i]);
+            } else {
+                futurosLote[i].complete(resultadosLote[i]);
+            }
+            futurosLote[i] = null;
+            resultadosLote[i] = null;
+            errosLote[i] = null;
+        }
+    }
+
+    /**
+     * Aplica {@code comando} ao {@link LojaController}, guardando nele o resultado ou a exceção lançada.
+     */
+    private void aplica(final ComandoMotor comando) {
+        try {
+            switch (comando.getTipo()) {
+                case ADICIONA_USUARIO:
+                    lojaController.adicionaUsuario(comando.getNome(), comando.getLogin(), comando.getCategoria());
+                    break;
+                case ADICIONA_CREDITO:
+                    comando.setResultado(lojaController.adicionarDinheiroUsuario(comando.getLogin(),
+                            comando.getValor()));
+                    break;
+                case VENDE_JOGO:
+                    lojaController.vendeJogo(comando.getNome(), comando.getValor(), comando.getJogabilidades(),
+                            comando.getCategoria(), comando.getLogin());
+                    break;
+                case PUNIR:
+                    lojaController.punir(comando.getNome(), comando.getLogin(), comando.getScore(),
+                            comando.isZerou());
+                    break;
+                case RECOMPENSAR:
+                    lojaController.recompensar(comando.getNome(), comando.getLogin(), comando.getScore(),
+                            comando.isZerou());
+                    break;
+                case UPGRADE:
+                    lojaController.upgrade(comando.getLogin());
+                    break;
+                case CONFERE_CREDITO:
+                    comando.setResultado(lojaController.confereCredito(comando.getLogin()));
+                    break;
+                case GET_X2P:
+                    comando.setResultado(lojaController.getX2pUsuario(comando.getLogin()));
+                    break;
+                case RELATORIO_USUARIOS:
+                    comando.setResultado(lojaController.getRelatorioUsuarios());
+                    break;
+                default:
+                    throw new IllegalStateException("Operação desconhecida: " + comando.getTipo());
+            }
+        } catch (Exception e) {
+            comando.setErro(e);
+        }
+    }
+}
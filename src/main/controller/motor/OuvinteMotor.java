@@ -0,0 +1,27 @@
+package main.controller.motor;
+
+/**
+ * Recebe notificações da thread do {@link MotorComandos}, permitindo amortizar trabalho posterior à aplicação dos
+ * comandos, como a escrita de um diário ou a atualização de índices, por lote em vez de por comando.
+ * <p>
+ * Os métodos são chamados sempre pela thread do motor e antes que os futuros do lote sejam completados; assim, quem
+ * recebe um resultado sabe que o lote que o contém já foi processado pelo ouvinte.
+ */
+public interface OuvinteMotor {
+
+    /**
+     * Chamado após a aplicação de cada comando.
+     *
+     * @param comando {@link ComandoMotor} aplicado, com seu resultado ou erro.
+     */
+    default void aoAplicar(ComandoMotor comando) {
+    }
+
+    /**
+     * Chamado ao fim de cada lote de comandos aplicados.
+     *
+     * @param tamanho Quantidade de comandos do lote.
+     */
+    default void aoFimDoLote(int tamanho) {
+    }
+}
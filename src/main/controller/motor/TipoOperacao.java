@@ -0,0 +1,16 @@
+package main.controller.motor;
+
+/**
+ * Operações que podem ser publicadas no {@link MotorComandos}.
+ */
+public enum TipoOperacao {
+    ADICIONA_USUARIO,
+    ADICIONA_CREDITO,
+    VENDE_JOGO,
+    PUNIR,
+    RECOMPENSAR,
+    UPGRADE,
+    CONFERE_CREDITO,
+    GET_X2P,
+    RELATORIO_USUARIOS
+}
@@ -0,0 +1,392 @@
+package main.controller.mvcc;
+
+import main.controller.LojaController;
+import main.controller.LojaControllerImpl;
+import main.entidade.usuario.Usuario;
+import main.exception.JogoInvalidoException;
+import main.exception.SaldoInsuficienteException;
+import main.exception.UsuarioInaptoException;
+import main.exception.UsuarioInvalidoException;
+import main.service.Formatadora;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementação de {@link LojaController} com controle de concorrência por múltiplas versões. Os usuários guardados
+ * nunca são alterados: cada escrita copia o usuário, aplica a operação à cópia e a publica como uma nova versão da
+ * loja. Assim, leituras não precisam de nenhuma trava, e {@link #abreVisao()} entrega uma {@link VisaoLoja} com todos
+ * os usuários num mesmo instante, mesmo sob escritas concorrentes.
+ * <p>
+ * As escritas são serializadas entre si e usam as regras de {@link LojaControllerImpl}, aplicadas a um mapa com só o
+ * usuário copiado. As versões antigas de um usuário são descartadas assim que nenhuma visão aberta precisa delas.
+ * {@link #getRelatorioUsuarios()} abre uma visão, formata o relatório e a fecha, então nunca mistura estados de
+ * momentos diferentes.
+ */
+public class LojaControllerVersionado implements LojaController {
+
+    private final Formatadora formatadora;
+
+    /**
+     * Versão mais nova de cada usuário, por login.
+     */
+    private final Map<String, VersaoUsuario> usuarios = new ConcurrentHashMap<>();
+
+    /**
+     * Logins cujos usuários ainda têm versões anteriores retidas.
+     */
+    private final Set<String> comHistorico = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Quantidade de visões abertas em cada versão. Acessado com o seu próprio monitor.
+     */
+    private final TreeMap<Long, Integer> visoes = new TreeMap<>();
+
+    /**
+     * Serializa as escritas.
+     */
+    private final ReentrantLock escrita = new ReentrantLock();
+
+    /**
+     * Mapa com só o usuário sendo alterado pela escrita em andamento.
+     */
+    private final Map<String, Usuario> rascunhoUsuarios = new HashMap<>();
+
+    /**
+     * Controller que aplica as regras da loja ao rascunho.
+     */
+    private final LojaControllerImpl rascunho;
+
+    /**
+     * Versão da última escrita publicada.
+     */
+    private volatile long versaoAtual;
+
+    /**
+     * Indica que uma visão foi fechada sem que as versões liberadas por ela tenham sido descartadas.
+     */
+    private volatile boolean recolhimentoPendente;
+
+    /**
+     * Construtor.
+     *
+     * @param formatadora {@link Formatadora} para formatação de dados.
+     */
+    public LojaControllerVersionado(final Formatadora formatadora) {
+        this.formatadora = formatadora;
+        this.rascunho = new LojaControllerImpl(rascunhoUsuarios, formatadora);
+    }
+
+    /**
+     * Abre uma visão da loja na versão atual. A visão deve ser fechada depois de usada.
+     *
+     * @return {@link VisaoLoja} aberta.
+     */
+    public VisaoLoja abreVisao() {
+        synchronized (visoes) {
+            long versao = versaoAtual;
+            visoes.merge(versao, 1, Integer::sum);
+            return new VisaoLoja(this, versao);
+        }
+    }
+
+    /**
+     * @return Versão da última escrita publicada.
+     */
+    public long getVersaoAtual() {
+        return versaoAtual;
+    }
+
+    /**
+     * Conta as versões antigas de usuários retidas por visões abertas, depois de descartar as que não são mais
+     * necessárias.
+     *
+     * @return Quantidade de versões retidas.
+     */
+    public int getQtdeVersoesRetidas() {
+        escrita.lock();
+        try {
+            if (recolhimentoPendente) {
+                recolhe();
+            }
+            int quantidade = 0;
+            for (String login : comHistorico) {
+                quantidade += usuarios.get(login).qtdeAnteriores();
+            }
+            return quantidade;
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void adicionaUsuario(final String nome, final String login,
+                                final String tipo) throws UsuarioInvalidoException {
+        escrita.lock();
+        try {
+            if (cabeca(login) != null) {
+                throw new UsuarioInvalidoException(USUARIO_EXISTENTE);
+            }
+            rascunhoUsuarios.clear();
+            rascunho.adicionaUsuario(nome, login, tipo);
+            publica(login, rascunhoUsuarios.get(login));
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean adicionarDinheiroUsuario(final String login, final double quantia) {
+        escrita.lock();
+        try {
+            Usuario copia = copiaParaEscrita(login);
+            try {
+                return rascunho.adicionarDinheiroUsuario(login, quantia);
+            } finally {
+                publica(login, copia);
+            }
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getRelatorioUsuarios() {
+        try (VisaoLoja visao = abreVisao()) {
+            return visao.getRelatorioUsuarios();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vendeJogo(final String jogoNome, final double preco, final String jogabilidades,
+                          final String estiloJogo, final String loginUser) throws JogoInvalidoException,
+            SaldoInsuficienteException, UsuarioInvalidoException {
+        escrita.lock();
+        try {
+            Usuario copia = copiaParaEscrita(loginUser);
+            try {
+                rascunho.vendeJogo(jogoNome, preco, jogabilidades, estiloJogo, loginUser);
+            } finally {
+                publica(loginUser, copia);
+            }
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void punir(final String nomeJogo, final String login, final int score,
+                      final boolean zerou) throws JogoInvalidoException, UsuarioInvalidoException {
+        escrita.lock();
+        try {
+            Usuario copia = copiaParaEscrita(login);
+            try {
+                rascunho.punir(nomeJogo, login, score, zerou);
+            } finally {
+                publica(login, copia);
+            }
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recompensar(final String nomeJogo, final String login, final int score,
+                            final boolean zerou) throws JogoInvalidoException, UsuarioInvalidoException {
+        escrita.lock();
+        try {
+            Usuario copia = copiaParaEscrita(login);
+            try {
+                rascunho.recompensar(nomeJogo, login, score, zerou);
+            } finally {
+                publica(login, copia);
+            }
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void upgrade(final String login) throws UsuarioInvalidoException, UsuarioInaptoException {
+        escrita.lock();
+        try {
+            Usuario copia = copiaParaEscrita(login);
+            try {
+                rascunho.upgrade(login);
+            } finally {
+                publica(login, copia);
+            }
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double confereCredito(final String login) throws UsuarioInvalidoException {
+        return usuarioAtual(login).getCredito();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getX2pUsuario(final String login) throws UsuarioInvalidoException {
+        return usuarioAtual(login).getX2p();
+    }
+
+    /**
+     * Recupera os usuários que existiam na versão {@code versao}.
+     */
+    List<Usuario> usuariosNaVersao(final long versao) {
+        List<Usuario> naVersao = new ArrayList<>(usuarios.size());
+        for (VersaoUsuario cadeia : usuarios.values()) {
+            Usuario usuario = cadeia.naVersao(versao);
+            if (usuario != null) {
+                naVersao.add(usuario);
+            }
+        }
+        return naVersao;
+    }
+
+    /**
+     * Formata o relatório dos usuários que existiam na versão {@code versao}.
+     */
+    List<String> formataNaVersao(final long versao) {
+        return formatadora.formataDadosUsuario(usuariosNaVersao(versao));
+    }
+
+    /**
+     * Recupera o estado de um usuário na versão {@code versao}.
+     *
+     * @return O usuário, ou {@code null} caso ele não existisse nessa versão.
+     */
+    Usuario usuarioNaVersao(final String login, final long versao) {
+        VersaoUsuario cadeia = cabeca(login);
+        return cadeia == null ? null : cadeia.naVersao(versao);
+    }
+
+    /**
+     * Registra o fechamento de uma visão e, caso ela fosse a mais antiga, descarta as versões que só ela retinha. Se
+     * houver uma escrita em andamento, o descarte fica para o fim dela, para que o fechamento não espere.
+     */
+    void fechaVisao(final long versao) {
+        boolean eraMaisAntiga;
+        synchronized (visoes) {
+            eraMaisAntiga = versao == visoes.firstKey();
+            if (visoes.merge(versao, -1, Integer::sum) == 0) {
+                visoes.remove(versao);
+            }
+        }
+        if (!eraMaisAntiga) {
+            return;
+        }
+        if (escrita.tryLock()) {
+            try {
+                recolhe();
+            } finally {
+                escrita.unlock();
+            }
+        } else {
+            recolhimentoPendente = true;
+        }
+    }
+
+    private VersaoUsuario cabeca(final String login) {
+        return login == null ? null : usuarios.get(login);
+    }
+
+    private Usuario usuarioAtual(final String login) throws UsuarioInvalidoException {
+        VersaoUsuario cadeia = cabeca(login);
+        if (cadeia == null) {
+            throw new UsuarioInvalidoException(USUARIO_NAO_ENCONTRADO);
+        }
+        return cadeia.usuario;
+    }
+
+    /**
+     * Coloca no rascunho uma cópia da versão mais nova do usuário. Deve ser chamado com a trava de escrita.
+     *
+     * @return A cópia, ou {@code null} caso o usuário não exista.
+     */
+    private Usuario copiaParaEscrita(final String login) {
+        rascunhoUsuarios.clear();
+        VersaoUsuario cadeia = cabeca(login);
+        if (cadeia == null) {
+            return null;
+        }
+        Usuario copia = cadeia.usuario.copia();
+        rascunhoUsuarios.put(login, copia);
+        return copia;
+    }
+
+    /**
+     * Publica {@code usuario} como a versão seguinte da loja e descarta as versões que deixaram de ser necessárias.
+     * A cópia é publicada mesmo quando a operação falha, pois uma operação pode alterar o usuário antes de falhar.
+     * Deve ser chamado com a trava de escrita.
+     */
+    private void publica(final String login, final Usuario usuario) {
+        rascunhoUsuarios.clear();
+        if (usuario == null) {
+            return;
+        }
+        long versao = versaoAtual + 1;
+        VersaoUsuario nova = new VersaoUsuario(versao, usuario, usuarios.get(login));
+        usuarios.put(login, nova);
+        versaoAtual = versao;
+
+        if (nova.poda(versaoMinima())) {
+            comHistorico.add(login);
+        }
+        if (recolhimentoPendente) {
+            recolhe();
+        }
+    }
+
+    /**
+     * Descarta as versões antigas que nenhuma visão aberta precisa mais. Deve ser chamado com a trava de escrita.
+     */
+    private void recolhe() {
+        recolhimentoPendente = false;
+        long versaoMinima = versaoMinima();
+        comHistorico.removeIf(login -> !usuarios.get(login).poda(versaoMinima));
+    }
+
+    /**
+     * @return Versão da visão aberta mais antiga, ou a versão atual caso não haja visões abertas.
+     */
+    private long versaoMinima() {
+        synchronized (visoes) {
+            return visoes.isEmpty() ? versaoAtual : visoes.firstKey();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package main.controller.mvcc;
+
+import main.entidade.usuario.Usuario;
+
+/**
+ * Versão de um usuário em {@link LojaControllerVersionado}. Cada escrita cria uma nova versão, com uma cópia do
+ * usuário que não é mais alterada, ligada à versão anterior; a cadeia é percorrida da mais nova para a mais antiga.
+ */
+final class VersaoUsuario {
+
+    /**
+     * Versão da loja em que este estado do usuário passou a valer.
+     */
+    final long versao;
+
+    final Usuario usuario;
+
+    /**
+     * Versão anterior do usuário, ou {@code null} caso nenhuma visão aberta precise dela.
+     */
+    volatile VersaoUsuario anterior;
+
+    VersaoUsuario(final long versao, final Usuario usuario, final VersaoUsuario anterior) {
+        this.versao = versao;
+        this.usuario = usuario;
+        this.anterior = anterior;
+    }
+
+    /**
+     * Recupera o estado do usuário visível na versão {@code versao} da loja.
+     *
+     * @return O usuário, ou {@code null} caso ele ainda não existisse nessa versão.
+     */
+    Usuario naVersao(final long versao) {
+        for (VersaoUsuario atual = this; atual != null; atual = atual.anterior) {
+            if (atual.versao <= versao) {
+                return atual.usuario;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Descarta as versões anteriores à mais nova que ainda é visível em {@code versaoMinima}, já que nenhuma visão
+     * mais antiga está aberta.
+     *
+     * @return {@code true}, caso ainda restem versões anteriores a esta.
+     */
+    boolean poda(final long versaoMinima) {
+        for (VersaoUsuario atual = this; atual != null; atual = atual.anterior) {
+            if (atual.versao <= versaoMinima) {
+                atual.anterior = null;
+                break;
+            }
+        }
+        return anterior != null;
+    }
+
+    /**
+     * @return Quantidade de versões anteriores a esta.
+     */
+    int qtdeAnteriores() {
+        int quantidade = 0;
+        for (VersaoUsuario atual = anterior; atual != null; atual = atual.anterior) {
+            quantidade++;
+        }
+        return quantidade;
+    }
+}
@@ -0,0 +1,107 @@
+package main.controller.mvcc;
+
+import main.controller.LojaController;
+import main.entidade.usuario.Usuario;
+import main.exception.UsuarioInvalidoException;
+
+import java.io.Closeable;
+import java.util.List;
+
+/**
+ * Visão somente leitura de um {@link LojaControllerVersionado} numa versão fixa. Todas as consultas de uma visão
+ * enxergam a loja exatamente como estava quando a visão foi aberta, mesmo que haja escritas concorrentes, e nenhuma
+ * delas bloqueia as escritas.
+ * <p>
+ * Enquanto a visão estiver aberta, as versões de usuários de que ela precisa são retidas; ela deve ser fechada assim
+ * que não for mais usada. Os {@link Usuario}s devolvidos são cópias compartilhadas e não devem ser alterados.
+ */
+public final class VisaoLoja implements Closeable {
+
+    private final LojaControllerVersionado loja;
+
+    private final long versao;
+
+    private volatile boolean fechada;
+
+    VisaoLoja(final LojaControllerVersionado loja, final long versao) {
+        this.loja = loja;
+        this.versao = versao;
+    }
+
+    /**
+     * @return Versão da loja vista por esta visão.
+     */
+    public long getVersao() {
+        return versao;
+    }
+
+    /**
+     * @return Os usuários que existiam na versão desta visão.
+     */
+    public List<Usuario> getUsuarios() {
+        verificaAberta();
+        return loja.usuariosNaVersao(versao);
+    }
+
+    /**
+     * @return {@link List<String>} com as tuplas do relatório de usuários na versão desta visão.
+     */
+    public List<String> getRelatorioUsuarios() {
+        verificaAberta();
+        return loja.formataNaVersao(versao);
+    }
+
+    /**
+     * Recupera o crédito de um usuário na versão desta visão.
+     *
+     * @param login Login do usuário.
+     * @return O crédito do usuário.
+     * @throws UsuarioInvalidoException Caso o usuário não existisse nesta versão.
+     */
+    public double confereCredito(final String login) throws UsuarioInvalidoException {
+        return usuario(login).getCredito();
+    }
+
+    /**
+     * Recupera o x2p de um usuário na versão desta visão.
+     *
+     * @param login Login do usuário.
+     * @return O x2p do usuário.
+     * @throws UsuarioInvalidoException Caso o usuário não existisse nesta versão.
+     */
+    public int getX2pUsuario(final String login) throws UsuarioInvalidoException {
+        return usuario(login).getX2p();
+    }
+
+    /**
+     * Fecha esta visão, liberando as versões retidas por ela.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (fechada) {
+                return;
+            }
+            fechada = true;
+        }
+        loja.fechaVisao(versao);
+    }
+
+    private Usuario usuario(final String login) throws UsuarioInvalidoException {
+        verificaAberta();
+        Usuario usuario = loja.usuarioNaVersao(login, versao);
+        if (usuario == null) {
+            throw new UsuarioInvalidoException(LojaController.USUARIO_NAO_ENCONTRADO);
+        }
+        return usuario;
+    }
+
+    /**
+     * Depois de fechada, a visão não pode mais ser consultada, pois as versões que ela via podem ter sido descartadas.
+     */
+    private void verificaAberta() {
+        if (fechada) {
+            throw new IllegalStateException("Visão fechada.");
+        }
+    }
+}
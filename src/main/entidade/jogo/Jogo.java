@@ -1,5 +1,6 @@
 package main.entidade.jogo;
 
+import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -11,7 +12,10 @@ import util.Util;
  *
  * @author rerissondcsm
  */
-public abstract class Jogo {
+public abstract class Jogo implements Serializable, Cloneable {
+
+    private static final long serialVersionUID = 2863109274493722116L;
+
     /**
      * Nome deste jogo.
      */
@@ -80,11 +84,29 @@ public abstract class Jogo {
         return getX2pJogada();
     }
 
+    /**
+     * Cria uma cópia deste jogo, com as mesmas estatísticas, que pode ser alterada sem afetar este.
+     *
+     * @return A cópia deste jogo.
+     */
+    public Jogo copia() {
+        try {
+            return (Jogo) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * @return o x2p para determinada jogada
      */
     public abstract int getX2pJogada();
 
+    /**
+     * @return o tipo deste jogo, como aceito por {@link main.factory.JogoFactory#criaJogo}.
+     */
+    public abstract String getTipo();
+
     /**
      * Recupera o preço deste jogo.
      *
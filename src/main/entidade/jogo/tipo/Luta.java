@@ -13,6 +13,8 @@ import java.util.Set;
  */
 public class Luta extends Jogo {
 
+    private static final long serialVersionUID = -4409112337820451786L;
+
     public static final String REPRESENTACAO_STRING = "Luta";
     private static final int FATOR_PONTUACAO_LUTA = 1000;
 
@@ -39,6 +41,14 @@ public class Luta extends Jogo {
         return 0;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getTipo() {
+        return REPRESENTACAO_STRING;
+    }
+
     /**
      * {@inheritDoc}
      */
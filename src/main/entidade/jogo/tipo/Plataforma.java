@@ -13,6 +13,8 @@ import java.util.Set;
  */
 public class Plataforma extends Jogo {
 
+    private static final long serialVersionUID = 5152479936870125310L;
+
     /**
      * Representação desta classe de jogos como {@link String}.
      */
@@ -49,6 +51,14 @@ public class Plataforma extends Jogo {
         return 0;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getTipo() {
+        return REPRESENTACAO_STRING;
+    }
+
     /**
      * {@inheritDoc}
      */
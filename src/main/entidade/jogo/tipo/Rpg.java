@@ -12,6 +12,8 @@ import java.util.Set;
  */
 public class Rpg extends Jogo {
 
+    private static final long serialVersionUID = -1946427361630728195L;
+
     /**
      * Representação desta classe de jogos como {@link String}.
      */
@@ -38,6 +40,14 @@ public class Rpg extends Jogo {
         return FATOR_PONTUACAO_RPG;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getTipo() {
+        return REPRESENTACAO_STRING;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1,9 +1,16 @@
 package main.entidade.usuario;
 
+import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import main.entidade.jogo.Jogabilidade;
 import main.entidade.jogo.Jogo;
 import main.exception.JogoInvalidoException;
 import main.exception.UsuarioInvalidoException;
@@ -15,16 +22,24 @@ import util.Util;
  *
  * @author rerissondcsm
  */
-public class Usuario {
+public class Usuario implements Serializable, Cloneable {
+
+    private static final long serialVersionUID = 7316054182906613530L;
 
     /**
      * Constantes para mensagens de exceptions.
      */
-    private static final String O_JOGO_NAO_FOI_ENCONTRADO = "O jogo não pôde ser encontrado.";
+    public static final String O_JOGO_NAO_FOI_ENCONTRADO = "O jogo não pôde ser encontrado.";
     private static final String LOGIN_INVALIDO = "O login do usuário é inválido!";
     private static final String NOME_INVALIDO = "O nome do usuário é inválido";
     private static final String ROLE_INVALIDO = "É necessário que o usuário tenha um role inicial.";
-    private static final String JOGO_JA_VENDIDO = "Jogo já vendido a este usuário";
+    public static final String JOGO_JA_VENDIDO = "Jogo já vendido a este usuário";
+
+    /**
+     * Classes, além desta, que compõem um usuário serializado; as únicas aceitas ao lê-lo da rede.
+     */
+    public static final List<Class<?>> CLASSES_SERIALIZADAS = Collections.unmodifiableList(Arrays.asList(
+            Jogo.class, Jogabilidade.class, Role.class, HashMap.class, HashSet.class, String.class));
 
     /**
      * Nome deste usuário.
@@ -126,6 +141,39 @@ public class Usuario {
         this.x2p -= role.getX2pPunicao(jogo);
     }
 
+    /**
+     * Registra em ordem as jogadas de {@code nomeJogo} a partir de {@code inicio}, recompensando ou punindo este
+     * usuário em cada uma, com o mesmo efeito de chamadas sucessivas a {@link #recompensar} ou {@link #punir}. O jogo
+     * é buscado e a recompensa ou punição do papel é calculada uma única vez.
+     * <p>
+     * Como essa recompensa depende do papel, que pode mudar com o x2p, o registro para depois da jogada que levar o
+     * x2p acima de {@code x2pParada}, para que quem chama ajuste o papel antes de continuar.
+     *
+     * @param nomeJogo   Nome do jogo.
+     * @param scores     Score de cada jogada.
+     * @param zerados    Indica se o usuário zerou o jogo em cada jogada.
+     * @param inicio     Posição da primeira jogada a registrar.
+     * @param recompensa {@code true} para recompensar o usuário; {@code false} para puni-lo.
+     * @param x2pParada  x2p acima do qual o registro é interrompido.
+     * @return A posição da primeira jogada que não foi registrada, ou {@code scores.length}.
+     * @throws JogoInvalidoException Caso o jogador não possua este jogo.
+     */
+    public int registraJogadas(final String nomeJogo, final int[] scores, final boolean[] zerados, final int inicio,
+                               final boolean recompensa, final int x2pParada) throws JogoInvalidoException {
+        Jogo jogo = getJogoValidado(nomeJogo);
+        int x2pPapel = recompensa ? role.getX2pRecompensa(jogo) : -role.getX2pPunicao(jogo);
+        int proxima = inicio;
+        while (proxima < scores.length) {
+            this.x2p += jogo.registraJogada(scores[proxima], zerados[proxima]);
+            this.x2p += x2pPapel;
+            proxima++;
+            if (this.x2p > x2pParada) {
+                break;
+            }
+        }
+        return proxima;
+    }
+
     /**
      * Recupera um jogo e valida ele.
      *
@@ -168,6 +216,36 @@ public class Usuario {
         this.x2p += role.getx2pCompra(jogo.getPreco());
     }
 
+    /**
+     * Adiciona um jogo que este usuário já possuía antes de ser trazido para a loja, como na importação de usuários
+     * de um parceiro. Ao contrário de {@link #adicionaJogo(Jogo)}, não desconta o preço do crédito nem concede x2p.
+     *
+     * @param jogo - {@link Jogo} a ser adicionado.
+     * @throws JogoInvalidoException Caso o usuário já possua um jogo com o mesmo nome.
+     */
+    public void importaJogo(final Jogo jogo) throws JogoInvalidoException {
+        if (jogosComprados.containsKey(jogo.getNome())) {
+            throw new JogoInvalidoException(JOGO_JA_VENDIDO);
+        }
+        jogosComprados.put(jogo.getNome(), jogo);
+    }
+
+    /**
+     * @param nomeJogo Nome do jogo.
+     * @return {@code true}, caso este usuário tenha comprado o jogo que tem {@code nomeJogo} como nome.
+     */
+    public boolean possuiJogo(final String nomeJogo) {
+        return jogosComprados.containsKey(nomeJogo);
+    }
+
+    /**
+     * @param nomeJogo Nome do jogo.
+     * @return O {@link Jogo} comprado por este usuário que tem {@code nomeJogo} como nome, ou {@code null}.
+     */
+    public Jogo getJogo(final String nomeJogo) {
+        return jogosComprados.get(nomeJogo);
+    }
+
     /**
      * @return os jogos comprados por este usuário.
      */
@@ -175,6 +253,25 @@ public class Usuario {
         return jogosComprados.values();
     }
 
+    /**
+     * Cria uma cópia deste usuário, com cópias dos seus jogos, que pode ser alterada sem afetar este. Os jogos são
+     * copiados na ordem em que este usuário os guarda, o que preserva a ordem em que aparecem no relatório.
+     *
+     * @return A cópia deste usuário.
+     */
+    public Usuario copia() {
+        try {
+            Usuario copia = (Usuario) super.clone();
+            copia.jogosComprados = new HashMap<>();
+            for (Map.Entry<String, Jogo> jogo : jogosComprados.entrySet()) {
+                copia.jogosComprados.put(jogo.getKey(), jogo.getValue().copia());
+            }
+            return copia;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     public double getDesconto() {
         return role.getDesconto();
     }
@@ -11,6 +11,8 @@ import main.entidade.usuario.role.Role;
  */
 public class Noob implements Role {
 
+    private static final long serialVersionUID = -6290914876214409517L;
+
     private static final int X2P_INICIAL_NOOB = 0;
     private static final double DESCONTO_NOOB = 0.10;
 
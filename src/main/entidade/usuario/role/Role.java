@@ -1,5 +1,7 @@
 package main.entidade.usuario.role;
 
+import java.io.Serializable;
+
 import main.entidade.jogo.Jogo;
 
 /**
@@ -7,7 +9,7 @@ import main.entidade.jogo.Jogo;
  *
  * @author rerissondcsm
  */
-public interface Role {
+public interface Role extends Serializable {
     /**
      * Método que retorna o desconto para este usuário.
      *
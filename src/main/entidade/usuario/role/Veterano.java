@@ -11,6 +11,8 @@ import main.entidade.usuario.role.Role;
  */
 public class Veterano implements Role {
 
+    private static final long serialVersionUID = 3718840562719902264L;
+
     private static final double DESCONTO_VETERANO = 0.20;
     private static final int X2P_INICIAL_VETERANO = 1000;
     public static final String REPRESENTACAO_STRING = "Veterano";
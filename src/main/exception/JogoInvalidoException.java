@@ -8,9 +8,11 @@ public class JogoInvalidoException extends Exception {
     private static final long serialVersionUID = 6865582828578518622L;
 
     /**
-     * {@inheritDoc}
+     * Cria a exceção sem pilha de chamadas, como {@link UsuarioInvalidoException#UsuarioInvalidoException(String)}.
+     *
+     * @param msg Mensagem da exceção.
      */
     public JogoInvalidoException(String msg) {
-        super(msg);
+        super(msg, null, false, false);
     }
 }
@@ -6,9 +6,11 @@ package main.exception;
  */
 public class SaldoInsuficienteException extends Exception {
     /**
-     * {@inheritDoc}
+     * Cria a exceção sem pilha de chamadas, como {@link UsuarioInvalidoException#UsuarioInvalidoException(String)}.
+     *
+     * @param message Mensagem da exceção.
      */
     public SaldoInsuficienteException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
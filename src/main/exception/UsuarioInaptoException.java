@@ -6,9 +6,11 @@ package main.exception;
  */
 public class UsuarioInaptoException extends Exception {
     /**
-     * {@inheritDoc}
+     * Cria a exceção sem pilha de chamadas, como {@link UsuarioInvalidoException#UsuarioInvalidoException(String)}.
+     *
+     * @param msg Mensagem da exceção.
      */
     public UsuarioInaptoException(String msg) {
-        super(msg);
+        super(msg, null, false, false);
     }
 }
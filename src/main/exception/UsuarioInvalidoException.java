@@ -8,9 +8,12 @@ public class UsuarioInvalidoException extends Exception {
     private static final long serialVersionUID = 4206668353242739893L;
 
     /**
-     * {@inheritDoc}
+     * Cria a exceção sem pilha de chamadas: ela indica uma regra de negócio violada, não um erro a ser depurado, e
+     * pode ser compartilhada entre threads e lançada várias vezes.
+     *
+     * @param msg Mensagem da exceção.
      */
     public UsuarioInvalidoException(String msg) {
-        super(msg);
+        super(msg, null, false, false);
     }
 }
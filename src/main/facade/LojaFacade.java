@@ -2,12 +2,12 @@ package main.facade;
 
 import main.controller.LojaController;
 import main.controller.LojaControllerImpl;
-import main.exception.JogoInvalidoException;
-import main.exception.UsuarioInvalidoException;
-import main.exception.SaldoInsuficienteException;
-import main.exception.UsuarioInaptoException;
+import main.controller.LojaControllerStatus;
+import main.controller.StatusOperacao;
 import main.service.FormatadoraCentralP2Cg;
+import util.FormatadorDecimal;
 import util.io.Entrada;
+import util.io.PontoDescarga;
 import util.io.Saida;
 import util.io.Console;
 import util.io.Teclado;
@@ -23,7 +23,7 @@ public class LojaFacade {
     private static final String ADICIONAR_DINHEIRO_USUARIO_MSG = "Adicionar dinheiro à conta de usuário";
     private static final String VENDER_JOGOS_USUARIO_MSG = "Vender jogo a um usuário";
     private static final String IMPRIMIR_RELATORIO_USUARIOS_MSG = "Imprimir relatório de usuários";
-    private static final String USUARIO_NAO_ENCONTRADO_MSG = "Usuário não encontrado";
+    public static final String USUARIO_NAO_ENCONTRADO_MSG = "Usuário não encontrado";
     private static final String UPGRADE_USUARIO_MSG = "Fazer upgrade de usuário ";
     private static final String SAIR_MSG = "Sair";
     private static final String OPCAO_INVALIDA_MSG = "Opção inválida";
@@ -73,6 +73,10 @@ public class LojaFacade {
      * Controller ao qual será delegada a execução das operações.
      */
     private final LojaController lojaController;
+    /**
+     * Variante sem exceções de {@link #lojaController}, usada nas operações que podem falhar.
+     */
+    private final LojaControllerStatus lojaControllerStatus;
 
     /**
      * Construtor onde são atribuídas as dependências deste objeto.
@@ -85,12 +89,14 @@ public class LojaFacade {
         this.entrada = entrada;
         this.saida = saida;
         this.lojaController = lojaController;
+        this.lojaControllerStatus = LojaControllerStatus.de(lojaController);
     }
 
     public LojaFacade() {
         this.entrada = new Teclado();
         this.saida = new Console();
         this.lojaController = new LojaControllerImpl(new HashMap<>(), new FormatadoraCentralP2Cg());
+        this.lojaControllerStatus = LojaControllerStatus.de(lojaController);
     }
 
     /**
@@ -106,7 +112,9 @@ public class LojaFacade {
             op = entrada.leInteiro();
 
             trataOpcaoInserida(op);
+            saida.descarrega(PontoDescarga.FIM_DE_COMANDO);
         } while (op != SAIR_OP);
+        saida.descarrega(PontoDescarga.ENCERRAMENTO);
     }
 
     /**
@@ -170,12 +178,7 @@ public class LojaFacade {
      * Uma string com a causa da falha, caso contrário.
      */
     public String recompensar(String login, String nomeJogo, int scoreObtido, boolean zerou) {
-        try {
-            lojaController.recompensar(nomeJogo, login, scoreObtido, zerou);
-            return "";
-        } catch (JogoInvalidoException | UsuarioInvalidoException e) {
-            return e.getMessage();
-        }
+        return lojaControllerStatus.recompensarComStatus(nomeJogo, login, scoreObtido, zerou).getMensagem();
     }
 
     /**
@@ -200,12 +203,7 @@ public class LojaFacade {
      * Uma String com a causa da falha, caso contrário.
      */
     public String punir(String login, String nomeJogo, int score, boolean zerou) {
-        try {
-            lojaController.punir(nomeJogo, login, score, zerou);
-            return "";
-        } catch (JogoInvalidoException | UsuarioInvalidoException e) {
-            return e.getMessage();
-        }
+        return lojaControllerStatus.punirComStatus(nomeJogo, login, score, zerou).getMensagem();
     }
 
     /**
@@ -227,10 +225,9 @@ public class LojaFacade {
      * @param tipoUsuario Tipo do usuário.
      */
     public void criaUsuario(final String nome, final String login, final String tipoUsuario) {
-        try {
-            lojaController.adicionaUsuario(nome, login, tipoUsuario);
-        } catch (UsuarioInvalidoException usuarioInvalido) {
-            saida.escreve(usuarioInvalido.getMessage());
+        StatusOperacao status = lojaControllerStatus.adicionaUsuarioComStatus(nome, login, tipoUsuario);
+        if (!status.isSucesso()) {
+            saida.escreve(status.getMensagem());
         }
     }
 
@@ -259,11 +256,10 @@ public class LojaFacade {
      * @param login login do usuário.
      */
     public String confereCredito(String login) {
-        try {
-            return String.format("%.1f", lojaController.confereCredito(login)).replace(",", ".");
-        } catch (UsuarioInvalidoException e) {
-            return e.getMessage();
-        }
+        StringBuilder credito = new StringBuilder();
+        StatusOperacao status = lojaControllerStatus.confereCreditoComStatus(login,
+                valor -> FormatadorDecimal.acrescenta(credito, valor, 1));
+        return status.isSucesso() ? credito.toString() : status.getMensagem();
     }
 
     /**
@@ -274,12 +270,7 @@ public class LojaFacade {
      * Uma mensagem com a causa da falha, caso não.
      */
     public String upgrade(final String login) {
-        try {
-            lojaController.upgrade(login);
-            return "";
-        } catch (UsuarioInvalidoException | UsuarioInaptoException e) {
-            return e.getMessage();
-        }
+        return lojaControllerStatus.upgradeComStatus(login).getMensagem();
     }
 
     /**
@@ -290,11 +281,9 @@ public class LojaFacade {
      * Uma mensagem indicando que ele não existe, caso ele não exista.
      */
     public String getX2p(final String login) {
-        try {
-            return String.valueOf(lojaController.getX2pUsuario(login));
-        } catch (UsuarioInvalidoException e) {
-            return e.getMessage();
-        }
+        StringBuilder x2p = new StringBuilder();
+        StatusOperacao status = lojaControllerStatus.getX2pUsuarioComStatus(login, x2p::append);
+        return status.isSucesso() ? x2p.toString() : status.getMensagem();
     }
 
     /**
@@ -304,6 +293,7 @@ public class LojaFacade {
         for (String item : lojaController.getRelatorioUsuarios()) {
             saida.escreve(item);
         }
+        saida.descarrega(PontoDescarga.FIM_DE_RELATORIO);
     }
 
     /**
@@ -327,10 +317,10 @@ public class LojaFacade {
      * @param jogabilidades
      */
     public void vendeJogo(String jogoNome, double preco, String jogabilidades, String estiloJogo, String loginUser) {
-        try {
-            lojaController.vendeJogo(jogoNome, preco, jogabilidades, estiloJogo, loginUser);
-        } catch (UsuarioInvalidoException | SaldoInsuficienteException | JogoInvalidoException e) {
-            saida.escreve(e.getMessage());
+        StatusOperacao status = lojaControllerStatus.vendeJogoComStatus(jogoNome, preco, jogabilidades, estiloJogo,
+                loginUser);
+        if (!status.isSucesso()) {
+            saida.escreve(status.getMensagem());
         }
     }
 
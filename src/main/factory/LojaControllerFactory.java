@@ -0,0 +1,70 @@
+package main.factory;
+
+import main.controller.LojaController;
+import main.controller.LojaControllerAtores;
+import main.controller.LojaControllerImpl;
+import main.controller.LojaControllerParticionado;
+import main.controller.ModoExecucao;
+import main.controller.mvcc.LojaControllerVersionado;
+import main.service.Formatadora;
+
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Classe responsável pela criação de {@link LojaController}s.
+ */
+public class LojaControllerFactory {
+
+    /**
+     * Cria um {@link LojaController} vazio no modo {@code modo}.
+     *
+     * @param modo        {@link ModoExecucao} do controller.
+     * @param formatadora {@link Formatadora} para formatação de dados.
+     * @param concorrente Indica se o controller será usado por várias threads ao mesmo tempo. Os modos
+     *                    {@link ModoExecucao#PARTICIONADO}, {@link ModoExecucao#ATORES} e
+     *                    {@link ModoExecucao#VERSIONADO} sempre permitem uso concorrente; o
+     *                    {@link ModoExecucao#SIMPLES} não, pois altera os usuários sem nenhuma sincronização.
+     * @return {@link LojaController} criado.
+     * @throws IllegalArgumentException Caso seja pedido um controller concorrente no modo
+     *                                  {@link ModoExecucao#SIMPLES}.
+     */
+    public LojaController criaLojaController(final ModoExecucao modo, final Formatadora formatadora,
+                                             final boolean concorrente) {
+        switch (modo) {
+            case PARTICIONADO:
+                return new LojaControllerParticionado(Runtime.getRuntime().availableProcessors(), formatadora);
+            case ATORES:
+                return new LojaControllerAtores(formatadora);
+            case VERSIONADO:
+                return new LojaControllerVersionado(formatadora);
+            case SIMPLES:
+            default:
+                if (concorrente) {
+                    throw new IllegalArgumentException("O modo " + modo.getNome()
+                            + " não permite uso concorrente.");
+                }
+                return new LojaControllerImpl(new HashMap<>(), formatadora);
+        }
+    }
+
+    /**
+     * Cria um {@link LojaController} vazio para a execução de um script de lote, sequencial ou paralela. No modo
+     * {@link ModoExecucao#SIMPLES}, os usuários ficam num {@link ConcurrentSkipListMap}, ordenados pelo login, de
+     * modo que o relatório de usuários sai na mesma ordem qualquer que seja a quantidade de threads; num
+     * {@link ConcurrentHashMap}, a ordem dos usuários de um mesmo balde depende da ordem de inserção, que varia entre
+     * execuções paralelas. Nesse modo, o controller só admite operações concorrentes sobre logins distintos, como
+     * as de {@link main.lote.ExecucaoParalela}.
+     *
+     * @param modo        {@link ModoExecucao} do controller.
+     * @param formatadora {@link Formatadora} para formatação de dados.
+     * @return {@link LojaController} criado.
+     */
+    public LojaController criaLojaControllerLote(final ModoExecucao modo, final Formatadora formatadora) {
+        if (modo == ModoExecucao.SIMPLES) {
+            return new LojaControllerImpl(new ConcurrentSkipListMap<>(), formatadora);
+        }
+        return criaLojaController(modo, formatadora, true);
+    }
+}
@@ -0,0 +1,294 @@
+package main.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import main.controller.LojaController;
+import main.lote.Comando;
+import main.lote.ExecucaoLote;
+import main.lote.ExecutorComandos;
+import main.lote.LeitorScript;
+import main.lote.ResumoLote;
+import main.lote.TipoComando;
+import util.io.PontoDescarga;
+import util.io.SaidaBufferizada;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor HTTP/1.1 que expõe as operações da loja, construído sobre {@link HttpServer}.
+ * <p>
+ * Cada comando dos scripts de lote é acessível em {@code /loja/<comando>}, com os mesmos nomes de parâmetros,
+ * passados na query string ou num corpo {@code application/x-www-form-urlencoded}. Consultas aceitam {@code GET} e
+ * {@code POST}; operações que alteram a loja exigem {@code POST}. A resposta tem status 200 e, como corpo, o mesmo
+ * resultado que o comando teria no lote; falhas da operação têm status 422 e a mensagem de erro como corpo.
+ * Operações que o {@link LojaController} não suporta, como escritas numa réplica somente leitura, têm status 403.
+ * <p>
+ * {@code /loja/getRelatorioUsuarios} envia o relatório com codificação chunked, escrevendo cada item à medida que
+ * {@link LojaController#escreveRelatorioUsuarios} o entrega, sem montar o relatório inteiro antes. {@code POST /lote}
+ * executa um script inteiro, recebido no corpo, com a saída de {@link ExecucaoLote} seguida do resumo da execução.
+ * As conexões são mantidas abertas entre requisições (keep-alive), e requisições enviadas em sequência numa mesma
+ * conexão são atendidas em ordem.
+ * <p>
+ * Cada requisição é tratada por uma thread do executor, que pode bloquear à vontade; por padrão é usado um executor
+ * que cria threads sob demanda. Em JDKs com threads virtuais, pode-se passar
+ * {@code Executors.newVirtualThreadPerTaskExecutor()}. O {@link LojaController} recebe chamadas concorrentes e deve
+ * suportá-las, como {@link main.controller.LojaControllerAtores} e
+ * {@link main.controller.LojaControllerParticionado}.
+ * <p>
+ * As respostas têm o cabeçalho e o corpo escritos separadamente; sem desativar o algoritmo de Nagle, cada resposta
+ * numa conexão keep-alive pode esperar pela confirmação atrasada do cliente. O {@link HttpServer} só faz isso com a
+ * propriedade {@link #PROPRIEDADE_SEM_ATRASO} definida como {@code true} antes da criação do primeiro servidor da
+ * JVM, como faz {@link main.Main}, ou com {@code -Dsun.net.httpserver.nodelay=true} na linha de comando.
+ */
+public class ServidorHttpLoja implements Closeable {
+
+    public static final String PREFIXO_COMANDOS = "/loja/";
+    public static final String CAMINHO_LOTE = "/lote";
+
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_PROIBIDO = 403;
+    private static final int HTTP_NAO_ENCONTRADO = 404;
+    private static final int HTTP_METODO_NAO_PERMITIDO = 405;
+    private static final int HTTP_ENTIDADE_NAO_PROCESSAVEL = 422;
+
+    private static final String GET = "GET";
+    private static final String POST = "POST";
+    private static final String TIPO_TEXTO = "text/plain; charset=UTF-8";
+    private static final String TIPO_FORMULARIO = "application/x-www-form-urlencoded";
+
+    private static final int TAMANHO_BUFFER_SAIDA = 1 << 16;
+
+    /**
+     * Propriedade de sistema que desativa o algoritmo de Nagle nas conexões do {@link HttpServer}. É lida uma única
+     * vez, na criação do primeiro servidor da JVM.
+     */
+    public static final String PROPRIEDADE_SEM_ATRASO = "sun.net.httpserver.nodelay";
+
+    /**
+     * Controller sobre o qual as operações são executadas.
+     */
+    private final LojaController lojaController;
+
+    /**
+     * Executor dos comandos recebidos, compartilhado por todas as requisições.
+     */
+    private final ExecutorComandos executorComandos;
+
+    private final HttpServer servidor;
+
+    /**
+     * Threads que tratam as requisições.
+     */
+    private final ExecutorService threads;
+
+    /**
+     * Construtor com o executor padrão.
+     *
+     * @param lojaController {@link LojaController} sobre o qual as operações serão executadas.
+     * @param endereco       {@link InetSocketAddress} no qual o servidor escutará; porta 0 escolhe uma porta livre.
+     * @throws IOException Caso o endereço não possa ser usado.
+     */
+    public ServidorHttpLoja(final LojaController lojaController, final InetSocketAddress endereco)
+            throws IOException {
+        this(lojaController, endereco, Executors.newCachedThreadPool(tarefa -> {
+            Thread thread = new Thread(tarefa, "http-loja");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param lojaController {@link LojaController} sobre o qual as operações serão executadas.
+     * @param endereco       {@link InetSocketAddress} no qual o servidor escutará; porta 0 escolhe uma porta livre.
+     * @param threads        {@link ExecutorService} no qual as requisições serão tratadas.
+     * @throws IOException Caso o endereço não possa ser usado.
+     */
+    public ServidorHttpLoja(final LojaController lojaController, final InetSocketAddress endereco,
+                            final ExecutorService threads) throws IOException {
+        this.lojaController = lojaController;
+        this.executorComandos = new ExecutorComandos(lojaController);
+        this.threads = threads;
+        this.servidor = HttpServer.create(endereco, 0);
+        this.servidor.setExecutor(threads);
+        this.servidor.createContext(PREFIXO_COMANDOS, this::trataComando);
+        this.servidor.createContext(CAMINHO_LOTE, this::trataLote);
+    }
+
+    /**
+     * Começa a aceitar conexões.
+     */
+    public void inicia() {
+        servidor.start();
+    }
+
+    /**
+     * @return A porta na qual o servidor escuta.
+     */
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * Para o servidor, sem esperar as requisições em andamento.
+     */
+    @Override
+    public void close() {
+        servidor.stop(0);
+        threads.shutdown();
+    }
+
+    /**
+     * Trata uma requisição a {@code /loja/<comando>}.
+     */
+    private void trataComando(final HttpExchange troca) throws IOException {
+        try (HttpExchange t = troca) {
+            byte[] corpo = leCorpo(t);
+            String caminho = t.getRequestURI().getPath();
+            TipoComando tipo = TipoComando.porNome(caminho.substring(PREFIXO_COMANDOS.length()));
+            if (tipo == null) {
+                responde(t, HTTP_NAO_ENCONTRADO, "Comando desconhecido: " + caminho);
+                return;
+            }
+            String metodo = t.getRequestMethod();
+            if (!POST.equals(metodo) && !(GET.equals(metodo) && tipo.ehConsulta())) {
+                t.getResponseHeaders().set("Allow", tipo.ehConsulta() ? GET + ", " + POST : POST);
+                responde(t, HTTP_METODO_NAO_PERMITIDO, "Método não permitido: " + metodo);
+                return;
+            }
+
+            if (tipo == TipoComando.GET_RELATORIO_USUARIOS) {
+                enviaRelatorio(t);
+                return;
+            }
+
+            Map<String, String> parametros = leParametros(t, corpo);
+            Comando comando = new Comando();
+            comando.limpa(0);
+            comando.setTipo(tipo);
+            for (int i = 0; i < tipo.getQtdeParametros(); i++) {
+                comando.setParametro(i, parametros.get(tipo.getParametro(i)));
+            }
+            try {
+                executorComandos.executa(comando);
+            } catch (UnsupportedOperationException e) {
+                responde(t, HTTP_PROIBIDO, e.getMessage());
+                return;
+            }
+            responde(t, comando.isErro() ? HTTP_ENTIDADE_NAO_PROCESSAVEL : HTTP_OK, comando.getResultado());
+        }
+    }
+
+    /**
+     * Escreve o relatório de usuários com codificação chunked, cada item assim que o controller o formata.
+     */
+    private void enviaRelatorio(final HttpExchange troca) throws IOException {
+        troca.getResponseHeaders().set("Content-Type", TIPO_TEXTO);
+        troca.sendResponseHeaders(HTTP_OK, 0);
+        try (OutputStream corpo = troca.getResponseBody()) {
+            lojaController.escreveRelatorioUsuarios(item -> {
+                try {
+                    corpo.write(item.getBytes(StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Trata uma requisição a {@code /lote}, executando o script do corpo e escrevendo a saída em partes.
+     */
+    private void trataLote(final HttpExchange troca) throws IOException {
+        try (HttpExchange t = troca) {
+            byte[] script = leCorpo(t);
+            if (!POST.equals(t.getRequestMethod())) {
+                t.getResponseHeaders().set("Allow", POST);
+                responde(t, HTTP_METODO_NAO_PERMITIDO, "Método não permitido: " + t.getRequestMethod());
+                return;
+            }
+
+            t.getResponseHeaders().set("Content-Type", TIPO_TEXTO);
+            t.sendResponseHeaders(HTTP_OK, 0);
+            try (OutputStream corpo = t.getResponseBody()) {
+                SaidaBufferizada saida = new SaidaBufferizada(Channels.newChannel(corpo), TAMANHO_BUFFER_SAIDA,
+                        EnumSet.of(PontoDescarga.FIM_DE_RELATORIO));
+                ResumoLote resumo = new ExecucaoLote(lojaController, saida)
+                        .executa(new LeitorScript(ByteBuffer.wrap(script)));
+                saida.escreve(resumo.toString());
+                saida.descarrega(PontoDescarga.ENCERRAMENTO);
+            }
+        }
+    }
+
+    /**
+     * Lê todo o corpo da requisição. O corpo precisa ser consumido mesmo quando não é usado, para que a conexão
+     * possa ser reaproveitada pela próxima requisição.
+     */
+    private static byte[] leCorpo(final HttpExchange troca) throws IOException {
+        try (InputStream entrada = troca.getRequestBody()) {
+            return entrada.readAllBytes();
+        }
+    }
+
+    /**
+     * Lê os parâmetros da query string e, caso haja, do corpo de formulário da requisição.
+     */
+    private static Map<String, String> leParametros(final HttpExchange troca, final byte[] corpo) {
+        Map<String, String> parametros = new HashMap<>();
+        decodifica(troca.getRequestURI().getRawQuery(), parametros);
+        String tipoConteudo = troca.getRequestHeaders().getFirst("Content-Type");
+        if (tipoConteudo != null && tipoConteudo.startsWith(TIPO_FORMULARIO)) {
+            decodifica(new String(corpo, StandardCharsets.UTF_8), parametros);
+        }
+        return parametros;
+    }
+
+    /**
+     * Decodifica pares {@code nome=valor} separados por '&amp;'.
+     */
+    private static void decodifica(final String pares, final Map<String, String> parametros) {
+        if (pares == null || pares.isEmpty()) {
+            return;
+        }
+        for (String par : pares.split("&")) {
+            int igual = par.indexOf('=');
+            if (igual > 0) {
+                parametros.put(URLDecoder.decode(par.substring(0, igual), StandardCharsets.UTF_8),
+                        URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * Envia uma resposta de texto com tamanho conhecido, o que permite manter a conexão aberta.
+     */
+    private static void responde(final HttpExchange troca, final int status, final String texto)
+            throws IOException {
+        byte[] corpo = texto.getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", TIPO_TEXTO);
+        troca.sendResponseHeaders(status, corpo.length == 0 ? -1 : corpo.length);
+        if (corpo.length > 0) {
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(corpo);
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package main.lote;
+
+/**
+ * Comando lido de um script de lote. Um mesmo objeto pode ser reutilizado para vários comandos, evitando alocações
+ * na leitura sequencial de scripts grandes.
+ */
+public class Comando {
+
+    /**
+     * Tipo deste comando, ou {@code null} caso o nome lido não corresponda a nenhum comando conhecido.
+     */
+    private TipoComando tipo;
+
+    /**
+     * Nome lido, mantido apenas para comandos desconhecidos.
+     */
+    private String nomeDesconhecido;
+
+    /**
+     * Valores dos parâmetros, na ordem definida por {@link TipoComando}.
+     */
+    private final String[] parametros = new String[TipoComando.MAX_PARAMETROS];
+
+    /**
+     * Resultado esperado pelo script, ou {@code null} caso não haja expectativa.
+     */
+    private String esperado;
+
+    /**
+     * Indica se o script espera que este comando falhe.
+     */
+    private boolean esperaErro;
+
+    /**
+     * Linha do script onde este comando está.
+     */
+    private int linha;
+
+    /**
+     * Resultado da execução deste comando.
+     */
+    private String resultado;
+
+    /**
+     * Indica se a execução deste comando falhou.
+     */
+    private boolean erro;
+
+    /**
+     * Prepara este objeto para receber um novo comando.
+     *
+     * @param linha Linha do script onde o novo comando está.
+     */
+    public void limpa(final int linha) {
+        this.tipo = null;
+        this.nomeDesconhecido = null;
+        for (int i = 0; i < parametros.length; i++) {
+            parametros[i] = null;
+        }
+        this.esperado = null;
+        this.esperaErro = false;
+        this.linha = linha;
+        this.resultado = null;
+        this.erro = false;
+    }
+
+    /**
+     * @return o login do usuário afetado por este comando, ou {@code null} caso ele seja global ou desconhecido.
+     */
+    public String getLogin() {
+        if (tipo == null || tipo.ehGlobal()) {
+            return null;
+        }
+        return parametros[tipo.getIndiceLogin()];
+    }
+
+    /**
+     * @return {@code true}, caso o resultado deste comando atenda à expectativa do script.
+     */
+    public boolean atendeExpectativa() {
+        if (esperado == null) {
+            return !erro;
+        }
+        if (esperaErro && !erro) {
+            return false;
+        }
+        return esperado.equals(resultado);
+    }
+
+    public TipoComando getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(final TipoComando tipo) {
+        this.tipo = tipo;
+    }
+
+    public String getNomeDesconhecido() {
+        return nomeDesconhecido;
+    }
+
+    public void setNomeDesconhecido(final String nomeDesconhecido) {
+        this.nomeDesconhecido = nomeDesconhecido;
+    }
+
+    public String getParametro(final int indice) {
+        return parametros[indice];
+    }
+
+    public void setParametro(final int indice, final String valor) {
+        parametros[indice] = valor;
+    }
+
+    public String getEsperado() {
+        return esperado;
+    }
+
+    public void setEsperado(final String esperado, final boolean esperaErro) {
+        this.esperado = esperado;
+        this.esperaErro = esperaErro;
+    }
+
+    public boolean isEsperaErro() {
+        return esperaErro;
+    }
+
+    public int getLinha() {
+        return linha;
+    }
+
+    public String getResultado() {
+        return resultado;
+    }
+
+    public boolean isErro() {
+        return erro;
+    }
+
+    public void setResultado(final String resultado, final boolean erro) {
+        this.resultado = resultado;
+        this.erro = erro;
+    }
+}
@@ -0,0 +1,65 @@
+package main.lote;
+
+import util.io.PontoDescarga;
+import util.io.Saida;
+
+/**
+ * Contabiliza os resultados dos comandos de um lote e escreve na {@link Saida} os que devem ser exibidos.
+ */
+class ContadorLote {
+
+    private final Saida saida;
+
+    private long comandos;
+    private long expectativas;
+    private long falhasExpectativa;
+    private long erros;
+
+    /**
+     * Construtor.
+     *
+     * @param saida {@link Saida} na qual serão escritos os resultados.
+     */
+    ContadorLote(final Saida saida) {
+        this.saida = saida;
+    }
+
+    /**
+     * Contabiliza o resultado de {@code comando}, já executado. Resultados de comandos sem expectativa e
+     * expectativas não atendidas são escritos na saída.
+     *
+     * @param comando {@link Comando} executado.
+     */
+    void registra(final Comando comando) {
+        comandos++;
+        if (comando.getEsperado() != null) {
+            expectativas++;
+            if (!comando.atendeExpectativa()) {
+                falhasExpectativa++;
+                saida.escreve("Linha " + comando.getLinha() + ": esperado <" + comando.getEsperado()
+                        + ">, mas foi <" + comando.getResultado() + ">");
+            }
+            return;
+        }
+        if (comando.isErro()) {
+            erros++;
+        }
+        if (!comando.getResultado().isEmpty()) {
+            saida.escreve(comando.getResultado());
+        }
+        if (comando.getTipo() == TipoComando.GET_RELATORIO_USUARIOS) {
+            saida.descarrega(PontoDescarga.FIM_DE_RELATORIO);
+        }
+    }
+
+    /**
+     * Encerra a contagem.
+     *
+     * @param duracaoNanos Duração da execução, em nanossegundos.
+     * @return {@link ResumoLote} com os resultados contabilizados.
+     */
+    ResumoLote encerra(final long duracaoNanos) {
+        saida.descarrega(PontoDescarga.FIM_DE_RELATORIO);
+        return new ResumoLote(comandos, expectativas, falhasExpectativa, erros, duracaoNanos);
+    }
+}
@@ -0,0 +1,69 @@
+package main.lote;
+
+import main.controller.LojaController;
+import util.io.Saida;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Executa, sem interação, um script de lote sobre um {@link LojaController}.
+ * <p>
+ * Os comandos são lidos e executados um a um, reutilizando o mesmo {@link Comando}. Resultados de consultas sem
+ * expectativa e mensagens de erro são escritos na {@link Saida}, assim como cada expectativa não atendida.
+ */
+public class ExecucaoLote {
+
+    /**
+     * Executor dos comandos lidos.
+     */
+    private final ExecutorComandos executor;
+
+    /**
+     * Saída na qual serão escritos os resultados.
+     */
+    private final Saida saida;
+
+    /**
+     * Construtor.
+     *
+     * @param lojaController {@link LojaController} sobre o qual os comandos serão executados.
+     * @param saida          {@link Saida} na qual serão escritos os resultados.
+     */
+    public ExecucaoLote(final LojaController lojaController, final Saida saida) {
+        this.executor = new ExecutorComandos(lojaController);
+        this.saida = saida;
+    }
+
+    /**
+     * Executa o script em {@code arquivo}.
+     *
+     * @param arquivo {@link Path} do script.
+     * @return {@link ResumoLote} da execução.
+     * @throws IOException Caso o script não possa ser lido.
+     */
+    public ResumoLote executa(final Path arquivo) throws IOException {
+        try (LeitorScript leitor = new LeitorScript(arquivo)) {
+            return executa(leitor);
+        }
+    }
+
+    /**
+     * Executa os comandos restantes de {@code leitor}.
+     *
+     * @param leitor {@link LeitorScript} de onde os comandos serão lidos.
+     * @return {@link ResumoLote} da execução.
+     * @throws IOException Caso o script não possa ser lido.
+     */
+    public ResumoLote executa(final LeitorScript leitor) throws IOException {
+        ContadorLote contador = new ContadorLote(saida);
+        Comando comando = new Comando();
+
+        long inicio = System.nanoTime();
+        while (leitor.leProximo(comando)) {
+            executor.executa(comando);
+            contador.registra(comando);
+        }
+        return contador.encerra(System.nanoTime() - inicio);
+    }
+}
@@ -0,0 +1,162 @@
+package main.lote;
+
+import main.controller.LojaController;
+import util.io.Saida;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Executa um script de lote em paralelo, particionando os comandos pelo login do usuário que eles afetam.
+ * <p>
+ * O script é lido uma única vez. Comandos de um mesmo login são sempre executados na ordem do script, pela mesma
+ * thread, enquanto logins diferentes são executados concorrentemente. Comandos globais, como
+ * {@code getRelatorioUsuarios}, e comandos sem login funcionam como barreiras: todos os comandos anteriores terminam
+ * antes deles, e eles terminam antes de qualquer comando posterior. Assim, o estado final da loja e a saída escrita
+ * são idênticos aos da execução sequencial por {@link ExecucaoLote}.
+ * <p>
+ * O {@link LojaController} usado deve suportar operações concorrentes sobre logins distintos. A ordem dos usuários no
+ * relatório é a ordem de iteração do seu mapa de usuários, que só independe da ordem de inserção num mapa ordenado;
+ * por isso, a igualdade da saída com a execução sequencial vale para os controllers criados por
+ * {@link main.factory.LojaControllerFactory#criaLojaControllerLote}, usados pelas duas execuções.
+ */
+public class ExecucaoParalela {
+
+    /**
+     * Executor dos comandos lidos.
+     */
+    private final ExecutorComandos executor;
+
+    /**
+     * Saída na qual serão escritos os resultados.
+     */
+    private final Saida saida;
+
+    /**
+     * Quantidade de partições executadas em paralelo.
+     */
+    private final int paralelismo;
+
+    /**
+     * Construtor.
+     *
+     * @param lojaController {@link LojaController} sobre o qual os comandos serão executados.
+     * @param saida          {@link Saida} na qual serão escritos os resultados.
+     * @param paralelismo    Quantidade de threads usadas na execução.
+     */
+    public ExecucaoParalela(final LojaController lojaController, final Saida saida, final int paralelismo) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("O paralelismo deve ser positivo.");
+        }
+        this.executor = new ExecutorComandos(lojaController);
+        this.saida = saida;
+        this.paralelismo = paralelismo;
+    }
+
+    /**
+     * Executa o script em {@code arquivo}.
+     *
+     * @param arquivo {@link Path} do script.
+     * @return {@link ResumoLote} da execução.
+     * @throws IOException Caso o script não possa ser lido.
+     */
+    public ResumoLote executa(final Path arquivo) throws IOException {
+        long inicio = System.nanoTime();
+        List<Comando> comandos = leComandos(arquivo);
+        ContadorLote contador = new ContadorLote(saida);
+
+        ExecutorService threads = Executors.newFixedThreadPool(paralelismo);
+        try {
+            int inicioSegmento = 0;
+            for (int i = 0; i < comandos.size(); i++) {
+                Comando comando = comandos.get(i);
+                if (comando.getLogin() == null) {
+                    executaSegmento(threads, comandos, inicioSegmento, i, contador);
+                    executor.executa(comando);
+                    contador.registra(comando);
+                    inicioSegmento = i + 1;
+                }
+            }
+            executaSegmento(threads, comandos, inicioSegmento, comandos.size(), contador);
+        } finally {
+            threads.shutdown();
+        }
+        return contador.encerra(System.nanoTime() - inicio);
+    }
+
+    /**
+     * Lê todos os comandos do script.
+     */
+    private List<Comando> leComandos(final Path arquivo) throws IOException {
+        List<Comando> comandos = new ArrayList<>();
+        try (LeitorScript leitor = new LeitorScript(arquivo)) {
+            Comando comando = new Comando();
+            while (leitor.leProximo(comando)) {
+                comandos.add(comando);
+                comando = new Comando();
+            }
+        }
+        return comandos;
+    }
+
+    /**
+     * Executa em paralelo os comandos de {@code comandos[inicio, fim)}, que não contêm barreiras, e contabiliza seus
+     * resultados na ordem do script.
+     */
+    private void executaSegmento(final ExecutorService threads, final List<Comando> comandos, final int inicio,
+                                 final int fim, final ContadorLote contador) {
+        if (inicio == fim) {
+            return;
+        }
+        List<Callable<Void>> particoes = particiona(comandos, inicio, fim);
+        try {
+            for (Future<Void> resultado : threads.invokeAll(particoes)) {
+                resultado.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Execução do lote interrompida.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na execução do lote.", e.getCause());
+        }
+        for (int i = inicio; i < fim; i++) {
+            contador.registra(comandos.get(i));
+        }
+    }
+
+    /**
+     * Distribui os comandos de {@code comandos[inicio, fim)} entre as partições, de acordo com o login, mantendo a
+     * ordem do script dentro de cada partição.
+     */
+    private List<Callable<Void>> particiona(final List<Comando> comandos, final int inicio, final int fim) {
+        List<List<Comando>> particoes = new ArrayList<>(paralelismo);
+        for (int i = 0; i < paralelismo; i++) {
+            particoes.add(new ArrayList<>());
+        }
+        for (int i = inicio; i < fim; i++) {
+            Comando comando = comandos.get(i);
+            int particao = Math.floorMod(comando.getLogin().hashCode(), paralelismo);
+            particoes.get(particao).add(comando);
+        }
+
+        List<Callable<Void>> tarefas = new ArrayList<>(paralelismo);
+        for (final List<Comando> particao : particoes) {
+            if (!particao.isEmpty()) {
+                tarefas.add(() -> {
+                    for (Comando comando : particao) {
+                        executor.executa(comando);
+                    }
+                    return null;
+                });
+            }
+        }
+        return tarefas;
+    }
+}
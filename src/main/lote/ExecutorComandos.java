@@ -0,0 +1,166 @@
+package main.lote;
+
+import main.controller.LojaController;
+import main.controller.LojaControllerStatus;
+import main.controller.StatusOperacao;
+import main.facade.LojaFacade;
+import util.FormatadorDecimal;
+
+/**
+ * Executa {@link Comando}s diretamente sobre um {@link LojaController}, produzindo os mesmos resultados que os métodos
+ * correspondentes de {@link LojaFacade} produziriam para o EasyAccept.
+ * <p>
+ * O resultado de cada execução é guardado no próprio comando, de modo que comandos distintos podem ser executados
+ * concorrentemente, desde que o {@link LojaController} permita.
+ */
+public class ExecutorComandos {
+
+    private static final String COMANDO_DESCONHECIDO = "Comando desconhecido: ";
+    private static final String PARAMETRO_AUSENTE = "Parâmetro ausente: ";
+    private static final String PARAMETRO_INVALIDO = "Parâmetro inválido: ";
+
+    /**
+     * Controller sobre o qual os comandos serão executados.
+     */
+    private final LojaController lojaController;
+
+    /**
+     * Variante sem exceções de {@link #lojaController}: comandos rejeitados não criam exceções.
+     */
+    private final LojaControllerStatus lojaControllerStatus;
+
+    /**
+     * Construtor.
+     *
+     * @param lojaController {@link LojaController} sobre o qual os comandos serão executados.
+     */
+    public ExecutorComandos(final LojaController lojaController) {
+        this.lojaController = lojaController;
+        this.lojaControllerStatus = LojaControllerStatus.de(lojaController);
+    }
+
+    /**
+     * Executa {@code comando} e guarda nele o seu resultado.
+     *
+     * @param comando {@link Comando} a ser executado.
+     */
+    public void executa(final Comando comando) {
+        TipoComando tipo = comando.getTipo();
+        if (tipo == null) {
+            comando.setResultado(COMANDO_DESCONHECIDO + comando.getNomeDesconhecido(), true);
+            return;
+        }
+        for (int i = 0; i < tipo.getQtdeParametros(); i++) {
+            if (comando.getParametro(i) == null) {
+                comando.setResultado(PARAMETRO_AUSENTE + tipo.getParametro(i), true);
+                return;
+            }
+        }
+        try {
+            executa(tipo, comando);
+        } catch (NumberFormatException e) {
+            comando.setResultado(PARAMETRO_INVALIDO + e.getMessage(), true);
+        }
+    }
+
+    /**
+     * Despacha {@code comando} para o {@link LojaController}.
+     */
+    private void executa(final TipoComando tipo, final Comando comando) {
+        switch (tipo) {
+            case CRIA_USUARIO:
+                criaUsuario(comando);
+                break;
+            case ADICIONA_CREDITO:
+                adicionaCredito(comando);
+                break;
+            case CONFERE_CREDITO:
+                confereCredito(comando);
+                break;
+            case VENDE_JOGO:
+                vendeJogo(comando);
+                break;
+            case UPGRADE:
+                upgrade(comando);
+                break;
+            case GET_X2P:
+                getX2p(comando);
+                break;
+            case PUNIR:
+                punir(comando);
+                break;
+            case RECOMPENSAR:
+                recompensar(comando);
+                break;
+            case GET_RELATORIO_USUARIOS:
+                getRelatorioUsuarios(comando);
+                break;
+            default:
+                comando.setResultado(COMANDO_DESCONHECIDO + tipo.getNome(), true);
+        }
+    }
+
+    private void criaUsuario(final Comando comando) {
+        defineResultado(comando, lojaControllerStatus.adicionaUsuarioComStatus(comando.getParametro(0),
+                comando.getParametro(1), comando.getParametro(2)));
+    }
+
+    private void adicionaCredito(final Comando comando) {
+        if (lojaController.adicionarDinheiroUsuario(comando.getParametro(0),
+                Double.parseDouble(comando.getParametro(1)))) {
+            comando.setResultado("", false);
+        } else {
+            comando.setResultado(LojaFacade.USUARIO_NAO_ENCONTRADO_MSG, true);
+        }
+    }
+
+    private void confereCredito(final Comando comando) {
+        StatusOperacao status = lojaControllerStatus.confereCreditoComStatus(comando.getParametro(0),
+                credito -> comando.setResultado(FormatadorDecimal.formata(credito, 1), false));
+        if (!status.isSucesso()) {
+            defineResultado(comando, status);
+        }
+    }
+
+    private void vendeJogo(final Comando comando) {
+        defineResultado(comando, lojaControllerStatus.vendeJogoComStatus(comando.getParametro(0),
+                Double.parseDouble(comando.getParametro(1)), comando.getParametro(2), comando.getParametro(3),
+                comando.getParametro(4)));
+    }
+
+    private void upgrade(final Comando comando) {
+        defineResultado(comando, lojaControllerStatus.upgradeComStatus(comando.getParametro(0)));
+    }
+
+    private void getX2p(final Comando comando) {
+        StatusOperacao status = lojaControllerStatus.getX2pUsuarioComStatus(comando.getParametro(0),
+                x2p -> comando.setResultado(String.valueOf(x2p), false));
+        if (!status.isSucesso()) {
+            defineResultado(comando, status);
+        }
+    }
+
+    private void punir(final Comando comando) {
+        defineResultado(comando, lojaControllerStatus.punirComStatus(comando.getParametro(1),
+                comando.getParametro(0), Integer.parseInt(comando.getParametro(2)),
+                Boolean.parseBoolean(comando.getParametro(3))));
+    }
+
+    private void recompensar(final Comando comando) {
+        defineResultado(comando, lojaControllerStatus.recompensarComStatus(comando.getParametro(1),
+                comando.getParametro(0), Integer.parseInt(comando.getParametro(2)),
+                Boolean.parseBoolean(comando.getParametro(3))));
+    }
+
+    private void getRelatorioUsuarios(final Comando comando) {
+        StringBuilder relatorio = new StringBuilder();
+        for (String item : lojaController.getRelatorioUsuarios()) {
+            relatorio.append(item);
+        }
+        comando.setResultado(relatorio.toString(), false);
+    }
+
+    private static void defineResultado(final Comando comando, final StatusOperacao status) {
+        comando.setResultado(status.getMensagem(), !status.isSucesso());
+    }
+}
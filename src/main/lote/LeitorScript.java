@@ -0,0 +1,318 @@
+package main.lote;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Lê comandos de um script de lote mapeado em memória, ou já carregado num {@link ByteBuffer}, sem reflexão.
+ * <p>
+ * A sintaxe é a dos scripts de aceitação do EasyAccept: uma linha por comando, no formato
+ * {@code [expect <valor>|expectError <mensagem>] comando parametro=valor ...}, com valores opcionalmente entre aspas,
+ * linhas iniciadas por '#' como comentários e {@code quit} encerrando o script. Arquivos maiores que a janela de
+ * mapeamento são lidos em janelas sucessivas, sempre cortadas em fim de linha.
+ */
+public class LeitorScript implements Closeable {
+
+    private static final long TAMANHO_JANELA_PADRAO = 1L << 28;
+    private static final int TAMANHO_TOKEN_INICIAL = 256;
+
+    private static final byte[] EXPECT = "expect".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EXPECT_ERROR = "expectError".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] QUIT = "quit".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ECHO = "echo".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Canal do arquivo do script, ou {@code null} caso o script tenha sido dado num {@link ByteBuffer}.
+     */
+    private final FileChannel canal;
+
+    /**
+     * Tamanho do arquivo do script.
+     */
+    private final long tamanhoArquivo;
+
+    /**
+     * Tamanho máximo de cada janela mapeada.
+     */
+    private final long tamanhoJanela;
+
+    /**
+     * Janela do arquivo atualmente mapeada.
+     */
+    private ByteBuffer janela;
+
+    /**
+     * Posição, no arquivo, do início da próxima janela a ser mapeada.
+     */
+    private long inicioProximaJanela;
+
+    /**
+     * Número da última linha lida.
+     */
+    private int linha;
+
+    /**
+     * Indica que o script pediu seu encerramento com {@code quit}.
+     */
+    private boolean encerrado;
+
+    /**
+     * Bytes do token sendo lido.
+     */
+    private byte[] token = new byte[TAMANHO_TOKEN_INICIAL];
+
+    /**
+     * Quantidade de bytes válidos em {@code token}.
+     */
+    private int tamanhoToken;
+
+    /**
+     * Construtor.
+     *
+     * @param arquivo {@link Path} do script.
+     * @throws IOException Caso o arquivo não possa ser aberto.
+     */
+    public LeitorScript(final Path arquivo) throws IOException {
+        this(arquivo, TAMANHO_JANELA_PADRAO);
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param arquivo       {@link Path} do script.
+     * @param tamanhoJanela Tamanho máximo, em bytes, de cada janela mapeada.
+     * @throws IOException Caso o arquivo não possa ser aberto.
+     */
+    public LeitorScript(final Path arquivo, final long tamanhoJanela) throws IOException {
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        this.tamanhoArquivo = canal.size();
+        this.tamanhoJanela = Math.min(tamanhoJanela, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Construtor para um script já carregado em memória.
+     *
+     * @param conteudo {@link ByteBuffer} com os bytes do script, de sua posição até seu limite. O buffer não é
+     *                 alterado.
+     */
+    public LeitorScript(final ByteBuffer conteudo) {
+        this.canal = null;
+        this.tamanhoArquivo = 0;
+        this.tamanhoJanela = 0;
+        this.janela = conteudo.slice();
+    }
+
+    /**
+     * Lê o próximo comando do script para {@code destino}.
+     *
+     * @param destino {@link Comando} a ser preenchido.
+     * @return {@code false}, caso o script tenha terminado.
+     * @throws IOException Caso o arquivo não possa ser lido.
+     */
+    public boolean leProximo(final Comando destino) throws IOException {
+        while (!encerrado && temBytes()) {
+            linha++;
+            destino.limpa(linha);
+            if (interpretaLinha(destino)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        janela = null;
+        if (canal != null) {
+            canal.close();
+        }
+    }
+
+    /**
+     * Garante que haja bytes disponíveis na janela atual, mapeando a próxima caso necessário.
+     *
+     * @return {@code false}, caso o arquivo tenha terminado.
+     */
+    private boolean temBytes() throws IOException {
+        while (janela == null || !janela.hasRemaining()) {
+            if (inicioProximaJanela >= tamanhoArquivo) {
+                return false;
+            }
+            mapeiaProximaJanela();
+        }
+        return true;
+    }
+
+    /**
+     * Mapeia a próxima janela do arquivo, cortando-a após a última quebra de linha que ela contém.
+     */
+    private void mapeiaProximaJanela() throws IOException {
+        long tamanho = Math.min(tamanhoJanela, tamanhoArquivo - inicioProximaJanela);
+        MappedByteBuffer mapeada = canal.map(FileChannel.MapMode.READ_ONLY, inicioProximaJanela, tamanho);
+        if (inicioProximaJanela + tamanho < tamanhoArquivo) {
+            int fim = mapeada.limit();
+            while (fim > 0 && mapeada.get(fim - 1) != '\n') {
+                fim--;
+            }
+            if (fim == 0) {
+                throw new IOException("Linha " + (linha + 1) + " maior que a janela de leitura.");
+            }
+            mapeada.limit(fim);
+        }
+        inicioProximaJanela += mapeada.limit();
+        janela = mapeada;
+    }
+
+    /**
+     * Interpreta a próxima linha da janela.
+     *
+     * @param destino {@link Comando} a ser preenchido.
+     * @return {@code true}, caso a linha contenha um comando.
+     */
+    private boolean interpretaLinha(final Comando destino) {
+        pulaEspacos();
+        if (fimDeLinha() || janela.get(janela.position()) == '#') {
+            pulaLinha();
+            return false;
+        }
+
+        leToken();
+        boolean expectativa = ehToken(EXPECT);
+        boolean expectativaErro = ehToken(EXPECT_ERROR);
+        if (expectativa || expectativaErro) {
+            pulaEspacos();
+            leToken();
+            destino.setEsperado(tokenComoString(), expectativaErro);
+            pulaEspacos();
+            leToken();
+        } else if (ehToken(QUIT)) {
+            encerrado = true;
+            pulaLinha();
+            return false;
+        } else if (ehToken(ECHO)) {
+            pulaLinha();
+            return false;
+        }
+
+        TipoComando tipo = TipoComando.porNome(token, 0, tamanhoToken);
+        destino.setTipo(tipo);
+        if (tipo == null) {
+            destino.setNomeDesconhecido(tokenComoString());
+            pulaLinha();
+            return true;
+        }
+
+        leParametros(tipo, destino);
+        pulaLinha();
+        return true;
+    }
+
+    /**
+     * Lê os parâmetros {@code nome=valor} do restante da linha.
+     */
+    private void leParametros(final TipoComando tipo, final Comando destino) {
+        while (true) {
+            pulaEspacos();
+            if (fimDeLinha()) {
+                return;
+            }
+            tamanhoToken = 0;
+            while (!fimDeLinha() && !ehEspaco(janela.get(janela.position()))
+                    && janela.get(janela.position()) != '=') {
+                anexaAoToken(janela.get());
+            }
+            int indice = tipo.indiceParametro(token, 0, tamanhoToken);
+            if (fimDeLinha() || janela.get(janela.position()) != '=') {
+                continue;
+            }
+            janela.get();
+            leToken();
+            if (indice >= 0) {
+                destino.setParametro(indice, tokenComoString());
+            }
+        }
+    }
+
+    /**
+     * Lê um token, que pode estar entre aspas ou terminar no próximo espaço.
+     */
+    private void leToken() {
+        tamanhoToken = 0;
+        if (!fimDeLinha() && janela.get(janela.position()) == '"') {
+            janela.get();
+            while (!fimDeLinha()) {
+                byte b = janela.get();
+                if (b == '"') {
+                    return;
+                }
+                anexaAoToken(b);
+            }
+            return;
+        }
+        while (!fimDeLinha() && !ehEspaco(janela.get(janela.position()))) {
+            anexaAoToken(janela.get());
+        }
+    }
+
+    private void anexaAoToken(final byte b) {
+        if (tamanhoToken == token.length) {
+            token = Arrays.copyOf(token, token.length * 2);
+        }
+        token[tamanhoToken++] = b;
+    }
+
+    private String tokenComoString() {
+        return new String(token, 0, tamanhoToken, StandardCharsets.UTF_8);
+    }
+
+    private boolean ehToken(final byte[] esperado) {
+        if (esperado.length != tamanhoToken) {
+            return false;
+        }
+        for (int i = 0; i < tamanhoToken; i++) {
+            if (esperado[i] != token[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void pulaEspacos() {
+        while (!fimDeLinha() && ehEspaco(janela.get(janela.position()))) {
+            janela.get();
+        }
+    }
+
+    /**
+     * Avança até o início da próxima linha.
+     */
+    private void pulaLinha() {
+        while (janela.hasRemaining()) {
+            if (janela.get() == '\n') {
+                return;
+            }
+        }
+    }
+
+    private boolean fimDeLinha() {
+        if (!janela.hasRemaining()) {
+            return true;
+        }
+        byte b = janela.get(janela.position());
+        return b == '\n' || b == '\r';
+    }
+
+    private static boolean ehEspaco(final byte b) {
+        return b == ' ' || b == '\t';
+    }
+}
@@ -0,0 +1,102 @@
+package main.lote;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resumo da execução de um script de lote.
+ */
+public class ResumoLote {
+
+    /**
+     * Quantidade de comandos executados.
+     */
+    private final long comandos;
+
+    /**
+     * Quantidade de comandos com expectativa no script.
+     */
+    private final long expectativas;
+
+    /**
+     * Quantidade de comandos cujo resultado não atendeu à expectativa do script.
+     */
+    private final long falhasExpectativa;
+
+    /**
+     * Quantidade de comandos sem expectativa que falharam.
+     */
+    private final long erros;
+
+    /**
+     * Duração da execução, em nanossegundos.
+     */
+    private final long duracaoNanos;
+
+    /**
+     * Construtor.
+     *
+     * @param comandos          Quantidade de comandos executados.
+     * @param expectativas      Quantidade de comandos com expectativa.
+     * @param falhasExpectativa Quantidade de expectativas não atendidas.
+     * @param erros             Quantidade de comandos sem expectativa que falharam.
+     * @param duracaoNanos      Duração da execução, em nanossegundos.
+     */
+    public ResumoLote(final long comandos, final long expectativas, final long falhasExpectativa,
+                      final long erros, final long duracaoNanos) {
+        this.comandos = comandos;
+        this.expectativas = expectativas;
+        this.falhasExpectativa = falhasExpectativa;
+        this.erros = erros;
+        this.duracaoNanos = duracaoNanos;
+    }
+
+    /**
+     * @return a vazão da execução, em comandos por segundo.
+     */
+    public double getVazao() {
+        if (duracaoNanos == 0) {
+            return 0;
+        }
+        return comandos * (double) TimeUnit.SECONDS.toNanos(1) / duracaoNanos;
+    }
+
+    /**
+     * @return a quantidade total de falhas, somando expectativas não atendidas e erros.
+     */
+    public long getFalhas() {
+        return falhasExpectativa + erros;
+    }
+
+    public long getComandos() {
+        return comandos;
+    }
+
+    public long getExpectativas() {
+        return expectativas;
+    }
+
+    public long getFalhasExpectativa() {
+        return falhasExpectativa;
+    }
+
+    public long getErros() {
+        return erros;
+    }
+
+    public long getDuracaoNanos() {
+        return duracaoNanos;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Comandos: " + comandos
+                + " | Expectativas: " + expectativas
+                + " | Expectativas não atendidas: " + falhasExpectativa
+                + " | Erros: " + erros
+                + " | Tempo: " + TimeUnit.NANOSECONDS.toMillis(duracaoNanos) + " ms"
+                + " | Vazão: " + (long) getVazao() + " comandos/s";
+    }
+}
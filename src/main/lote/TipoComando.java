@@ -0,0 +1,167 @@
+package main.lote;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Comandos aceitos nos scripts de lote, na mesma sintaxe dos scripts de aceitação do EasyAccept.
+ * Cada comando conhece seus parâmetros, na ordem em que são guardados em {@link Comando}.
+ */
+public enum TipoComando {
+    CRIA_USUARIO("criaUsuario", "login", "nome", "login", "tipoUsuario"),
+    ADICIONA_CREDITO("adicionaCredito", "login", "login", "credito"),
+    CONFERE_CREDITO("confereCredito", "login", "login"),
+    VENDE_JOGO("vendeJogo", "loginUser", "jogoNome", "preco", "jogabilidades", "estiloJogo", "loginUser"),
+    UPGRADE("upgrade", "login", "login"),
+    GET_X2P("getX2p", "login", "login"),
+    PUNIR("punir", "login", "login", "nomeJogo", "scoreObtido", "zerou"),
+    RECOMPENSAR("recompensar", "login", "login", "nomeJogo", "scoreObtido", "zerou"),
+    GET_RELATORIO_USUARIOS("getRelatorioUsuarios", null);
+
+    /**
+     * Maior quantidade de parâmetros de um comando.
+     */
+    public static final int MAX_PARAMETROS = 5;
+
+    private static final TipoComando[] TIPOS = values();
+
+    /**
+     * Nome do comando no script.
+     */
+    private final String nome;
+
+    /**
+     * Bytes do nome do comando, para comparação sem criação de {@link String}s.
+     */
+    private final byte[] nomeBytes;
+
+    /**
+     * Nomes dos parâmetros do comando.
+     */
+    private final String[] parametros;
+
+    /**
+     * Bytes dos nomes dos parâmetros do comando.
+     */
+    private final byte[][] parametrosBytes;
+
+    /**
+     * Índice do parâmetro que contém o login do usuário afetado, ou -1 para comandos globais.
+     */
+    private final int indiceLogin;
+
+    /**
+     * Construtor.
+     *
+     * @param nome           Nome do comando no script.
+     * @param parametroLogin Nome do parâmetro com o login do usuário, ou {@code null} para comandos globais.
+     * @param parametros     Nomes dos parâmetros do comando.
+     */
+    TipoComando(final String nome, final String parametroLogin, final String... parametros) {
+        this.nome = nome;
+        this.nomeBytes = nome.getBytes(StandardCharsets.UTF_8);
+        this.parametros = parametros;
+        this.parametrosBytes = new byte[parametros.length][];
+        int login = -1;
+        for (int i = 0; i < parametros.length; i++) {
+            parametrosBytes[i] = parametros[i].getBytes(StandardCharsets.UTF_8);
+            if (parametros[i].equals(parametroLogin)) {
+                login = i;
+            }
+        }
+        this.indiceLogin = login;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * @return a quantidade de parâmetros deste comando.
+     */
+    public int getQtdeParametros() {
+        return parametros.length;
+    }
+
+    /**
+     * @param indice Índice do parâmetro.
+     * @return o nome do parâmetro de índice {@code indice}.
+     */
+    public String getParametro(final int indice) {
+        return parametros[indice];
+    }
+
+    /**
+     * @return o índice do parâmetro com o login do usuário afetado, ou -1 caso este comando seja global.
+     */
+    public int getIndiceLogin() {
+        return indiceLogin;
+    }
+
+    /**
+     * @return {@code true}, caso este comando não afete um único usuário.
+     */
+    public boolean ehGlobal() {
+        return indiceLogin < 0;
+    }
+
+    /**
+     * @return {@code true}, caso este comando apenas consulte a loja, sem alterá-la.
+     */
+    public boolean ehConsulta() {
+        return this == CONFERE_CREDITO || this == GET_X2P || this == GET_RELATORIO_USUARIOS;
+    }
+
+    /**
+     * Recupera o índice do parâmetro cujo nome está em {@code bytes[inicio, inicio + tamanho)}.
+     *
+     * @return o índice do parâmetro, ou -1 caso este comando não o tenha.
+     */
+    public int indiceParametro(final byte[] bytes, final int inicio, final int tamanho) {
+        for (int i = 0; i < parametrosBytes.length; i++) {
+            if (iguais(parametrosBytes[i], bytes, inicio, tamanho)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Recupera o comando cujo nome está em {@code bytes[inicio, inicio + tamanho)}.
+     *
+     * @return o {@link TipoComando}, ou {@code null} caso não exista comando com este nome.
+     */
+    public static TipoComando porNome(final byte[] bytes, final int inicio, final int tamanho) {
+        for (TipoComando tipo : TIPOS) {
+            if (iguais(tipo.nomeBytes, bytes, inicio, tamanho)) {
+                return tipo;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Recupera o comando de nome {@code nome}.
+     *
+     * @return o {@link TipoComando}, ou {@code null} caso não exista comando com este nome.
+     */
+    public static TipoComando porNome(final String nome) {
+        for (TipoComando tipo : TIPOS) {
+            if (tipo.nome.equals(nome)) {
+                return tipo;
+            }
+        }
+        return null;
+    }
+
+    private static boolean iguais(final byte[] esperado, final byte[] bytes, final int inicio, final int tamanho) {
+        if (esperado.length != tamanho) {
+            return false;
+        }
+        for (int i = 0; i < tamanho; i++) {
+            if (esperado[i] != bytes[inicio + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,497 @@
+package main.replicacao;
+
+import main.controller.LojaController;
+import main.controller.LojaControllerImpl;
+import main.entidade.usuario.Usuario;
+import main.exception.JogoInvalidoException;
+import main.exception.SaldoInsuficienteException;
+import main.exception.UsuarioInaptoException;
+import main.exception.UsuarioInvalidoException;
+import util.io.CodificacaoBinaria;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link LojaController} primário de um grupo de replicação. Aplica as operações a um {@link LojaControllerImpl} e
+ * envia cada mutação, numerada em ordem, às {@link LojaReplica}s conectadas.
+ * <p>
+ * Uma réplica que se conecta recebe primeiro uma cópia de todos os usuários, feita sem escritas concorrentes, e em
+ * seguida as mutações posteriores à cópia. Mutações são enviadas mesmo quando a operação falha, pois a réplica, ao
+ * aplicá-las, reproduz a mesma falha e o mesmo estado. Cada réplica tem sua própria fila e sua própria thread de
+ * envio, de modo que uma réplica lenta não atrasa as demais; no modo {@link ModoConfirmacao#SINCRONO}, porém, cada
+ * escrita espera a confirmação de todas. Uma réplica cuja conexão falha, ou cuja fila enche por não acompanhar as
+ * escritas, é descartada; a causa fica em {@link #getUltimaFalha()}.
+ * <p>
+ * A cópia inicial é tirada com o monitor desta instância, mas enviada pela thread de envio da réplica, de modo que uma
+ * réplica lenta para recebê-la não bloqueia as escritas.
+ * <p>
+ * As operações são serializadas entre si, assim como a ordem das mutações.
+ */
+public class LojaControllerPrimario implements LojaController, Closeable {
+
+    /**
+     * Capacidade padrão da fila de mutações de cada réplica.
+     */
+    public static final int CAPACIDADE_FILA_PADRAO = 65536;
+
+    private final LojaControllerImpl lojaController;
+
+    private final ModoConfirmacao modo;
+
+    private final int capacidadeFila;
+
+    private final ServerSocket servidor;
+
+    /**
+     * Thread que aceita as conexões das réplicas.
+     */
+    private final Thread aceitador;
+
+    private final List<Replica> replicas = new CopyOnWriteArrayList<>();
+
+    /**
+     * Monitor no qual as escritas esperam as confirmações das réplicas.
+     */
+    private final Object confirmacoes = new Object();
+
+    /**
+     * Número de sequência da última mutação. Só é alterado com o monitor desta instância.
+     */
+    private volatile long ultimaSequencia;
+
+    /**
+     * Falha que levou ao descarte da última réplica, ou à recusa de uma conexão.
+     */
+    private volatile IOException ultimaFalha;
+
+    /**
+     * Construtor, com {@link #CAPACIDADE_FILA_PADRAO}.
+     *
+     * @param lojaController {@link LojaControllerImpl} ao qual as operações serão aplicadas. Não deve ser usado por
+     *                       mais ninguém.
+     * @param modo           {@link ModoConfirmacao} das escritas.
+     * @param endereco       {@link InetSocketAddress} no qual as réplicas se conectarão; porta 0 escolhe uma porta
+     *                       livre.
+     * @throws IOException Caso o endereço não possa ser usado.
+     */
+    public LojaControllerPrimario(final LojaControllerImpl lojaController, final ModoConfirmacao modo,
+                                  final InetSocketAddress endereco) throws IOException {
+        this(lojaController, modo, endereco, CAPACIDADE_FILA_PADRAO);
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param lojaController {@link LojaControllerImpl} ao qual as operações serão aplicadas. Não deve ser usado por
+     *                       mais ninguém.
+     * @param modo           {@link ModoConfirmacao} das escritas.
+     * @param endereco       {@link InetSocketAddress} no qual as réplicas se conectarão; porta 0 escolhe uma porta
+     *                       livre.
+     * @param capacidadeFila Quantidade máxima de mutações aguardando envio a cada réplica.
+     * @throws IOException Caso o endereço não possa ser usado.
+     */
+    public LojaControllerPrimario(final LojaControllerImpl lojaController, final ModoConfirmacao modo,
+                                  final InetSocketAddress endereco, final int capacidadeFila) throws IOException {
+        if (capacidadeFila < 1) {
+            throw new IllegalArgumentException("A capacidade da fila deve ser positiva.");
+        }
+        this.lojaController = lojaController;
+        this.modo = modo;
+        this.capacidadeFila = capacidadeFila;
+        this.servidor = new ServerSocket();
+        this.servidor.bind(endereco);
+        this.aceitador = new Thread(this::aceita, "primario-loja");
+        this.aceitador.setDaemon(true);
+        this.aceitador.start();
+    }
+
+    /**
+     * @return A porta na qual as réplicas se conectam.
+     */
+    public int getPorta() {
+        return servidor.getLocalPort();
+    }
+
+    /**
+     * @return Número de sequência da última mutação.
+     */
+    public long getUltimaSequencia() {
+        return ultimaSequencia;
+    }
+
+    /**
+     * @return Quantidade de réplicas conectadas.
+     */
+    public int getQtdeReplicas() {
+        return replicas.size();
+    }
+
+    /**
+     * @return A falha que levou ao descarte da última réplica descartada, ou à recusa de uma conexão de réplica;
+     * {@code null} caso não tenha havido nenhuma.
+     */
+    public IOException getUltimaFalha() {
+        return ultimaFalha;
+    }
+
+    /**
+     * Calcula o atraso da réplica mais atrasada.
+     *
+     * @return Quantidade de mutações ainda não confirmadas por alguma réplica; 0 caso não haja réplicas.
+     */
+    public long getAtrasoReplicacao() {
+        long ultima = ultimaSequencia;
+        long atraso = 0;
+        for (Replica replica : replicas) {
+            atraso = Math.max(atraso, ultima - replica.confirmada);
+        }
+        return atraso;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void adicionaUsuario(final String nome, final String login,
+                                final String tipo) throws UsuarioInvalidoException {
+        long sequencia;
+        synchronized (this) {
+            sequencia = publica(Mutacao.adicionaUsuario(ultimaSequencia + 1, nome, login, tipo));
+            lojaController.adicionaUsuario(nome, login, tipo);
+        }
+        aguardaConfirmacao(sequencia);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean adicionarDinheiroUsuario(final String login, final double quantia) {
+        long sequencia;
+        boolean realizada;
+        synchronized (this) {
+            realizada = lojaController.adicionarDinheiroUsuario(login, quantia);
+            if (!realizada) {
+                return false;
+            }
+            sequencia = publica(Mutacao.adicionaCredito(ultimaSequencia + 1, login, quantia));
+        }
+        aguardaConfirmacao(sequencia);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<String> getRelatorioUsuarios() {
+        return lojaController.getRelatorioUsuarios();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vendeJogo(final String jogoNome, final double preco, final String jogabilidades,
+                          final String estiloJogo, final String loginUser) throws JogoInvalidoException,
+            SaldoInsuficienteException, UsuarioInvalidoException {
+        long sequencia;
+        synchronized (this) {
+            sequencia = publica(Mutacao.vendeJogo(ultimaSequencia + 1, jogoNome, preco, jogabilidades, estiloJogo,
+                    loginUser));
+            lojaController.vendeJogo(jogoNome, preco, jogabilidades, estiloJogo, loginUser);
+        }
+        aguardaConfirmacao(sequencia);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void punir(final String nomeJogo, final String login, final int score,
+                      final boolean zerou) throws JogoInvalidoException, UsuarioInvalidoException {
+        long sequencia;
+        synchronized (this) {
+            sequencia = publica(Mutacao.jogada(ultimaSequencia + 1, TipoMutacao.PUNIR, nomeJogo, login, score,
+                    zerou));
+            lojaController.punir(nomeJogo, login, score, zerou);
+        }
+        aguardaConfirmacao(sequencia);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recompensar(final String nomeJogo, final String login, final int score,
+                            final boolean zerou) throws JogoInvalidoException, UsuarioInvalidoException {
+        long sequencia;
+        synchronized (this) {
+            sequencia = publica(Mutacao.jogada(ultimaSequencia + 1, TipoMutacao.RECOMPENSAR, nomeJogo, login,
+                    score, zerou));
+            lojaController.recompensar(nomeJogo, login, score, zerou);
+        }
+        aguardaConfirmacao(sequencia);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void upgrade(final String login) throws UsuarioInvalidoException, UsuarioInaptoException {
+        long sequencia;
+        synchronized (this) {
+            sequencia = publica(Mutacao.upgrade(ultimaSequencia + 1, login));
+            lojaController.upgrade(login);
+        }
+        aguardaConfirmacao(sequencia);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized double confereCredito(final String login) throws UsuarioInvalidoException {
+        return lojaController.confereCredito(login);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int getX2pUsuario(final String login) throws UsuarioInvalidoException {
+        return lojaController.getX2pUsuario(login);
+    }
+
+    /**
+     * Para de aceitar réplicas e fecha as conexões das réplicas conectadas.
+     */
+    @Override
+    public void close() throws IOException {
+        servidor.close();
+        for (Replica replica : replicas) {
+            descarta(replica, null);
+        }
+    }
+
+    /**
+     * Numera a mutação como a próxima da sequência e a coloca na fila de cada réplica, descartando as réplicas cuja
+     * fila está cheia. Deve ser chamado com o monitor desta instância.
+     *
+     * @return O número de sequência da mutação.
+     */
+    private long publica(final Mutacao mutacao) {
+        ultimaSequencia = mutacao.getSequencia();
+        for (Replica replica : replicas) {
+            if (!replica.fila.offer(mutacao)) {
+                descarta(replica, new IOException("Réplica descartada: fila de " + capacidadeFila
+                        + " mutações cheia."));
+            }
+        }
+        return mutacao.getSequencia();
+    }
+
+    /**
+     * No modo {@link ModoConfirmacao#SINCRONO}, espera que todas as réplicas confirmem a mutação {@code sequencia}.
+     */
+    private void aguardaConfirmacao(final long sequencia) {
+        if (modo != ModoConfirmacao.SINCRONO) {
+            return;
+        }
+        synchronized (confirmacoes) {
+            while (!confirmadaPorTodas(sequencia)) {
+                try {
+                    confirmacoes.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Espera pela confirmação interrompida.", e);
+                }
+            }
+        }
+    }
+
+    private boolean confirmadaPorTodas(final long sequencia) {
+        for (Replica replica : replicas) {
+            if (replica.confirmada < sequencia) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void aceita() {
+        while (!servidor.isClosed()) {
+            try {
+                Socket conexao = servidor.accept();
+                conexao.setTcpNoDelay(true);
+                registra(conexao);
+            } catch (IOException e) {
+                if (!servidor.isClosed()) {
+                    ultimaFalha = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Tira a cópia dos usuários para uma nova réplica e passa a enfileirar-lhe as mutações seguintes. A cópia é
+     * enviada pela thread de envio da réplica, antes das mutações.
+     */
+    private void registra(final Socket conexao) throws IOException {
+        DataOutputStream saida;
+        DataInputStream entrada;
+        try {
+            saida = new DataOutputStream(new BufferedOutputStream(conexao.getOutputStream()));
+            entrada = new DataInputStream(new BufferedInputStream(conexao.getInputStream()));
+        } catch (IOException e) {
+            conexao.close();
+            throw e;
+        }
+        Replica replica;
+        synchronized (this) {
+            List<Usuario> copia = new ArrayList<>();
+            for (Usuario usuario : lojaController.getUsuarios()) {
+                copia.add(usuario.copia());
+            }
+            replica = new Replica(conexao, saida, ultimaSequencia, copia, capacidadeFila);
+            replicas.add(replica);
+        }
+
+        replica.envio = new Thread(() -> envia(replica), "primario-envio");
+        replica.envio.setDaemon(true);
+        replica.envio.start();
+        Thread recebimento = new Thread(() -> recebeConfirmacoes(replica, entrada), "primario-confirmacoes");
+        recebimento.setDaemon(true);
+        recebimento.start();
+    }
+
+    /**
+     * Envia a cópia inicial a uma réplica e, em seguida, as mutações da fila, descarregando a conexão sempre que a
+     * fila se esvazia.
+     */
+    private void envia(final Replica replica) {
+        try {
+            enviaCopia(replica);
+            while (true) {
+                Mutacao mutacao = replica.fila.take();
+                do {
+                    mutacao.escreve(replica.saida);
+                    mutacao = replica.fila.poll();
+                } while (mutacao != null);
+                replica.saida.flush();
+            }
+        } catch (IOException e) {
+            descarta(replica, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enviaCopia(final Replica replica) throws IOException {
+        DataOutputStream saida = replica.saida;
+        saida.writeLong(replica.sequenciaCopia);
+        saida.writeInt(replica.copia.size());
+        for (Usuario usuario : replica.copia) {
+            CodificacaoBinaria.escreveObjeto(saida, usuario);
+        }
+        saida.flush();
+        replica.copia = null;
+    }
+
+    /**
+     * Lê as confirmações de uma réplica: o número de sequência da última mutação aplicada.
+     */
+    private void recebeConfirmacoes(final Replica replica, final DataInputStream entrada) {
+        try {
+            while (true) {
+                long confirmada = entrada.readLong();
+                synchronized (confirmacoes) {
+                    replica.confirmada = confirmada;
+                    confirmacoes.notifyAll();
+                }
+            }
+        } catch (IOException e) {
+            descarta(replica, e);
+        }
+    }
+
+    /**
+     * Fecha a conexão com uma réplica e deixa de esperar suas confirmações.
+     *
+     * @param falha Causa do descarte, ou {@code null} caso a réplica seja descartada no encerramento.
+     */
+    private void descarta(final Replica replica, final IOException falha) {
+        synchronized (confirmacoes) {
+            if (!replicas.remove(replica)) {
+                return;
+            }
+            confirmacoes.notifyAll();
+        }
+        if (falha != null) {
+            ultimaFalha = falha;
+        }
+        if (replica.envio != null) {
+            replica.envio.interrupt();
+        }
+        try {
+            replica.conexao.close();
+        } catch (IOException e) {
+            // A conexão já está sendo descartada.
+        }
+    }
+
+    /**
+     * Réplica conectada, com sua fila de mutações a enviar.
+     */
+    private static final class Replica {
+
+        private final Socket conexao;
+
+        private final DataOutputStream saida;
+
+        private final BlockingQueue<Mutacao> fila;
+
+        /**
+         * Número de sequência da última mutação refletida na cópia inicial.
+         */
+        private final long sequenciaCopia;
+
+        /**
+         * Cópia inicial dos usuários, até ser enviada.
+         */
+        private List<Usuario> copia;
+
+        /**
+         * Thread que envia as mutações da fila.
+         */
+        private volatile Thread envio;
+
+        /**
+         * Número de sequência da última mutação aplicada pela réplica.
+         */
+        private volatile long confirmada;
+
+        private Replica(final Socket conexao, final DataOutputStream saida, final long sequenciaCopia,
+                        final List<Usuario> copia, final int capacidadeFila) {
+            this.conexao = conexao;
+            this.saida = saida;
+            this.sequenciaCopia = sequenciaCopia;
+            this.confirmada = sequenciaCopia;
+            this.copia = copia;
+            this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package main.replicacao;
+
+import main.controller.LojaController;
+import main.controller.LojaControllerImpl;
+import main.entidade.usuario.Usuario;
+import main.exception.UsuarioInvalidoException;
+import main.http.ServidorHttpLoja;
+import main.service.Formatadora;
+import main.service.FormatadoraCentralP2Cg;
+import util.io.CodificacaoBinaria;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Réplica de um {@link LojaControllerPrimario}. Recebe a cópia inicial dos usuários e as mutações seguintes, as
+ * aplica em ordem a um {@link LojaControllerImpl} próprio e confirma ao primário a última mutação aplicada.
+ * <p>
+ * A réplica só atende consultas; as operações que alteram a loja lançam {@link UnsupportedOperationException}. As
+ * consultas refletem o primário até a mutação {@link #getUltimaSequencia()}. Em caso de falha do primário,
+ * {@link #promove()} encerra a replicação e entrega o estado replicado para que passe a receber escritas.
+ */
+public class LojaReplica implements LojaController, Closeable {
+
+    public static final String SOMENTE_LEITURA = "A réplica só atende consultas.";
+
+    /**
+     * Linha escrita na saída padrão por {@link #main(String[])} quando a réplica está pronta, seguida da porta HTTP.
+     */
+    public static final String PRONTO = "PRONTO";
+
+    private final LojaControllerImpl lojaController;
+
+    private final Socket conexao;
+
+    private final Thread aplicador;
+
+    /**
+     * Número de sequência da última mutação aplicada.
+     */
+    private volatile long ultimaSequencia;
+
+    /**
+     * Conecta-se ao primário e recebe a cópia inicial dos usuários.
+     *
+     * @param primario    {@link InetSocketAddress} de replicação do primário.
+     * @param formatadora {@link Formatadora} para formatação de dados.
+     * @throws IOException Caso não seja possível conectar ao primário ou receber a cópia inicial.
+     */
+    public LojaReplica(final InetSocketAddress primario, final Formatadora formatadora) throws IOException {
+        this.lojaController = new LojaControllerImpl(new HashMap<>(), formatadora);
+        this.conexao = new Socket();
+        this.conexao.setTcpNoDelay(true);
+        this.conexao.connect(primario);
+        DataInputStream entrada = new DataInputStream(new BufferedInputStream(conexao.getInputStream()));
+        DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(conexao.getOutputStream()));
+
+        this.ultimaSequencia = entrada.readLong();
+        int qtdeUsuarios = entrada.readInt();
+        try {
+            for (int i = 0; i < qtdeUsuarios; i++) {
+                lojaController.insereUsuario(
+                        CodificacaoBinaria.leObjeto(entrada, Usuario.class, Usuario.CLASSES_SERIALIZADAS));
+            }
+        } catch (UsuarioInvalidoException e) {
+            throw new IOException("Cópia inicial com usuários repetidos.", e);
+        }
+
+        this.aplicador = new Thread(() -> aplica(entrada, saida), "replica-loja");
+        this.aplicador.setDaemon(true);
+        this.aplicador.start();
+    }
+
+    /**
+     * Inicia uma réplica que atende consultas por HTTP. Uso:
+     * {@code java main.replicacao.LojaReplica <hostPrimario> <portaPrimario> [portaHttp]}; a porta HTTP 0, padrão,
+     * escolhe uma porta livre. Quando a réplica está pronta, escreve {@code PRONTO <portaHttp>} na saída padrão.
+     *
+     * @param args Argumentos da linha de comando.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LojaReplica replica = new LojaReplica(new InetSocketAddress(args[0], Integer.parseInt(args[1])),
+                new FormatadoraCentralP2Cg());
+        ServidorHttpLoja servidor = new ServidorHttpLoja(replica,
+                new InetSocketAddress(args.length > 2 ? Integer.parseInt(args[2]) : 0));
+        servidor.inicia();
+        System.out.println(PRONTO + " " + servidor.getPorta());
+        System.out.flush();
+        replica.aplicador.join();
+        servidor.close();
+    }
+
+    /**
+     * @return Número de sequência da última mutação aplicada.
+     */
+    public long getUltimaSequencia() {
+        return ultimaSequencia;
+    }
+
+    /**
+     * Espera que a réplica aplique a mutação {@code sequencia}.
+     *
+     * @param sequencia     Número de sequência esperado.
+     * @param tempoMaximoMs Tempo máximo de espera, em milissegundos.
+     * @return {@code true}, caso a mutação tenha sido aplicada dentro do tempo.
+     */
+    public boolean aguardaSequencia(final long sequencia, final long tempoMaximoMs) throws InterruptedException {
+        long limite = System.currentTimeMillis() + tempoMaximoMs;
+        synchronized (lojaController) {
+            while (ultimaSequencia < sequencia) {
+                long restante = limite - System.currentTimeMillis();
+                if (restante <= 0 || !aplicador.isAlive()) {
+                    return false;
+                }
+                lojaController.wait(restante);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encerra a replicação e entrega o estado replicado, para que seja usado como novo primário.
+     *
+     * @return {@link LojaControllerImpl} com os usuários até a mutação {@link #getUltimaSequencia()}.
+     */
+    public LojaControllerImpl promove() throws InterruptedException {
+        close();
+        aplicador.join();
+        return lojaController;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void adicionaUsuario(final String nome, final String login, final String tipo) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean adicionarDinheiroUsuario(final String login, final double quantia) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getRelatorioUsuarios() {
+        synchronized (lojaController) {
+            return lojaController.getRelatorioUsuarios();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vendeJogo(final String jogoNome, final double preco, final String jogabilidades,
+                          final String estiloJogo, final String loginUser) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void punir(final String nomeJogo, final String login, final int score, final boolean zerou) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recompensar(final String nomeJogo, final String login, final int score, final boolean zerou) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void upgrade(final String login) {
+        throw new UnsupportedOperationException(SOMENTE_LEITURA);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double confereCredito(final String login) throws UsuarioInvalidoException {
+        synchronized (lojaController) {
+            return lojaController.confereCredito(login);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getX2pUsuario(final String login) throws UsuarioInvalidoException {
+        synchronized (lojaController) {
+            return lojaController.getX2pUsuario(login);
+        }
+    }
+
+    /**
+     * Fecha a conexão com o primário. As mutações já aplicadas são mantidas.
+     */
+    @Override
+    public void close() {
+        try {
+            conexao.close();
+        } catch (IOException e) {
+            // A conexão já está sendo encerrada.
+        }
+    }
+
+    /**
+     * Aplica as mutações recebidas, em ordem, e confirma a última aplicada sempre que não houver mais mutações já
+     * recebidas a aplicar, até que a conexão seja fechada.
+     */
+    private void aplica(final DataInputStream entrada, final DataOutputStream saida) {
+        try {
+            while (true) {
+                Mutacao mutacao = Mutacao.le(entrada);
+                if (mutacao.getSequencia() != ultimaSequencia + 1) {
+                    throw new IOException("Mutação fora de ordem: esperada " + (ultimaSequencia + 1) + ", recebida "
+                            + mutacao.getSequencia());
+                }
+                synchronized (lojaController) {
+                    try {
+                        mutacao.aplica(lojaController);
+                    } catch (Exception e) {
+                        // A mesma falha ocorreu no primário, deixando a loja no mesmo estado.
+                    }
+                    ultimaSequencia = mutacao.getSequencia();
+                    lojaController.notifyAll();
+                }
+                if (entrada.available() == 0) {
+                    saida.writeLong(ultimaSequencia);
+                    saida.flush();
+                }
+            }
+        } catch (EOFException e) {
+            if (!conexao.isClosed()) {
+                System.err.println("Replicação interrompida: o primário fechou a conexão.");
+                close();
+            }
+        } catch (IOException e) {
+            if (!conexao.isClosed()) {
+                System.err.println("Replicação interrompida: " + e.getMessage());
+                close();
+            }
+        } finally {
+            synchronized (lojaController) {
+                lojaController.notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package main.replicacao;
+
+/**
+ * Momento em que uma escrita no {@link LojaControllerPrimario} é dada por concluída.
+ */
+public enum ModoConfirmacao {
+    /**
+     * A escrita só retorna depois que todas as réplicas conectadas confirmam tê-la aplicado. Nenhuma escrita
+     * concluída se perde caso o primário falhe, ao custo de uma ida e volta pela rede em cada escrita.
+     */
+    SINCRONO,
+
+    /**
+     * A escrita retorna assim que é aplicada no primário, e é enviada às réplicas em segundo plano. As escritas
+     * ainda não confirmadas, medidas por {@link LojaControllerPrimario#getAtrasoReplicacao()}, se perdem caso o
+     * primário falhe.
+     */
+    ASSINCRONO
+}
@@ -0,0 +1,155 @@
+package main.replicacao;
+
+import main.controller.LojaController;
+import util.io.CodificacaoBinaria;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Operação que alterou a loja do primário, numerada na ordem em que foi aplicada. As réplicas aplicam as mutações
+ * na ordem dos números de sequência e, como as operações da loja são determinísticas, chegam ao mesmo estado do
+ * primário.
+ */
+public final class Mutacao {
+
+    private final long sequencia;
+
+    private final TipoMutacao tipo;
+
+    /**
+     * Login do usuário afetado pela operação.
+     */
+    private final String login;
+
+    /**
+     * Nome do usuário ou do jogo, conforme a operação.
+     */
+    private final String nome;
+
+    /**
+     * Tipo do usuário ou estilo do jogo, conforme a operação.
+     */
+    private final String categoria;
+
+    private final String jogabilidades;
+
+    /**
+     * Quantia ou preço, conforme a operação.
+     */
+    private final double valor;
+
+    private final int score;
+
+    private final boolean zerou;
+
+    private Mutacao(final long sequencia, final TipoMutacao tipo, final String login, final String nome,
+                    final String categoria, final String jogabilidades, final double valor, final int score,
+                    final boolean zerou) {
+        this.sequencia = sequencia;
+        this.tipo = tipo;
+        this.login = login;
+        this.nome = nome;
+        this.categoria = categoria;
+        this.jogabilidades = jogabilidades;
+        this.valor = valor;
+        this.score = score;
+        this.zerou = zerou;
+    }
+
+    static Mutacao adicionaUsuario(final long sequencia, final String nome, final String login, final String tipo) {
+        return new Mutacao(sequencia, TipoMutacao.ADICIONA_USUARIO, login, nome, tipo, null, 0, 0, false);
+    }
+
+    static Mutacao adicionaCredito(final long sequencia, final String login, final double quantia) {
+        return new Mutacao(sequencia, TipoMutacao.ADICIONA_CREDITO, login, null, null, null, quantia, 0, false);
+    }
+
+    static Mutacao vendeJogo(final long sequencia, final String jogoNome, final double preco,
+                             final String jogabilidades, final String estiloJogo, final String login) {
+        return new Mutacao(sequencia, TipoMutacao.VENDE_JOGO, login, jogoNome, estiloJogo, jogabilidades, preco, 0,
+                false);
+    }
+
+    static Mutacao jogada(final long sequencia, final TipoMutacao tipo, final String nomeJogo, final String login,
+                          final int score, final boolean zerou) {
+        return new Mutacao(sequencia, tipo, login, nomeJogo, null, null, 0, score, zerou);
+    }
+
+    static Mutacao upgrade(final long sequencia, final String login) {
+        return new Mutacao(sequencia, TipoMutacao.UPGRADE, login, null, null, null, 0, 0, false);
+    }
+
+    /**
+     * Aplica esta mutação a {@code lojaController}.
+     *
+     * @param lojaController {@link LojaController} da réplica.
+     * @throws Exception A mesma exceção que a operação lançou no primário, caso tenha lançado.
+     */
+    void aplica(final LojaController lojaController) throws Exception {
+        switch (tipo) {
+            case ADICIONA_USUARIO:
+                lojaController.adicionaUsuario(nome, login, categoria);
+                break;
+            case ADICIONA_CREDITO:
+                lojaController.adicionarDinheiroUsuario(login, valor);
+                break;
+            case VENDE_JOGO:
+                lojaController.vendeJogo(nome, valor, jogabilidades, categoria, login);
+                break;
+            case PUNIR:
+                lojaController.punir(nome, login, score, zerou);
+                break;
+            case RECOMPENSAR:
+                lojaController.recompensar(nome, login, score, zerou);
+                break;
+            case UPGRADE:
+                lojaController.upgrade(login);
+                break;
+            default:
+                throw new IllegalStateException("Mutação desconhecida: " + tipo);
+        }
+    }
+
+    /**
+     * Escreve esta mutação no fluxo de replicação.
+     */
+    void escreve(final DataOutputStream saida) throws IOException {
+        saida.writeLong(sequencia);
+        saida.writeByte(tipo.ordinal());
+        CodificacaoBinaria.escreveTexto(saida, login);
+        CodificacaoBinaria.escreveTexto(saida, nome);
+        CodificacaoBinaria.escreveTexto(saida, categoria);
+        CodificacaoBinaria.escreveTexto(saida, jogabilidades);
+        saida.writeDouble(valor);
+        saida.writeInt(score);
+        saida.writeBoolean(zerou);
+    }
+
+    /**
+     * Lê uma mutação escrita por {@link #escreve(DataOutputStream)}.
+     */
+    static Mutacao le(final DataInputStream entrada) throws IOException {
+        long sequencia = entrada.readLong();
+        int tipo = entrada.readByte();
+        if (tipo < 0 || tipo >= TipoMutacao.values().length) {
+            throw new IOException("Mutação desconhecida: " + tipo);
+        }
+        return new Mutacao(sequencia, TipoMutacao.values()[tipo], CodificacaoBinaria.leTexto(entrada),
+                CodificacaoBinaria.leTexto(entrada), CodificacaoBinaria.leTexto(entrada),
+                CodificacaoBinaria.leTexto(entrada), entrada.readDouble(), entrada.readInt(), entrada.readBoolean());
+    }
+
+    public long getSequencia() {
+        return sequencia;
+    }
+
+    public TipoMutacao getTipo() {
+        return tipo;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+}
@@ -0,0 +1,13 @@
+package main.replicacao;
+
+/**
+ * Operações que alteram a loja e, por isso, são enviadas às réplicas.
+ */
+public enum TipoMutacao {
+    ADICIONA_USUARIO,
+    ADICIONA_CREDITO,
+    VENDE_JOGO,
+    PUNIR,
+    RECOMPENSAR,
+    UPGRADE
+}
@@ -0,0 +1,246 @@
+package main.service;
+
+import main.entidade.jogo.Jogo;
+import main.entidade.usuario.Usuario;
+
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Estima, por amostragem incremental, a memória retida pelos usuários da loja, seus jogos, os conjuntos de
+ * jogabilidades e o índice de usuários.
+ * <p>
+ * Cada chamada a {@link #amostra(int)} visita apenas alguns usuários, continuando de onde a chamada anterior parou,
+ * de modo que a estimativa pode ser atualizada periodicamente sem percorrer toda a loja de uma vez. Os tamanhos são
+ * calculados para uma JVM de 64 bits com referências comprimidas.
+ * <p>
+ * Uma coleção comum, como os valores do {@link java.util.HashMap} de um
+ * {@link main.controller.LojaControllerImpl}, só pode ser percorrida pela thread que a altera; por isso, nesse caso a
+ * amostragem fica restrita à thread que criou a estimadora. Para amostrar a partir de outra thread, como uma tarefa
+ * periódica, use o construtor que recebe um {@link ConcurrentMap}, cujos iteradores toleram alterações concorrentes.
+ */
+public class EstimadoraMemoria {
+
+    private static final int CABECALHO_OBJETO = 12;
+    private static final int CABECALHO_ARRAY = 16;
+    private static final int REFERENCIA = 4;
+    private static final int ALINHAMENTO = 8;
+
+    /**
+     * Tamanhos rasos das estruturas usadas pela loja.
+     */
+    private static final long TAMANHO_STRING = alinha(CABECALHO_OBJETO + REFERENCIA + 4 + 1 + 1);
+    private static final long TAMANHO_HASH_MAP = alinha(CABECALHO_OBJETO + 3 * REFERENCIA + 4 * 4 + REFERENCIA);
+    private static final long TAMANHO_HASH_SET = alinha(CABECALHO_OBJETO + REFERENCIA);
+    private static final long TAMANHO_ENTRADA_HASH_MAP = alinha(CABECALHO_OBJETO + 4 + 3 * REFERENCIA);
+    private static final long TAMANHO_USUARIO = alinha(CABECALHO_OBJETO + 4 * REFERENCIA + 8 + 4);
+    private static final long TAMANHO_JOGO = alinha(CABECALHO_OBJETO + 2 * REFERENCIA + 8 + 4 * 4);
+    private static final long TAMANHO_ROLE = alinha(CABECALHO_OBJETO);
+
+    private static final float FATOR_CARGA_HASH_MAP = 0.75f;
+    private static final int CAPACIDADE_INICIAL_HASH_MAP = 16;
+
+    /**
+     * Usuários a serem amostrados.
+     */
+    private final Collection<Usuario> usuarios;
+
+    /**
+     * Única thread autorizada a amostrar, ou {@code null} caso a coleção seja concorrente.
+     */
+    private final Thread dona;
+
+    /**
+     * Posição atual da amostragem.
+     */
+    private Iterator<Usuario> cursor;
+
+    /**
+     * Acumuladores da passada atual sobre os usuários.
+     */
+    private Amostra atual = new Amostra();
+
+    /**
+     * Acumuladores da última passada completa sobre os usuários, ou {@code null} antes da primeira.
+     */
+    private Amostra anterior;
+
+    /**
+     * Construtor. A amostragem só pode ser feita pela thread que chama este construtor, que deve ser a mesma que
+     * altera {@code usuarios}.
+     *
+     * @param usuarios {@link Collection} viva com os usuários da loja.
+     */
+    public EstimadoraMemoria(final Collection<Usuario> usuarios) {
+        this.usuarios = usuarios;
+        this.dona = Thread.currentThread();
+    }
+
+    /**
+     * Construtor para lojas com índice concorrente, cuja amostragem pode ser feita por qualquer thread.
+     *
+     * @param usuarios {@link ConcurrentMap} vivo de login para usuário.
+     */
+    public EstimadoraMemoria(final ConcurrentMap<String, Usuario> usuarios) {
+        this.usuarios = usuarios.values();
+        this.dona = null;
+    }
+
+    /**
+     * Amostra até {@code quantidade} usuários, continuando do ponto onde a última amostragem parou. Ao fim de uma
+     * passada completa, a amostragem para e a próxima chamada recomeça do primeiro usuário. Caso a coleção de
+     * usuários seja alterada entre duas chamadas, a passada é reiniciada.
+     *
+     * @param quantidade Quantidade máxima de usuários a serem visitados.
+     * @return A quantidade de usuários efetivamente visitados.
+     * @throws IllegalStateException Caso a coleção não seja concorrente e a chamada venha de outra thread que não a
+     *                               que criou esta estimadora.
+     */
+    public synchronized int amostra(final int quantidade) {
+        if (dona != null && dona != Thread.currentThread()) {
+            throw new IllegalStateException("A amostragem de uma coleção não concorrente deve ser feita pela thread "
+                    + dona.getName() + ".");
+        }
+        int visitados = 0;
+        if (cursor == null) {
+            cursor = usuarios.iterator();
+        }
+        while (visitados < quantidade) {
+            try {
+                if (!cursor.hasNext()) {
+                    encerraPassada();
+                    break;
+                }
+                amostraUsuario(cursor.next());
+            } catch (ConcurrentModificationException e) {
+                atual = new Amostra();
+                cursor = usuarios.iterator();
+                continue;
+            }
+            visitados++;
+        }
+        if (visitados > 0 && !cursor.hasNext()) {
+            encerraPassada();
+        }
+        return visitados;
+    }
+
+    /**
+     * Gera o relatório a partir da última passada completa, ou da passada em andamento enquanto nenhuma foi
+     * concluída. As passadas nunca são somadas, já que visitam os mesmos usuários.
+     *
+     * @return o {@link RelatorioMemoria} com a estimativa atual.
+     */
+    public synchronized RelatorioMemoria getRelatorio() {
+        Amostra amostra = anterior != null ? anterior : atual;
+        long qtdeUsuarios = usuarios.size();
+
+        return new RelatorioMemoria(qtdeUsuarios, amostra.usuarios,
+                media(amostra.bytesUsuarios, amostra.usuarios),
+                media(amostra.jogos, amostra.usuarios),
+                media(amostra.bytesJogos, amostra.jogos),
+                media(amostra.bytesJogabilidades, amostra.jogos),
+                estimaBytesIndice(qtdeUsuarios));
+    }
+
+    /**
+     * Estima os bytes retidos por um {@link java.util.HashMap} de login para usuário com {@code qtdeUsuarios}
+     * entradas, sem contar os usuários em si.
+     *
+     * @param qtdeUsuarios Quantidade de usuários no índice.
+     * @return bytes estimados para o índice.
+     */
+    public static long estimaBytesIndice(final long qtdeUsuarios) {
+        return TAMANHO_HASH_MAP + tamanhoTabela(qtdeUsuarios) + qtdeUsuarios * TAMANHO_ENTRADA_HASH_MAP;
+    }
+
+    /**
+     * Encerra a passada atual e prepara a próxima.
+     */
+    private void encerraPassada() {
+        anterior = atual;
+        atual = new Amostra();
+        cursor = usuarios.iterator();
+    }
+
+    /**
+     * Acumula os tamanhos de {@code usuario} e de seus jogos.
+     *
+     * @param usuario {@link Usuario} amostrado.
+     */
+    private void amostraUsuario(final Usuario usuario) {
+        Collection<Jogo> jogos = usuario.getJogosComprados();
+
+        long bytesUsuario = TAMANHO_USUARIO + TAMANHO_ROLE
+                + tamanhoString(usuario.getNome()) + tamanhoString(usuario.getLogin())
+                + TAMANHO_HASH_MAP + tamanhoTabela(jogos.size()) + jogos.size() * TAMANHO_ENTRADA_HASH_MAP;
+
+        for (Jogo jogo : jogos) {
+            atual.bytesJogos += TAMANHO_JOGO + tamanhoString(jogo.getNome());
+            int qtdeJogabilidades = jogo.getJogabilidades().size();
+            atual.bytesJogabilidades += TAMANHO_HASH_SET + TAMANHO_HASH_MAP + tamanhoTabela(qtdeJogabilidades)
+                    + qtdeJogabilidades * TAMANHO_ENTRADA_HASH_MAP;
+            atual.jogos++;
+        }
+        atual.bytesUsuarios += bytesUsuario;
+        atual.usuarios++;
+    }
+
+    /**
+     * Calcula o tamanho de uma {@link String}, incluindo seu array de bytes.
+     *
+     * @param str {@link String} a ser medida.
+     * @return bytes retidos por {@code str}.
+     */
+    private static long tamanhoString(final String str) {
+        if (str == null) {
+            return 0;
+        }
+        int bytesPorCaractere = 1;
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) > 0xFF) {
+                bytesPorCaractere = 2;
+                break;
+            }
+        }
+        return TAMANHO_STRING + alinha(CABECALHO_ARRAY + (long) str.length() * bytesPorCaractere);
+    }
+
+    /**
+     * Calcula o tamanho da tabela de um {@link java.util.HashMap} com {@code entradas} entradas.
+     *
+     * @param entradas Quantidade de entradas.
+     * @return bytes da tabela, ou 0 caso ela ainda não tenha sido alocada.
+     */
+    private static long tamanhoTabela(final long entradas) {
+        if (entradas == 0) {
+            return 0;
+        }
+        long capacidade = CAPACIDADE_INICIAL_HASH_MAP;
+        while (capacidade * FATOR_CARGA_HASH_MAP < entradas) {
+            capacidade <<= 1;
+        }
+        return alinha(CABECALHO_ARRAY + capacidade * REFERENCIA);
+    }
+
+    private static double media(final long total, final long quantidade) {
+        return quantidade == 0 ? 0 : (double) total / quantidade;
+    }
+
+    private static long alinha(final long bytes) {
+        return (bytes + ALINHAMENTO - 1) / ALINHAMENTO * ALINHAMENTO;
+    }
+
+    /**
+     * Acumuladores de uma passada de amostragem.
+     */
+    private static class Amostra {
+        private long usuarios;
+        private long bytesUsuarios;
+        private long jogos;
+        private long bytesJogos;
+        private long bytesJogabilidades;
+    }
+}
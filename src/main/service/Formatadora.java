@@ -4,6 +4,7 @@ import main.entidade.usuario.Usuario;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface de formatação de dados.
@@ -18,4 +19,13 @@ public interface Formatadora {
      * @return Uma {@String} formatada com os dados dos usuários.
      */
     List<String> formataDadosUsuario(final Collection<Usuario> usuarios);
+
+    /**
+     * Formata os dados dos usuários item a item, entregando cada item a {@code destino} assim que fica pronto, na
+     * mesma ordem de {@link #formataDadosUsuario(Collection)}. Os usuários são percorridos uma única vez.
+     *
+     * @param usuarios - Usuários que serão formatados.
+     * @param destino  - Recebe cada item formatado.
+     */
+    void formataDadosUsuario(final Iterable<Usuario> usuarios, final Consumer<String> destino);
 }
@@ -3,10 +3,12 @@ package main.service;
 import main.entidade.jogo.Jogo;
 import main.entidade.usuario.Usuario;
 import main.service.Formatadora;
+import util.FormatadorDecimal;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Implementação de {@link Formatadora} para a CentralP2Cg.
@@ -20,8 +22,17 @@ public class FormatadoraCentralP2Cg implements Formatadora {
     @Override
     public final List<String> formataDadosUsuario(final Collection<Usuario> usuarios) {
         List<String> relatorio = new ArrayList<>();
+        formataDadosUsuario(usuarios, relatorio::add);
+        return relatorio;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void formataDadosUsuario(final Iterable<Usuario> usuarios, final Consumer<String> destino) {
         double total = 0;
-        relatorio.add("=== Central P2-CG ===" + System.lineSeparator());
+        destino.accept("=== Central P2-CG ===" + System.lineSeparator());
         for (Usuario usuario : usuarios) {
             String dadosUsuario = getStringFormatadaUsuario(usuario);
             total = 0;
@@ -29,13 +40,13 @@ public class FormatadoraCentralP2Cg implements Formatadora {
                 dadosUsuario += getStringFormatadaJogo(jogo);
                 total += jogo.getPreco();
             }
-            relatorio.add(dadosUsuario);
-            String totalStr = "Total de preço dos jogos: " + String.format("%.2f", total) + System.lineSeparator() + System.lineSeparator();
-            totalStr += "--------------------------------------------" + System.lineSeparator();
-            relatorio.add(totalStr);
+            destino.accept(dadosUsuario);
+            StringBuilder totalStr = new StringBuilder("Total de preço dos jogos: ");
+            FormatadorDecimal.acrescenta(totalStr, total, 2);
+            totalStr.append(System.lineSeparator()).append(System.lineSeparator());
+            totalStr.append("--------------------------------------------").append(System.lineSeparator());
+            destino.accept(totalStr.toString());
         }
-
-        return relatorio;
     }
 
     /**
@@ -0,0 +1,137 @@
+package main.service;
+
+/**
+ * Resultado de uma estimativa de uso de memória da loja, produzido por {@link EstimadoraMemoria}.
+ * Os valores são aproximados e expressos em bytes.
+ */
+public class RelatorioMemoria {
+
+    /**
+     * Quantidade de usuários presentes na loja no momento da estimativa.
+     */
+    private final long qtdeUsuarios;
+
+    /**
+     * Quantidade de usuários já amostrados.
+     */
+    private final long usuariosAmostrados;
+
+    /**
+     * Média de bytes retidos por usuário, sem contar seus jogos.
+     */
+    private final double bytesPorUsuario;
+
+    /**
+     * Média de jogos comprados por usuário.
+     */
+    private final double jogosPorUsuario;
+
+    /**
+     * Média de bytes retidos por jogo comprado, sem contar suas jogabilidades.
+     */
+    private final double bytesPorJogo;
+
+    /**
+     * Média de bytes retidos pelo conjunto de jogabilidades de um jogo.
+     */
+    private final double bytesPorJogabilidades;
+
+    /**
+     * Bytes retidos pelo índice de login para usuário.
+     */
+    private final long bytesIndice;
+
+    /**
+     * Construtor.
+     *
+     * @param qtdeUsuarios          Quantidade de usuários da loja.
+     * @param usuariosAmostrados    Quantidade de usuários amostrados.
+     * @param bytesPorUsuario       Média de bytes por usuário.
+     * @param jogosPorUsuario       Média de jogos por usuário.
+     * @param bytesPorJogo          Média de bytes por jogo.
+     * @param bytesPorJogabilidades Média de bytes por conjunto de jogabilidades.
+     * @param bytesIndice           Bytes do índice de usuários.
+     */
+    public RelatorioMemoria(final long qtdeUsuarios, final long usuariosAmostrados, final double bytesPorUsuario,
+                            final double jogosPorUsuario, final double bytesPorJogo,
+                            final double bytesPorJogabilidades, final long bytesIndice) {
+        this.qtdeUsuarios = qtdeUsuarios;
+        this.usuariosAmostrados = usuariosAmostrados;
+        this.bytesPorUsuario = bytesPorUsuario;
+        this.jogosPorUsuario = jogosPorUsuario;
+        this.bytesPorJogo = bytesPorJogo;
+        this.bytesPorJogabilidades = bytesPorJogabilidades;
+        this.bytesIndice = bytesIndice;
+    }
+
+    /**
+     * @return a média de bytes retidos por um usuário com todos os seus jogos.
+     */
+    public double getBytesPorUsuarioCompleto() {
+        return bytesPorUsuario + jogosPorUsuario * (bytesPorJogo + bytesPorJogabilidades);
+    }
+
+    /**
+     * @return o total estimado de bytes retidos pelos usuários atuais e pelo índice.
+     */
+    public long getTotalEstimado() {
+        return (long) (qtdeUsuarios * getBytesPorUsuarioCompleto()) + bytesIndice;
+    }
+
+    /**
+     * Extrapola o uso de memória para uma quantidade alvo de usuários, assumindo que eles se comportam como os
+     * usuários amostrados.
+     *
+     * @param qtdeUsuariosAlvo Quantidade de usuários alvo.
+     * @return O total estimado de bytes para {@code qtdeUsuariosAlvo} usuários.
+     */
+    public long extrapola(final long qtdeUsuariosAlvo) {
+        return (long) (qtdeUsuariosAlvo * getBytesPorUsuarioCompleto())
+                + EstimadoraMemoria.estimaBytesIndice(qtdeUsuariosAlvo);
+    }
+
+    public long getQtdeUsuarios() {
+        return qtdeUsuarios;
+    }
+
+    public long getUsuariosAmostrados() {
+        return usuariosAmostrados;
+    }
+
+    public double getBytesPorUsuario() {
+        return bytesPorUsuario;
+    }
+
+    public double getJogosPorUsuario() {
+        return jogosPorUsuario;
+    }
+
+    public double getBytesPorJogo() {
+        return bytesPorJogo;
+    }
+
+    public double getBytesPorJogabilidades() {
+        return bytesPorJogabilidades;
+    }
+
+    public long getBytesIndice() {
+        return bytesIndice;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "RelatorioMemoria{" +
+                "qtdeUsuarios=" + qtdeUsuarios +
+                ", usuariosAmostrados=" + usuariosAmostrados +
+                ", bytesPorUsuario=" + bytesPorUsuario +
+                ", jogosPorUsuario=" + jogosPorUsuario +
+                ", bytesPorJogo=" + bytesPorJogo +
+                ", bytesPorJogabilidades=" + bytesPorJogabilidades +
+                ", bytesIndice=" + bytesIndice +
+                ", totalEstimado=" + getTotalEstimado() +
+                '}';
+    }
+}
@@ -0,0 +1,115 @@
+package main.service.esboco;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Esboço count-min: estima a frequência de cada chave com uma matriz fixa de contadores, de {@code profundidade} linhas
+ * por {@code largura} colunas. A estimativa nunca é menor que a frequência real e, com probabilidade de ao menos
+ * {@code 1 - (1/e)^profundidade}, a excede em no máximo {@code e * total / largura}.
+ * <p>
+ * É thread-safe e não bloqueia. Esboços de mesmas dimensões podem ser mesclados, pois a coluna de uma chave em cada
+ * linha depende só do seu espalhamento.
+ */
+public final class ContagemMinima {
+
+    private final int largura;
+
+    private final int profundidade;
+
+    /**
+     * Contadores, linha após linha.
+     */
+    private final AtomicLongArray contadores;
+
+    /**
+     * Soma de todas as quantidades registradas.
+     */
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * Construtor.
+     *
+     * @param largura      Quantidade de contadores por linha.
+     * @param profundidade Quantidade de linhas, cada uma com uma função de espalhamento.
+     */
+    public ContagemMinima(final int largura, final int profundidade) {
+        if (largura < 1 || profundidade < 1) {
+            throw new IllegalArgumentException("A largura e a profundidade devem ser positivas.");
+        }
+        this.largura = largura;
+        this.profundidade = profundidade;
+        this.contadores = new AtomicLongArray(Math.multiplyExact(largura, profundidade));
+    }
+
+    /**
+     * Soma {@code quantidade} à frequência de {@code chave}.
+     *
+     * @param chave      Chave, como o nome de um jogo.
+     * @param quantidade Quantidade a somar, não negativa.
+     * @return A estimativa da frequência de {@code chave}, já com a quantidade somada.
+     */
+    public long adiciona(final String chave, final long quantidade) {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("A quantidade não pode ser negativa.");
+        }
+        long hash = Espalhamento.de(chave);
+        long estimativa = Long.MAX_VALUE;
+        for (int linha = 0; linha < profundidade; linha++) {
+            estimativa = Math.min(estimativa, contadores.addAndGet(posicao(hash, linha), quantidade));
+        }
+        total.add(quantidade);
+        return estimativa;
+    }
+
+    /**
+     * @param chave Chave consultada.
+     * @return A estimativa da frequência de {@code chave}.
+     */
+    public long estimativa(final String chave) {
+        long hash = Espalhamento.de(chave);
+        long estimativa = Long.MAX_VALUE;
+        for (int linha = 0; linha < profundidade; linha++) {
+            estimativa = Math.min(estimativa, contadores.get(posicao(hash, linha)));
+        }
+        return estimativa;
+    }
+
+    /**
+     * Acrescenta a este esboço as frequências de {@code outra}, que não é alterada.
+     *
+     * @param outra {@link ContagemMinima} de mesmas dimensões.
+     */
+    public void mescla(final ContagemMinima outra) {
+        if (outra.largura != largura || outra.profundidade != profundidade) {
+            throw new IllegalArgumentException("Só é possível mesclar esboços de mesmas dimensões.");
+        }
+        for (int i = 0; i < contadores.length(); i++) {
+            contadores.addAndGet(i, outra.contadores.get(i));
+        }
+        total.add(outra.getTotal());
+    }
+
+    /**
+     * @return A soma de todas as quantidades registradas.
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public int getLargura() {
+        return largura;
+    }
+
+    public int getProfundidade() {
+        return profundidade;
+    }
+
+    /**
+     * Coluna da chave em {@code linha}, derivando as funções de espalhamento das duas metades de {@code hash}.
+     */
+    private int posicao(final long hash, final int linha) {
+        int combinado = (int) hash + linha * (int) (hash >>> 32);
+        return linha * largura + Math.floorMod(combinado, largura);
+    }
+}
@@ -0,0 +1,97 @@
+package main.service.esboco;
+
+import main.controller.OuvinteLoja;
+import main.entidade.jogo.Jogo;
+import main.entidade.usuario.Usuario;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Distribuição dos scores de cada jogo, num {@link EsbocoQuantis} por nome de jogo, alimentada como
+ * {@link OuvinteLoja} a cada jogada registrada. Complementa o {@link Jogo#getMaiorScore()}, respondendo, por exemplo,
+ * qual score põe um jogador entre os 10% melhores de um jogo.
+ */
+public class DistribuicaoScores implements OuvinteLoja {
+
+    private final double precisaoRelativa;
+
+    private final ConcurrentMap<String, EsbocoQuantis> porJogo = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor, com {@link EsbocoQuantis#PRECISAO_PADRAO}.
+     */
+    public DistribuicaoScores() {
+        this(EsbocoQuantis.PRECISAO_PADRAO);
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param precisaoRelativa Precisão relativa de cada {@link EsbocoQuantis}.
+     */
+    public DistribuicaoScores(final double precisaoRelativa) {
+        this.precisaoRelativa = precisaoRelativa;
+        // Valida a precisão já na construção, e não na primeira jogada.
+        new EsbocoQuantis(precisaoRelativa);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void aoJogar(final Usuario usuario, final Jogo jogo, final int score, final boolean zerou) {
+        esboco(jogo.getNome()).registra(score);
+    }
+
+    /**
+     * @param nomeJogo Nome do jogo.
+     * @param quantil  Fração das jogadas, de 0 a 1.
+     * @return O score estimado de {@code nomeJogo} abaixo do qual está a fração {@code quantil} das jogadas.
+     * @throws IllegalStateException Caso {@code nomeJogo} nunca tenha sido jogado.
+     */
+    public double getPercentil(final String nomeJogo, final double quantil) {
+        EsbocoQuantis esboco = porJogo.get(nomeJogo);
+        if (esboco == null) {
+            throw new IllegalStateException("O jogo " + nomeJogo + " nunca foi jogado.");
+        }
+        return esboco.quantil(quantil);
+    }
+
+    /**
+     * @param nomeJogo Nome do jogo.
+     * @param score    Score consultado.
+     * @return A fração estimada das jogadas de {@code nomeJogo} com score menor ou igual a {@code score}, ou 0 caso o
+     * jogo nunca tenha sido jogado.
+     */
+    public double getPosicao(final String nomeJogo, final int score) {
+        EsbocoQuantis esboco = porJogo.get(nomeJogo);
+        return esboco == null ? 0 : esboco.posicao(score);
+    }
+
+    /**
+     * @param nomeJogo Nome do jogo.
+     * @return O {@link EsbocoQuantis} de {@code nomeJogo}, ou {@code null} caso ele nunca tenha sido jogado.
+     */
+    public EsbocoQuantis getEsboco(final String nomeJogo) {
+        return porJogo.get(nomeJogo);
+    }
+
+    /**
+     * Acrescenta a esta distribuição as de {@code outra}, que não é alterada.
+     *
+     * @param outra {@link DistribuicaoScores} de mesma precisão.
+     */
+    public void mescla(final DistribuicaoScores outra) {
+        for (Map.Entry<String, EsbocoQuantis> entrada : outra.porJogo.entrySet()) {
+            esboco(entrada.getKey()).mescla(entrada.getValue());
+        }
+    }
+
+    private EsbocoQuantis esboco(final String nomeJogo) {
+        EsbocoQuantis esboco = porJogo.get(nomeJogo);
+        return esboco != null ? esboco : porJogo.computeIfAbsent(nomeJogo,
+                nome -> new EsbocoQuantis(precisaoRelativa));
+    }
+}
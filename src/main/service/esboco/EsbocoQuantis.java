@@ -0,0 +1,227 @@
+package main.service.esboco;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Distribuição aproximada de scores, no estilo do DDSketch: cada score é contado numa faixa de largura geométrica, de
+ * modo que todo quantil retornado difere do valor exato em no máximo {@code precisaoRelativa} dele. Como scores são
+ * {@code int}, as faixas cobrindo todos os valores possíveis são alocadas na construção, cerca de 1100 por sinal com a
+ * precisão padrão, e a memória não cresce com a quantidade de jogadas.
+ * <p>
+ * É thread-safe e não bloqueia: registrar um score é um incremento atômico na sua faixa. Consultas concorrentes com
+ * registros veem cada faixa num instante possivelmente diferente. Esboços de mesma precisão podem ser mesclados, com o
+ * mesmo resultado de registrar todos os scores num só.
+ */
+public final class EsbocoQuantis {
+
+    /**
+     * Precisão relativa usada pelo construtor padrão.
+     */
+    public static final double PRECISAO_PADRAO = 0.01;
+
+    private final double precisaoRelativa;
+
+    private final double gama;
+
+    private final double logGama;
+
+    /**
+     * Contagem de cada faixa de scores positivos; a faixa {@code i} contém os valores em {@code (gama^(i-1), gama^i]}.
+     */
+    private final AtomicLongArray positivos;
+
+    /**
+     * Contagem de cada faixa de scores negativos, pelo valor absoluto.
+     */
+    private final AtomicLongArray negativos;
+
+    private final AtomicLong zeros = new AtomicLong();
+
+    private final AtomicInteger minimo = new AtomicInteger(Integer.MAX_VALUE);
+
+    private final AtomicInteger maximo = new AtomicInteger(Integer.MIN_VALUE);
+
+    /**
+     * Construtor, com {@link #PRECISAO_PADRAO}.
+     */
+    public EsbocoQuantis() {
+        this(PRECISAO_PADRAO);
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param precisaoRelativa Erro relativo máximo dos quantis, maior que 0 e menor que 1.
+     */
+    public EsbocoQuantis(final double precisaoRelativa) {
+        if (!(precisaoRelativa > 0 && precisaoRelativa < 1)) {
+            throw new IllegalArgumentException("A precisão relativa deve estar entre 0 e 1.");
+        }
+        this.precisaoRelativa = precisaoRelativa;
+        this.gama = (1 + precisaoRelativa) / (1 - precisaoRelativa);
+        this.logGama = Math.log(gama);
+        // O módulo de Integer.MIN_VALUE é o maior valor absoluto possível.
+        int qtdeFaixas = faixa(-(double) Integer.MIN_VALUE) + 1;
+        this.positivos = new AtomicLongArray(qtdeFaixas);
+        this.negativos = new AtomicLongArray(qtdeFaixas);
+    }
+
+    /**
+     * Registra um score.
+     *
+     * @param score Score de uma jogada.
+     */
+    public void registra(final int score) {
+        if (score > 0) {
+            positivos.incrementAndGet(faixa(score));
+        } else if (score < 0) {
+            negativos.incrementAndGet(faixa(-(double) score));
+        } else {
+            zeros.incrementAndGet();
+        }
+        minimo.accumulateAndGet(score, Math::min);
+        maximo.accumulateAndGet(score, Math::max);
+    }
+
+    /**
+     * Estima o score abaixo do qual está a fração {@code quantil} das jogadas; o quantil 0,9 é o score que põe um
+     * jogador entre os 10% melhores.
+     *
+     * @param quantil Fração das jogadas, de 0 a 1.
+     * @return O score estimado, dentro do menor e do maior score registrados, que são exatos para os quantis 0 e 1.
+     * @throws IllegalStateException Caso nenhum score tenha sido registrado.
+     */
+    public double quantil(final double quantil) {
+        if (!(quantil >= 0 && quantil <= 1)) {
+            throw new IllegalArgumentException("O quantil deve estar entre 0 e 1.");
+        }
+        long total = getQuantidade();
+        if (total == 0) {
+            throw new IllegalStateException("Nenhum score foi registrado.");
+        }
+        if (quantil == 0) {
+            return minimo.get();
+        }
+        if (quantil == 1) {
+            return maximo.get();
+        }
+        long posicao = (long) (quantil * (total - 1));
+        long acumulado = 0;
+        for (int i = negativos.length() - 1; i >= 0; i--) {
+            acumulado += negativos.get(i);
+            if (acumulado > posicao) {
+                return limita(-representante(i));
+            }
+        }
+        acumulado += zeros.get();
+        if (acumulado > posicao) {
+            return limita(0);
+        }
+        for (int i = 0; i < positivos.length(); i++) {
+            acumulado += positivos.get(i);
+            if (acumulado > posicao) {
+                return limita(representante(i));
+            }
+        }
+        // Só alcançado se a contagem mudou durante a consulta.
+        return maximo.get();
+    }
+
+    /**
+     * Estima a fração das jogadas com score menor ou igual a {@code score}. Os scores da faixa de {@code score} são
+     * todos contados, de modo que o erro fica limitado à contagem dessa faixa.
+     *
+     * @param score Score consultado.
+     * @return A fração das jogadas, de 0 a 1, ou 0 caso nenhum score tenha sido registrado.
+     */
+    public double posicao(final int score) {
+        long ate = 0;
+        long total = 0;
+        int faixaNegativa = score < 0 ? faixa(-(double) score) : Integer.MAX_VALUE;
+        for (int i = 0; i < negativos.length(); i++) {
+            long contagem = negativos.get(i);
+            total += contagem;
+            if (i >= faixaNegativa || score >= 0) {
+                ate += contagem;
+            }
+        }
+        long qtdeZeros = zeros.get();
+        total += qtdeZeros;
+        if (score >= 0) {
+            ate += qtdeZeros;
+        }
+        int faixaPositiva = score > 0 ? faixa(score) : -1;
+        for (int i = 0; i < positivos.length(); i++) {
+            long contagem = positivos.get(i);
+            total += contagem;
+            if (i <= faixaPositiva) {
+                ate += contagem;
+            }
+        }
+        return total == 0 ? 0 : (double) ate / total;
+    }
+
+    /**
+     * Acrescenta a este esboço os scores de {@code outro}, que não é alterado.
+     *
+     * @param outro {@link EsbocoQuantis} de mesma precisão.
+     */
+    public void mescla(final EsbocoQuantis outro) {
+        if (Double.compare(outro.precisaoRelativa, precisaoRelativa) != 0) {
+            throw new IllegalArgumentException("Só é possível mesclar esboços de mesma precisão.");
+        }
+        for (int i = 0; i < positivos.length(); i++) {
+            positivos.addAndGet(i, outro.positivos.get(i));
+            negativos.addAndGet(i, outro.negativos.get(i));
+        }
+        zeros.addAndGet(outro.zeros.get());
+        minimo.accumulateAndGet(outro.minimo.get(), Math::min);
+        maximo.accumulateAndGet(outro.maximo.get(), Math::max);
+    }
+
+    /**
+     * @return A quantidade de scores registrados.
+     */
+    public long getQuantidade() {
+        long total = zeros.get();
+        for (int i = 0; i < positivos.length(); i++) {
+            total += positivos.get(i) + negativos.get(i);
+        }
+        return total;
+    }
+
+    public double getPrecisaoRelativa() {
+        return precisaoRelativa;
+    }
+
+    /**
+     * @return O menor score registrado, exato.
+     */
+    public int getMinimo() {
+        return minimo.get();
+    }
+
+    /**
+     * @return O maior score registrado, exato.
+     */
+    public int getMaximo() {
+        return maximo.get();
+    }
+
+    private int faixa(final double valorAbsoluto) {
+        return (int) Math.ceil(Math.log(valorAbsoluto) / logGama);
+    }
+
+    /**
+     * Valor da faixa {@code i} cujo erro relativo para qualquer valor da faixa é no máximo {@code precisaoRelativa}.
+     */
+    private double representante(final int i) {
+        return 2 * Math.pow(gama, i) / (gama + 1);
+    }
+
+    private double limita(final double valor) {
+        return Math.max(minimo.get(), Math.min(maximo.get(), valor));
+    }
+}
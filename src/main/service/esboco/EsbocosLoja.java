@@ -0,0 +1,190 @@
+package main.service.esboco;
+
+import main.controller.OuvinteLoja;
+import main.entidade.jogo.Jogabilidade;
+import main.entidade.jogo.Jogo;
+import main.entidade.usuario.Usuario;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resumos probabilísticos de uma loja, alimentados como {@link OuvinteLoja}: donos e jogadores distintos por jogo e por
+ * {@link Jogabilidade}, em {@link HyperLogLog}s, e os jogos mais jogados e mais vendidos, em {@link MaisFrequentes}.
+ * Nenhuma consulta percorre os usuários, e a memória de cada resumo não cresce com a quantidade deles.
+ * <p>
+ * Usuários são identificados pelo login. Resumos de lojas diferentes, como partições de uma mesma base, podem ser
+ * mesclados com {@link #mescla(EsbocosLoja)}, desde que tenham sido criados com os mesmos parâmetros.
+ */
+public class EsbocosLoja implements OuvinteLoja {
+
+    /**
+     * Quantidade padrão de jogos mantidos nos rankings.
+     */
+    public static final int CAPACIDADE_PADRAO = 10;
+
+    public static final int LARGURA_PADRAO = 2048;
+
+    public static final int PROFUNDIDADE_PADRAO = 5;
+
+    private final int precisao;
+
+    private final ConcurrentMap<String, HyperLogLog> donosPorJogo = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, HyperLogLog> jogadoresPorJogo = new ConcurrentHashMap<>();
+
+    /**
+     * Preenchidos na construção e nunca alterados, por isso não precisam ser concorrentes.
+     */
+    private final Map<Jogabilidade, HyperLogLog> donosPorJogabilidade = new EnumMap<>(Jogabilidade.class);
+
+    private final Map<Jogabilidade, HyperLogLog> jogadoresPorJogabilidade = new EnumMap<>(Jogabilidade.class);
+
+    private final MaisFrequentes maisJogados;
+
+    private final MaisFrequentes maisVendidos;
+
+    /**
+     * Construtor, com os parâmetros padrão.
+     */
+    public EsbocosLoja() {
+        this(HyperLogLog.PRECISAO_PADRAO, CAPACIDADE_PADRAO, LARGURA_PADRAO, PROFUNDIDADE_PADRAO);
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param precisao     Precisão de cada {@link HyperLogLog}.
+     * @param capacidade   Quantidade de jogos mantidos nos rankings.
+     * @param largura      Largura das {@link ContagemMinima} dos rankings.
+     * @param profundidade Profundidade das {@link ContagemMinima} dos rankings.
+     */
+    public EsbocosLoja(final int precisao, final int capacidade, final int largura, final int profundidade) {
+        this.precisao = precisao;
+        for (Jogabilidade jogabilidade : Jogabilidade.values()) {
+            donosPorJogabilidade.put(jogabilidade, new HyperLogLog(precisao));
+            jogadoresPorJogabilidade.put(jogabilidade, new HyperLogLog(precisao));
+        }
+        this.maisJogados = new MaisFrequentes(capacidade, largura, profundidade);
+        this.maisVendidos = new MaisFrequentes(capacidade, largura, profundidade);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void aoVender(final Usuario usuario, final Jogo jogo, final double valorPago) {
+        registra(usuario, jogo, donosPorJogo, donosPorJogabilidade);
+        maisVendidos.adiciona(jogo.getNome(), 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void aoJogar(final Usuario usuario, final Jogo jogo, final int score, final boolean zerou) {
+        registra(usuario, jogo, jogadoresPorJogo, jogadoresPorJogabilidade);
+        maisJogados.adiciona(jogo.getNome(), 1);
+    }
+
+    /**
+     * @param nomeJogo Nome do jogo.
+     * @return A estimativa da quantidade de usuários distintos que compraram {@code nomeJogo}.
+     */
+    public long getDonosDistintos(final String nomeJogo) {
+        return estimativa(donosPorJogo.get(nomeJogo));
+    }
+
+    /**
+     * @param nomeJogo Nome do jogo.
+     * @return A estimativa da quantidade de usuários distintos que jogaram {@code nomeJogo}.
+     */
+    public long getJogadoresDistintos(final String nomeJogo) {
+        return estimativa(jogadoresPorJogo.get(nomeJogo));
+    }
+
+    /**
+     * @param jogabilidade {@link Jogabilidade} dos jogos.
+     * @return A estimativa da quantidade de usuários distintos que compraram algum jogo com {@code jogabilidade}.
+     */
+    public long getDonosDistintos(final Jogabilidade jogabilidade) {
+        return donosPorJogabilidade.get(jogabilidade).estimativa();
+    }
+
+    /**
+     * @param jogabilidade {@link Jogabilidade} dos jogos.
+     * @return A estimativa da quantidade de usuários distintos que jogaram algum jogo com {@code jogabilidade}.
+     */
+    public long getJogadoresDistintos(final Jogabilidade jogabilidade) {
+        return jogadoresPorJogabilidade.get(jogabilidade).estimativa();
+    }
+
+    /**
+     * @return Os jogos com mais jogadas, do mais ao menos jogado.
+     */
+    public List<Frequencia> getMaisJogados() {
+        return maisJogados.getMaisFrequentes();
+    }
+
+    /**
+     * @return Os jogos com mais vendas, do mais ao menos vendido.
+     */
+    public List<Frequencia> getMaisVendidos() {
+        return maisVendidos.getMaisFrequentes();
+    }
+
+    /**
+     * @param nomeJogo Nome do jogo.
+     * @return A estimativa da quantidade de jogadas de {@code nomeJogo}, mesmo fora do ranking.
+     */
+    public long getJogadasEstimadas(final String nomeJogo) {
+        return maisJogados.estimativa(nomeJogo);
+    }
+
+    /**
+     * Acrescenta a estes resumos os de {@code outros}, que não são alterados.
+     *
+     * @param outros {@link EsbocosLoja} criado com os mesmos parâmetros.
+     */
+    public void mescla(final EsbocosLoja outros) {
+        mescla(donosPorJogo, outros.donosPorJogo);
+        mescla(jogadoresPorJogo, outros.jogadoresPorJogo);
+        for (Jogabilidade jogabilidade : Jogabilidade.values()) {
+            donosPorJogabilidade.get(jogabilidade).mescla(outros.donosPorJogabilidade.get(jogabilidade));
+            jogadoresPorJogabilidade.get(jogabilidade).mescla(outros.jogadoresPorJogabilidade.get(jogabilidade));
+        }
+        maisJogados.mescla(outros.maisJogados);
+        maisVendidos.mescla(outros.maisVendidos);
+    }
+
+    /**
+     * Registra o usuário no esboço do jogo e nos das suas jogabilidades, espalhando o login uma única vez.
+     */
+    private void registra(final Usuario usuario, final Jogo jogo, final ConcurrentMap<String, HyperLogLog> porJogo,
+                          final Map<Jogabilidade, HyperLogLog> porJogabilidade) {
+        long hash = Espalhamento.de(usuario.getLogin());
+        esboco(porJogo, jogo.getNome()).adicionaHash(hash);
+        for (Jogabilidade jogabilidade : jogo.getJogabilidades()) {
+            porJogabilidade.get(jogabilidade).adicionaHash(hash);
+        }
+    }
+
+    private void mescla(final ConcurrentMap<String, HyperLogLog> destino,
+                        final ConcurrentMap<String, HyperLogLog> origem) {
+        for (Map.Entry<String, HyperLogLog> entrada : origem.entrySet()) {
+            esboco(destino, entrada.getKey()).mescla(entrada.getValue());
+        }
+    }
+
+    private HyperLogLog esboco(final ConcurrentMap<String, HyperLogLog> esbocos, final String nomeJogo) {
+        HyperLogLog esboco = esbocos.get(nomeJogo);
+        return esboco != null ? esboco : esbocos.computeIfAbsent(nomeJogo, nome -> new HyperLogLog(precisao));
+    }
+
+    private static long estimativa(final HyperLogLog esboco) {
+        return esboco == null ? 0 : esboco.estimativa();
+    }
+}
@@ -0,0 +1,40 @@
+package main.service.esboco;
+
+/**
+ * Funções de espalhamento de 64 bits usadas pelos esboços. O {@link String#hashCode()} tem só 32 bits e distribui mal
+ * textos curtos e parecidos, como logins e nomes de jogos, o que distorce as estimativas.
+ */
+final class Espalhamento {
+
+    private static final long BASE_FNV = 0xcbf29ce484222325L;
+
+    private static final long PRIMO_FNV = 0x100000001b3L;
+
+    private Espalhamento() {
+    }
+
+    /**
+     * @param texto Texto a espalhar.
+     * @return O FNV-1a de 64 bits dos caracteres de {@code texto}, seguido de {@link #mistura(long)}.
+     */
+    static long de(final String texto) {
+        long hash = BASE_FNV;
+        for (int i = 0; i < texto.length(); i++) {
+            hash ^= texto.charAt(i);
+            hash *= PRIMO_FNV;
+        }
+        return mistura(hash);
+    }
+
+    /**
+     * Finalizador do MurmurHash3, para que cada bit do resultado dependa de todos os bits de {@code hash}.
+     */
+    static long mistura(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,38 @@
+package main.service.esboco;
+
+/**
+ * Chave e estimativa da sua frequência, como retornadas por {@link MaisFrequentes}.
+ */
+public class Frequencia {
+
+    private final String chave;
+
+    private final long estimativa;
+
+    /**
+     * Construtor.
+     *
+     * @param chave      Chave, como o nome de um jogo.
+     * @param estimativa Estimativa da frequência de {@code chave}.
+     */
+    public Frequencia(final String chave, final long estimativa) {
+        this.chave = chave;
+        this.estimativa = estimativa;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public long getEstimativa() {
+        return estimativa;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return chave + ": " + estimativa;
+    }
+}
@@ -0,0 +1,153 @@
+package main.service.esboco;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Estimativa da quantidade de valores distintos pelo algoritmo HyperLogLog. Com precisão {@code p}, usa 2^p
+ * registradores de um byte, independente da quantidade de valores, e o erro padrão da estimativa é de cerca de
+ * {@code 1.04 / sqrt(2^p)}: 1,6% com a precisão padrão.
+ * <p>
+ * É thread-safe e não bloqueia: cada registrador só cresce, por compare-and-set na palavra que o contém. Dois esboços
+ * de mesma precisão podem ser mesclados, resultando na estimativa da união dos seus valores.
+ */
+public final class HyperLogLog {
+
+    /**
+     * Precisão usada pelo construtor padrão, com 4096 registradores.
+     */
+    public static final int PRECISAO_PADRAO = 12;
+
+    public static final int PRECISAO_MINIMA = 4;
+
+    public static final int PRECISAO_MAXIMA = 18;
+
+    private static final int REGISTRADORES_POR_PALAVRA = 4;
+
+    private static final int BITS_REGISTRADOR = 8;
+
+    private static final int MASCARA_REGISTRADOR = 0xFF;
+
+    private final int precisao;
+
+    private final int qtdeRegistradores;
+
+    /**
+     * Registradores, quatro por palavra.
+     */
+    private final AtomicIntegerArray palavras;
+
+    /**
+     * Construtor, com {@link #PRECISAO_PADRAO}.
+     */
+    public HyperLogLog() {
+        this(PRECISAO_PADRAO);
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param precisao Logaritmo na base 2 da quantidade de registradores, entre {@link #PRECISAO_MINIMA} e
+     *                 {@link #PRECISAO_MAXIMA}.
+     */
+    public HyperLogLog(final int precisao) {
+        if (precisao < PRECISAO_MINIMA || precisao > PRECISAO_MAXIMA) {
+            throw new IllegalArgumentException("A precisão deve estar entre " + PRECISAO_MINIMA + " e "
+                    + PRECISAO_MAXIMA + ".");
+        }
+        this.precisao = precisao;
+        this.qtdeRegistradores = 1 << precisao;
+        this.palavras = new AtomicIntegerArray(qtdeRegistradores / REGISTRADORES_POR_PALAVRA);
+    }
+
+    /**
+     * Registra {@code valor}. Registrar um valor já visto não altera a estimativa.
+     *
+     * @param valor Valor a registrar, como um login.
+     */
+    public void adiciona(final String valor) {
+        adicionaHash(Espalhamento.de(valor));
+    }
+
+    /**
+     * Registra um valor já espalhado por {@link Espalhamento#de(String)}, para que o mesmo espalhamento sirva a vários
+     * esboços.
+     */
+    void adicionaHash(final long hash) {
+        int indice = (int) (hash >>> (Long.SIZE - precisao));
+        // O bit sentinela limita o posto a 64 - p + 1 quando os bits restantes são todos zero.
+        int posto = Long.numberOfLeadingZeros((hash << precisao) | (1L << (precisao - 1))) + 1;
+        atualiza(indice, posto);
+    }
+
+    /**
+     * @return A estimativa da quantidade de valores distintos registrados.
+     */
+    public long estimativa() {
+        double soma = 0;
+        int zerados = 0;
+        for (int i = 0; i < qtdeRegistradores; i++) {
+            int registrador = registrador(i);
+            soma += Math.scalb(1.0, -registrador);
+            if (registrador == 0) {
+                zerados++;
+            }
+        }
+        double estimativa = alfa() * qtdeRegistradores * qtdeRegistradores / soma;
+        if (estimativa <= 2.5 * qtdeRegistradores && zerados > 0) {
+            // Para poucos valores, a contagem linear dos registradores vazios é mais precisa.
+            estimativa = qtdeRegistradores * Math.log((double) qtdeRegistradores / zerados);
+        }
+        return Math.round(estimativa);
+    }
+
+    /**
+     * Acrescenta a este esboço os valores registrados em {@code outro}, que não é alterado.
+     *
+     * @param outro {@link HyperLogLog} de mesma precisão.
+     */
+    public void mescla(final HyperLogLog outro) {
+        if (outro.precisao != precisao) {
+            throw new IllegalArgumentException("Só é possível mesclar esboços de mesma precisão.");
+        }
+        for (int i = 0; i < qtdeRegistradores; i++) {
+            atualiza(i, outro.registrador(i));
+        }
+    }
+
+    public int getPrecisao() {
+        return precisao;
+    }
+
+    private void atualiza(final int indice, final int posto) {
+        int palavra = indice / REGISTRADORES_POR_PALAVRA;
+        int deslocamento = (indice % REGISTRADORES_POR_PALAVRA) * BITS_REGISTRADOR;
+        while (true) {
+            int atual = palavras.get(palavra);
+            if (((atual >>> deslocamento) & MASCARA_REGISTRADOR) >= posto) {
+                return;
+            }
+            int novo = (atual & ~(MASCARA_REGISTRADOR << deslocamento)) | (posto << deslocamento);
+            if (palavras.compareAndSet(palavra, atual, novo)) {
+                return;
+            }
+        }
+    }
+
+    private int registrador(final int indice) {
+        int palavra = palavras.get(indice / REGISTRADORES_POR_PALAVRA);
+        return (palavra >>> ((indice % REGISTRADORES_POR_PALAVRA) * BITS_REGISTRADOR)) & MASCARA_REGISTRADOR;
+    }
+
+    private double alfa() {
+        switch (qtdeRegistradores) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / qtdeRegistradores);
+        }
+    }
+}
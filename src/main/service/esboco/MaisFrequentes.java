@@ -0,0 +1,130 @@
+package main.service.esboco;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Chaves mais frequentes de um fluxo, estimadas por uma {@link ContagemMinima} e mantidas num heap de no máximo
+ * {@code capacidade} candidatas, cuja raiz é a candidata menos frequente. A memória é fixa, qualquer que seja a
+ * quantidade de chaves distintas.
+ * <p>
+ * A contagem não bloqueia; o heap só é travado quando a estimativa da chave supera a menor estimativa do heap, o que,
+ * em fluxos concentrados em poucas chaves, acontece quase só para as próprias candidatas.
+ */
+public final class MaisFrequentes {
+
+    private static final Comparator<Frequencia> POR_ESTIMATIVA = Comparator.comparingLong(Frequencia::getEstimativa);
+
+    private final int capacidade;
+
+    private final ContagemMinima contagem;
+
+    private final PriorityQueue<Frequencia> heap;
+
+    private final Map<String, Frequencia> candidatas = new HashMap<>();
+
+    /**
+     * Menor estimativa do heap, ou zero enquanto ele não está cheio. Lida sem trava, para descartar as chaves que não
+     * entrariam no heap.
+     */
+    private volatile long minimo;
+
+    /**
+     * Construtor.
+     *
+     * @param capacidade   Quantidade de chaves mantidas.
+     * @param largura      Largura da {@link ContagemMinima}.
+     * @param profundidade Profundidade da {@link ContagemMinima}.
+     */
+    public MaisFrequentes(final int capacidade, final int largura, final int profundidade) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("A capacidade deve ser positiva.");
+        }
+        this.capacidade = capacidade;
+        this.contagem = new ContagemMinima(largura, profundidade);
+        this.heap = new PriorityQueue<>(capacidade, POR_ESTIMATIVA);
+    }
+
+    /**
+     * Soma {@code quantidade} à frequência de {@code chave}.
+     *
+     * @param chave      Chave, como o nome de um jogo.
+     * @param quantidade Quantidade a somar, não negativa.
+     */
+    public void adiciona(final String chave, final long quantidade) {
+        long estimativa = contagem.adiciona(chave, quantidade);
+        if (estimativa > minimo) {
+            synchronized (this) {
+                atualiza(chave, estimativa);
+            }
+        }
+    }
+
+    /**
+     * @param chave Chave consultada.
+     * @return A estimativa da frequência de {@code chave}, mesmo que ela não esteja entre as mais frequentes.
+     */
+    public long estimativa(final String chave) {
+        return contagem.estimativa(chave);
+    }
+
+    /**
+     * @return As chaves mais frequentes, da mais à menos frequente.
+     */
+    public synchronized List<Frequencia> getMaisFrequentes() {
+        List<Frequencia> resultado = new ArrayList<>(heap);
+        resultado.sort(POR_ESTIMATIVA.reversed().thenComparing(Frequencia::getChave));
+        return resultado;
+    }
+
+    /**
+     * Acrescenta a este esboço as frequências de {@code outro}, que não é alterado. As candidatas de ambos são
+     * reavaliadas pela contagem mesclada.
+     *
+     * @param outro {@link MaisFrequentes} com {@link ContagemMinima} de mesmas dimensões.
+     */
+    public void mescla(final MaisFrequentes outro) {
+        Set<String> chaves = new HashSet<>();
+        synchronized (outro) {
+            chaves.addAll(outro.candidatas.keySet());
+        }
+        contagem.mescla(outro.contagem);
+        synchronized (this) {
+            chaves.addAll(candidatas.keySet());
+            for (String chave : chaves) {
+                atualiza(chave, contagem.estimativa(chave));
+            }
+        }
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    private void atualiza(final String chave, final long estimativa) {
+        Frequencia atual = candidatas.get(chave);
+        if (atual != null) {
+            if (estimativa <= atual.getEstimativa()) {
+                return;
+            }
+            heap.remove(atual);
+        } else if (candidatas.size() >= capacidade) {
+            Frequencia menor = heap.peek();
+            if (estimativa <= menor.getEstimativa()) {
+                return;
+            }
+            heap.poll();
+            candidatas.remove(menor.getChave());
+        }
+        Frequencia nova = new Frequencia(chave, estimativa);
+        heap.add(nova);
+        candidatas.put(chave, nova);
+        minimo = candidatas.size() < capacidade ? 0 : heap.peek().getEstimativa();
+    }
+}
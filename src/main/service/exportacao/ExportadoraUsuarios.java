@@ -0,0 +1,252 @@
+package main.service.exportacao;
+
+import main.entidade.jogo.Jogabilidade;
+import main.entidade.jogo.Jogo;
+import main.entidade.usuario.Usuario;
+import util.io.CanalGzip;
+import util.io.EscritorCanal;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+
+/**
+ * Exporta os usuários de uma loja e os seus jogos em um {@link FormatoExportacao} legível por máquinas, ao contrário
+ * do relatório de {@link main.service.Formatadora}. Cada usuário é escrito assim que é lido, por um
+ * {@link EscritorCanal}, então a memória usada é a do buffer de escrita, qualquer que seja a quantidade de usuários.
+ * <p>
+ * Exporta login, nome, papel, crédito e x2p de cada usuário e, de cada jogo, nome, tipo, preço, jogabilidades, vezes
+ * jogadas, vezes zeradas e maior score. Créditos e preços têm duas casas decimais. Os usuários não devem ser alterados
+ * durante a exportação; para exportar uma loja em uso, use uma cópia ou uma versão imutável dos usuários.
+ */
+public class ExportadoraUsuarios {
+
+    public static final int TAMANHO_BUFFER_PADRAO = 1 << 18;
+
+    private static final String CABECALHO_CSV = "login,nome,papel,credito,x2p,jogo,tipo,preco,jogabilidades,"
+            + "vezes_jogadas,vezes_zerado,maior_score";
+
+    private static final int CASAS_DINHEIRO = 2;
+
+    private static final Jogabilidade[] JOGABILIDADES = Jogabilidade.values();
+
+    private static final char[] HEXADECIMAL = "0123456789abcdef".toCharArray();
+
+    private final FormatoExportacao formato;
+
+    private final int tamanhoBuffer;
+
+    /**
+     * Construtor, com buffer de {@link #TAMANHO_BUFFER_PADRAO} bytes.
+     *
+     * @param formato {@link FormatoExportacao} das exportações.
+     */
+    public ExportadoraUsuarios(final FormatoExportacao formato) {
+        this(formato, TAMANHO_BUFFER_PADRAO);
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param formato       {@link FormatoExportacao} das exportações.
+     * @param tamanhoBuffer Tamanho, em bytes, do buffer direto de escrita de cada exportação.
+     */
+    public ExportadoraUsuarios(final FormatoExportacao formato, final int tamanhoBuffer) {
+        this.formato = formato;
+        this.tamanhoBuffer = tamanhoBuffer;
+    }
+
+    /**
+     * Exporta {@code usuarios} para um arquivo, substituindo o seu conteúdo.
+     *
+     * @param usuarios Usuários a exportar.
+     * @param arquivo  Arquivo de destino.
+     * @param compacta Indica se o arquivo deve ser compactado com gzip.
+     * @return {@link ResumoExportacao} da exportação.
+     * @throws IOException Caso o arquivo não possa ser escrito.
+     */
+    public ResumoExportacao exporta(final Iterable<Usuario> usuarios, final Path arquivo, final boolean compacta)
+            throws IOException {
+        WritableByteChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            if (compacta) {
+                canal = new CanalGzip(canal, Deflater.BEST_SPEED, tamanhoBuffer);
+            }
+            return exporta(usuarios, canal);
+        } finally {
+            canal.close();
+        }
+    }
+
+    /**
+     * Exporta {@code usuarios} para {@code canal}, sem fechá-lo.
+     *
+     * @param usuarios Usuários a exportar.
+     * @param canal    Canal de destino.
+     * @return {@link ResumoExportacao} da exportação.
+     * @throws IOException Caso a escrita no canal falhe.
+     */
+    public ResumoExportacao exporta(final Iterable<Usuario> usuarios, final WritableByteChannel canal)
+            throws IOException {
+        long inicio = System.nanoTime();
+        EscritorCanal escritor = new EscritorCanal(canal, tamanhoBuffer);
+        long qtdeUsuarios = 0;
+        long qtdeJogos = 0;
+        if (formato == FormatoExportacao.CSV) {
+            escritor.escreve(CABECALHO_CSV).escreve('\n');
+        }
+        for (Usuario usuario : usuarios) {
+            qtdeUsuarios++;
+            qtdeJogos += formato == FormatoExportacao.CSV ? escreveCsv(escritor, usuario)
+                    : escreveJson(escritor, usuario);
+        }
+        escritor.descarrega();
+        return new ResumoExportacao(qtdeUsuarios, qtdeJogos, escritor.getBytesEscritos(), System.nanoTime() - inicio);
+    }
+
+    /**
+     * Escreve as linhas CSV de um usuário.
+     *
+     * @return A quantidade de jogos escritos.
+     */
+    private static int escreveCsv(final EscritorCanal escritor, final Usuario usuario) throws IOException {
+        int jogos = 0;
+        for (Jogo jogo : usuario.getJogosComprados()) {
+            escreveUsuarioCsv(escritor, usuario);
+            escreveCampoCsv(escritor, jogo.getNome());
+            escritor.escreve(',').escreve(jogo.getTipo()).escreve(',');
+            escritor.escreveDecimal(jogo.getPreco(), CASAS_DINHEIRO).escreve(',');
+            escreveJogabilidadesCsv(escritor, jogo);
+            escritor.escreve(',').escreve(jogo.getQtdeVezesJogadas());
+            escritor.escreve(',').escreve(jogo.getQtdeZerado());
+            escritor.escreve(',').escreve(jogo.getMaiorScore()).escreve('\n');
+            jogos++;
+        }
+        if (jogos == 0) {
+            escreveUsuarioCsv(escritor, usuario);
+            escritor.escreve(",,,,,,\n");
+        }
+        return jogos;
+    }
+
+    private static void escreveUsuarioCsv(final EscritorCanal escritor, final Usuario usuario) throws IOException {
+        escreveCampoCsv(escritor, usuario.getLogin());
+        escritor.escreve(',');
+        escreveCampoCsv(escritor, usuario.getNome());
+        escritor.escreve(',').escreve(usuario.getRole().toString()).escreve(',');
+        escritor.escreveDecimal(usuario.getCredito(), CASAS_DINHEIRO).escreve(',');
+        escritor.escreve(usuario.getX2p()).escreve(',');
+    }
+
+    /**
+     * Escreve as jogabilidades separadas por espaço, como são informadas na venda do jogo.
+     */
+    private static void escreveJogabilidadesCsv(final EscritorCanal escritor, final Jogo jogo) throws IOException {
+        boolean primeira = true;
+        for (Jogabilidade jogabilidade : JOGABILIDADES) {
+            if (jogo.contemJogabilidade(jogabilidade)) {
+                if (!primeira) {
+                    escritor.escreve(' ');
+                }
+                escritor.escreve(jogabilidade.getEstilo());
+                primeira = false;
+            }
+        }
+    }
+
+    /**
+     * Escreve um campo de texto, entre aspas caso contenha vírgulas, aspas ou quebras de linha.
+     */
+    private static void escreveCampoCsv(final EscritorCanal escritor, final String campo) throws IOException {
+        if (!precisaAspas(campo)) {
+            escritor.escreve(campo);
+            return;
+        }
+        escritor.escreve('"');
+        for (int i = 0; i < campo.length(); ) {
+            int codePoint = campo.codePointAt(i);
+            if (codePoint == '"') {
+                escritor.escreve('"');
+            }
+            escritor.escreveCodePoint(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        escritor.escreve('"');
+    }
+
+    private static boolean precisaAspas(final String campo) {
+        for (int i = 0; i < campo.length(); i++) {
+            char c = campo.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Escreve a linha JSON de um usuário.
+     *
+     * @return A quantidade de jogos escritos.
+     */
+    private static int escreveJson(final EscritorCanal escritor, final Usuario usuario) throws IOException {
+        escritor.escreve("{\"login\":");
+        escreveTextoJson(escritor, usuario.getLogin());
+        escritor.escreve(",\"nome\":");
+        escreveTextoJson(escritor, usuario.getNome());
+        escritor.escreve(",\"papel\":\"").escreve(usuario.getRole().toString());
+        escritor.escreve("\",\"credito\":").escreveDecimal(usuario.getCredito(), CASAS_DINHEIRO);
+        escritor.escreve(",\"x2p\":").escreve(usuario.getX2p());
+        escritor.escreve(",\"jogos\":[");
+        int jogos = 0;
+        for (Jogo jogo : usuario.getJogosComprados()) {
+            if (jogos > 0) {
+                escritor.escreve(',');
+            }
+            escritor.escreve("{\"nome\":");
+            escreveTextoJson(escritor, jogo.getNome());
+            escritor.escreve(",\"tipo\":\"").escreve(jogo.getTipo());
+            escritor.escreve("\",\"preco\":").escreveDecimal(jogo.getPreco(), CASAS_DINHEIRO);
+            escritor.escreve(",\"jogabilidades\":[");
+            boolean primeira = true;
+            for (Jogabilidade jogabilidade : JOGABILIDADES) {
+                if (jogo.contemJogabilidade(jogabilidade)) {
+                    escritor.escreve(primeira ? "\"" : ",\"").escreve(jogabilidade.getEstilo()).escreve('"');
+                    primeira = false;
+                }
+            }
+            escritor.escreve("],\"vezesJogadas\":").escreve(jogo.getQtdeVezesJogadas());
+            escritor.escreve(",\"vezesZerado\":").escreve(jogo.getQtdeZerado());
+            escritor.escreve(",\"maiorScore\":").escreve(jogo.getMaiorScore()).escreve('}');
+            jogos++;
+        }
+        escritor.escreve("]}\n");
+        return jogos;
+    }
+
+    private static void escreveTextoJson(final EscritorCanal escritor, final String texto) throws IOException {
+        escritor.escreve('"');
+        for (int i = 0; i < texto.length(); ) {
+            int codePoint = texto.codePointAt(i);
+            if (codePoint == '"' || codePoint == '\\') {
+                escritor.escreve('\\').escreve((char) codePoint);
+            } else if (codePoint == '\n') {
+                escritor.escreve("\\n");
+            } else if (codePoint == '\r') {
+                escritor.escreve("\\r");
+            } else if (codePoint == '\t') {
+                escritor.escreve("\\t");
+            } else if (codePoint < 0x20) {
+                escritor.escreve("\\u00").escreve(HEXADECIMAL[codePoint >> 4]).escreve(HEXADECIMAL[codePoint & 0xF]);
+            } else {
+                escritor.escreveCodePoint(codePoint);
+            }
+            i += Character.charCount(codePoint);
+        }
+        escritor.escreve('"');
+    }
+}
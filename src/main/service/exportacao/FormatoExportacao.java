@@ -0,0 +1,47 @@
+package main.service.exportacao;
+
+/**
+ * Formatos das exportações de {@link ExportadoraUsuarios}.
+ */
+public enum FormatoExportacao {
+
+    /**
+     * CSV com cabeçalho e uma linha por jogo comprado, repetindo os dados do usuário. Usuários sem jogos ocupam uma
+     * linha com as colunas do jogo vazias.
+     */
+    CSV("csv"),
+
+    /**
+     * Um objeto JSON por linha e por usuário, com os seus jogos num vetor.
+     */
+    JSON_LINHAS("jsonl");
+
+    private final String nome;
+
+    FormatoExportacao(final String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * @return O nome do formato, que também é a extensão usual dos arquivos.
+     */
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Recupera o formato de nome {@code nome}.
+     *
+     * @param nome Nome do formato.
+     * @return {@link FormatoExportacao} correspondente.
+     * @throws IllegalArgumentException Caso não haja formato com esse nome.
+     */
+    public static FormatoExportacao porNome(final String nome) {
+        for (FormatoExportacao formato : values()) {
+            if (formato.nome.equalsIgnoreCase(nome)) {
+                return formato;
+            }
+        }
+        throw new IllegalArgumentException("Formato de exportação desconhecido: " + nome);
+    }
+}
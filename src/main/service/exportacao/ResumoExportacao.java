@@ -0,0 +1,82 @@
+package main.service.exportacao;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resumo de uma exportação de {@link ExportadoraUsuarios}.
+ */
+public class ResumoExportacao {
+
+    /**
+     * Quantidade de usuários exportados.
+     */
+    private final long usuarios;
+
+    /**
+     * Quantidade de jogos exportados, somando os de todos os usuários.
+     */
+    private final long jogos;
+
+    /**
+     * Quantidade de bytes gerados, antes de uma eventual compactação.
+     */
+    private final long bytes;
+
+    /**
+     * Duração da exportação, em nanossegundos.
+     */
+    private final long duracaoNanos;
+
+    /**
+     * Construtor.
+     *
+     * @param usuarios     Quantidade de usuários exportados.
+     * @param jogos        Quantidade de jogos exportados.
+     * @param bytes        Quantidade de bytes gerados, antes da compactação.
+     * @param duracaoNanos Duração da exportação, em nanossegundos.
+     */
+    public ResumoExportacao(final long usuarios, final long jogos, final long bytes, final long duracaoNanos) {
+        this.usuarios = usuarios;
+        this.jogos = jogos;
+        this.bytes = bytes;
+        this.duracaoNanos = duracaoNanos;
+    }
+
+    /**
+     * @return a vazão da exportação, em usuários por segundo.
+     */
+    public double getVazao() {
+        if (duracaoNanos == 0) {
+            return 0;
+        }
+        return usuarios * (double) TimeUnit.SECONDS.toNanos(1) / duracaoNanos;
+    }
+
+    public long getUsuarios() {
+        return usuarios;
+    }
+
+    public long getJogos() {
+        return jogos;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getDuracaoNanos() {
+        return duracaoNanos;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Usuários: " + usuarios
+                + " | Jogos: " + jogos
+                + " | Bytes: " + bytes
+                + " | Tempo: " + TimeUnit.NANOSECONDS.toMillis(duracaoNanos) + " ms"
+                + " | Vazão: " + (long) getVazao() + " usuários/s";
+    }
+}
@@ -0,0 +1,218 @@
+package main.service.importacao;
+
+import main.controller.LojaControllerImpl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Importa para uma loja, de uma só vez, os usuários de um arquivo CSV, com crédito inicial e jogos que eles já
+ * possuem, como no cadastro dos usuários de um parceiro.
+ * <p>
+ * A primeira linha é um cabeçalho que identifica as colunas pelo nome: {@code login}, {@code nome} e {@code papel}
+ * são obrigatórias, e {@code credito}, {@code jogo}, {@code tipo}, {@code preco} e {@code jogabilidades} são
+ * opcionais. Outras colunas são ignoradas, então o CSV de {@link main.service.exportacao.ExportadoraUsuarios} pode
+ * ser importado, mas sem o x2p e as estatísticas de jogadas: cada usuário começa com o x2p inicial do seu papel, e os
+ * jogos importados não descontam crédito nem concedem x2p. Um usuário com vários jogos ocupa várias linhas
+ * consecutivas, uma por jogo; os dados do usuário são lidos da primeira delas.
+ * <p>
+ * O arquivo é mapeado em memória e dividido em partes que terminam em quebras de linha, lidas e validadas em
+ * paralelo. Por isso, campos entre aspas não podem conter quebras de linha. Em seguida, os usuários são inseridos
+ * sequencialmente, na ordem do arquivo, com {@link LojaControllerImpl#insereUsuario}: um login que já existe na loja ou
+ * que aparece de novo mais adiante no arquivo é rejeitado, e a primeira ocorrência prevalece.
+ */
+public class ImportadoraUsuarios {
+
+    /**
+     * Tamanho aproximado, em bytes, de cada parte lida por uma thread.
+     */
+    public static final int TAMANHO_PARTE_PADRAO = 1 << 23;
+
+    /**
+     * Maior parte que pode ser mapeada de uma vez; uma linha não pode ser maior que isso.
+     */
+    public static final int TAMANHO_MAXIMO_PARTE = 1 << 30;
+
+    /**
+     * Quantidade máxima de rejeições guardadas em {@link ResumoImportacao#getRejeicoes()}. As demais são apenas
+     * contadas.
+     */
+    public static final int MAXIMO_REJEICOES_DETALHADAS = 10000;
+
+    private static final int TAMANHO_MAXIMO_CABECALHO = 1 << 16;
+
+    private static final int TAMANHO_BUSCA = 1 << 13;
+
+    private static final String MARCA_BOM = "\uFEFF";
+
+    private final int paralelismo;
+
+    private final int tamanhoParte;
+
+    /**
+     * Construtor, com uma thread por processador e partes de {@link #TAMANHO_PARTE_PADRAO} bytes.
+     */
+    public ImportadoraUsuarios() {
+        this(Runtime.getRuntime().availableProcessors(), TAMANHO_PARTE_PADRAO);
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param paralelismo  Quantidade de threads usadas na leitura.
+     * @param tamanhoParte Tamanho aproximado, em bytes, de cada parte do arquivo.
+     */
+    public ImportadoraUsuarios(final int paralelismo, final int tamanhoParte) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("O paralelismo deve ser positivo.");
+        }
+        if (tamanhoParte < 1 || tamanhoParte > TAMANHO_MAXIMO_PARTE) {
+            throw new IllegalArgumentException("O tamanho das partes deve estar entre 1 e " + TAMANHO_MAXIMO_PARTE
+                    + " bytes.");
+        }
+        this.paralelismo = paralelismo;
+        this.tamanhoParte = tamanhoParte;
+    }
+
+    /**
+     * Importa os usuários de {@code arquivo} para {@code destino}.
+     *
+     * @param arquivo Arquivo CSV, em UTF-8.
+     * @param destino {@link LojaControllerImpl} no qual os usuários serão inseridos.
+     * @return {@link ResumoImportacao} da importação, com as linhas rejeitadas.
+     * @throws IOException Caso o arquivo não possa ser lido ou o cabeçalho seja inválido.
+     */
+    public ResumoImportacao importa(final Path arquivo, final LojaControllerImpl destino) throws IOException {
+        long inicio = System.nanoTime();
+        List<LeitorParteCsv> partes;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long fimCabecalho = fimDaLinha(canal, 0);
+            LeitorParteCsv.Campo[] colunas = LeitorParteCsv.mapeiaCabecalho(leCabecalho(canal, fimCabecalho));
+            partes = leEmParalelo(canal, divide(canal, fimCabecalho), colunas);
+        }
+        long duracaoLeitura = System.nanoTime() - inicio;
+
+        InsercaoUsuarios insercao = new InsercaoUsuarios(destino);
+        long linhasAnteriores = 1;
+        for (LeitorParteCsv parte : partes) {
+            for (LinhaImportada linha : parte.getLinhas()) {
+                linha.desloca(linhasAnteriores);
+                insercao.adiciona(linha);
+            }
+            linhasAnteriores += parte.getQtdeLinhas();
+        }
+        insercao.conclui();
+        return new ResumoImportacao(insercao.getQtdeLinhas(), insercao.getQtdeUsuarios(), insercao.getQtdeJogos(),
+                insercao.getQtdeRejeitadas(), insercao.getRejeicoes(), duracaoLeitura, System.nanoTime() - inicio);
+    }
+
+    private static String leCabecalho(final FileChannel canal, final long fimCabecalho) throws IOException {
+        if (fimCabecalho == 0) {
+            throw new IOException("O arquivo não tem cabeçalho.");
+        }
+        if (fimCabecalho > TAMANHO_MAXIMO_CABECALHO) {
+            throw new IOException("O cabeçalho tem mais de " + TAMANHO_MAXIMO_CABECALHO + " bytes.");
+        }
+        ByteBuffer bytes = ByteBuffer.allocate((int) fimCabecalho);
+        while (bytes.hasRemaining() && canal.read(bytes, bytes.position()) >= 0) {
+            // Lê até encher o buffer.
+        }
+        String cabecalho = new String(bytes.array(), 0, bytes.position(), StandardCharsets.UTF_8).trim();
+        return cabecalho.startsWith(MARCA_BOM) ? cabecalho.substring(MARCA_BOM.length()) : cabecalho;
+    }
+
+    /**
+     * Divide os dados, a partir de {@code inicio}, em partes de cerca de {@link #tamanhoParte} bytes que começam no
+     * início de uma linha.
+     *
+     * @return Os limites das partes: a parte {@code i} vai de {@code limites[i]} a {@code limites[i + 1]}.
+     */
+    private long[] divide(final FileChannel canal, final long inicio) throws IOException {
+        long tamanho = canal.size();
+        int qtdePartes = (int) Math.max(1, (tamanho - inicio + tamanhoParte - 1) / tamanhoParte);
+        long[] limites = new long[qtdePartes + 1];
+        limites[0] = inicio;
+        for (int i = 1; i < qtdePartes; i++) {
+            long aproximado = inicio + (tamanho - inicio) * i / qtdePartes;
+            limites[i] = fimDaLinha(canal, Math.max(aproximado, limites[i - 1]));
+        }
+        limites[qtdePartes] = tamanho;
+        for (int i = 0; i < qtdePartes; i++) {
+            if (limites[i + 1] - limites[i] > TAMANHO_MAXIMO_PARTE) {
+                throw new IOException("Uma parte do arquivo tem mais de " + TAMANHO_MAXIMO_PARTE
+                        + " bytes; alguma linha é longa demais.");
+            }
+        }
+        return limites;
+    }
+
+    /**
+     * @return A posição logo depois da primeira quebra de linha a partir de {@code inicio}, ou o tamanho do arquivo
+     * caso não haja outra quebra de linha.
+     */
+    private static long fimDaLinha(final FileChannel canal, final long inicio) throws IOException {
+        ByteBuffer bloco = ByteBuffer.allocate(TAMANHO_BUSCA);
+        long posicao = inicio;
+        while (true) {
+            bloco.clear();
+            int lidos = canal.read(bloco, posicao);
+            if (lidos < 0) {
+                return canal.size();
+            }
+            for (int i = 0; i < lidos; i++) {
+                if (bloco.get(i) == '\n') {
+                    return posicao + i + 1;
+                }
+            }
+            posicao += lidos;
+        }
+    }
+
+    /**
+     * Mapeia e lê cada parte em uma thread, retornando os leitores na ordem do arquivo.
+     */
+    private List<LeitorParteCsv> leEmParalelo(final FileChannel canal, final long[] limites,
+                                              final LeitorParteCsv.Campo[] colunas) throws IOException {
+        List<Callable<LeitorParteCsv>> tarefas = new ArrayList<>(limites.length - 1);
+        for (int i = 0; i + 1 < limites.length; i++) {
+            long inicio = limites[i];
+            long tamanho = limites[i + 1] - inicio;
+            tarefas.add(() -> {
+                LeitorParteCsv leitor = new LeitorParteCsv(canal.map(FileChannel.MapMode.READ_ONLY, inicio, tamanho),
+                        colunas);
+                leitor.le();
+                return leitor;
+            });
+        }
+
+        ExecutorService threads = Executors.newFixedThreadPool(Math.min(paralelismo, tarefas.size()));
+        try {
+            List<LeitorParteCsv> partes = new ArrayList<>(tarefas.size());
+            for (Future<LeitorParteCsv> parte : threads.invokeAll(tarefas)) {
+                partes.add(parte.get());
+            }
+            return partes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importação interrompida.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("Falha na leitura do arquivo de importação.", e.getCause());
+        } finally {
+            threads.shutdown();
+        }
+    }
+}
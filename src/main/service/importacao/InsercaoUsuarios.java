@@ -0,0 +1,141 @@
+package main.service.importacao;
+
+import main.controller.LojaControllerImpl;
+import main.entidade.usuario.Usuario;
+import main.exception.JogoInvalidoException;
+import main.exception.UsuarioInvalidoException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Insere na loja, na ordem do arquivo, os usuários das linhas lidas por {@link LeitorParteCsv}, e registra as
+ * rejeições.
+ * <p>
+ * As linhas consecutivas de um mesmo login formam um grupo, cujo usuário é montado por completo, com o crédito e os
+ * jogos, antes de ser inserido; um usuário que não pôde ser inserido não deixa rastros na loja. Um login que volta a
+ * aparecer depois de outro, ou que já existia na loja, tem o grupo todo rejeitado.
+ */
+final class InsercaoUsuarios {
+
+    private final LojaControllerImpl destino;
+
+    private final List<Rejeicao> rejeicoes = new ArrayList<>();
+
+    /**
+     * Linhas do grupo atual.
+     */
+    private final List<LinhaImportada> grupo = new ArrayList<>();
+
+    /**
+     * Rejeições de linhas do grupo atual, que só são registradas caso o usuário do grupo seja inserido.
+     */
+    private final List<Rejeicao> rejeicoesGrupo = new ArrayList<>();
+
+    private long qtdeLinhas;
+
+    private long qtdeUsuarios;
+
+    private long qtdeJogos;
+
+    private long qtdeRejeitadas;
+
+    InsercaoUsuarios(final LojaControllerImpl destino) {
+        this.destino = destino;
+    }
+
+    /**
+     * Acrescenta a próxima linha do arquivo, inserindo o usuário do grupo anterior caso ela comece um novo grupo. As
+     * linhas que não puderam ser interpretadas entram no grupo atual, apenas para que as rejeições sejam registradas
+     * na ordem do arquivo.
+     */
+    void adiciona(final LinhaImportada linha) {
+        qtdeLinhas++;
+        if (linha.getLogin() == null && grupo.isEmpty()) {
+            rejeita(new Rejeicao(linha.getNumero(), null, linha.getErro()));
+            return;
+        }
+        if (linha.getLogin() != null && !grupo.isEmpty() && !grupo.get(0).getLogin().equals(linha.getLogin())) {
+            conclui();
+        }
+        grupo.add(linha);
+    }
+
+    /**
+     * Insere o usuário do grupo atual, caso haja um.
+     */
+    void conclui() {
+        if (grupo.isEmpty()) {
+            return;
+        }
+        LinhaImportada primeira = grupo.get(0);
+        try {
+            if (primeira.getErroUsuario() != null) {
+                rejeitaGrupo(primeira.getErroUsuario());
+                return;
+            }
+            Usuario usuario = primeira.getUsuario();
+            int jogos = 0;
+            for (LinhaImportada linha : grupo) {
+                if (linha.getErro() != null) {
+                    rejeicoesGrupo.add(new Rejeicao(linha.getNumero(), linha.getLogin(), linha.getErro()));
+                } else if (linha.getJogo() != null) {
+                    try {
+                        usuario.importaJogo(linha.getJogo());
+                        jogos++;
+                    } catch (JogoInvalidoException e) {
+                        rejeicoesGrupo.add(new Rejeicao(linha.getNumero(), linha.getLogin(), e.getMessage()));
+                    }
+                }
+            }
+            try {
+                destino.insereUsuario(usuario);
+            } catch (UsuarioInvalidoException e) {
+                rejeitaGrupo(e.getMessage());
+                return;
+            }
+            qtdeUsuarios++;
+            qtdeJogos += jogos;
+            for (Rejeicao rejeicao : rejeicoesGrupo) {
+                rejeita(rejeicao);
+            }
+        } finally {
+            grupo.clear();
+            rejeicoesGrupo.clear();
+        }
+    }
+
+    List<Rejeicao> getRejeicoes() {
+        return rejeicoes;
+    }
+
+    long getQtdeLinhas() {
+        return qtdeLinhas;
+    }
+
+    long getQtdeUsuarios() {
+        return qtdeUsuarios;
+    }
+
+    long getQtdeJogos() {
+        return qtdeJogos;
+    }
+
+    long getQtdeRejeitadas() {
+        return qtdeRejeitadas;
+    }
+
+    private void rejeitaGrupo(final String motivo) {
+        for (LinhaImportada linha : grupo) {
+            rejeita(new Rejeicao(linha.getNumero(), linha.getLogin(), linha.getLogin() == null ? linha.getErro()
+                    : motivo));
+        }
+    }
+
+    private void rejeita(final Rejeicao rejeicao) {
+        qtdeRejeitadas++;
+        if (rejeicoes.size() < ImportadoraUsuarios.MAXIMO_REJEICOES_DETALHADAS) {
+            rejeicoes.add(rejeicao);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package main.service.importacao;
+
+import main.entidade.jogo.Jogo;
+import main.entidade.usuario.Usuario;
+import main.exception.JogoInvalidoException;
+import main.exception.UsuarioInvalidoException;
+import main.factory.JogoFactory;
+import main.factory.UsuarioFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lê e valida as linhas de uma parte de um CSV de importação, que começa no início de uma linha e termina no fim de
+ * outra. Cada parte tem o seu leitor, então várias partes podem ser lidas ao mesmo tempo.
+ */
+final class LeitorParteCsv {
+
+    /**
+     * Colunas interpretadas pela importação. As demais colunas do cabeçalho são ignoradas.
+     */
+    enum Campo {
+        LOGIN("login"), NOME("nome"), PAPEL("papel"), CREDITO("credito"), JOGO("jogo"), TIPO("tipo"),
+        PRECO("preco"), JOGABILIDADES("jogabilidades");
+
+        private final String nome;
+
+        Campo(final String nome) {
+            this.nome = nome;
+        }
+
+        static Campo porNome(final String nome) {
+            for (Campo campo : values()) {
+                if (campo.nome.equalsIgnoreCase(nome)) {
+                    return campo;
+                }
+            }
+            return null;
+        }
+    }
+
+    static final String COLUNAS_INVALIDAS = "A quantidade de colunas é diferente da do cabeçalho.";
+
+    static final String ASPAS_INVALIDAS = "Campo entre aspas malformado.";
+
+    static final String CREDITO_INVALIDO = "Crédito inválido: ";
+
+    static final String PRECO_INVALIDO = "Preço inválido: ";
+
+    private static final String COLUNA_AUSENTE = "Coluna obrigatória ausente no cabeçalho: ";
+
+    private static final Set<Campo> OBRIGATORIOS = EnumSet.of(Campo.LOGIN, Campo.NOME, Campo.PAPEL);
+
+    private static final Set<Campo> DO_JOGO = EnumSet.of(Campo.TIPO, Campo.PRECO, Campo.JOGABILIDADES);
+
+    private final ByteBuffer dados;
+
+    /**
+     * Campo de cada coluna do arquivo, ou {@code null} para as colunas ignoradas.
+     */
+    private final Campo[] campoDaColuna;
+
+    /**
+     * Valores dos campos da linha atual, indexados por {@link Campo#ordinal()}.
+     */
+    private final String[] valores = new String[Campo.values().length];
+
+    private final UsuarioFactory usuarioFactory = new UsuarioFactory();
+
+    private final JogoFactory jogoFactory = new JogoFactory();
+
+    private final List<LinhaImportada> linhas = new ArrayList<>();
+
+    /**
+     * Bytes do campo atual, já sem as aspas.
+     */
+    private byte[] campo = new byte[64];
+
+    private int posicao;
+
+    /**
+     * Quantidade de linhas da parte, contando as vazias.
+     */
+    private int qtdeLinhas;
+
+    /**
+     * Construtor.
+     *
+     * @param dados         Bytes da parte, da posição 0 ao limite.
+     * @param campoDaColuna Resultado de {@link #mapeiaCabecalho(String)}.
+     */
+    LeitorParteCsv(final ByteBuffer dados, final Campo[] campoDaColuna) {
+        this.dados = dados;
+        this.campoDaColuna = campoDaColuna;
+    }
+
+    /**
+     * Identifica as colunas do arquivo pelos nomes do cabeçalho. {@code login}, {@code nome} e {@code papel} são
+     * obrigatórias; {@code jogo} exige {@code tipo}, {@code preco} e {@code jogabilidades}.
+     *
+     * @param cabecalho Primeira linha do arquivo, sem a quebra de linha.
+     * @return O campo de cada coluna, ou {@code null} para as colunas ignoradas.
+     * @throws IOException Caso falte alguma coluna obrigatória.
+     */
+    static Campo[] mapeiaCabecalho(final String cabecalho) throws IOException {
+        String[] nomes = cabecalho.split(",", -1);
+        Campo[] campoDaColuna = new Campo[nomes.length];
+        Set<Campo> presentes = EnumSet.noneOf(Campo.class);
+        for (int i = 0; i < nomes.length; i++) {
+            Campo campo = Campo.porNome(nomes[i].trim().replace("\"", ""));
+            if (campo != null && presentes.add(campo)) {
+                campoDaColuna[i] = campo;
+            }
+        }
+        Set<Campo> exigidos = EnumSet.copyOf(OBRIGATORIOS);
+        if (presentes.contains(Campo.JOGO)) {
+            exigidos.addAll(DO_JOGO);
+        }
+        for (Campo campo : exigidos) {
+            if (!presentes.contains(campo)) {
+                throw new IOException(COLUNA_AUSENTE + campo.nome);
+            }
+        }
+        return campoDaColuna;
+    }
+
+    /**
+     * Lê todas as linhas da parte. A primeira linha de cada sequência de linhas de um mesmo login cria o usuário;
+     * as seguintes só contribuem com os seus jogos.
+     */
+    void le() {
+        String loginAnterior = null;
+        while (posicao < dados.limit()) {
+            qtdeLinhas++;
+            if (pulaLinhaVazia()) {
+                continue;
+            }
+            String erro = leCampos();
+            if (erro != null) {
+                linhas.add(new LinhaImportada(qtdeLinhas, null, null, null, null, erro));
+                continue;
+            }
+            String login = valor(Campo.LOGIN);
+            Usuario usuario = null;
+            String erroUsuario = null;
+            if (!login.equals(loginAnterior)) {
+                try {
+                    usuario = criaUsuario();
+                } catch (UsuarioInvalidoException e) {
+                    erroUsuario = e.getMessage();
+                }
+            }
+            Jogo jogo = null;
+            try {
+                jogo = criaJogo();
+            } catch (JogoInvalidoException e) {
+                erro = e.getMessage();
+            }
+            linhas.add(new LinhaImportada(qtdeLinhas, login, usuario, erroUsuario, jogo, erro));
+            loginAnterior = login;
+        }
+    }
+
+    List<LinhaImportada> getLinhas() {
+        return linhas;
+    }
+
+    int getQtdeLinhas() {
+        return qtdeLinhas;
+    }
+
+    private Usuario criaUsuario() throws UsuarioInvalidoException {
+        Usuario usuario = usuarioFactory.criaUsuario(valor(Campo.NOME), valor(Campo.LOGIN), valor(Campo.PAPEL));
+        String credito = valor(Campo.CREDITO);
+        if (credito != null && !credito.isEmpty()) {
+            double valor = leValor(credito);
+            if (Double.isNaN(valor)) {
+                throw new UsuarioInvalidoException(CREDITO_INVALIDO + credito);
+            }
+            usuario.adicionaSaldo(valor);
+        }
+        return usuario;
+    }
+
+    /**
+     * @return O jogo da linha, ou {@code null} caso ela não tenha jogo.
+     */
+    private Jogo criaJogo() throws JogoInvalidoException {
+        String nome = valor(Campo.JOGO);
+        if (nome == null || nome.isEmpty()) {
+            return null;
+        }
+        String preco = valor(Campo.PRECO);
+        double valor = leValor(preco);
+        if (Double.isNaN(valor)) {
+            throw new JogoInvalidoException(PRECO_INVALIDO + preco);
+        }
+        return jogoFactory.criaJogo(nome, valor, valor(Campo.TIPO), valor(Campo.JOGABILIDADES));
+    }
+
+    /**
+     * @return O valor monetário em {@code texto}, ou {@link Double#NaN} caso ele não seja um número finito e não
+     * negativo.
+     */
+    private static double leValor(final String texto) {
+        try {
+            double valor = Double.parseDouble(texto);
+            return Double.isInfinite(valor) || valor < 0 ? Double.NaN : valor;
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private String valor(final Campo campo) {
+        return valores[campo.ordinal()];
+    }
+
+    /**
+     * Pula a linha atual caso ela seja vazia.
+     *
+     * @return {@code true}, caso a linha seja vazia.
+     */
+    private boolean pulaLinhaVazia() {
+        int fim = posicao;
+        if (dados.get(fim) == '\r') {
+            fim++;
+        }
+        if (fim < dados.limit() && dados.get(fim) != '\n') {
+            return false;
+        }
+        posicao = Math.min(fim + 1, dados.limit());
+        return true;
+    }
+
+    /**
+     * Lê os campos da linha atual para {@link #valores} e avança até o início da próxima linha.
+     *
+     * @return O motivo pelo qual a linha é inválida, ou {@code null}.
+     */
+    private String leCampos() {
+        Arrays.fill(valores, null);
+        int coluna = 0;
+        while (true) {
+            int tamanho = posicao < dados.limit() && dados.get(posicao) == '"' ? leCampoEntreAspas() : leCampoSimples();
+            if (tamanho < 0) {
+                pulaLinha();
+                return ASPAS_INVALIDAS;
+            }
+            if (coluna < campoDaColuna.length && campoDaColuna[coluna] != null) {
+                valores[campoDaColuna[coluna].ordinal()] = new String(campo, 0, tamanho, StandardCharsets.UTF_8);
+            }
+            coluna++;
+            if (posicao >= dados.limit() || dados.get(posicao++) == '\n') {
+                return coluna == campoDaColuna.length ? null : COLUNAS_INVALIDAS;
+            }
+        }
+    }
+
+    /**
+     * Lê um campo sem aspas, parando na vírgula ou na quebra de linha que o termina.
+     *
+     * @return O tamanho do campo.
+     */
+    private int leCampoSimples() {
+        int tamanho = 0;
+        while (posicao < dados.limit()) {
+            byte atual = dados.get(posicao);
+            if (atual == ',' || atual == '\n') {
+                break;
+            }
+            tamanho = acrescenta(tamanho, atual);
+            posicao++;
+        }
+        if (tamanho > 0 && campo[tamanho - 1] == '\r' && (posicao >= dados.limit() || dados.get(posicao) == '\n')) {
+            tamanho--;
+        }
+        return tamanho;
+    }
+
+    /**
+     * Lê um campo entre aspas, no qual aspas duplas representam uma aspa, parando na vírgula ou na quebra de linha
+     * depois das aspas de fechamento. Como o arquivo é dividido em quebras de linha, elas não podem aparecer dentro
+     * das aspas.
+     *
+     * @return O tamanho do campo, ou -1 caso ele seja malformado.
+     */
+    private int leCampoEntreAspas() {
+        int tamanho = 0;
+        posicao++;
+        while (true) {
+            if (posicao >= dados.limit() || dados.get(posicao) == '\n') {
+                return -1;
+            }
+            byte atual = dados.get(posicao++);
+            if (atual == '"') {
+                if (posicao < dados.limit() && dados.get(posicao) == '"') {
+                    posicao++;
+                } else {
+                    break;
+                }
+            }
+            tamanho = acrescenta(tamanho, atual);
+        }
+        if (posicao < dados.limit() && dados.get(posicao) == '\r') {
+            posicao++;
+        }
+        if (posicao < dados.limit() && dados.get(posicao) != ',' && dados.get(posicao) != '\n') {
+            return -1;
+        }
+        return tamanho;
+    }
+
+    private int acrescenta(final int tamanho, final byte valor) {
+        if (tamanho == campo.length) {
+            campo = Arrays.copyOf(campo, tamanho * 2);
+        }
+        campo[tamanho] = valor;
+        return tamanho + 1;
+    }
+
+    private void pulaLinha() {
+        while (posicao < dados.limit() && dados.get(posicao++) != '\n') {
+            // Avança até depois da quebra de linha.
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package main.service.importacao;
+
+import main.entidade.jogo.Jogo;
+import main.entidade.usuario.Usuario;
+
+/**
+ * Resultado da leitura e validação de uma linha de dados, antes da inserção na loja.
+ */
+final class LinhaImportada {
+
+    /**
+     * Número da linha: dentro da sua parte do arquivo durante a leitura e, depois de {@link #desloca(long)}, no
+     * arquivo todo.
+     */
+    private long numero;
+
+    /**
+     * Login da linha, ou {@code null} caso ela não tenha podido ser interpretada.
+     */
+    private final String login;
+
+    /**
+     * Usuário criado a partir da linha, caso ela seja a primeira do login na sua parte e os dados do usuário sejam
+     * válidos.
+     */
+    private final Usuario usuario;
+
+    /**
+     * Motivo pelo qual o usuário não pôde ser criado, caso a linha seja a primeira do login na sua parte.
+     */
+    private final String erroUsuario;
+
+    /**
+     * Jogo da linha, caso ela tenha um jogo válido.
+     */
+    private final Jogo jogo;
+
+    /**
+     * Motivo pelo qual a linha, ou o seu jogo, é inválida.
+     */
+    private final String erro;
+
+    LinhaImportada(final long numero, final String login, final Usuario usuario, final String erroUsuario,
+                   final Jogo jogo, final String erro) {
+        this.numero = numero;
+        this.login = login;
+        this.usuario = usuario;
+        this.erroUsuario = erroUsuario;
+        this.jogo = jogo;
+        this.erro = erro;
+    }
+
+    /**
+     * Soma a {@link #numero} a quantidade de linhas do arquivo que precedem a parte desta linha.
+     */
+    void desloca(final long linhasAnteriores) {
+        numero += linhasAnteriores;
+    }
+
+    long getNumero() {
+        return numero;
+    }
+
+    String getLogin() {
+        return login;
+    }
+
+    Usuario getUsuario() {
+        return usuario;
+    }
+
+    String getErroUsuario() {
+        return erroUsuario;
+    }
+
+    Jogo getJogo() {
+        return jogo;
+    }
+
+    String getErro() {
+        return erro;
+    }
+}
@@ -0,0 +1,52 @@
+package main.service.importacao;
+
+/**
+ * Linha de um arquivo de importação que não foi importada, e o motivo.
+ */
+public class Rejeicao {
+
+    /**
+     * Número da linha no arquivo, a partir de 1, contando o cabeçalho.
+     */
+    private final long linha;
+
+    /**
+     * Login da linha, ou {@code null} caso a linha não tenha podido ser interpretada.
+     */
+    private final String login;
+
+    private final String motivo;
+
+    /**
+     * Construtor.
+     *
+     * @param linha  Número da linha no arquivo.
+     * @param login  Login da linha, ou {@code null}.
+     * @param motivo Motivo da rejeição.
+     */
+    public Rejeicao(final long linha, final String login, final String motivo) {
+        this.linha = linha;
+        this.login = login;
+        this.motivo = motivo;
+    }
+
+    public long getLinha() {
+        return linha;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public String getMotivo() {
+        return motivo;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Linha " + linha + (login == null ? "" : " (" + login + ")") + ": " + motivo;
+    }
+}
@@ -0,0 +1,115 @@
+package main.service.importacao;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resumo de uma importação de {@link ImportadoraUsuarios}, com o relatório das linhas rejeitadas.
+ */
+public class ResumoImportacao {
+
+    /**
+     * Quantidade de linhas de dados lidas, sem contar o cabeçalho e as linhas vazias.
+     */
+    private final long linhas;
+
+    private final long usuarios;
+
+    private final long jogos;
+
+    /**
+     * Quantidade total de linhas rejeitadas, que pode ser maior que o tamanho de {@link #rejeicoes}.
+     */
+    private final long qtdeRejeitadas;
+
+    /**
+     * Primeiras linhas rejeitadas, até {@link ImportadoraUsuarios#MAXIMO_REJEICOES_DETALHADAS}, na ordem do arquivo.
+     */
+    private final List<Rejeicao> rejeicoes;
+
+    /**
+     * Duração da leitura e validação paralelas, em nanossegundos.
+     */
+    private final long duracaoLeituraNanos;
+
+    /**
+     * Duração de toda a importação, em nanossegundos.
+     */
+    private final long duracaoNanos;
+
+    /**
+     * Construtor.
+     *
+     * @param linhas              Quantidade de linhas de dados lidas.
+     * @param usuarios            Quantidade de usuários inseridos.
+     * @param jogos               Quantidade de jogos importados, somando os de todos os usuários.
+     * @param qtdeRejeitadas      Quantidade total de linhas rejeitadas.
+     * @param rejeicoes           Primeiras linhas rejeitadas.
+     * @param duracaoLeituraNanos Duração da leitura, em nanossegundos.
+     * @param duracaoNanos        Duração da importação, em nanossegundos.
+     */
+    public ResumoImportacao(final long linhas, final long usuarios, final long jogos, final long qtdeRejeitadas,
+                            final List<Rejeicao> rejeicoes, final long duracaoLeituraNanos,
+                            final long duracaoNanos) {
+        this.linhas = linhas;
+        this.usuarios = usuarios;
+        this.jogos = jogos;
+        this.qtdeRejeitadas = qtdeRejeitadas;
+        this.rejeicoes = Collections.unmodifiableList(rejeicoes);
+        this.duracaoLeituraNanos = duracaoLeituraNanos;
+        this.duracaoNanos = duracaoNanos;
+    }
+
+    /**
+     * @return a vazão da importação, em linhas por segundo.
+     */
+    public double getVazao() {
+        if (duracaoNanos == 0) {
+            return 0;
+        }
+        return linhas * (double) TimeUnit.SECONDS.toNanos(1) / duracaoNanos;
+    }
+
+    public long getLinhas() {
+        return linhas;
+    }
+
+    public long getUsuarios() {
+        return usuarios;
+    }
+
+    public long getJogos() {
+        return jogos;
+    }
+
+    public long getQtdeRejeitadas() {
+        return qtdeRejeitadas;
+    }
+
+    public List<Rejeicao> getRejeicoes() {
+        return rejeicoes;
+    }
+
+    public long getDuracaoLeituraNanos() {
+        return duracaoLeituraNanos;
+    }
+
+    public long getDuracaoNanos() {
+        return duracaoNanos;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Linhas: " + linhas
+                + " | Usuários: " + usuarios
+                + " | Jogos: " + jogos
+                + " | Rejeitadas: " + qtdeRejeitadas
+                + " | Leitura: " + TimeUnit.NANOSECONDS.toMillis(duracaoLeituraNanos) + " ms"
+                + " | Tempo: " + TimeUnit.NANOSECONDS.toMillis(duracaoNanos) + " ms"
+                + " | Vazão: " + (long) getVazao() + " linhas/s";
+    }
+}
@@ -0,0 +1,43 @@
+package main.service.tendencia;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resoluções guardadas por uma {@link SerieTemporal}: a largura de cada intervalo e quantos intervalos são mantidos.
+ */
+public enum Resolucao {
+
+    MINUTO(TimeUnit.MINUTES.toMillis(1), 180),
+    HORA(TimeUnit.HOURS.toMillis(1), 72),
+    DIA(TimeUnit.DAYS.toMillis(1), 90);
+
+    /**
+     * Largura de cada intervalo, em milissegundos.
+     */
+    private final long larguraMillis;
+
+    /**
+     * Quantidade de intervalos mantidos, contando o atual.
+     */
+    private final int quantidade;
+
+    Resolucao(final long larguraMillis, final int quantidade) {
+        this.larguraMillis = larguraMillis;
+        this.quantidade = quantidade;
+    }
+
+    public long getLarguraMillis() {
+        return larguraMillis;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * @return O período coberto pelos intervalos mantidos, em milissegundos.
+     */
+    public long getRetencaoMillis() {
+        return larguraMillis * quantidade;
+    }
+}
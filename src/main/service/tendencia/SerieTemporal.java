@@ -0,0 +1,183 @@
+package main.service.tendencia;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contagens de eventos ao longo do tempo, em intervalos de cada {@link Resolucao}. Cada resolução é um anel de
+ * contadores alocado na construção, no qual o intervalo mais antigo é reaproveitado quando o tempo avança; assim, a
+ * memória de uma série é fixa, e registrar um evento não aloca.
+ * <p>
+ * Cada evento é somado ao intervalo atual de todas as resoluções, de modo que as mais grossas já contêm a agregação
+ * das mais finas, e as consultas custam uma leitura por intervalo somado.
+ * <p>
+ * É thread-safe e não bloqueia ao registrar, exceto uma vez por intervalo, na sua virada. Um evento concorrente com
+ * essa virada pode ser contado no intervalo seguinte; eventos mais antigos que a retenção de uma resolução são
+ * ignorados por ela.
+ */
+public final class SerieTemporal {
+
+    private static final Resolucao[] RESOLUCOES = Resolucao.values();
+
+    private final Anel[] aneis = new Anel[RESOLUCOES.length];
+
+    /**
+     * Construtor.
+     */
+    public SerieTemporal() {
+        for (Resolucao resolucao : RESOLUCOES) {
+            aneis[resolucao.ordinal()] = new Anel(resolucao);
+        }
+    }
+
+    /**
+     * Registra {@code quantidade} eventos no instante informado.
+     *
+     * @param instanteMillis Instante dos eventos, em milissegundos desde a época.
+     * @param quantidade     Quantidade de eventos, ou valor a ser somado, como uma receita em centavos.
+     */
+    public void registra(final long instanteMillis, final long quantidade) {
+        for (Anel anel : aneis) {
+            anel.registra(instanteMillis, quantidade);
+        }
+    }
+
+    /**
+     * Soma os eventos de uma janela que termina em {@code agoraMillis}, usando a resolução mais fina que a cobre. A
+     * janela é arredondada para cima, para um número inteiro de intervalos, e inclui o intervalo atual, ainda
+     * incompleto.
+     *
+     * @param agoraMillis  Fim da janela.
+     * @param janelaMillis Duração da janela.
+     * @return A soma dos eventos da janela.
+     * @throws IllegalArgumentException Caso a janela seja maior que a retenção de todas as resoluções.
+     */
+    public long soma(final long agoraMillis, final long janelaMillis) {
+        Resolucao resolucao = resolucaoPara(janelaMillis);
+        int intervalos = (int) Math.max(1, (janelaMillis + resolucao.getLarguraMillis() - 1)
+                / resolucao.getLarguraMillis());
+        return aneis[resolucao.ordinal()].soma(agoraMillis, intervalos);
+    }
+
+    /**
+     * Calcula a taxa média de eventos numa janela que termina em {@code agoraMillis}, como em
+     * {@link #soma(long, long)}.
+     *
+     * @param agoraMillis  Fim da janela.
+     * @param janelaMillis Duração da janela.
+     * @param unidade      Unidade de tempo da taxa; {@link TimeUnit#MINUTES} resulta em eventos por minuto.
+     * @return A taxa de eventos por {@code unidade}.
+     */
+    public double taxa(final long agoraMillis, final long janelaMillis, final TimeUnit unidade) {
+        return soma(agoraMillis, janelaMillis) * (double) unidade.toMillis(1) / janelaMillis;
+    }
+
+    /**
+     * Retorna os últimos intervalos de uma resolução, do mais antigo ao atual, para gráficos de tendência.
+     *
+     * @param resolucao   {@link Resolucao} dos intervalos.
+     * @param agoraMillis Instante contido no último intervalo.
+     * @param quantidade  Quantidade de intervalos, até {@link Resolucao#getQuantidade()}.
+     * @return A soma dos eventos de cada intervalo.
+     */
+    public long[] intervalos(final Resolucao resolucao, final long agoraMillis, final int quantidade) {
+        if (quantidade < 1 || quantidade > resolucao.getQuantidade()) {
+            throw new IllegalArgumentException("A quantidade de intervalos deve estar entre 1 e "
+                    + resolucao.getQuantidade() + ".");
+        }
+        return aneis[resolucao.ordinal()].intervalos(agoraMillis, quantidade);
+    }
+
+    private static Resolucao resolucaoPara(final long janelaMillis) {
+        if (janelaMillis <= 0) {
+            throw new IllegalArgumentException("A janela deve ser positiva.");
+        }
+        for (Resolucao resolucao : RESOLUCOES) {
+            if (janelaMillis <= resolucao.getRetencaoMillis()) {
+                return resolucao;
+            }
+        }
+        throw new IllegalArgumentException("A janela é maior que a retenção de " + RESOLUCOES[RESOLUCOES.length - 1]
+                + ".");
+    }
+
+    /**
+     * Anel de intervalos de uma resolução. Cada posição guarda o número do período que contém, para que posições de
+     * períodos que já saíram da retenção sejam reconhecidas sem precisar de uma varredura ao avançar o tempo.
+     */
+    private static final class Anel {
+
+        private static final long VAZIO = Long.MIN_VALUE;
+
+        private final long largura;
+
+        private final int tamanho;
+
+        private final AtomicLongArray valores;
+
+        /**
+         * Período de cada posição, em larguras desde a época.
+         */
+        private final AtomicLongArray periodos;
+
+        private Anel(final Resolucao resolucao) {
+            this.largura = resolucao.getLarguraMillis();
+            this.tamanho = resolucao.getQuantidade();
+            this.valores = new AtomicLongArray(tamanho);
+            this.periodos = new AtomicLongArray(tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                periodos.set(i, VAZIO);
+            }
+        }
+
+        private void registra(final long instante, final long quantidade) {
+            long periodo = Math.floorDiv(instante, largura);
+            int posicao = posicao(periodo);
+            long atual = periodos.get(posicao);
+            if (atual != periodo) {
+                if (atual > periodo) {
+                    return;
+                }
+                synchronized (this) {
+                    atual = periodos.get(posicao);
+                    if (atual > periodo) {
+                        return;
+                    }
+                    if (atual != periodo) {
+                        valores.set(posicao, 0);
+                        periodos.set(posicao, periodo);
+                    }
+                }
+            }
+            valores.addAndGet(posicao, quantidade);
+        }
+
+        private long soma(final long agora, final int intervalos) {
+            long ultimo = Math.floorDiv(agora, largura);
+            long soma = 0;
+            for (long periodo = ultimo - intervalos + 1; periodo <= ultimo; periodo++) {
+                soma += valor(periodo);
+            }
+            return soma;
+        }
+
+        private long[] intervalos(final long agora, final int quantidade) {
+            long ultimo = Math.floorDiv(agora, largura);
+            long[] resultado = new long[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                resultado[i] = valor(ultimo - quantidade + 1 + i);
+            }
+            return resultado;
+        }
+
+        private long valor(final long periodo) {
+            int posicao = posicao(periodo);
+            long valor = valores.get(posicao);
+            return periodos.get(posicao) == periodo ? valor : 0;
+        }
+
+        private int posicao(final long periodo) {
+            return (int) Math.floorMod(periodo, (long) tamanho);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package main.service.tendencia;
+
+import main.controller.OuvinteLoja;
+import main.entidade.jogo.Jogo;
+import main.entidade.usuario.Usuario;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Tendências de uma loja, em {@link SerieTemporal}s alimentadas como {@link OuvinteLoja}: jogadas e zeradas por
+ * jogo, e receita por tipo de jogo e papel do comprador. Para usá-la, passe-a ao construtor de
+ * {@link main.controller.LojaControllerImpl}.
+ * <p>
+ * Jogos são identificados pelo nome, tipos por {@link Jogo#getTipo()} e papéis pelo {@code toString()} de
+ * {@link main.entidade.usuario.role.Role}. A receita é guardada em centavos, para que a soma seja exata.
+ */
+public class TendenciasLoja implements OuvinteLoja {
+
+    private static final int CENTAVOS = 100;
+
+    private static final String SEPARADOR = "/";
+
+    /**
+     * Fornece o instante atual, em milissegundos desde a época.
+     */
+    private final LongSupplier relogio;
+
+    private final ConcurrentMap<String, SerieTemporal> jogadas = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, SerieTemporal> zeradas = new ConcurrentHashMap<>();
+
+    /**
+     * Receita em centavos, por tipo de jogo e papel.
+     */
+    private final ConcurrentMap<String, SerieTemporal> receitas = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor, com o relógio do sistema.
+     */
+    public TendenciasLoja() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param relogio Fornece o instante atual, em milissegundos desde a época.
+     */
+    public TendenciasLoja(final LongSupplier relogio) {
+        this.relogio = relogio;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void aoVender(final Usuario usuario, final Jogo jogo, final double valorPago) {
+        serie(receitas, chaveReceita(jogo.getTipo(), usuario.getRole().toString()))
+                .registra(relogio.getAsLong(), Math.round(valorPago * CENTAVOS));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void aoJogar(final Usuario usuario, final Jogo jogo, final int score, final boolean zerou) {
+        long agora = relogio.getAsLong();
+        serie(jogadas, jogo.getNome()).registra(agora, 1);
+        if (zerou) {
+            serie(zeradas, jogo.getNome()).registra(agora, 1);
+        }
+    }
+
+    /**
+     * @param nomeJogo     Nome do jogo.
+     * @param janelaMillis Duração da janela, que termina agora.
+     * @return A média de jogadas por minuto de {@code nomeJogo} na janela.
+     */
+    public double getJogadasPorMinuto(final String nomeJogo, final long janelaMillis) {
+        return taxa(jogadas.get(nomeJogo), janelaMillis, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @param nomeJogo     Nome do jogo.
+     * @param janelaMillis Duração da janela, que termina agora.
+     * @return A média de vezes por hora que {@code nomeJogo} foi zerado na janela.
+     */
+    public double getZeradasPorHora(final String nomeJogo, final long janelaMillis) {
+        return taxa(zeradas.get(nomeJogo), janelaMillis, TimeUnit.HOURS);
+    }
+
+    /**
+     * @param tipo         Tipo dos jogos, como em {@link Jogo#getTipo()}.
+     * @param papel        Papel dos compradores, como "Noob" ou "Veterano".
+     * @param janelaMillis Duração da janela, que termina agora.
+     * @return A receita média por hora das vendas na janela.
+     */
+    public double getReceitaPorHora(final String tipo, final String papel, final long janelaMillis) {
+        return taxa(receitas.get(chaveReceita(tipo, papel)), janelaMillis, TimeUnit.HOURS) / CENTAVOS;
+    }
+
+    /**
+     * @param tipo         Tipo dos jogos, como em {@link Jogo#getTipo()}.
+     * @param papel        Papel dos compradores.
+     * @param janelaMillis Duração da janela, que termina agora.
+     * @return A receita total das vendas na janela.
+     */
+    public double getReceita(final String tipo, final String papel, final long janelaMillis) {
+        SerieTemporal serie = receitas.get(chaveReceita(tipo, papel));
+        return serie == null ? 0 : (double) serie.soma(relogio.getAsLong(), janelaMillis) / CENTAVOS;
+    }
+
+    /**
+     * @param nomeJogo Nome do jogo.
+     * @return A {@link SerieTemporal} das jogadas de {@code nomeJogo}, ou {@code null} caso ele nunca tenha sido
+     * jogado.
+     */
+    public SerieTemporal getSerieJogadas(final String nomeJogo) {
+        return jogadas.get(nomeJogo);
+    }
+
+    /**
+     * @param nomeJogo Nome do jogo.
+     * @return A {@link SerieTemporal} das vezes que {@code nomeJogo} foi zerado, ou {@code null}.
+     */
+    public SerieTemporal getSerieZeradas(final String nomeJogo) {
+        return zeradas.get(nomeJogo);
+    }
+
+    /**
+     * @param tipo  Tipo dos jogos.
+     * @param papel Papel dos compradores.
+     * @return A {@link SerieTemporal} da receita, em centavos, ou {@code null} caso não haja vendas.
+     */
+    public SerieTemporal getSerieReceita(final String tipo, final String papel) {
+        return receitas.get(chaveReceita(tipo, papel));
+    }
+
+    private double taxa(final SerieTemporal serie, final long janelaMillis, final TimeUnit unidade) {
+        return serie == null ? 0 : serie.taxa(relogio.getAsLong(), janelaMillis, unidade);
+    }
+
+    /**
+     * Recupera a série de {@code chave}, criando-a caso necessário. A busca sem criação vem antes porque
+     * {@link ConcurrentHashMap#computeIfAbsent} pode bloquear mesmo quando a chave já existe.
+     */
+    private static SerieTemporal serie(final ConcurrentMap<String, SerieTemporal> series, final String chave) {
+        SerieTemporal serie = series.get(chave);
+        return serie != null ? serie : series.computeIfAbsent(chave, c -> new SerieTemporal());
+    }
+
+    private static String chaveReceita(final String tipo, final String papel) {
+        return tipo + SEPARADOR + papel;
+    }
+}
@@ -0,0 +1,61 @@
+package test.desempenho;
+
+import main.controller.LojaController;
+import main.controller.ModoExecucao;
+import main.controller.escalonamento.EscalonadorLoja;
+import main.controller.escalonamento.Faixa;
+import main.factory.LojaControllerFactory;
+import main.service.FormatadoraCentralP2Cg;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Mede a latência de {@code confereCredito} num {@link EscalonadorLoja} enquanto relatórios completos são gerados,
+ * com as consultas na {@link Faixa#INTERATIVA} e, para comparação, com tudo numa única faixa.
+ * <p>
+ * Uso: {@code java test.desempenho.BenchmarkEscalonamento [usuarios] [consultas] [threads]}.
+ */
+public class BenchmarkEscalonamento {
+
+    public static void main(String[] args) throws Exception {
+        int usuarios = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+        int consultas = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        LojaController lojaController = new LojaControllerFactory().criaLojaController(ModoExecucao.VERSIONADO,
+                new FormatadoraCentralP2Cg(), true);
+        for (int i = 0; i < usuarios; i++) {
+            lojaController.adicionaUsuario("Usuario " + i, "u" + i, i % 2 == 0 ? "noob" : "veterano");
+        }
+
+        System.out.println("Usuários: " + usuarios + " | Consultas: " + consultas + " | Threads: " + threads);
+        System.out.println("Faixa das consultas\tp50 (µs)\tp99 (µs)\tRelatórios");
+        mede(lojaController, Faixa.LOTE, consultas, threads);
+        mede(lojaController, Faixa.INTERATIVA, consultas, threads);
+    }
+
+    private static void mede(final LojaController lojaController, final Faixa faixaConsultas, final int consultas,
+                             final int threads) throws Exception {
+        try (EscalonadorLoja escalonador = new EscalonadorLoja(threads, EscalonadorLoja.PESO_INTERATIVO_PADRAO)) {
+            List<CompletableFuture<?>> relatorios = new ArrayList<>();
+            long[] latencias = new long[consultas];
+            for (int i = 0; i < consultas; i++) {
+                if (i % 100 == 0) {
+                    relatorios.add(escalonador.submete(Faixa.LOTE, lojaController::getRelatorioUsuarios));
+                }
+                String login = "u" + (i % 1000);
+                long antes = System.nanoTime();
+                escalonador.submete(faixaConsultas, () -> lojaController.confereCredito(login)).get();
+                latencias[i] = System.nanoTime() - antes;
+            }
+            CompletableFuture.allOf(relatorios.toArray(new CompletableFuture<?>[0])).get();
+
+            Arrays.sort(latencias);
+            System.out.printf("%s\t\t%d\t\t%d\t\t%d%n", faixaConsultas, latencias[consultas / 2] / 1000,
+                    latencias[(int) (consultas * 0.99)] / 1000, relatorios.size());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package test.desempenho;
+
+import main.entidade.jogo.Jogo;
+import main.entidade.usuario.Usuario;
+import main.entidade.usuario.role.Noob;
+import main.entidade.usuario.role.Veterano;
+import main.factory.JogoFactory;
+import main.service.exportacao.ExportadoraUsuarios;
+import main.service.exportacao.FormatoExportacao;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Mede a exportação de usuários de {@link ExportadoraUsuarios} para arquivos, em cada formato, com e sem gzip. Um
+ * terço dos usuários não tem jogos; os demais têm um ou dois.
+ * <p>
+ * Uso: {@code java test.desempenho.BenchmarkExportacao [usuarios]}.
+ */
+public class BenchmarkExportacao {
+
+    public static void main(String[] args) throws Exception {
+        int qtdeUsuarios = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+
+        JogoFactory jogoFactory = new JogoFactory();
+        Jogo[] jogos = {jogoFactory.criaJogo("Tekken", 25, "luta", "online competitivo"),
+                jogoFactory.criaJogo("Mario", 30, "plataforma", "offline cooperativo"),
+                jogoFactory.criaJogo("Zelda", 59.9, "rpg", "offline")};
+        List<Usuario> usuarios = new ArrayList<>(qtdeUsuarios);
+        for (int i = 0; i < qtdeUsuarios; i++) {
+            Usuario usuario = new Usuario("Usuario " + i, "u" + i, new HashMap<>(),
+                    i % 2 == 0 ? new Noob() : new Veterano());
+            usuario.adicionaSaldo(i % 1000);
+            for (int j = 0; j < i % 3; j++) {
+                usuario.adicionaJogo(jogos[(i + j) % jogos.length]);
+            }
+            usuarios.add(usuario);
+        }
+
+        Path arquivo = Files.createTempFile("exportacao", ".tmp");
+        try {
+            for (int rodada = 0; rodada < 3; rodada++) {
+                for (FormatoExportacao formato : FormatoExportacao.values()) {
+                    for (boolean compacta : new boolean[]{false, true}) {
+                        String resumo = new ExportadoraUsuarios(formato).exporta(usuarios, arquivo, compacta)
+                                .toString();
+                        System.out.println(formato.getNome() + (compacta ? ".gz" : "") + " | " + resumo
+                                + " | Arquivo: " + Files.size(arquivo) + " bytes");
+                    }
+                }
+            }
+        } finally {
+            Files.delete(arquivo);
+        }
+    }
+}
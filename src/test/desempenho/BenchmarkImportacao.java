@@ -0,0 +1,65 @@
+package test.desempenho;
+
+import main.controller.LojaControllerImpl;
+import main.entidade.jogo.Jogo;
+import main.entidade.usuario.Usuario;
+import main.entidade.usuario.role.Noob;
+import main.entidade.usuario.role.Veterano;
+import main.factory.JogoFactory;
+import main.service.FormatadoraCentralP2Cg;
+import main.service.exportacao.ExportadoraUsuarios;
+import main.service.exportacao.FormatoExportacao;
+import main.service.importacao.ImportadoraUsuarios;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Mede a importação por {@link ImportadoraUsuarios} de um CSV gerado por {@link ExportadoraUsuarios}, com uma thread
+ * e com uma por processador, para mostrar quanto a leitura paralela acelera a importação.
+ * <p>
+ * Uso: {@code java test.desempenho.BenchmarkImportacao [usuarios]}.
+ */
+public class BenchmarkImportacao {
+
+    public static void main(String[] args) throws Exception {
+        int qtdeUsuarios = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int processadores = Runtime.getRuntime().availableProcessors();
+
+        JogoFactory jogoFactory = new JogoFactory();
+        Jogo[] jogos = {jogoFactory.criaJogo("Tekken", 25, "luta", "online competitivo"),
+                jogoFactory.criaJogo("Mario", 30, "plataforma", "offline cooperativo"),
+                jogoFactory.criaJogo("Zelda", 59.9, "rpg", "offline")};
+        List<Usuario> usuarios = new ArrayList<>(qtdeUsuarios);
+        for (int i = 0; i < qtdeUsuarios; i++) {
+            Usuario usuario = new Usuario("Usuario " + i, "u" + i, new HashMap<>(),
+                    i % 2 == 0 ? new Noob() : new Veterano());
+            usuario.adicionaSaldo(i % 1000);
+            for (int j = 0; j < i % 3; j++) {
+                usuario.importaJogo(jogos[(i + j) % jogos.length]);
+            }
+            usuarios.add(usuario);
+        }
+
+        Path arquivo = Files.createTempFile("importacao", ".csv");
+        try {
+            new ExportadoraUsuarios(FormatoExportacao.CSV).exporta(usuarios, arquivo, false);
+            usuarios = null;
+            System.out.println("Arquivo: " + Files.size(arquivo) + " bytes");
+            for (int rodada = 0; rodada < 3; rodada++) {
+                for (int threads : new int[]{1, processadores}) {
+                    LojaControllerImpl lojaController = new LojaControllerImpl(new HashMap<>(qtdeUsuarios * 2),
+                            new FormatadoraCentralP2Cg());
+                    String resumo = new ImportadoraUsuarios(threads, ImportadoraUsuarios.TAMANHO_PARTE_PADRAO)
+                            .importa(arquivo, lojaController).toString();
+                    System.out.println("Threads: " + threads + " | " + resumo);
+                }
+            }
+        } finally {
+            Files.delete(arquivo);
+        }
+    }
+}
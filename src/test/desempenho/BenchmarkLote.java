@@ -0,0 +1,74 @@
+package test.desempenho;
+
+import main.controller.LojaControllerImpl;
+import main.controller.lote.Compra;
+import main.controller.lote.Recarga;
+import main.controller.lote.StatusRegistro;
+import main.service.FormatadoraCentralP2Cg;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compara a vazão de recargas e compras aplicadas com chamadas individuais e com as operações em lote de
+ * {@link LojaControllerImpl}. Parte das compras falha, por saldo insuficiente ou por jogo já vendido.
+ * <p>
+ * Uso: {@code java test.desempenho.BenchmarkLote [usuarios] [registros]}.
+ */
+public class BenchmarkLote {
+
+    public static void main(String[] args) throws Exception {
+        int usuarios = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int registros = args.length > 1 ? Integer.parseInt(args[1]) : 500000;
+
+        Random aleatorio = new Random(42);
+        List<Recarga> recargas = new ArrayList<>();
+        List<Compra> compras = new ArrayList<>();
+        for (int i = 0; i < registros; i++) {
+            String login = "u" + aleatorio.nextInt(usuarios);
+            recargas.add(new Recarga(login, aleatorio.nextInt(20)));
+            compras.add(new Compra(login, "Jogo " + aleatorio.nextInt(200), aleatorio.nextInt(30),
+                    "online multiplayer", "rpg"));
+        }
+
+        System.out.println("Usuários: " + usuarios + " | Registros: " + registros);
+        for (int rodada = 0; rodada < 3; rodada++) {
+            LojaControllerImpl individual = cria(usuarios);
+            long inicio = System.nanoTime();
+            int aplicadas = 0;
+            for (Recarga recarga : recargas) {
+                individual.adicionarDinheiroUsuario(recarga.getLogin(), recarga.getQuantia());
+            }
+            for (Compra compra : compras) {
+                try {
+                    individual.vendeJogo(compra.getNomeJogo(), compra.getPreco(), compra.getJogabilidades(),
+                            compra.getEstiloJogo(), compra.getLogin());
+                    aplicadas++;
+                } catch (Exception e) {
+                    // Compra recusada.
+                }
+            }
+            long duracaoIndividual = System.nanoTime() - inicio;
+
+            LojaControllerImpl emLote = cria(usuarios);
+            inicio = System.nanoTime();
+            emLote.adicionaCreditos(recargas);
+            int aplicadasEmLote = StatusRegistro.contaAplicados(emLote.vendeJogos(compras));
+            long duracaoEmLote = System.nanoTime() - inicio;
+
+            System.out.printf("Individual: %.0f registros/s (%d compras) | Lote: %.0f registros/s (%d compras)%n",
+                    2 * registros * 1e9 / duracaoIndividual, aplicadas, 2 * registros * 1e9 / duracaoEmLote,
+                    aplicadasEmLote);
+        }
+    }
+
+    private static LojaControllerImpl cria(final int usuarios) throws Exception {
+        LojaControllerImpl lojaController = new LojaControllerImpl(new HashMap<>(), new FormatadoraCentralP2Cg());
+        for (int i = 0; i < usuarios; i++) {
+            lojaController.adicionaUsuario("Usuario " + i, "u" + i, "noob");
+        }
+        return lojaController;
+    }
+}
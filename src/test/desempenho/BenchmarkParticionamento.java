@@ -0,0 +1,85 @@
+package test.desempenho;
+
+import main.controller.LojaControllerParticionado;
+import main.service.FormatadoraCentralP2Cg;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Mede a vazão de {@code recompensar}/{@code punir} em {@link LojaControllerParticionado} com 1 a 32 partições.
+ * <p>
+ * Uso: {@code java test.desempenho.BenchmarkParticionamento [usuarios] [threadsClientes] [operacoesPorThread]}.
+ */
+public class BenchmarkParticionamento {
+
+    private static final int[] QTDES_PARTICOES = {1, 2, 4, 8, 16, 32};
+    private static final String JOGO = "Mega Man";
+
+    public static void main(String[] args) throws Exception {
+        int usuarios = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int clientes = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int operacoesPorCliente = args.length > 2 ? Integer.parseInt(args[2]) : 50000;
+
+        System.out.println("Usuários: " + usuarios + " | Clientes: " + clientes
+                + " | Operações por cliente: " + operacoesPorCliente);
+        System.out.println("Partições\tOperações/s");
+        for (int qtdeParticoes : QTDES_PARTICOES) {
+            try (LojaControllerParticionado loja = new LojaControllerParticionado(qtdeParticoes,
+                    new FormatadoraCentralP2Cg())) {
+                preenche(loja, usuarios);
+                executa(loja, usuarios, clientes, operacoesPorCliente / 10);
+                long duracao = executa(loja, usuarios, clientes, operacoesPorCliente);
+                double vazao = (double) clientes * operacoesPorCliente * 1_000_000_000L / duracao;
+                System.out.printf("%d\t\t%.0f%n", qtdeParticoes, vazao);
+            }
+        }
+    }
+
+    private static void preenche(final LojaControllerParticionado loja, final int usuarios) throws Exception {
+        for (int i = 0; i < usuarios; i++) {
+            String login = "u" + i;
+            loja.adicionaUsuario("Usuario " + i, login, "noob");
+            loja.adicionarDinheiroUsuario(login, 100);
+            loja.vendeJogo(JOGO, 10, "offline", "plataforma", login);
+        }
+    }
+
+    /**
+     * Executa {@code operacoesPorCliente} jogadas em cada uma de {@code clientes} threads.
+     *
+     * @return Duração, em nanossegundos.
+     */
+    private static long executa(final LojaControllerParticionado loja, final int usuarios, final int clientes,
+                                final int operacoesPorCliente) throws InterruptedException {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(clientes);
+        for (int c = 0; c < clientes; c++) {
+            final int cliente = c;
+            Thread thread = new Thread(() -> {
+                try {
+                    largada.await();
+                    for (int i = 0; i < operacoesPorCliente; i++) {
+                        String login = "u" + ((cliente * 7919 + i) % usuarios);
+                        if ((i & 1) == 0) {
+                            loja.recompensar(JOGO, login, i, false);
+                        } else {
+                            loja.punir(JOGO, login, i, false);
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - inicio;
+    }
+}
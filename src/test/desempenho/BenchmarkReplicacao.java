@@ -0,0 +1,87 @@
+package test.desempenho;
+
+import main.controller.LojaControllerImpl;
+import main.replicacao.LojaControllerPrimario;
+import main.replicacao.LojaReplica;
+import main.replicacao.ModoConfirmacao;
+import main.service.FormatadoraCentralP2Cg;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Mede a latência das escritas em {@link LojaControllerPrimario} sem réplicas e com réplicas, cada uma num processo
+ * local, nos modos {@link ModoConfirmacao#ASSINCRONO} e {@link ModoConfirmacao#SINCRONO}, e o atraso de replicação
+ * ao fim de cada rodada.
+ * <p>
+ * Uso: {@code java test.desempenho.BenchmarkReplicacao [escritas] [replicas]}.
+ */
+public class BenchmarkReplicacao {
+
+    private static final String JOGO = "Mega Man";
+
+    public static void main(String[] args) throws Exception {
+        int escritas = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int qtdeReplicas = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+
+        System.out.println("Escritas: " + escritas + " | Réplicas: " + qtdeReplicas);
+        System.out.println("Modo\t\tRéplicas\tEscritas/s\tp50 (µs)\tp99 (µs)\tAtraso final");
+        mede(ModoConfirmacao.ASSINCRONO, 0, escritas);
+        mede(ModoConfirmacao.ASSINCRONO, qtdeReplicas, escritas);
+        mede(ModoConfirmacao.SINCRONO, qtdeReplicas, escritas);
+    }
+
+    private static void mede(final ModoConfirmacao modo, final int qtdeReplicas, final int escritas)
+            throws Exception {
+        Process[] processos = new Process[qtdeReplicas];
+        try (LojaControllerPrimario primario = new LojaControllerPrimario(new LojaControllerImpl(new HashMap<>(),
+                new FormatadoraCentralP2Cg()), modo, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            for (int i = 0; i < qtdeReplicas; i++) {
+                processos[i] = iniciaReplica(primario.getPorta());
+            }
+            while (primario.getQtdeReplicas() < qtdeReplicas) {
+                Thread.sleep(1);
+            }
+
+            primario.adicionaUsuario("Mauro", "mauro", "noob");
+            primario.adicionarDinheiroUsuario("mauro", 100);
+            primario.vendeJogo(JOGO, 10, "offline", "plataforma", "mauro");
+
+            long[] latencias = new long[escritas];
+            long inicio = System.nanoTime();
+            for (int i = 0; i < escritas; i++) {
+                long antes = System.nanoTime();
+                primario.recompensar(JOGO, "mauro", i, false);
+                latencias[i] = System.nanoTime() - antes;
+            }
+            long duracao = System.nanoTime() - inicio;
+            long atraso = primario.getAtrasoReplicacao();
+
+            Arrays.sort(latencias);
+            System.out.printf("%s\t%d\t\t%.0f\t\t%d\t\t%d\t\t%d%n", modo, qtdeReplicas,
+                    escritas * 1e9 / duracao, latencias[escritas / 2] / 1000,
+                    latencias[(int) (escritas * 0.99)] / 1000, atraso);
+        } finally {
+            for (Process processo : processos) {
+                if (processo != null) {
+                    processo.destroy();
+                }
+            }
+        }
+    }
+
+    private static Process iniciaReplica(final int portaPrimario) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process processo = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                LojaReplica.class.getName(), InetAddress.getLoopbackAddress().getHostAddress(),
+                String.valueOf(portaPrimario)).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        new BufferedReader(new InputStreamReader(processo.getInputStream(), StandardCharsets.UTF_8)).readLine();
+        return processo;
+    }
+}
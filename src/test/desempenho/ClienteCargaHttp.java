@@ -0,0 +1,100 @@
+package test.desempenho;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cliente de carga para {@link main.http.ServidorHttpLoja}. Cria os usuários num único {@code POST /lote} e depois
+ * dispara, de várias threads com conexões keep-alive, jogadas e consultas de crédito, medindo vazão e latência.
+ * <p>
+ * Uso: {@code java test.desempenho.ClienteCargaHttp <urlBase> [usuarios] [clientes] [requisicoesPorCliente]}, por
+ * exemplo {@code http://127.0.0.1:8080}.
+ */
+public class ClienteCargaHttp {
+
+    private static final String JOGO = "Mega Man";
+
+    public static void main(String[] args) throws Exception {
+        String base = args[0];
+        int usuarios = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int clientes = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int requisicoesPorCliente = args.length > 3 ? Integer.parseInt(args[3]) : 5000;
+
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        System.out.println(preenche(http, base, usuarios));
+
+        long[][] latencias = new long[clientes][requisicoesPorCliente];
+        AtomicLong falhas = new AtomicLong();
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(clientes);
+        for (int c = 0; c < clientes; c++) {
+            final int cliente = c;
+            Thread thread = new Thread(() -> {
+                try {
+                    largada.await();
+                    for (int i = 0; i < requisicoesPorCliente; i++) {
+                        String login = "u" + ((cliente * 7919 + i) % usuarios);
+                        HttpRequest requisicao = (i & 3) == 3
+                                ? HttpRequest.newBuilder(URI.create(base + "/loja/confereCredito?login=" + login))
+                                .GET().build()
+                                : HttpRequest.newBuilder(URI.create(base + "/loja/recompensar?login=" + login
+                                + "&nomeJogo=Mega%20Man&scoreObtido=" + i + "&zerou=false"))
+                                .POST(HttpRequest.BodyPublishers.noBody()).build();
+                        long inicio = System.nanoTime();
+                        HttpResponse<String> resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofString());
+                        latencias[cliente][i] = System.nanoTime() - inicio;
+                        if (resposta.statusCode() != 200) {
+                            falhas.incrementAndGet();
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        long[] todas = new long[clientes * requisicoesPorCliente];
+        for (int c = 0; c < clientes; c++) {
+            System.arraycopy(latencias[c], 0, todas, c * requisicoesPorCliente, requisicoesPorCliente);
+        }
+        Arrays.sort(todas);
+        System.out.printf("Requisições: %d | Falhas: %d | Vazão: %.0f req/s | p50: %d µs | p99: %d µs%n",
+                todas.length, falhas.get(), todas.length * 1e9 / duracao,
+                todas[todas.length / 2] / 1000, todas[(int) (todas.length * 0.99)] / 1000);
+    }
+
+    /**
+     * Cria os usuários, com crédito e um jogo, num único lote.
+     *
+     * @return Resumo do lote devolvido pelo servidor.
+     */
+    private static String preenche(final HttpClient http, final String base, final int usuarios) throws Exception {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < usuarios; i++) {
+            script.append("criaUsuario nome=\"U").append(i).append("\" login=\"u").append(i)
+                    .append("\" tipoUsuario=\"noob\"\n");
+            script.append("adicionaCredito login=\"u").append(i).append("\" credito=100\n");
+            script.append("vendeJogo jogoNome=\"").append(JOGO).append("\" preco=10 jogabilidades=\"offline\" ")
+                    .append("estiloJogo=\"plataforma\" loginUser=\"u").append(i).append("\"\n");
+        }
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base + "/lote"))
+                .POST(HttpRequest.BodyPublishers.ofString(script.toString())).build();
+        return http.send(requisicao, HttpResponse.BodyHandlers.ofString()).body().trim();
+    }
+}
@@ -0,0 +1,220 @@
+package test.unidade.cluster;
+
+import main.cluster.ClienteNo;
+import main.cluster.NoLoja;
+import main.cluster.RoteadorLoja;
+import main.controller.LojaController;
+import main.controller.LojaControllerImpl;
+import main.exception.SaldoInsuficienteException;
+import main.exception.UsuarioInvalidoException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import test.util.TestUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Testes para {@link RoteadorLoja}, com cada {@link NoLoja} num processo local.
+ */
+public class RoteadorLojaTest {
+
+    private static final int QTDE_USUARIOS = 300;
+
+    private final List<Process> processos = new ArrayList<>();
+    private RoteadorLoja roteador;
+
+    @Before
+    public void setup() throws IOException {
+        roteador = new RoteadorLoja(TestUtils.getFormatadora());
+        roteador.adicionaNo("no-0", iniciaNo());
+        roteador.adicionaNo("no-1", iniciaNo());
+    }
+
+    @After
+    public void encerra() throws IOException {
+        roteador.close();
+        for (Process processo : processos) {
+            processo.destroy();
+        }
+    }
+
+    @Test
+    public void testaEquivalenciaComLojaControllerImpl() throws Exception {
+        LojaController simples = new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora());
+        TestUtils.preencheLoja(simples, QTDE_USUARIOS);
+        TestUtils.preencheLoja(roteador, QTDE_USUARIOS);
+
+        confere(simples);
+        Assert.assertEquals(QTDE_USUARIOS, roteador.getQuantidadeUsuarios());
+        double credito = 0;
+        for (int i = 0; i < QTDE_USUARIOS; i++) {
+            credito += simples.confereCredito("u" + i);
+        }
+        Assert.assertEquals(credito, roteador.getCreditoTotal(), 1e-6);
+    }
+
+    @Test
+    public void testaAdicaoDeNoMigraUsuarios() throws Exception {
+        LojaController simples = new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora());
+        TestUtils.preencheLoja(simples, QTDE_USUARIOS);
+        TestUtils.preencheLoja(roteador, QTDE_USUARIOS);
+
+        int migrados = roteador.adicionaNo("no-2", iniciaNo());
+        Assert.assertTrue(migrados > 0);
+        Assert.assertEquals(migrados, roteador.getQuantidadeUsuariosPorNo().get("no-2").intValue());
+        Assert.assertEquals(QTDE_USUARIOS, roteador.getQuantidadeUsuarios());
+        confere(simples);
+
+        roteador.adicionarDinheiroUsuario("u0", 5);
+        simples.adicionarDinheiroUsuario("u0", 5);
+        Assert.assertEquals(simples.confereCredito("u0"), roteador.confereCredito("u0"), 0.0);
+    }
+
+    @Test
+    public void testaFalhaNaMigracaoDesfazAdicaoDeNo() throws Exception {
+        LojaController simples = new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora());
+        TestUtils.preencheLoja(simples, QTDE_USUARIOS);
+        TestUtils.preencheLoja(roteador, QTDE_USUARIOS);
+        simples.adicionaUsuario("Novo", "novo", "veterano");
+        simples.adicionarDinheiroUsuario("novo", 42);
+
+        // A primeira inserção da migração falha depois que um usuário foi criado no nó novo, que não está entre os
+        // usuários a migrar e também precisa voltar ao anel anterior.
+        InetSocketAddress no = iniciaNo();
+        AtomicReference<Exception> falhaCriacao = new AtomicReference<>();
+        try (NoIntermitente intermitente = new NoIntermitente(no, () -> {
+            try (ClienteNo cliente = new ClienteNo(no)) {
+                cliente.adicionaUsuario("Novo", "novo", "veterano");
+                cliente.adicionarDinheiroUsuario("novo", 42);
+            } catch (Exception e) {
+                falhaCriacao.set(e);
+            }
+        })) {
+            try {
+                roteador.adicionaNo("no-2", intermitente.getEndereco());
+                Assert.fail();
+            } catch (UncheckedIOException e) {
+                // Esperada.
+            }
+        }
+        Assert.assertNull(falhaCriacao.get());
+        Assert.assertFalse(roteador.getQuantidadeUsuariosPorNo().containsKey("no-2"));
+        Assert.assertEquals(QTDE_USUARIOS + 1, roteador.getQuantidadeUsuarios());
+        Assert.assertEquals(42, roteador.confereCredito("novo"), 0.0);
+        confere(simples);
+
+        int migrados = roteador.adicionaNo("no-2", iniciaNo());
+        Assert.assertTrue(migrados > 0);
+        Assert.assertEquals(QTDE_USUARIOS + 1, roteador.getQuantidadeUsuarios());
+        confere(simples);
+    }
+
+    @Test
+    public void testaExcecoesRemotas() throws Exception {
+        roteador.adicionaUsuario("Mauro", "mauro", "noob");
+        try {
+            roteador.adicionaUsuario("Mauro", "mauro", "noob");
+            Assert.fail();
+        } catch (UsuarioInvalidoException e) {
+            Assert.assertEquals(LojaController.USUARIO_EXISTENTE, e.getMessage());
+        }
+        try {
+            roteador.vendeJogo("Tekken", 50, "online", "luta", "mauro");
+            Assert.fail();
+        } catch (SaldoInsuficienteException e) {
+            Assert.assertEquals(LojaController.SALDO_DE_USUARIO_INSUFICIENTE, e.getMessage());
+        }
+        Assert.assertFalse(roteador.adicionarDinheiroUsuario("ninguem", 1));
+    }
+
+    private void confere(final LojaController simples) throws Exception {
+        TestUtils.confereEquivalencia(simples, roteador, QTDE_USUARIOS);
+    }
+
+    private InetSocketAddress iniciaNo() throws IOException {
+        int porta = TestUtils.iniciaProcesso(processos, NoLoja.class, NoLoja.PRONTO, "0");
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), porta);
+    }
+
+    /**
+     * Repassa a um nó as conexões que recebe, exceto a primeira: quando chega a primeira requisição dela, executa
+     * {@code antesDaFalha} e fecha a conexão sem repassar a requisição.
+     */
+    private static class NoIntermitente implements Closeable {
+
+        private final ServerSocket servidor = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        private final List<Socket> conexoes = new CopyOnWriteArrayList<>();
+
+        NoIntermitente(final InetSocketAddress no, final Runnable antesDaFalha) throws IOException {
+            Thread aceitador = new Thread(() -> {
+                try {
+                    Socket primeira = servidor.accept();
+                    conexoes.add(primeira);
+                    inicia(() -> {
+                        primeira.getInputStream().read();
+                        antesDaFalha.run();
+                        primeira.close();
+                    });
+                    while (true) {
+                        Socket cliente = servidor.accept();
+                        Socket destino = new Socket(no.getAddress(), no.getPort());
+                        conexoes.add(cliente);
+                        conexoes.add(destino);
+                        inicia(() -> repassa(cliente, destino));
+                        inicia(() -> repassa(destino, cliente));
+                    }
+                } catch (IOException e) {
+                    // Servidor fechado ao fim do teste.
+                }
+            });
+            aceitador.setDaemon(true);
+            aceitador.start();
+        }
+
+        InetSocketAddress getEndereco() {
+            return (InetSocketAddress) servidor.getLocalSocketAddress();
+        }
+
+        @Override
+        public void close() throws IOException {
+            servidor.close();
+            for (Socket conexao : conexoes) {
+                conexao.close();
+            }
+        }
+
+        private static void repassa(final Socket origem, final Socket destino) throws IOException {
+            origem.getInputStream().transferTo(destino.getOutputStream());
+            destino.shutdownOutput();
+        }
+
+        private static void inicia(final Repasse repasse) {
+            Thread thread = new Thread(() -> {
+                try {
+                    repasse.executa();
+                } catch (IOException e) {
+                    // Conexão fechada por uma das pontas.
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private interface Repasse {
+            void executa() throws IOException;
+        }
+    }
+}
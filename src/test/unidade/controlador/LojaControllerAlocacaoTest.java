@@ -0,0 +1,83 @@
+package test.unidade.controlador;
+
+import main.controller.LojaController;
+import main.controller.LojaControllerImpl;
+import main.entidade.jogo.tipo.Luta;
+import main.entidade.jogo.tipo.Plataforma;
+import main.entidade.jogo.tipo.Rpg;
+import org.junit.Before;
+import org.junit.Test;
+import test.util.MedidorAlocacao;
+import test.util.TestUtils;
+
+/**
+ * Orçamentos de alocação por operação para {@link LojaControllerImpl}.
+ * Operações com orçamento menor que o menor objeto possível (16 bytes) devem ser livres de alocação.
+ */
+public class LojaControllerAlocacaoTest {
+
+    private static final long SEM_ALOCACAO = 15;
+    private static final long ORCAMENTO_VENDE_JOGO = 1024;
+    private static final long ORCAMENTO_ADICIONA_USUARIO = 256;
+
+    private static final int QTDE_NOMES = 40000;
+
+    private LojaController controlador;
+    private String[] nomes;
+
+    @Before
+    public void setup() throws Exception {
+        controlador = new LojaControllerImpl(TestUtils.getMapaUsuarios(), TestUtils.getFormatadora());
+        controlador.adicionarDinheiroUsuario("antonio", 1e12);
+        controlador.vendeJogo("Tekken", 25.00, "online offline competitivo", Luta.REPRESENTACAO_STRING, "antonio");
+        controlador.vendeJogo("Mario", 25.00, "cooperativo offline", Plataforma.REPRESENTACAO_STRING, "antonio");
+        controlador.vendeJogo("Zelda", 25.00, "online multiplayer", Rpg.REPRESENTACAO_STRING, "antonio");
+
+        nomes = new String[QTDE_NOMES];
+        for (int i = 0; i < QTDE_NOMES; i++) {
+            nomes[i] = "jogo" + i;
+        }
+    }
+
+    @Test
+    public void testaAlocacaoConfereCredito() throws Exception {
+        MedidorAlocacao.verificaOrcamento("confereCredito", SEM_ALOCACAO,
+                i -> controlador.confereCredito("antonio"));
+    }
+
+    @Test
+    public void testaAlocacaoGetX2pUsuario() throws Exception {
+        MedidorAlocacao.verificaOrcamento("getX2pUsuario", SEM_ALOCACAO,
+                i -> controlador.getX2pUsuario("antonio"));
+    }
+
+    @Test
+    public void testaAlocacaoAdicionarDinheiroUsuario() throws Exception {
+        MedidorAlocacao.verificaOrcamento("adicionarDinheiroUsuario", SEM_ALOCACAO,
+                i -> controlador.adicionarDinheiroUsuario("antonio", 1));
+    }
+
+    @Test
+    public void testaAlocacaoRecompensar() throws Exception {
+        MedidorAlocacao.verificaOrcamento("recompensar", SEM_ALOCACAO,
+                i -> controlador.recompensar("Tekken", "antonio", i, i % 2 == 0));
+    }
+
+    @Test
+    public void testaAlocacaoPunir() throws Exception {
+        MedidorAlocacao.verificaOrcamento("punir", SEM_ALOCACAO,
+                i -> controlador.punir("Mario", "antonio", i, i % 2 == 0));
+    }
+
+    @Test
+    public void testaAlocacaoVendeJogo() throws Exception {
+        MedidorAlocacao.verificaOrcamento("vendeJogo", ORCAMENTO_VENDE_JOGO,
+                i -> controlador.vendeJogo(nomes[i], 10.00, "online offline", Rpg.REPRESENTACAO_STRING, "antonio"));
+    }
+
+    @Test
+    public void testaAlocacaoAdicionaUsuario() throws Exception {
+        MedidorAlocacao.verificaOrcamento("adicionaUsuario", ORCAMENTO_ADICIONA_USUARIO,
+                i -> controlador.adicionaUsuario("Nome", nomes[i], "noob"));
+    }
+}
@@ -0,0 +1,156 @@
+package test.unidade.controlador;
+
+import main.controller.LojaController;
+import main.controller.LojaControllerAtores;
+import main.controller.LojaControllerImpl;
+import main.exception.JogoInvalidoException;
+import main.exception.UsuarioInvalidoException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import test.util.TestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Testes para {@link LojaControllerAtores}
+ */
+public class LojaControllerAtoresTest {
+
+    private static final int QTDE_USUARIOS = 8;
+    private static final int QTDE_CLIENTES = 8;
+    private static final int OPERACOES_POR_CLIENTE = 5000;
+    private static final int QTDE_JOGOS = 2000;
+
+    private LojaControllerAtores atores;
+
+    @Before
+    public void setup() {
+        atores = new LojaControllerAtores(TestUtils.getFormatadora(), Executors.newFixedThreadPool(4));
+    }
+
+    @After
+    public void encerra() {
+        atores.close();
+    }
+
+    @Test
+    public void testaOperacoesConcorrentesNoMesmoUsuario() throws Exception {
+        for (int i = 0; i < QTDE_USUARIOS; i++) {
+            atores.adicionaUsuario("Usuario " + i, "u" + i, "noob");
+        }
+
+        List<Thread> clientes = new ArrayList<>();
+        for (int c = 0; c < QTDE_CLIENTES; c++) {
+            final int cliente = c;
+            clientes.add(new Thread(() -> {
+                for (int i = 0; i < OPERACOES_POR_CLIENTE; i++) {
+                    atores.adicionarDinheiroUsuario("u" + ((cliente + i) % QTDE_USUARIOS), 1);
+                }
+            }));
+        }
+        for (Thread cliente : clientes) {
+            cliente.start();
+        }
+        for (Thread cliente : clientes) {
+            cliente.join();
+        }
+
+        double total = 0;
+        for (int i = 0; i < QTDE_USUARIOS; i++) {
+            total += atores.confereCredito("u" + i);
+        }
+        Assert.assertEquals(QTDE_CLIENTES * OPERACOES_POR_CLIENTE, total, 0.0);
+        Assert.assertEquals(QTDE_CLIENTES * OPERACOES_POR_CLIENTE / QTDE_USUARIOS, atores.confereCredito("u0"), 0.0);
+    }
+
+    @Test
+    public void testaRelatorioDuranteEscritas() throws Exception {
+        atores.adicionaUsuario("Mauro", "mauro", "veterano");
+        atores.adicionaUsuario("Ana", "ana", "noob");
+        atores.adicionarDinheiroUsuario("mauro", 1000000);
+
+        AtomicBoolean escrevendo = new AtomicBoolean(true);
+        AtomicReference<Throwable> falha = new AtomicReference<>();
+        Thread escritor = new Thread(() -> {
+            try {
+                for (int i = 0; i < QTDE_JOGOS; i++) {
+                    atores.vendeJogo("Jogo " + i, 1, "online", "luta", "mauro");
+                }
+            } catch (Exception e) {
+                falha.set(e);
+            } finally {
+                escrevendo.set(false);
+            }
+        });
+        escritor.start();
+        int relatorios = 0;
+        while (escrevendo.get()) {
+            // Cabeçalho, seguido dos dados e do total de cada um dos dois usuários.
+            Assert.assertEquals(5, atores.getRelatorioUsuarios().size());
+            relatorios++;
+        }
+        escritor.join();
+
+        Assert.assertNull(falha.get());
+        Assert.assertTrue(relatorios > 0);
+        Assert.assertEquals(1000000 - QTDE_JOGOS * 0.8, atores.confereCredito("mauro"), 1e-6);
+    }
+
+    @Test
+    public void testaRelatorioComMaisUsuariosQueCopiasPorVez() throws Exception {
+        int qtdeUsuarios = 3 * LojaControllerAtores.COPIAS_POR_VEZ + 1;
+        TestUtils.preencheLoja(atores, qtdeUsuarios);
+        LojaController simples = new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora());
+        TestUtils.preencheLoja(simples, qtdeUsuarios);
+
+        List<String> itens = new ArrayList<>();
+        atores.escreveRelatorioUsuarios(itens::add);
+        Assert.assertEquals(1 + 2 * qtdeUsuarios, itens.size());
+        Assert.assertEquals(TestUtils.ordena(simples.getRelatorioUsuarios()), TestUtils.ordena(itens));
+        TestUtils.confereEquivalencia(simples, atores, qtdeUsuarios);
+    }
+
+    @Test
+    public void testaCaixasOciosasSaoDescartadas() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            atores.adicionaUsuario("Usuario " + i, "u" + i, "veterano");
+        }
+        long limite = System.currentTimeMillis() + 5000;
+        while (atores.getQtdeCaixasAtivas() > 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(1);
+        }
+        Assert.assertEquals(0, atores.getQtdeCaixasAtivas());
+        Assert.assertEquals(1000, atores.getUsuarios().size());
+    }
+
+    @Test
+    public void testaResultadosEExcecoes() throws Exception {
+        atores.adicionaUsuario("Mauro", "mauro", "noob");
+        atores.adicionarDinheiroUsuario("mauro", 100);
+        atores.vendeJogo("Mega Man", 50, "offline", "plataforma", "mauro");
+        atores.recompensar("Mega Man", "mauro", 100, true);
+        Assert.assertEquals(55.0, atores.confereCredito("mauro"), 0.0);
+        Assert.assertEquals(550, atores.getX2pUsuario("mauro"));
+        Assert.assertFalse(atores.adicionarDinheiroUsuario(null, 1));
+
+        try {
+            atores.punir("Tekken", "mauro", 1, false);
+            Assert.fail();
+        } catch (JogoInvalidoException e) {
+            Assert.assertNotNull(e.getMessage());
+        }
+        try {
+            atores.confereCredito("ninguem");
+            Assert.fail();
+        } catch (UsuarioInvalidoException e) {
+            Assert.assertNotNull(e.getMessage());
+        }
+    }
+}
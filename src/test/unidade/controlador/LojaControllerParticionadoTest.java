@@ -0,0 +1,74 @@
+package test.unidade.controlador;
+
+import main.controller.LojaController;
+import main.controller.LojaControllerImpl;
+import main.controller.LojaControllerParticionado;
+import main.exception.JogoInvalidoException;
+import main.exception.SaldoInsuficienteException;
+import main.exception.UsuarioInvalidoException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import test.util.TestUtils;
+
+import java.util.HashMap;
+
+/**
+ * Testes para {@link LojaControllerParticionado}
+ */
+public class LojaControllerParticionadoTest {
+
+    private static final int QTDE_USUARIOS = 100;
+
+    private LojaControllerParticionado particionado;
+
+    @Before
+    public void setup() {
+        particionado = new LojaControllerParticionado(4, TestUtils.getFormatadora());
+    }
+
+    @After
+    public void encerra() {
+        particionado.close();
+    }
+
+    @Test
+    public void testaEquivalenciaComLojaControllerImpl() throws Exception {
+        LojaController simples = new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora());
+        TestUtils.preencheLoja(simples, QTDE_USUARIOS);
+        TestUtils.preencheLoja(particionado, QTDE_USUARIOS);
+
+        TestUtils.confereEquivalencia(simples, particionado, QTDE_USUARIOS);
+    }
+
+    @Test
+    public void testaAgregados() throws Exception {
+        TestUtils.preencheLoja(particionado, QTDE_USUARIOS);
+        Assert.assertEquals(QTDE_USUARIOS, particionado.getQuantidadeUsuarios());
+
+        double credito = 0;
+        for (int i = 0; i < QTDE_USUARIOS; i++) {
+            credito += particionado.confereCredito("u" + i);
+        }
+        Assert.assertEquals(credito, particionado.getCreditoTotal(), 1e-6);
+    }
+
+    @Test(expected = UsuarioInvalidoException.class)
+    public void testaUsuarioRepetido() throws UsuarioInvalidoException {
+        particionado.adicionaUsuario("Mauro", "mauro", "noob");
+        particionado.adicionaUsuario("Mauro", "mauro", "noob");
+    }
+
+    @Test(expected = SaldoInsuficienteException.class)
+    public void testaSaldoInsuficiente() throws Exception {
+        particionado.adicionaUsuario("Mauro", "mauro", "noob");
+        particionado.vendeJogo("Tekken", 50, "online", "luta", "mauro");
+    }
+
+    @Test(expected = JogoInvalidoException.class)
+    public void testaJogoInexistente() throws Exception {
+        particionado.adicionaUsuario("Mauro", "mauro", "noob");
+        particionado.recompensar("Tekken", "mauro", 10, false);
+    }
+}
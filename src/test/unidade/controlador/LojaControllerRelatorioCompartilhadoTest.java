@@ -0,0 +1,113 @@
+package test.unidade.controlador;
+
+import main.controller.LojaControllerImpl;
+import main.controller.LojaControllerRelatorioCompartilhado;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import test.util.TestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testes para {@link LojaControllerRelatorioCompartilhado}
+ */
+public class LojaControllerRelatorioCompartilhadoTest {
+
+    private static final int QTDE_LEITORES = 8;
+
+    private final AtomicInteger geracoes = new AtomicInteger();
+
+    private volatile CountDownLatch liberaGeracao = new CountDownLatch(0);
+
+    private LojaControllerImpl lojaControllerImpl;
+
+    @Before
+    public void setup() throws Exception {
+        lojaControllerImpl = new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora()) {
+            @Override
+            public List<String> getRelatorioUsuarios() {
+                geracoes.incrementAndGet();
+                try {
+                    liberaGeracao.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getRelatorioUsuarios();
+            }
+        };
+        lojaControllerImpl.adicionaUsuario("Mauro", "mauro", "noob");
+    }
+
+    @Test
+    public void testaChamadasConcorrentesCompartilhamUmaGeracao() throws Exception {
+        LojaControllerRelatorioCompartilhado compartilhado =
+                new LojaControllerRelatorioCompartilhado(lojaControllerImpl);
+        liberaGeracao = new CountDownLatch(1);
+
+        List<List<String>> relatorios = new ArrayList<>();
+        List<Thread> leitores = new ArrayList<>();
+        for (int i = 0; i < QTDE_LEITORES; i++) {
+            Thread leitor = new Thread(() -> {
+                List<String> relatorio = compartilhado.getRelatorioUsuarios();
+                synchronized (relatorios) {
+                    relatorios.add(relatorio);
+                }
+            });
+            leitores.add(leitor);
+            leitor.start();
+        }
+        while (compartilhado.getQtdeReaproveitamentos() < QTDE_LEITORES - 1) {
+            Thread.sleep(1);
+        }
+        liberaGeracao.countDown();
+        for (Thread leitor : leitores) {
+            leitor.join();
+        }
+
+        Assert.assertEquals(1, geracoes.get());
+        Assert.assertEquals(1, compartilhado.getQtdeGeracoes());
+        Assert.assertEquals(QTDE_LEITORES, relatorios.size());
+        for (List<String> relatorio : relatorios) {
+            Assert.assertSame(relatorios.get(0), relatorio);
+        }
+    }
+
+    @Test
+    public void testaEscritaInvalidaRelatorio() throws Exception {
+        LojaControllerRelatorioCompartilhado compartilhado =
+                new LojaControllerRelatorioCompartilhado(lojaControllerImpl);
+
+        List<String> antes = compartilhado.getRelatorioUsuarios();
+        Assert.assertSame(antes, compartilhado.getRelatorioUsuarios());
+        Assert.assertEquals(1, geracoes.get());
+
+        compartilhado.adicionaUsuario("Ana", "ana", "veterano");
+        List<String> depois = compartilhado.getRelatorioUsuarios();
+        Assert.assertEquals(2, geracoes.get());
+        Assert.assertEquals(lojaControllerImpl.getRelatorioUsuarios(), depois);
+        Assert.assertFalse(antes.equals(depois));
+    }
+
+    @Test
+    public void testaRelatorioReaproveitadoDentroDaJanela() throws Exception {
+        LojaControllerRelatorioCompartilhado compartilhado =
+                new LojaControllerRelatorioCompartilhado(lojaControllerImpl, 1, TimeUnit.HOURS);
+
+        List<String> antes = compartilhado.getRelatorioUsuarios();
+        compartilhado.adicionarDinheiroUsuario("mauro", 100);
+        Assert.assertSame(antes, compartilhado.getRelatorioUsuarios());
+        Assert.assertEquals(1, compartilhado.getQtdeGeracoes());
+        Assert.assertEquals(1, compartilhado.getQtdeReaproveitamentos());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testaRelatorioCompartilhadoNaoPodeSerAlterado() {
+        new LojaControllerRelatorioCompartilhado(lojaControllerImpl).getRelatorioUsuarios().clear();
+    }
+}
@@ -0,0 +1,153 @@
+package test.unidade.controlador;
+
+import main.controller.LojaController;
+import main.controller.LojaControllerImpl;
+import main.controller.LojaControllerRelatorioCompartilhado;
+import main.controller.LojaControllerStatus;
+import main.controller.StatusOperacao;
+import main.controller.lote.StatusRegistro;
+import main.exception.JogoInvalidoException;
+import main.exception.SaldoInsuficienteException;
+import main.exception.UsuarioInvalidoException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import test.util.TestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Testes para {@link LojaControllerStatus}
+ */
+public class LojaControllerStatusTest {
+
+    private LojaControllerImpl lojaControllerImpl;
+
+    @Before
+    public void setup() throws Exception {
+        lojaControllerImpl = new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora());
+        lojaControllerImpl.adicionaUsuario("Mauro", "mauro", "noob");
+        lojaControllerImpl.adicionarDinheiroUsuario("mauro", 100);
+    }
+
+    @Test
+    public void testaFalhasComunsSaoPreAlocadas() {
+        LojaControllerStatus status = LojaControllerStatus.de(lojaControllerImpl);
+        Assert.assertSame(lojaControllerImpl, status);
+
+        Assert.assertSame(StatusOperacao.USUARIO_EXISTENTE, status.adicionaUsuarioComStatus("Mauro", "mauro", "noob"));
+        Assert.assertSame(StatusOperacao.USUARIO_NAO_ENCONTRADO,
+                status.vendeJogoComStatus("Tekken", 10, "online", "luta", "ana"));
+        Assert.assertSame(StatusOperacao.SALDO_INSUFICIENTE,
+                status.vendeJogoComStatus("Tekken", 500, "online", "luta", "mauro"));
+        Assert.assertSame(StatusOperacao.OK, status.vendeJogoComStatus("Tekken", 10, "online", "luta", "mauro"));
+        Assert.assertSame(StatusOperacao.JOGO_JA_VENDIDO,
+                status.vendeJogoComStatus("Tekken", 10, "online", "luta", "mauro"));
+        Assert.assertSame(StatusOperacao.JOGO_NAO_ENCONTRADO, status.punirComStatus("Zelda", "mauro", 10, false));
+        Assert.assertSame(StatusOperacao.OK, status.recompensarComStatus("Tekken", "mauro", 10, true));
+        Assert.assertEquals(StatusRegistro.JOGO_INVALIDO, StatusOperacao.JOGO_JA_VENDIDO.getCodigo());
+    }
+
+    @Test
+    public void testaMensagensIguaisAsDasExcecoes() throws Exception {
+        lojaControllerImpl.vendeJogo("Tekken", 10, "online", "luta", "mauro");
+        verificaMesmaMensagem(lojaControllerImpl.vendeJogoComStatus("Mario", 10, "voar", "luta", "mauro"),
+                () -> lojaControllerImpl.vendeJogo("Mario", 10, "voar", "luta", "mauro"));
+        verificaMesmaMensagem(lojaControllerImpl.vendeJogoComStatus("Mario", 10, "online", "xadrez", "mauro"),
+                () -> lojaControllerImpl.vendeJogo("Mario", 10, "online", "xadrez", "mauro"));
+        verificaMesmaMensagem(lojaControllerImpl.vendeJogoComStatus("Tekken", 10, "online", "luta", "mauro"),
+                () -> lojaControllerImpl.vendeJogo("Tekken", 10, "online", "luta", "mauro"));
+        verificaMesmaMensagem(lojaControllerImpl.punirComStatus("Zelda", "mauro", 1, false),
+                () -> lojaControllerImpl.punir("Zelda", "mauro", 1, false));
+        verificaMesmaMensagem(lojaControllerImpl.upgradeComStatus("mauro"),
+                () -> lojaControllerImpl.upgrade("mauro"));
+        verificaMesmaMensagem(lojaControllerImpl.adicionaUsuarioComStatus("", "ana", "noob"),
+                () -> lojaControllerImpl.adicionaUsuario("", "ana", "noob"));
+    }
+
+    @Test
+    public void testaExcecoesCompartilhadasSemPilha() {
+        UsuarioInvalidoException primeira = capturaUsuarioInvalido("ana");
+        UsuarioInvalidoException segunda = capturaUsuarioInvalido("bia");
+        Assert.assertSame(primeira, segunda);
+        Assert.assertEquals(0, primeira.getStackTrace().length);
+
+        try {
+            lojaControllerImpl.vendeJogo("Tekken", 500, "online", "luta", "mauro");
+            Assert.fail();
+        } catch (SaldoInsuficienteException e) {
+            Assert.assertEquals(0, e.getStackTrace().length);
+        } catch (Exception e) {
+            Assert.fail(e.getMessage());
+        }
+        Assert.assertEquals(0, new JogoInvalidoException("Jogo inválido").getStackTrace().length);
+    }
+
+    @Test
+    public void testaConsultasComValorDeAusencia() {
+        Assert.assertEquals(100.0, lojaControllerImpl.confereCreditoOu("mauro", Double.NaN), 0.0);
+        Assert.assertTrue(Double.isNaN(lojaControllerImpl.confereCreditoOu("ana", Double.NaN)));
+        Assert.assertEquals(0, lojaControllerImpl.getX2pUsuarioOu("mauro", -1));
+        Assert.assertEquals(-1, lojaControllerImpl.getX2pUsuarioOu("ana", -1));
+    }
+
+    @Test
+    public void testaConsultasComStatus() {
+        List<Number> valores = new ArrayList<>();
+        Assert.assertSame(StatusOperacao.OK, lojaControllerImpl.confereCreditoComStatus("mauro", valores::add));
+        Assert.assertSame(StatusOperacao.OK, lojaControllerImpl.getX2pUsuarioComStatus("mauro", valores::add));
+        Assert.assertSame(StatusOperacao.USUARIO_NAO_ENCONTRADO,
+                lojaControllerImpl.confereCreditoComStatus("ana", valores::add));
+        Assert.assertSame(StatusOperacao.USUARIO_NAO_ENCONTRADO,
+                lojaControllerImpl.getX2pUsuarioComStatus("ana", valores::add));
+        Assert.assertEquals(Arrays.asList(100.0, 0), valores);
+    }
+
+    @Test
+    public void testaAdaptadorDeOutrosControllers() {
+        LojaController decorado = new LojaControllerRelatorioCompartilhado(lojaControllerImpl);
+        LojaControllerStatus status = LojaControllerStatus.de(decorado);
+        Assert.assertFalse(status == decorado);
+
+        Assert.assertSame(StatusOperacao.USUARIO_NAO_ENCONTRADO,
+                status.vendeJogoComStatus("Tekken", 10, "online", "luta", "ana"));
+        Assert.assertSame(StatusOperacao.OK, status.vendeJogoComStatus("Tekken", 10, "online", "luta", "mauro"));
+        Assert.assertSame(StatusOperacao.JOGO_JA_VENDIDO,
+                status.vendeJogoComStatus("Tekken", 10, "online", "luta", "mauro"));
+        StatusOperacao jogabilidadeInvalida = status.vendeJogoComStatus("Mario", 10, "voar", "luta", "mauro");
+        Assert.assertEquals(StatusRegistro.JOGO_INVALIDO, jogabilidadeInvalida.getCodigo());
+        Assert.assertFalse(jogabilidadeInvalida.isSucesso());
+        Assert.assertEquals(91.0, status.confereCreditoOu("mauro", Double.NaN), 0.0);
+        Assert.assertEquals(-1, status.getX2pUsuarioOu("ana", -1));
+        List<Number> valores = new ArrayList<>();
+        Assert.assertSame(StatusOperacao.OK, status.confereCreditoComStatus("mauro", valores::add));
+        Assert.assertSame(StatusOperacao.USUARIO_NAO_ENCONTRADO, status.getX2pUsuarioComStatus("ana", valores::add));
+        Assert.assertEquals(Arrays.asList(91.0), valores);
+    }
+
+    private UsuarioInvalidoException capturaUsuarioInvalido(final String login) {
+        try {
+            lojaControllerImpl.confereCredito(login);
+        } catch (UsuarioInvalidoException e) {
+            return e;
+        }
+        throw new AssertionError("Usuário " + login + " deveria ser inválido.");
+    }
+
+    private static void verificaMesmaMensagem(final StatusOperacao status, final Operacao operacao) {
+        Assert.assertFalse(status.isSucesso());
+        try {
+            operacao.executa();
+            Assert.fail("Operação deveria falhar com: " + status.getMensagem());
+        } catch (Exception e) {
+            Assert.assertEquals(e.getMessage(), status.getMensagem());
+        }
+    }
+
+    private interface Operacao {
+        void executa() throws Exception;
+    }
+}
@@ -0,0 +1,150 @@
+package test.unidade.controlador.escalonamento;
+
+import main.controller.LojaController;
+import main.controller.LojaControllerImpl;
+import main.controller.escalonamento.EscalonadorLoja;
+import main.controller.escalonamento.EstatisticasFaixa;
+import main.controller.escalonamento.Faixa;
+import main.controller.escalonamento.LojaControllerEscalonado;
+import main.controller.escalonamento.TarefaEmPartes;
+import main.exception.UsuarioInvalidoException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import test.util.TestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Testes para {@link EscalonadorLoja}
+ */
+public class EscalonadorLojaTest {
+
+    private final List<String> ordem = Collections.synchronizedList(new ArrayList<>());
+
+    private final CountDownLatch libera = new CountDownLatch(1);
+
+    private EscalonadorLoja escalonador;
+
+    @After
+    public void encerra() {
+        libera.countDown();
+        if (escalonador != null) {
+            escalonador.close();
+        }
+    }
+
+    @Test
+    public void testaPesoInterativo() throws Exception {
+        escalonador = new EscalonadorLoja(1, 4);
+        CountDownLatch ocupada = new CountDownLatch(1);
+        escalonador.submete(Faixa.INTERATIVA, () -> {
+            ocupada.countDown();
+            return libera.await(10, TimeUnit.SECONDS);
+        });
+        ocupada.await();
+        for (int i = 0; i < 3; i++) {
+            escalonador.submete(Faixa.LOTE, () -> ordem.add("L"));
+        }
+        for (int i = 0; i < 8; i++) {
+            escalonador.submete(Faixa.INTERATIVA, () -> ordem.add("I"));
+        }
+        libera.countDown();
+        escalonador.close();
+
+        Assert.assertEquals(Arrays.asList("I", "I", "I", "I", "L", "I", "I", "I", "I", "L", "L"), ordem);
+    }
+
+    @Test
+    public void testaTarefaEmPartesCedeAThread() throws Exception {
+        escalonador = new EscalonadorLoja(1, 4);
+        List<Integer> itens = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            itens.add(i);
+        }
+        CompletableFuture<Integer> processados = escalonador.submeteEmPartes(TarefaEmPartes.porItens(itens, 2,
+                item -> {
+                    ordem.add("L" + item);
+                    if (item == 0) {
+                        escalonador.submete(Faixa.INTERATIVA, () -> ordem.add("I"));
+                    }
+                }));
+
+        Assert.assertEquals(10, processados.get(10, TimeUnit.SECONDS).intValue());
+        Assert.assertEquals(11, ordem.size());
+        Assert.assertEquals("I", ordem.get(2));
+        Assert.assertEquals(5, escalonador.getEstatisticas(Faixa.LOTE).getQtdeExecucoes());
+    }
+
+    @Test
+    public void testaLoteNaoOcupaTodasAsThreads() throws Exception {
+        escalonador = new EscalonadorLoja(2, 4);
+        CountDownLatch ocupada = new CountDownLatch(1);
+        escalonador.submete(Faixa.LOTE, () -> {
+            ocupada.countDown();
+            return libera.await(10, TimeUnit.SECONDS);
+        });
+        escalonador.submete(Faixa.LOTE, () -> libera.await(10, TimeUnit.SECONDS));
+        ocupada.await();
+
+        Assert.assertEquals("ok", escalonador.submete(Faixa.INTERATIVA, () -> "ok").get(5, TimeUnit.SECONDS));
+        Assert.assertEquals(1, escalonador.getQtdePendentes(Faixa.LOTE));
+    }
+
+    @Test
+    public void testaEstatisticasEFalhas() throws Exception {
+        escalonador = new EscalonadorLoja(2, 4);
+        for (int i = 0; i < 100; i++) {
+            escalonador.submete(Faixa.INTERATIVA, () -> ordem.add("I")).get();
+        }
+        try {
+            escalonador.submete(Faixa.INTERATIVA, () -> {
+                throw new UsuarioInvalidoException(LojaController.USUARIO_NAO_ENCONTRADO);
+            }).get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof UsuarioInvalidoException);
+        }
+
+        EstatisticasFaixa estatisticas = escalonador.getEstatisticas(Faixa.INTERATIVA);
+        Assert.assertEquals(101, estatisticas.getQtdeExecucoes());
+        Assert.assertTrue(estatisticas.getEsperaP50Nanos() <= estatisticas.getEsperaP99Nanos());
+        Assert.assertTrue(estatisticas.getEsperaP99Nanos() <= estatisticas.getEsperaMaximaNanos());
+        Assert.assertEquals(0, escalonador.getEstatisticas(Faixa.LOTE).getQtdeExecucoes());
+
+        escalonador.close();
+        try {
+            escalonador.submete(Faixa.INTERATIVA, () -> null);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("O escalonador foi encerrado.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testaLojaControllerEscalonado() throws Exception {
+        escalonador = new EscalonadorLoja(1, 4);
+        LojaControllerImpl lojaControllerImpl = new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora());
+        LojaControllerEscalonado loja = new LojaControllerEscalonado(lojaControllerImpl, escalonador);
+
+        loja.adicionaUsuario("Mauro", "mauro", "noob");
+        loja.adicionarDinheiroUsuario("mauro", 100);
+        Assert.assertEquals(100.0, loja.confereCredito("mauro").get(), 0.0);
+        Assert.assertEquals(lojaControllerImpl.getRelatorioUsuarios(), loja.getRelatorioUsuarios().get());
+        try {
+            loja.getX2pUsuario("ana").get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertEquals(LojaController.USUARIO_NAO_ENCONTRADO, e.getCause().getMessage());
+        }
+        Assert.assertEquals(1, escalonador.getEstatisticas(Faixa.LOTE).getQtdeExecucoes());
+    }
+}
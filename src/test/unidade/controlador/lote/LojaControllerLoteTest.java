@@ -0,0 +1,259 @@
+package test.unidade.controlador.lote;
+
+import main.controller.LojaControllerImpl;
+import main.controller.lote.Compra;
+import main.controller.lote.ExecucaoPorUsuario;
+import main.controller.lote.Jogada;
+import main.controller.lote.LiquidacaoTorneio;
+import main.controller.lote.LojaControllerLote;
+import main.controller.lote.Recarga;
+import main.controller.lote.StatusRegistro;
+import main.exception.JogoInvalidoException;
+import main.exception.SaldoInsuficienteException;
+import main.exception.UsuarioInvalidoException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import test.util.TestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Testes para {@link LojaControllerLote}
+ */
+public class LojaControllerLoteTest {
+
+    private static final int QTDE_USUARIOS = 200;
+
+    private static final String[] ESTILOS = {"luta", "rpg", "plataforma", "corrida"};
+
+    private LojaControllerImpl emLote;
+
+    private LojaControllerImpl individual;
+
+    @Before
+    public void setup() throws Exception {
+        emLote = new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora());
+        individual = new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora());
+        for (int i = 0; i < QTDE_USUARIOS; i++) {
+            String tipo = i % 2 == 0 ? "noob" : "veterano";
+            emLote.adicionaUsuario("Usuario " + i, "u" + i, tipo);
+            individual.adicionaUsuario("Usuario " + i, "u" + i, tipo);
+        }
+    }
+
+    @Test
+    public void testaStatusDeCadaRegistro() {
+        byte[] recargas = emLote.adicionaCreditos(Arrays.asList(new Recarga("u0", 100), new Recarga("ana", 10)));
+        Assert.assertArrayEquals(new byte[]{StatusRegistro.OK, StatusRegistro.USUARIO_INVALIDO}, recargas);
+
+        byte[] compras = emLote.vendeJogos(Arrays.asList(
+                new Compra("u0", "Tekken", 50, "online", "luta"),
+                new Compra("u0", "Tekken", 10, "online", "luta"),
+                new Compra("u0", "Zelda", 80, "offline", "rpg"),
+                new Compra("u0", "Mario", 10, "offline", "corrida"),
+                new Compra("ana", "Mario", 10, "offline", "plataforma"),
+                new Compra(null, "Mario", 10, "offline", "plataforma")));
+        Assert.assertArrayEquals(new byte[]{StatusRegistro.OK, StatusRegistro.JOGO_INVALIDO,
+                StatusRegistro.SALDO_INSUFICIENTE, StatusRegistro.JOGO_INVALIDO, StatusRegistro.USUARIO_INVALIDO,
+                StatusRegistro.USUARIO_INVALIDO}, compras);
+        Assert.assertEquals(1, StatusRegistro.contaAplicados(compras));
+
+        byte[] jogadas = emLote.registraJogadas(Arrays.asList(new Jogada("u0", "Tekken", 100, true, true),
+                new Jogada("u0", "Zelda", 100, false, false)));
+        Assert.assertArrayEquals(new byte[]{StatusRegistro.OK, StatusRegistro.JOGO_INVALIDO}, jogadas);
+    }
+
+    @Test
+    public void testaRegistrosDeUmUsuarioAplicadosEmOrdem() throws Exception {
+        emLote.adicionaCreditos(Arrays.asList(new Recarga("u1", 10), new Recarga("u2", 20), new Recarga("u1", 30)));
+        Assert.assertEquals(40.0, emLote.confereCredito("u1"), 0.0);
+
+        byte[] compras = emLote.vendeJogos(Arrays.asList(new Compra("u1", "A", 50, "online", "luta"),
+                new Compra("u1", "B", 10, "online", "luta")));
+        Assert.assertArrayEquals(new byte[]{StatusRegistro.OK, StatusRegistro.SALDO_INSUFICIENTE}, compras);
+    }
+
+    @Test
+    public void testaEquivalenciaSequencial() throws Exception {
+        verificaEquivalencia(500);
+    }
+
+    @Test
+    public void testaEquivalenciaParalela() throws Exception {
+        verificaEquivalencia(ExecucaoPorUsuario.MINIMO_PARALELO * 4);
+    }
+
+    @Test
+    public void testaLiquidacaoTorneio() throws Exception {
+        for (int i = 0; i < QTDE_USUARIOS; i += 2) {
+            for (LojaControllerImpl lojaController : Arrays.asList(emLote, individual)) {
+                lojaController.adicionarDinheiroUsuario("u" + i, 100);
+                lojaController.vendeJogo("Zelda", 50, "offline multiplayer", "rpg", "u" + i);
+            }
+        }
+        int qtdeParticipantes = ExecucaoPorUsuario.MINIMO_PARALELO * 2;
+        Random aleatorio = new Random(46);
+        String[] logins = new String[qtdeParticipantes];
+        int[] scores = new int[qtdeParticipantes];
+        boolean[] zerados = new boolean[qtdeParticipantes];
+        boolean[] recompensas = new boolean[qtdeParticipantes];
+        for (int i = 0; i < qtdeParticipantes; i++) {
+            logins[i] = "u" + aleatorio.nextInt(QTDE_USUARIOS + 10);
+            scores[i] = aleatorio.nextInt(10000);
+            zerados[i] = aleatorio.nextBoolean();
+            recompensas[i] = aleatorio.nextInt(4) != 0;
+        }
+
+        LiquidacaoTorneio liquidacao = emLote.liquidaTorneio("Zelda", logins, scores, zerados, recompensas);
+
+        for (int i = 0; i < qtdeParticipantes; i++) {
+            String login = logins[i];
+            int x2pAnterior = individual.getX2pUsuarioOu(login, 0);
+            int indice = i;
+            byte esperado = status(() -> {
+                if (recompensas[indice]) {
+                    individual.recompensar("Zelda", login, scores[indice], zerados[indice]);
+                } else {
+                    individual.punir("Zelda", login, scores[indice], zerados[indice]);
+                }
+            });
+            Assert.assertEquals(esperado, liquidacao.getStatus()[i]);
+            int delta = esperado == StatusRegistro.OK ? individual.getX2pUsuario(login) - x2pAnterior : 0;
+            Assert.assertEquals(delta, liquidacao.getDeltasX2p()[i]);
+        }
+        Assert.assertTrue(liquidacao.getQtdeAplicados() > 0);
+        Assert.assertEquals(individual.getRelatorioUsuarios(), emLote.getRelatorioUsuarios());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testaLiquidacaoComVetoresDeTamanhosDiferentes() {
+        emLote.liquidaTorneio("Zelda", new String[]{"u0", "u1"}, new int[]{1, 2}, new boolean[2], new boolean[1]);
+    }
+
+    @Test
+    public void testaSessaoEquivaleAJogadasIndividuais() throws Exception {
+        String[][] jogos = {{"Tekken", "luta", "online competitivo"}, {"Zelda", "rpg", "offline multiplayer"},
+                {"Mario", "plataforma", "online cooperativo"}};
+        Random aleatorio = new Random(47);
+        for (int i = 0; i < 12; i++) {
+            String login = "u" + i;
+            String[] jogo = jogos[i % jogos.length];
+            boolean recompensa = i % 4 != 3;
+            for (LojaControllerImpl lojaController : Arrays.asList(emLote, individual)) {
+                lojaController.adicionarDinheiroUsuario(login, 100);
+                lojaController.vendeJogo(jogo[0], 10, jogo[2], jogo[1], login);
+            }
+            int[] scores = new int[500];
+            boolean[] zerados = new boolean[scores.length];
+            for (int j = 0; j < scores.length; j++) {
+                scores[j] = aleatorio.nextInt(j * 1000 + 1);
+                zerados[j] = aleatorio.nextBoolean();
+            }
+
+            Assert.assertEquals(StatusRegistro.OK, emLote.registraSessao(login, jogo[0], scores, zerados,
+                    recompensa));
+            for (int j = 0; j < scores.length; j++) {
+                if (recompensa) {
+                    individual.recompensar(jogo[0], login, scores[j], zerados[j]);
+                } else {
+                    individual.punir(jogo[0], login, scores[j], zerados[j]);
+                }
+            }
+            Assert.assertEquals(individual.getX2pUsuario(login), emLote.getX2pUsuario(login));
+        }
+        Assert.assertEquals(individual.getRelatorioUsuarios(), emLote.getRelatorioUsuarios());
+    }
+
+    @Test
+    public void testaStatusSessao() throws Exception {
+        int[] scores = {10, 20};
+        boolean[] zerados = {true, false};
+        Assert.assertEquals(StatusRegistro.USUARIO_INVALIDO, emLote.registraSessao("ana", "Zelda", scores, zerados,
+                true));
+        Assert.assertEquals(StatusRegistro.JOGO_INVALIDO, emLote.registraSessao("u0", "Zelda", scores, zerados,
+                true));
+        emLote.adicionarDinheiroUsuario("u0", 100);
+        emLote.vendeJogo("Zelda", 10, "offline", "rpg", "u0");
+        int x2p = emLote.getX2pUsuario("u0");
+        Assert.assertEquals(StatusRegistro.OK, emLote.registraSessao("u0", "Zelda", new int[0], new boolean[0],
+                true));
+        Assert.assertEquals(x2p, emLote.getX2pUsuario("u0"));
+    }
+
+    /**
+     * Aplica os mesmos registros aleatórios em lote e individualmente e compara os status, os créditos, os x2p e
+     * os relatórios.
+     */
+    private void verificaEquivalencia(final int qtdeRegistros) throws Exception {
+        Random aleatorio = new Random(qtdeRegistros);
+        List<Recarga> recargas = new ArrayList<>();
+        List<Compra> compras = new ArrayList<>();
+        List<Jogada> jogadas = new ArrayList<>();
+        for (int i = 0; i < qtdeRegistros; i++) {
+            String login = "u" + aleatorio.nextInt(QTDE_USUARIOS + 10);
+            String jogo = "Jogo " + aleatorio.nextInt(20);
+            recargas.add(new Recarga(login, aleatorio.nextInt(50)));
+            compras.add(new Compra(login, jogo, aleatorio.nextInt(40), "online multiplayer",
+                    ESTILOS[aleatorio.nextInt(ESTILOS.length)]));
+            jogadas.add(new Jogada(login, jogo, aleatorio.nextInt(10000), aleatorio.nextBoolean(),
+                    aleatorio.nextBoolean()));
+        }
+
+        byte[] statusRecargas = emLote.adicionaCreditos(recargas);
+        byte[] statusCompras = emLote.vendeJogos(compras);
+        byte[] statusJogadas = emLote.registraJogadas(jogadas);
+
+        for (int i = 0; i < qtdeRegistros; i++) {
+            Recarga recarga = recargas.get(i);
+            byte esperado = individual.adicionarDinheiroUsuario(recarga.getLogin(), recarga.getQuantia())
+                    ? StatusRegistro.OK : StatusRegistro.USUARIO_INVALIDO;
+            Assert.assertEquals(esperado, statusRecargas[i]);
+        }
+        for (int i = 0; i < qtdeRegistros; i++) {
+            Compra compra = compras.get(i);
+            Assert.assertEquals(status(() -> individual.vendeJogo(compra.getNomeJogo(), compra.getPreco(),
+                    compra.getJogabilidades(), compra.getEstiloJogo(), compra.getLogin())), statusCompras[i]);
+        }
+        for (int i = 0; i < qtdeRegistros; i++) {
+            Jogada jogada = jogadas.get(i);
+            Assert.assertEquals(status(() -> {
+                if (jogada.isRecompensa()) {
+                    individual.recompensar(jogada.getNomeJogo(), jogada.getLogin(), jogada.getScore(),
+                            jogada.isZerou());
+                } else {
+                    individual.punir(jogada.getNomeJogo(), jogada.getLogin(), jogada.getScore(), jogada.isZerou());
+                }
+            }), statusJogadas[i]);
+        }
+
+        for (int i = 0; i < QTDE_USUARIOS; i++) {
+            Assert.assertEquals(individual.confereCredito("u" + i), emLote.confereCredito("u" + i), 0.0);
+            Assert.assertEquals(individual.getX2pUsuario("u" + i), emLote.getX2pUsuario("u" + i));
+        }
+        Assert.assertEquals(individual.getRelatorioUsuarios(), emLote.getRelatorioUsuarios());
+    }
+
+    private static byte status(final Operacao operacao) {
+        try {
+            operacao.executa();
+            return StatusRegistro.OK;
+        } catch (UsuarioInvalidoException e) {
+            return StatusRegistro.USUARIO_INVALIDO;
+        } catch (JogoInvalidoException e) {
+            return StatusRegistro.JOGO_INVALIDO;
+        } catch (SaldoInsuficienteException e) {
+            return StatusRegistro.SALDO_INSUFICIENTE;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface Operacao {
+        void executa() throws Exception;
+    }
+}
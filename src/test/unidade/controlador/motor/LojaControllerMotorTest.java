@@ -0,0 +1,162 @@
+package test.unidade.controlador.motor;
+
+import main.controller.LojaControllerImpl;
+import main.controller.motor.ComandoMotor;
+import main.controller.motor.LojaControllerMotor;
+import main.controller.motor.OuvinteMotor;
+import main.exception.SaldoInsuficienteException;
+import main.exception.UsuarioInvalidoException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import test.util.TestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testes para {@link LojaControllerMotor}
+ */
+public class LojaControllerMotorTest {
+
+    private static final int QTDE_PRODUTORES = 4;
+    private static final int OPERACOES_POR_PRODUTOR = 20000;
+
+    private AtomicInteger aplicados;
+    private AtomicInteger lotes;
+    private AtomicInteger comandosEmLotes;
+    private LojaControllerMotor motor;
+
+    @Before
+    public void setup() {
+        aplicados = new AtomicInteger();
+        lotes = new AtomicInteger();
+        comandosEmLotes = new AtomicInteger();
+        OuvinteMotor ouvinte = new OuvinteMotor() {
+            @Override
+            public void aoAplicar(ComandoMotor comando) {
+                aplicados.incrementAndGet();
+            }
+
+            @Override
+            public void aoFimDoLote(int tamanho) {
+                lotes.incrementAndGet();
+                comandosEmLotes.addAndGet(tamanho);
+            }
+        };
+        motor = new LojaControllerMotor(new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora()),
+                64, 16, ouvinte);
+    }
+
+    @After
+    public void encerra() {
+        motor.close();
+    }
+
+    @Test
+    public void testaProdutoresConcorrentes() throws Exception {
+        for (int i = 0; i < QTDE_PRODUTORES; i++) {
+            motor.adicionaUsuario("Usuario " + i, "u" + i, "noob").get();
+        }
+
+        List<Thread> produtores = new ArrayList<>();
+        for (int i = 0; i < QTDE_PRODUTORES; i++) {
+            final String login = "u" + i;
+            produtores.add(new Thread(() -> {
+                CompletableFuture<Boolean> ultimo = null;
+                for (int j = 0; j < OPERACOES_POR_PRODUTOR; j++) {
+                    ultimo = motor.adicionarDinheiroUsuario(login, 1);
+                }
+                ultimo.join();
+            }));
+        }
+        for (Thread produtor : produtores) {
+            produtor.start();
+        }
+        for (Thread produtor : produtores) {
+            produtor.join();
+        }
+
+        for (int i = 0; i < QTDE_PRODUTORES; i++) {
+            Assert.assertEquals(OPERACOES_POR_PRODUTOR, motor.confereCredito("u" + i).get(), 0.0);
+        }
+        int total = QTDE_PRODUTORES * (OPERACOES_POR_PRODUTOR + 2);
+        Assert.assertEquals(total, aplicados.get());
+        Assert.assertEquals(total, comandosEmLotes.get());
+        Assert.assertTrue(lotes.get() >= total / 16);
+    }
+
+    @Test
+    public void testaResultados() throws Exception {
+        motor.adicionaUsuario("Mauro", "mauro", "noob").get();
+        Assert.assertTrue(motor.adicionarDinheiroUsuario("mauro", 100).get());
+        Assert.assertFalse(motor.adicionarDinheiroUsuario("ninguem", 100).get());
+        motor.vendeJogo("Mega Man", 50, "offline", "plataforma", "mauro").get();
+        motor.recompensar("Mega Man", "mauro", 100, true).get();
+        Assert.assertEquals(55.0, motor.confereCredito("mauro").get(), 0.0);
+        Assert.assertEquals(550, (int) motor.getX2pUsuario("mauro").get());
+        Assert.assertFalse(motor.getRelatorioUsuarios().get().isEmpty());
+    }
+
+    @Test
+    public void testaExcecoes() throws Exception {
+        motor.adicionaUsuario("Mauro", "mauro", "noob").get();
+        assertFalhaCom(UsuarioInvalidoException.class, motor.adicionaUsuario("Mauro", "mauro", "noob"));
+        assertFalhaCom(UsuarioInvalidoException.class, motor.confereCredito("ninguem"));
+        assertFalhaCom(SaldoInsuficienteException.class,
+                motor.vendeJogo("Mega Man", 50, "offline", "plataforma", "mauro"));
+
+        Assert.assertTrue(motor.adicionarDinheiroUsuario("mauro", 1).get());
+    }
+
+    @Test
+    public void testaEncerramentoComProdutoresAtivos() throws Exception {
+        motor.adicionaUsuario("Mauro", "mauro", "noob").get();
+        List<CompletableFuture<Boolean>> futuros = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger rejeitados = new AtomicInteger();
+        List<Thread> produtores = new ArrayList<>();
+        for (int i = 0; i < QTDE_PRODUTORES; i++) {
+            produtores.add(new Thread(() -> {
+                while (true) {
+                    try {
+                        futuros.add(motor.adicionarDinheiroUsuario("mauro", 1));
+                    } catch (IllegalStateException e) {
+                        rejeitados.incrementAndGet();
+                        return;
+                    }
+                }
+            }));
+        }
+        for (Thread produtor : produtores) {
+            produtor.start();
+        }
+        while (futuros.size() < 1000) {
+            Thread.yield();
+        }
+        motor.close();
+        for (Thread produtor : produtores) {
+            produtor.join();
+        }
+
+        Assert.assertEquals(QTDE_PRODUTORES, rejeitados.get());
+        for (CompletableFuture<Boolean> futuro : futuros) {
+            Assert.assertTrue(futuro.isDone());
+        }
+    }
+
+    private void assertFalhaCom(final Class<? extends Exception> esperada, final CompletableFuture<?> futuro)
+            throws InterruptedException {
+        try {
+            futuro.get();
+            Assert.fail("Era esperada " + esperada.getSimpleName());
+        } catch (ExecutionException e) {
+            Assert.assertEquals(esperada, e.getCause().getClass());
+        }
+    }
+}
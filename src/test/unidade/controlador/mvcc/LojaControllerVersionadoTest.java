@@ -0,0 +1,118 @@
+package test.unidade.controlador.mvcc;
+
+import main.controller.LojaController;
+import main.controller.LojaControllerImpl;
+import main.controller.mvcc.LojaControllerVersionado;
+import main.controller.mvcc.VisaoLoja;
+import main.entidade.jogo.Jogo;
+import main.entidade.usuario.Usuario;
+import main.exception.UsuarioInvalidoException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import test.util.TestUtils;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testes para {@link LojaControllerVersionado}
+ */
+public class LojaControllerVersionadoTest {
+
+    private static final int QTDE_USUARIOS = 100;
+
+    private LojaControllerVersionado versionado;
+
+    @Before
+    public void setup() {
+        versionado = new LojaControllerVersionado(TestUtils.getFormatadora());
+    }
+
+    @Test
+    public void testaEquivalenciaComLojaControllerImpl() throws Exception {
+        LojaController simples = new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora());
+        TestUtils.preencheLoja(simples, QTDE_USUARIOS);
+        TestUtils.preencheLoja(versionado, QTDE_USUARIOS);
+
+        TestUtils.confereEquivalencia(simples, versionado, QTDE_USUARIOS);
+    }
+
+    @Test
+    public void testaVisaoNaoEnxergaEscritasPosteriores() throws Exception {
+        versionado.adicionaUsuario("Mauro", "mauro", "noob");
+        versionado.adicionarDinheiroUsuario("mauro", 100);
+
+        try (VisaoLoja visao = versionado.abreVisao()) {
+            versionado.adicionarDinheiroUsuario("mauro", 50);
+            versionado.adicionaUsuario("Ana", "ana", "veterano");
+
+            Assert.assertEquals(100.0, visao.confereCredito("mauro"), 0.0);
+            Assert.assertEquals(150.0, versionado.confereCredito("mauro"), 0.0);
+            Assert.assertEquals(1, visao.getUsuarios().size());
+            try {
+                visao.confereCredito("ana");
+                Assert.fail();
+            } catch (UsuarioInvalidoException e) {
+                Assert.assertEquals(LojaController.USUARIO_NAO_ENCONTRADO, e.getMessage());
+            }
+        }
+        try (VisaoLoja visao = versionado.abreVisao()) {
+            Assert.assertEquals(2, visao.getUsuarios().size());
+        }
+    }
+
+    @Test
+    public void testaVisoesConsistentesSobEscritasConcorrentes() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            versionado.adicionaUsuario("Usuario " + i, "u" + i, "veterano");
+            versionado.adicionarDinheiroUsuario("u" + i, 1000);
+        }
+
+        AtomicBoolean escrevendo = new AtomicBoolean(true);
+        AtomicInteger visoesInconsistentes = new AtomicInteger();
+        Thread leitor = new Thread(() -> {
+            while (escrevendo.get()) {
+                try (VisaoLoja visao = versionado.abreVisao()) {
+                    for (Usuario usuario : visao.getUsuarios()) {
+                        double gasto = 0;
+                        for (Jogo jogo : usuario.getJogosComprados()) {
+                            gasto += jogo.getPreco() * (1 - usuario.getDesconto());
+                        }
+                        if (usuario.getCredito() + gasto != 1000) {
+                            visoesInconsistentes.incrementAndGet();
+                        }
+                    }
+                }
+            }
+        });
+        leitor.start();
+        for (int jogo = 0; jogo < 50; jogo++) {
+            for (int i = 0; i < 20; i++) {
+                versionado.vendeJogo("Jogo " + jogo, 10, "online", "luta", "u" + i);
+            }
+        }
+        escrevendo.set(false);
+        leitor.join();
+
+        Assert.assertEquals(0, visoesInconsistentes.get());
+        Assert.assertEquals(600.0, versionado.confereCredito("u0"), 0.0);
+        Assert.assertEquals(0, versionado.getQtdeVersoesRetidas());
+    }
+
+    @Test
+    public void testaVersoesAntigasSaoDescartadas() throws Exception {
+        versionado.adicionaUsuario("Mauro", "mauro", "noob");
+        VisaoLoja visao = versionado.abreVisao();
+        for (int i = 0; i < 100; i++) {
+            versionado.adicionarDinheiroUsuario("mauro", 1);
+        }
+        Assert.assertEquals(100, versionado.getQtdeVersoesRetidas());
+        Assert.assertEquals(0.0, visao.confereCredito("mauro"), 0.0);
+
+        visao.close();
+        Assert.assertEquals(0, versionado.getQtdeVersoesRetidas());
+        Assert.assertEquals(100.0, versionado.confereCredito("mauro"), 0.0);
+    }
+}
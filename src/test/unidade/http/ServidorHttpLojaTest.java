@@ -0,0 +1,149 @@
+package test.unidade.http;
+
+import main.controller.LojaControllerAtores;
+import main.controller.LojaControllerImpl;
+import main.http.ServidorHttpLoja;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import test.util.TestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Testes para {@link ServidorHttpLoja}
+ */
+public class ServidorHttpLojaTest {
+
+    private LojaControllerAtores lojaController;
+    private ServidorHttpLoja servidor;
+
+    @Before
+    public void setup() throws IOException {
+        lojaController = new LojaControllerAtores(TestUtils.getFormatadora());
+        servidor = new ServidorHttpLoja(lojaController, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        servidor.inicia();
+    }
+
+    @After
+    public void encerra() {
+        servidor.close();
+        lojaController.close();
+    }
+
+    @Test
+    public void testaOperacoes() throws IOException {
+        Assert.assertEquals(200, requisita("POST", "/loja/criaUsuario?nome=Mauro&login=mauro&tipoUsuario=noob",
+                null).status);
+        Assert.assertEquals(200, requisita("POST", "/loja/adicionaCredito", "login=mauro&credito=100").status);
+        Assert.assertEquals(200, requisita("POST", "/loja/vendeJogo",
+                "jogoNome=Mega+Man&preco=50&jogabilidades=offline&estiloJogo=plataforma&loginUser=mauro").status);
+        Assert.assertEquals(200, requisita("POST", "/loja/recompensar",
+                "login=mauro&nomeJogo=Mega%20Man&scoreObtido=100&zerou=true").status);
+
+        Assert.assertEquals("55.0", requisita("GET", "/loja/confereCredito?login=mauro", null).corpo);
+        Assert.assertEquals("550", requisita("GET", "/loja/getX2p?login=mauro", null).corpo);
+    }
+
+    @Test
+    public void testaErros() throws IOException {
+        Resposta resposta = requisita("GET", "/loja/confereCredito?login=ninguem", null);
+        Assert.assertEquals(422, resposta.status);
+        Assert.assertFalse(resposta.corpo.isEmpty());
+
+        Assert.assertEquals(405, requisita("GET", "/loja/adicionaCredito?login=mauro&credito=1", null).status);
+        Assert.assertEquals(404, requisita("GET", "/loja/inexistente", null).status);
+    }
+
+    @Test
+    public void testaRelatorioELote() throws IOException {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            script.append("criaUsuario nome=\"U").append(i).append("\" login=\"u").append(i)
+                    .append("\" tipoUsuario=\"veterano\"\n");
+            script.append("expect 0.0 confereCredito login=\"u").append(i).append("\"\n");
+        }
+        Resposta lote = requisita("POST", "/lote", script.toString());
+        Assert.assertEquals(200, lote.status);
+        Assert.assertTrue(lote.corpo, lote.corpo.startsWith("Comandos: 100 | Expectativas: 50 | "
+                + "Expectativas não atendidas: 0 | Erros: 0"));
+
+        Resposta relatorio = requisita("GET", "/loja/getRelatorioUsuarios", null);
+        Assert.assertEquals(200, relatorio.status);
+        Assert.assertTrue(relatorio.corpo.startsWith("=== Central P2-CG ==="));
+        for (int i = 0; i < 50; i++) {
+            Assert.assertTrue(relatorio.corpo.contains("U" + i + " - Veterano"));
+        }
+    }
+
+    @Test
+    public void testaRelatorioEnviadoAntesDeSerConcluido() throws Exception {
+        String primeiroItem = "x".repeat(1 << 16);
+        CountDownLatch liberado = new CountDownLatch(1);
+        LojaControllerImpl lento = new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora()) {
+            @Override
+            public void escreveRelatorioUsuarios(final Consumer<String> destino) {
+                destino.accept(primeiroItem);
+                try {
+                    liberado.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                destino.accept("fim");
+            }
+        };
+        try (ServidorHttpLoja servidorLento = new ServidorHttpLoja(lento,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            servidorLento.inicia();
+            URL url = new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), servidorLento.getPorta(),
+                    "/loja/getRelatorioUsuarios");
+            HttpURLConnection conexao = (HttpURLConnection) url.openConnection();
+            Assert.assertEquals(200, conexao.getResponseCode());
+            try (InputStream entrada = conexao.getInputStream()) {
+                // O primeiro item chega enquanto o controller ainda não entregou o segundo.
+                Assert.assertEquals(primeiroItem, new String(entrada.readNBytes(primeiroItem.length()),
+                        StandardCharsets.UTF_8));
+                liberado.countDown();
+                Assert.assertEquals("fim", new String(entrada.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private Resposta requisita(final String metodo, final String caminho, final String corpo) throws IOException {
+        URL url = new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), servidor.getPorta(), caminho);
+        HttpURLConnection conexao = (HttpURLConnection) url.openConnection();
+        conexao.setRequestMethod(metodo);
+        if (corpo != null) {
+            conexao.setDoOutput(true);
+            conexao.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+            try (OutputStream saida = conexao.getOutputStream()) {
+                saida.write(corpo.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        Resposta resposta = new Resposta();
+        resposta.status = conexao.getResponseCode();
+        InputStream entrada = resposta.status < 400 ? conexao.getInputStream() : conexao.getErrorStream();
+        resposta.corpo = entrada == null ? "" : new String(entrada.readAllBytes(), StandardCharsets.UTF_8).trim();
+        if (entrada != null) {
+            entrada.close();
+        }
+        return resposta;
+    }
+
+    private static class Resposta {
+        private int status;
+        private String corpo;
+    }
+}
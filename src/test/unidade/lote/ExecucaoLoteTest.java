@@ -0,0 +1,107 @@
+package test.unidade.lote;
+
+import main.controller.LojaController;
+import main.controller.LojaControllerImpl;
+import main.lote.Comando;
+import main.lote.ExecucaoLote;
+import main.lote.LeitorScript;
+import main.lote.ResumoLote;
+import main.lote.TipoComando;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import test.util.TestUtils;
+import util.io.Saida;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Testes para {@link LeitorScript} e {@link ExecucaoLote}
+ */
+public class ExecucaoLoteTest {
+
+    private static final String SCRIPT = "# comentario\n"
+            + "criaUsuario nome=\"Despoina\" login=\"despoina.solaris\" tipoUsuario=\"noob\"\n"
+            + "\n"
+            + "adicionaCredito login=\"despoina.solaris\" credito=1000\r\n"
+            + "vendeJogo jogoNome=\"Mario64\" preco=89 jogabilidades=\"offline multiplayer\" estiloJogo=\"rpg\" "
+            + "loginUser=\"despoina.solaris\"\n"
+            + "expect 919.9 confereCredito login=\"despoina.solaris\"\n"
+            + "expect 890 getX2p login=\"despoina.solaris\"\n"
+            + "expect 1 getX2p login=\"despoina.solaris\"\n"
+            + "adicionaCredito login=\"ninguem\" credito=10\n"
+            + "quit\n"
+            + "expect 0 getX2p login=\"despoina.solaris\"\n";
+
+    private Path arquivo;
+
+    @Before
+    public void setup() throws IOException {
+        arquivo = Files.createTempFile("lote", ".txt");
+        Files.write(arquivo, SCRIPT.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void limpa() throws IOException {
+        Files.deleteIfExists(arquivo);
+    }
+
+    @Test
+    public void testaLeituraScript() throws IOException {
+        Comando comando = new Comando();
+        try (LeitorScript leitor = new LeitorScript(arquivo, 160)) {
+            Assert.assertTrue(leitor.leProximo(comando));
+            Assert.assertEquals(TipoComando.CRIA_USUARIO, comando.getTipo());
+            Assert.assertEquals("Despoina", comando.getParametro(0));
+            Assert.assertEquals("despoina.solaris", comando.getLogin());
+            Assert.assertEquals(2, comando.getLinha());
+
+            Assert.assertTrue(leitor.leProximo(comando));
+            Assert.assertEquals(TipoComando.ADICIONA_CREDITO, comando.getTipo());
+            Assert.assertEquals("1000", comando.getParametro(1));
+
+            Assert.assertTrue(leitor.leProximo(comando));
+            Assert.assertEquals(TipoComando.VENDE_JOGO, comando.getTipo());
+            Assert.assertEquals("offline multiplayer", comando.getParametro(2));
+            Assert.assertEquals("despoina.solaris", comando.getLogin());
+
+            Assert.assertTrue(leitor.leProximo(comando));
+            Assert.assertEquals(TipoComando.CONFERE_CREDITO, comando.getTipo());
+            Assert.assertEquals("919.9", comando.getEsperado());
+
+            int restantes = 0;
+            while (leitor.leProximo(comando)) {
+                restantes++;
+            }
+            Assert.assertEquals(3, restantes);
+        }
+    }
+
+    @Test
+    public void testaExecucao() throws IOException {
+        final List<String> linhas = new ArrayList<>();
+        Saida saida = new Saida() {
+            @Override
+            public void escreve(String str) {
+                linhas.add(str);
+            }
+        };
+        LojaController controller = new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora());
+
+        ResumoLote resumo = new ExecucaoLote(controller, saida).executa(arquivo);
+
+        Assert.assertEquals(7, resumo.getComandos());
+        Assert.assertEquals(3, resumo.getExpectativas());
+        Assert.assertEquals(1, resumo.getFalhasExpectativa());
+        Assert.assertEquals(1, resumo.getErros());
+        Assert.assertEquals(2, linhas.size());
+        Assert.assertEquals("Linha 8: esperado <1>, mas foi <890>", linhas.get(0));
+    }
+}
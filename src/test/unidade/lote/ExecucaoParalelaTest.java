@@ -0,0 +1,96 @@
+package test.unidade.lote;
+
+import main.controller.LojaControllerImpl;
+import main.controller.ModoExecucao;
+import main.factory.LojaControllerFactory;
+import main.lote.ExecucaoLote;
+import main.lote.ExecucaoParalela;
+import main.lote.ResumoLote;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import test.util.TestUtils;
+import util.io.Saida;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testes para {@link ExecucaoParalela}
+ */
+public class ExecucaoParalelaTest {
+
+    private static final int QTDE_USUARIOS = 3000;
+
+    private Path arquivo;
+
+    @Before
+    public void setup() throws IOException {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < QTDE_USUARIOS; i++) {
+            script.append("criaUsuario nome=\"U").append(i).append("\" login=\"u").append(i)
+                    .append("\" tipoUsuario=\"noob\"\n");
+            script.append("adicionaCredito login=\"u").append(i).append("\" credito=").append(i * 3).append('\n');
+            script.append("vendeJogo jogoNome=\"Mega Man\" preco=30 jogabilidades=\"competitivo multiplayer\" ")
+                    .append("estiloJogo=\"plataforma\" loginUser=\"u").append(i).append("\"\n");
+        }
+        script.append("getRelatorioUsuarios\n");
+        for (int rodada = 0; rodada < 20; rodada++) {
+            for (int i = 0; i < QTDE_USUARIOS; i++) {
+                String acao = (i + rodada) % 3 == 0 ? "punir" : "recompensar";
+                script.append(acao).append(" login=\"u").append(i).append("\" nomeJogo=\"Mega Man\" scoreObtido=")
+                        .append(rodada * 100).append(" zerou=").append(rodada % 2 == 0).append('\n');
+            }
+        }
+        for (int i = 0; i < QTDE_USUARIOS; i++) {
+            script.append("getX2p login=\"u").append(i).append("\"\n");
+            script.append("expect 1 confereCredito login=\"u").append(i).append("\"\n");
+        }
+        arquivo = Files.createTempFile("lote", ".txt");
+        Files.write(arquivo, script.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void limpa() throws IOException {
+        Files.deleteIfExists(arquivo);
+    }
+
+    @Test
+    public void testaEquivalenciaComExecucaoSequencial() throws IOException {
+        List<String> saidaSequencial = new ArrayList<>();
+        LojaControllerImpl sequencial = criaLojaController();
+        ResumoLote resumoSequencial = new ExecucaoLote(sequencial, criaSaida(saidaSequencial)).executa(arquivo);
+
+        List<String> saidaParalela = new ArrayList<>();
+        LojaControllerImpl paralelo = criaLojaController();
+        ResumoLote resumoParalelo = new ExecucaoParalela(paralelo, criaSaida(saidaParalela), 4).executa(arquivo);
+
+        Assert.assertEquals(resumoSequencial.getComandos(), resumoParalelo.getComandos());
+        Assert.assertEquals(resumoSequencial.getFalhasExpectativa(), resumoParalelo.getFalhasExpectativa());
+        Assert.assertEquals(resumoSequencial.getErros(), resumoParalelo.getErros());
+        Assert.assertEquals(saidaSequencial, saidaParalela);
+        Assert.assertEquals(sequencial.getUsuarios().toString(), paralelo.getUsuarios().toString());
+    }
+
+    /**
+     * Cria o controller como {@link main.Main} o cria para um lote, sequencial ou paralelo.
+     */
+    private LojaControllerImpl criaLojaController() {
+        return (LojaControllerImpl) new LojaControllerFactory().criaLojaControllerLote(ModoExecucao.SIMPLES,
+                TestUtils.getFormatadora());
+    }
+
+    private Saida criaSaida(final List<String> linhas) {
+        return new Saida() {
+            @Override
+            public void escreve(String str) {
+                linhas.add(str);
+            }
+        };
+    }
+}
@@ -0,0 +1,181 @@
+package test.unidade.replicacao;
+
+import main.controller.LojaController;
+import main.controller.LojaControllerImpl;
+import main.exception.SaldoInsuficienteException;
+import main.replicacao.LojaControllerPrimario;
+import main.replicacao.LojaReplica;
+import main.replicacao.ModoConfirmacao;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import test.util.TestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Testes para {@link LojaControllerPrimario} e {@link LojaReplica}
+ */
+public class LojaControllerPrimarioTest {
+
+    private static final int QTDE_USUARIOS = 100;
+
+    private LojaControllerPrimario primario;
+    private LojaReplica replica;
+    private final List<Process> processos = new ArrayList<>();
+
+    @After
+    public void encerra() throws IOException {
+        if (replica != null) {
+            replica.close();
+        }
+        for (Process processo : processos) {
+            processo.destroy();
+        }
+        primario.close();
+    }
+
+    @Test
+    public void testaReplicacaoSincrona() throws Exception {
+        primario = criaPrimario(ModoConfirmacao.SINCRONO);
+        replica = new LojaReplica(enderecoPrimario(), TestUtils.getFormatadora());
+        TestUtils.preencheLoja(primario, QTDE_USUARIOS);
+
+        Assert.assertEquals(primario.getUltimaSequencia(), replica.getUltimaSequencia());
+        Assert.assertEquals(0, primario.getAtrasoReplicacao());
+        TestUtils.confereEquivalencia(primario, replica, QTDE_USUARIOS);
+    }
+
+    @Test
+    public void testaReplicacaoAssincronaComCopiaInicial() throws Exception {
+        primario = criaPrimario(ModoConfirmacao.ASSINCRONO);
+        primario.adicionaUsuario("Mauro", "mauro", "noob");
+        primario.adicionarDinheiroUsuario("mauro", 100);
+
+        replica = new LojaReplica(enderecoPrimario(), TestUtils.getFormatadora());
+        Assert.assertEquals(100.0, replica.confereCredito("mauro"), 0.0);
+
+        TestUtils.preencheLoja(primario, QTDE_USUARIOS);
+        Assert.assertTrue(replica.aguardaSequencia(primario.getUltimaSequencia(), 5000));
+        TestUtils.confereEquivalencia(primario, replica, QTDE_USUARIOS);
+        Assert.assertEquals(primario.getRelatorioUsuarios(), replica.getRelatorioUsuarios());
+    }
+
+    @Test
+    public void testaFalhasSaoReproduzidasEReplicaSomenteLeitura() throws Exception {
+        primario = criaPrimario(ModoConfirmacao.SINCRONO);
+        replica = new LojaReplica(enderecoPrimario(), TestUtils.getFormatadora());
+        primario.adicionaUsuario("Mauro", "mauro", "noob");
+        try {
+            primario.vendeJogo("Tekken", 50, "online", "luta", "mauro");
+            Assert.fail();
+        } catch (SaldoInsuficienteException e) {
+            Assert.assertEquals(LojaController.SALDO_DE_USUARIO_INSUFICIENTE, e.getMessage());
+        }
+        Assert.assertEquals(0.0, replica.confereCredito("mauro"), 0.0);
+
+        try {
+            replica.adicionarDinheiroUsuario("mauro", 10);
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            Assert.assertEquals(LojaReplica.SOMENTE_LEITURA, e.getMessage());
+        }
+
+        LojaControllerImpl promovido = replica.promove();
+        Assert.assertTrue(promovido.adicionarDinheiroUsuario("mauro", 10));
+
+        long limite = System.currentTimeMillis() + 5000;
+        while (primario.getQtdeReplicas() > 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(1);
+        }
+        Assert.assertEquals(0, primario.getQtdeReplicas());
+        primario.adicionarDinheiroUsuario("mauro", 10);
+    }
+
+    @Test
+    public void testaReplicaEmOutroProcesso() throws Exception {
+        primario = criaPrimario(ModoConfirmacao.ASSINCRONO);
+        int portaHttp = TestUtils.iniciaProcesso(processos, LojaReplica.class, LojaReplica.PRONTO,
+                InetAddress.getLoopbackAddress().getHostAddress(), String.valueOf(primario.getPorta()));
+        long limite = System.currentTimeMillis() + 5000;
+        while (primario.getQtdeReplicas() == 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(1);
+        }
+        Assert.assertEquals(1, primario.getQtdeReplicas());
+
+        TestUtils.preencheLoja(primario, QTDE_USUARIOS);
+        while (primario.getAtrasoReplicacao() > 0 && System.currentTimeMillis() < limite + 5000) {
+            Thread.sleep(1);
+        }
+        Assert.assertEquals(0, primario.getAtrasoReplicacao());
+
+        for (int i = 0; i < QTDE_USUARIOS; i += 7) {
+            String login = "u" + i;
+            Assert.assertEquals(String.valueOf(primario.getX2pUsuario(login)),
+                    requisita(portaHttp, "GET", "/loja/getX2p?login=" + login));
+        }
+        Assert.assertEquals(LojaReplica.SOMENTE_LEITURA,
+                requisita(portaHttp, "POST", "/loja/adicionaCredito?login=u0&credito=1"));
+    }
+
+    @Test
+    public void testaReplicaQueNaoLeNaoBloqueiaEscritasEEDescartada() throws Exception {
+        primario = new LojaControllerPrimario(new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora()),
+                ModoConfirmacao.ASSINCRONO, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 16);
+        // Nomes longos, para que a cópia inicial não caiba nos buffers da conexão.
+        String sufixo = new String(new char[10000]).replace('\0', 'x');
+        for (int i = 0; i < 2000; i++) {
+            primario.adicionaUsuario("Usuario " + i + sufixo, "u" + i, "noob");
+        }
+
+        try (Socket parada = new Socket()) {
+            parada.connect(enderecoPrimario());
+            long limite = System.currentTimeMillis() + 5000;
+            while (primario.getQtdeReplicas() == 0 && System.currentTimeMillis() < limite) {
+                Thread.sleep(1);
+            }
+            Assert.assertEquals(1, primario.getQtdeReplicas());
+
+            primario.adicionaUsuario("Mauro", "mauro", "noob");
+            int depositos = 0;
+            while (depositos < 100 && primario.getQtdeReplicas() > 0) {
+                primario.adicionarDinheiroUsuario("mauro", 1);
+                depositos++;
+            }
+            Assert.assertEquals(0, primario.getQtdeReplicas());
+            // A fila de 16 mutações enche com o cadastro e 15 depósitos; o depósito seguinte descarta a réplica.
+            Assert.assertEquals(16, depositos);
+            Assert.assertNotNull(primario.getUltimaFalha());
+            Assert.assertEquals(depositos, primario.confereCredito("mauro"), 0.0);
+        }
+    }
+
+    private LojaControllerPrimario criaPrimario(final ModoConfirmacao modo) throws IOException {
+        return new LojaControllerPrimario(new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora()), modo,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    private InetSocketAddress enderecoPrimario() {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), primario.getPorta());
+    }
+
+    private String requisita(final int porta, final String metodo, final String caminho) throws IOException {
+        URL url = new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), porta, caminho);
+        HttpURLConnection conexao = (HttpURLConnection) url.openConnection();
+        conexao.setRequestMethod(metodo);
+        InputStream entrada = conexao.getResponseCode() < 400 ? conexao.getInputStream() : conexao.getErrorStream();
+        try (InputStream corpo = entrada) {
+            return new String(corpo.readAllBytes(), StandardCharsets.UTF_8).trim();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package test.unidade.service;
+
+import main.entidade.jogo.Jogo;
+import main.entidade.usuario.Usuario;
+import main.entidade.usuario.role.Noob;
+import main.exception.JogoInvalidoException;
+import main.exception.UsuarioInvalidoException;
+import main.service.EstimadoraMemoria;
+import main.service.RelatorioMemoria;
+import org.junit.Assert;
+import org.junit.Test;
+import test.util.TestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Testes para {@link EstimadoraMemoria}
+ */
+public class EstimadoraMemoriaTest {
+
+    @Test
+    public void testaAmostragemIncremental() throws UsuarioInvalidoException {
+        List<Usuario> usuarios = TestUtils.getUsuarios();
+        EstimadoraMemoria estimadora = new EstimadoraMemoria(usuarios);
+
+        Assert.assertEquals(2, estimadora.amostra(2));
+        Assert.assertEquals(2, estimadora.getRelatorio().getUsuariosAmostrados());
+        Assert.assertEquals(3, estimadora.amostra(10));
+        Assert.assertEquals(5, estimadora.getRelatorio().getUsuariosAmostrados());
+    }
+
+    @Test
+    public void testaPassadasNaoSaoSomadas() throws UsuarioInvalidoException {
+        List<Usuario> usuarios = TestUtils.getUsuarios();
+        EstimadoraMemoria estimadora = new EstimadoraMemoria(usuarios);
+        estimadora.amostra(usuarios.size());
+        RelatorioMemoria primeiraPassada = estimadora.getRelatorio();
+        estimadora.amostra(2);
+        estimadora.amostra(usuarios.size());
+
+        Assert.assertEquals(usuarios.size(), estimadora.getRelatorio().getUsuariosAmostrados());
+        Assert.assertEquals(primeiraPassada.getTotalEstimado(), estimadora.getRelatorio().getTotalEstimado());
+    }
+
+    @Test
+    public void testaAmostragemRestritaAThreadDona() throws Exception {
+        EstimadoraMemoria estimadora = new EstimadoraMemoria(TestUtils.getUsuarios());
+        ConcurrentHashMap<String, Usuario> indice = new ConcurrentHashMap<>();
+        for (Usuario usuario : TestUtils.getUsuarios()) {
+            indice.put(usuario.getLogin(), usuario);
+        }
+        EstimadoraMemoria concorrente = new EstimadoraMemoria(indice);
+        AtomicReference<Exception> erro = new AtomicReference<>();
+        Thread outra = new Thread(() -> {
+            try {
+                estimadora.amostra(1);
+            } catch (IllegalStateException e) {
+                erro.set(e);
+            }
+            concorrente.amostra(indice.size());
+        });
+        outra.start();
+        outra.join();
+
+        Assert.assertNotNull(erro.get());
+        Assert.assertEquals(indice.size(), concorrente.getRelatorio().getUsuariosAmostrados());
+    }
+
+    @Test
+    public void testaJogosAumentamEstimativa() throws UsuarioInvalidoException, JogoInvalidoException {
+        List<Usuario> usuarios = TestUtils.getUsuarios();
+        EstimadoraMemoria estimadora = new EstimadoraMemoria(usuarios);
+        estimadora.amostra(usuarios.size());
+        RelatorioMemoria semJogos = estimadora.getRelatorio();
+
+        Usuario usuario = new Usuario("Joao", "joao", new HashMap<>(), new Noob());
+        usuario.adicionaSaldo(10000);
+        for (Jogo jogo : TestUtils.getJogos().values()) {
+            usuario.adicionaJogo(jogo);
+        }
+        usuarios.add(usuario);
+        estimadora.amostra(usuarios.size());
+        RelatorioMemoria comJogos = estimadora.getRelatorio();
+
+        Assert.assertEquals(0, semJogos.getBytesPorJogo(), 0);
+        Assert.assertTrue(comJogos.getBytesPorJogo() > 0);
+        Assert.assertTrue(comJogos.getBytesPorJogabilidades() > 0);
+        Assert.assertTrue(comJogos.getBytesPorUsuarioCompleto() > semJogos.getBytesPorUsuarioCompleto());
+    }
+
+    @Test
+    public void testaExtrapolacao() throws UsuarioInvalidoException {
+        List<Usuario> usuarios = TestUtils.getUsuarios();
+        EstimadoraMemoria estimadora = new EstimadoraMemoria(usuarios);
+        estimadora.amostra(usuarios.size());
+        RelatorioMemoria relatorio = estimadora.getRelatorio();
+
+        Assert.assertEquals(relatorio.getTotalEstimado(), relatorio.extrapola(usuarios.size()));
+        Assert.assertTrue(relatorio.extrapola(1000000) > 100 * relatorio.extrapola(1000));
+    }
+}
@@ -0,0 +1,36 @@
+package test.unidade.service;
+
+import main.entidade.jogo.Jogo;
+import main.entidade.usuario.Usuario;
+import main.service.Formatadora;
+import main.service.FormatadoraCentralP2Cg;
+import org.junit.Test;
+import test.util.MedidorAlocacao;
+import test.util.TestUtils;
+
+import java.util.List;
+
+/**
+ * Orçamento de alocação para o relatório gerado por {@link FormatadoraCentralP2Cg}.
+ */
+public class FormatadoraAlocacaoTest {
+
+    private static final long ORCAMENTO_RELATORIO_POR_USUARIO = 1024;
+    private static final long ORCAMENTO_RELATORIO_POR_JOGO = 1536;
+
+    @Test
+    public void testaAlocacaoFormataDadosUsuario() throws Exception {
+        Formatadora formatadora = new FormatadoraCentralP2Cg();
+        List<Usuario> usuarios = TestUtils.getUsuarios();
+        Usuario antonio = usuarios.get(0);
+        antonio.adicionaSaldo(10000);
+        for (Jogo jogo : TestUtils.getJogos().values()) {
+            antonio.adicionaJogo(jogo);
+        }
+        long orcamento = ORCAMENTO_RELATORIO_POR_USUARIO * usuarios.size()
+                + ORCAMENTO_RELATORIO_POR_JOGO * antonio.getJogosComprados().size();
+
+        MedidorAlocacao.verificaOrcamento("formataDadosUsuario", orcamento,
+                i -> formatadora.formataDadosUsuario(usuarios));
+    }
+}
@@ -30,27 +30,27 @@ public class FormatadoraCentralP2CgTest {
                 "antonio" + System.lineSeparator() +
                 "Antonio - Veterano" + System.lineSeparator() + System.lineSeparator() +
                 "Lista de Jogos:" + System.lineSeparator() +
-                "Total de preço dos jogos: 0,00" + System.lineSeparator() + System.lineSeparator() +
+                "Total de preço dos jogos: 0.00" + System.lineSeparator() + System.lineSeparator() +
                 "--------------------------------------------" + System.lineSeparator() +
                 "joao" + System.lineSeparator() +
                 "Joao - Veterano" + System.lineSeparator() + System.lineSeparator() +
                 "Lista de Jogos:" + System.lineSeparator() +
-                "Total de preço dos jogos: 0,00" + System.lineSeparator() + System.lineSeparator() +
+                "Total de preço dos jogos: 0.00" + System.lineSeparator() + System.lineSeparator() +
                 "--------------------------------------------" + System.lineSeparator() +
                 "pedro" + System.lineSeparator() +
                 "Pedro - Veterano" + System.lineSeparator() + System.lineSeparator() +
                 "Lista de Jogos:" + System.lineSeparator() +
-                "Total de preço dos jogos: 0,00" + System.lineSeparator() + System.lineSeparator() +
+                "Total de preço dos jogos: 0.00" + System.lineSeparator() + System.lineSeparator() +
                 "--------------------------------------------" + System.lineSeparator() +
                 "mauro" + System.lineSeparator() +
                 "Mauro - Noob" + System.lineSeparator() + System.lineSeparator() +
                 "Lista de Jogos:" + System.lineSeparator() +
-                "Total de preço dos jogos: 0,00" + System.lineSeparator() + System.lineSeparator() +
+                "Total de preço dos jogos: 0.00" + System.lineSeparator() + System.lineSeparator() +
                 "--------------------------------------------" + System.lineSeparator() +
                 "jose" + System.lineSeparator() +
                 "Jose - Noob" + System.lineSeparator() + System.lineSeparator() +
                 "Lista de Jogos:" + System.lineSeparator() +
-                "Total de preço dos jogos: 0,00" + System.lineSeparator() + System.lineSeparator() +
+                "Total de preço dos jogos: 0.00" + System.lineSeparator() + System.lineSeparator() +
                 "--------------------------------------------" + System.lineSeparator(), resultado);
     }
 }
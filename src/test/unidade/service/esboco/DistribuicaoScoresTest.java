@@ -0,0 +1,69 @@
+package test.unidade.service.esboco;
+
+import main.controller.LojaControllerImpl;
+import main.service.esboco.DistribuicaoScores;
+import main.service.esboco.EsbocoQuantis;
+import org.junit.Assert;
+import org.junit.Test;
+import test.util.TestUtils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Testes para {@link DistribuicaoScores}
+ */
+public class DistribuicaoScoresTest {
+
+    @Test
+    public void testaPercentisDasJogadas() throws Exception {
+        DistribuicaoScores distribuicao = new DistribuicaoScores();
+        LojaControllerImpl lojaController = new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora(),
+                distribuicao);
+        lojaController.adicionaUsuario("Ana", "ana", "noob");
+        lojaController.adicionarDinheiroUsuario("ana", 500);
+        lojaController.vendeJogo("Street Fighter", 50, "online", "luta", "ana");
+        int[] scores = new int[100];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = (i + 1) * 100;
+        }
+        lojaController.registraSessao("ana", "Street Fighter", scores, new boolean[scores.length], true);
+        lojaController.punir("Street Fighter", "ana", 0, false);
+
+        Assert.assertEquals(9000, distribuicao.getPercentil("Street Fighter", 0.9), 9000 * 0.01);
+        Assert.assertEquals(0, distribuicao.getPercentil("Street Fighter", 0), 0.0);
+        Assert.assertEquals(10000, distribuicao.getPercentil("Street Fighter", 1), 0.0);
+        Assert.assertEquals(51.0 / 101, distribuicao.getPosicao("Street Fighter", 5000), 0.0);
+        Assert.assertEquals(0.0, distribuicao.getPosicao("Street Fighter", -1), 0.0);
+        Assert.assertEquals(0.0, distribuicao.getPosicao("Tekken", 5000), 0.0);
+        Assert.assertEquals(101, distribuicao.getEsboco("Street Fighter").getQuantidade());
+    }
+
+    @Test
+    public void testaPrecisaoRelativaEMescla() {
+        Random aleatorio = new Random(42);
+        int[] scores = new int[20000];
+        EsbocoQuantis primeiro = new EsbocoQuantis();
+        EsbocoQuantis segundo = new EsbocoQuantis();
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = (int) (Math.exp(aleatorio.nextDouble() * 15)) - 50;
+            (i % 2 == 0 ? primeiro : segundo).registra(scores[i]);
+        }
+        primeiro.mescla(segundo);
+        Arrays.sort(scores);
+
+        for (double quantil : new double[]{0.01, 0.25, 0.5, 0.9, 0.99}) {
+            int exato = scores[(int) (quantil * (scores.length - 1))];
+            Assert.assertEquals(exato, primeiro.quantil(quantil), Math.abs(exato) * 0.01 + 1e-9);
+        }
+        Assert.assertEquals(scores.length, primeiro.getQuantidade());
+        Assert.assertEquals(scores[0], primeiro.getMinimo());
+        Assert.assertEquals(scores[scores.length - 1], primeiro.getMaximo());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testaPercentilDeJogoNuncaJogado() {
+        new DistribuicaoScores().getPercentil("Tekken", 0.5);
+    }
+}
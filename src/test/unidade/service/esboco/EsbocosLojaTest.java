@@ -0,0 +1,105 @@
+package test.unidade.service.esboco;
+
+import main.controller.LojaControllerImpl;
+import main.controller.OuvinteLoja;
+import main.entidade.jogo.Jogabilidade;
+import main.service.esboco.EsbocosLoja;
+import main.service.esboco.Frequencia;
+import main.service.esboco.HyperLogLog;
+import main.service.esboco.MaisFrequentes;
+import org.junit.Assert;
+import org.junit.Test;
+import test.util.TestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Testes para {@link EsbocosLoja}
+ */
+public class EsbocosLojaTest {
+
+    @Test
+    public void testaDistintosPorJogoEJogabilidade() throws Exception {
+        EsbocosLoja esbocos = new EsbocosLoja();
+        LojaControllerImpl lojaController = new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora(),
+                OuvinteLoja.todos(esbocos, OuvinteLoja.NENHUM));
+        for (String login : new String[]{"ana", "bob", "caio"}) {
+            lojaController.adicionaUsuario(login, login, "noob");
+            lojaController.adicionarDinheiroUsuario(login, 500);
+            lojaController.vendeJogo("Tekken", 50, "online multiplayer", "luta", login);
+        }
+        lojaController.vendeJogo("Zelda", 100, "offline", "rpg", "ana");
+        for (int i = 0; i < 3; i++) {
+            lojaController.recompensar("Tekken", "ana", 10, false);
+        }
+        lojaController.punir("Tekken", "bob", 10, false);
+
+        Assert.assertEquals(3, esbocos.getDonosDistintos("Tekken"));
+        Assert.assertEquals(2, esbocos.getJogadoresDistintos("Tekken"));
+        Assert.assertEquals(1, esbocos.getDonosDistintos("Zelda"));
+        Assert.assertEquals(0, esbocos.getJogadoresDistintos("Zelda"));
+        Assert.assertEquals(0, esbocos.getDonosDistintos("Doom"));
+        Assert.assertEquals(3, esbocos.getDonosDistintos(Jogabilidade.MULTIPLAYER));
+        Assert.assertEquals(1, esbocos.getDonosDistintos(Jogabilidade.OFFLINE));
+        Assert.assertEquals(2, esbocos.getJogadoresDistintos(Jogabilidade.ONLINE));
+        Assert.assertEquals(0, esbocos.getJogadoresDistintos(Jogabilidade.OFFLINE));
+        Assert.assertEquals("[Tekken: 3, Zelda: 1]", esbocos.getMaisVendidos().toString());
+        Assert.assertEquals("[Tekken: 4]", esbocos.getMaisJogados().toString());
+        Assert.assertEquals(4, esbocos.getJogadasEstimadas("Tekken"));
+    }
+
+    @Test
+    public void testaEstimativaEMesclaDeDistintos() {
+        HyperLogLog primeiro = new HyperLogLog();
+        HyperLogLog segundo = new HyperLogLog();
+        for (int i = 0; i < 20000; i++) {
+            primeiro.adiciona("usuario" + i);
+            segundo.adiciona("usuario" + (i + 10000));
+        }
+        long estimativa = primeiro.estimativa();
+        for (int i = 0; i < 20000; i++) {
+            primeiro.adiciona("usuario" + i);
+        }
+
+        Assert.assertEquals(estimativa, primeiro.estimativa());
+        Assert.assertEquals(20000, estimativa, 20000 * 0.05);
+        primeiro.mescla(segundo);
+        Assert.assertEquals(30000, primeiro.estimativa(), 30000 * 0.05);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testaMesclaDePrecisoesDiferentes() {
+        new HyperLogLog(10).mescla(new HyperLogLog(12));
+    }
+
+    @Test
+    public void testaMaisFrequentesEMescla() {
+        MaisFrequentes primeiro = new MaisFrequentes(3, 256, 4);
+        MaisFrequentes segundo = new MaisFrequentes(3, 256, 4);
+        for (int i = 0; i < 1000; i++) {
+            MaisFrequentes destino = i % 2 == 0 ? primeiro : segundo;
+            destino.adiciona("jogo" + i, 1);
+            if (i % 2 == 0) {
+                destino.adiciona("Tekken", 1);
+            }
+            if (i % 4 == 0) {
+                destino.adiciona("Zelda", 1);
+            }
+            if (i % 5 == 0) {
+                segundo.adiciona("Doom", 1);
+            }
+        }
+        primeiro.mescla(segundo);
+
+        List<Frequencia> maisFrequentes = primeiro.getMaisFrequentes();
+        Assert.assertEquals(3, maisFrequentes.size());
+        String[] esperados = {"Tekken", "Zelda", "Doom"};
+        long[] reais = {500, 250, 200};
+        for (int i = 0; i < esperados.length; i++) {
+            Assert.assertEquals(esperados[i], maisFrequentes.get(i).getChave());
+            Assert.assertTrue(maisFrequentes.get(i).getEstimativa() >= reais[i]);
+            Assert.assertTrue(maisFrequentes.get(i).getEstimativa() <= reais[i] + 40);
+        }
+    }
+}
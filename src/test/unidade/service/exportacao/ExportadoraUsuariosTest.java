@@ -0,0 +1,112 @@
+package test.unidade.service.exportacao;
+
+import main.entidade.usuario.Usuario;
+import main.entidade.usuario.role.Noob;
+import main.entidade.usuario.role.Veterano;
+import main.factory.JogoFactory;
+import main.service.exportacao.ExportadoraUsuarios;
+import main.service.exportacao.FormatoExportacao;
+import main.service.exportacao.ResumoExportacao;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Testes para {@link ExportadoraUsuarios}
+ */
+public class ExportadoraUsuariosTest {
+
+    private Usuario ana;
+
+    private Usuario bob;
+
+    @Before
+    public void setup() throws Exception {
+        ana = new Usuario("Ana", "ana", new LinkedHashMap<>(), new Noob());
+        ana.adicionaSaldo(100);
+        ana.adicionaJogo(new JogoFactory().criaJogo("Street, Fighter", 20, "luta", "online competitivo"));
+        ana.recompensar("Street, Fighter", 3000, true);
+        bob = new Usuario("Bob \"B\"\t🎮", "bob", new LinkedHashMap<>(), new Veterano());
+    }
+
+    @Test
+    public void testaCsv() throws Exception {
+        String esperado = "login,nome,papel,credito,x2p,jogo,tipo,preco,jogabilidades,vezes_jogadas,vezes_zerado,"
+                + "maior_score\n"
+                + "ana,Ana,Noob,82.00," + ana.getX2p() + ",\"Street, Fighter\",Luta,20.00,Online Competitivo,1,1,3000\n"
+                + "bob,\"Bob \"\"B\"\"\t🎮\",Veterano,0.00," + bob.getX2p() + ",,,,,,,\n";
+        Assert.assertEquals(esperado, exporta(FormatoExportacao.CSV, Arrays.asList(ana, bob)));
+    }
+
+    @Test
+    public void testaJsonLinhas() throws Exception {
+        String esperado = "{\"login\":\"ana\",\"nome\":\"Ana\",\"papel\":\"Noob\",\"credito\":82.00,\"x2p\":"
+                + ana.getX2p() + ",\"jogos\":[{\"nome\":\"Street, Fighter\",\"tipo\":\"Luta\",\"preco\":20.00,"
+                + "\"jogabilidades\":[\"Online\",\"Competitivo\"],\"vezesJogadas\":1,\"vezesZerado\":1,"
+                + "\"maiorScore\":3000}]}\n"
+                + "{\"login\":\"bob\",\"nome\":\"Bob \\\"B\\\"\\t🎮\",\"papel\":\"Veterano\",\"credito\":0.00,\"x2p\":"
+                + bob.getX2p() + ",\"jogos\":[]}\n";
+        Assert.assertEquals(esperado, exporta(FormatoExportacao.JSON_LINHAS, Arrays.asList(ana, bob)));
+    }
+
+    @Test
+    public void testaArquivoCompactadoComBufferPequeno() throws Exception {
+        List<Usuario> usuarios = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            usuarios.add(i % 2 == 0 ? ana : bob);
+        }
+        String esperado = exporta(FormatoExportacao.JSON_LINHAS, usuarios);
+
+        Path arquivo = Files.createTempFile("exportacao", ".jsonl.gz");
+        try {
+            ResumoExportacao resumo = new ExportadoraUsuarios(FormatoExportacao.JSON_LINHAS, 64)
+                    .exporta(usuarios, arquivo, true);
+            Assert.assertEquals(1000, resumo.getUsuarios());
+            Assert.assertEquals(500, resumo.getJogos());
+            Assert.assertEquals(esperado.getBytes(StandardCharsets.UTF_8).length, resumo.getBytes());
+            Assert.assertTrue(Files.size(arquivo) < resumo.getBytes());
+
+            ByteArrayOutputStream descompactado = new ByteArrayOutputStream();
+            try (InputStream entrada = new GZIPInputStream(Files.newInputStream(arquivo))) {
+                byte[] bloco = new byte[4096];
+                for (int lidos = entrada.read(bloco); lidos > 0; lidos = entrada.read(bloco)) {
+                    descompactado.write(bloco, 0, lidos);
+                }
+            }
+            Assert.assertEquals(esperado, new String(descompactado.toByteArray(), StandardCharsets.UTF_8));
+        } finally {
+            Files.delete(arquivo);
+        }
+    }
+
+    @Test
+    public void testaArquivoSemCompactacao() throws Exception {
+        Path arquivo = Files.createTempFile("exportacao", ".csv");
+        try {
+            Files.write(arquivo, new byte[100000]);
+            new ExportadoraUsuarios(FormatoExportacao.CSV).exporta(Arrays.asList(ana, bob), arquivo, false);
+            Assert.assertEquals(exporta(FormatoExportacao.CSV, Arrays.asList(ana, bob)),
+                    new String(Files.readAllBytes(arquivo), StandardCharsets.UTF_8));
+        } finally {
+            Files.delete(arquivo);
+        }
+    }
+
+    private static String exporta(final FormatoExportacao formato, final List<Usuario> usuarios) throws Exception {
+        ByteArrayOutputStream destino = new ByteArrayOutputStream();
+        new ExportadoraUsuarios(formato, 16).exporta(usuarios, Channels.newChannel(destino));
+        return new String(destino.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
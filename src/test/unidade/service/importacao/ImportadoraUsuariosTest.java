@@ -0,0 +1,197 @@
+package test.unidade.service.importacao;
+
+import main.controller.LojaController;
+import main.controller.LojaControllerImpl;
+import main.entidade.usuario.Usuario;
+import main.entidade.usuario.role.Noob;
+import main.entidade.usuario.role.Veterano;
+import main.factory.JogoFactory;
+import main.service.exportacao.ExportadoraUsuarios;
+import main.service.exportacao.FormatoExportacao;
+import main.service.importacao.ImportadoraUsuarios;
+import main.service.importacao.Rejeicao;
+import main.service.importacao.ResumoImportacao;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import test.util.TestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Testes para {@link ImportadoraUsuarios}
+ */
+public class ImportadoraUsuariosTest {
+
+    private Path arquivo;
+
+    private Map<String, Usuario> usuarios;
+
+    private LojaControllerImpl lojaController;
+
+    @Before
+    public void setup() throws IOException {
+        arquivo = Files.createTempFile("importacao", ".csv");
+        usuarios = new HashMap<>();
+        lojaController = new LojaControllerImpl(usuarios, TestUtils.getFormatadora());
+    }
+
+    @After
+    public void encerra() throws IOException {
+        Files.deleteIfExists(arquivo);
+    }
+
+    @Test
+    public void testaImportacao() throws Exception {
+        escreve("papel,extra,nome,login,credito,jogo,tipo,preco,jogabilidades",
+                "noob,x,Ana,ana,100.50,\"Street, Fighter\",luta,20,online competitivo",
+                "noob,x,Ana,ana,100.50,Zelda,rpg,59.90,Offline",
+                "",
+                "Veterano,x,\"Bob \"\"B\"\"\",bob,,,,,\r",
+                "noob,x,Caio,caio,7,Mario,plataforma,30,offline");
+
+        ResumoImportacao resumo = new ImportadoraUsuarios(2, 1).importa(arquivo, lojaController);
+
+        Assert.assertEquals(4, resumo.getLinhas());
+        Assert.assertEquals(3, resumo.getUsuarios());
+        Assert.assertEquals(3, resumo.getJogos());
+        Assert.assertEquals(0, resumo.getQtdeRejeitadas());
+        Assert.assertEquals(100.5, lojaController.confereCredito("ana"), 0.0);
+        Assert.assertEquals(new Noob().getX2pInicial(), lojaController.getX2pUsuario("ana"));
+        Assert.assertTrue(usuarios.get("ana").possuiJogo("Street, Fighter"));
+        Assert.assertTrue(usuarios.get("ana").possuiJogo("Zelda"));
+        Assert.assertEquals("Bob \"B\"", usuarios.get("bob").getNome());
+        Assert.assertEquals(0.0, lojaController.confereCredito("bob"), 0.0);
+        Assert.assertTrue(usuarios.get("bob").getJogosComprados().isEmpty());
+        Assert.assertTrue(usuarios.get("caio").possuiJogo("Mario"));
+    }
+
+    @Test
+    public void testaRejeicoes() throws Exception {
+        lojaController.adicionaUsuario("Dani", "dani", "noob");
+        escreve("login,nome,papel,credito,jogo,tipo,preco,jogabilidades",
+                "ana,Ana,noob,10,Tekken,luta,25,online",
+                "ana,Ana,noob,10,Tekken,luta,25,online",
+                "ana,Ana,noob,10,Mario,corrida,25,online",
+                "bob,Bob,chefe,10,,,,",
+                "ana,Ana,noob,10,,,,",
+                "dani,Dani,noob,10,,,,",
+                "caio,Caio,noob,muito,,,,",
+                "eva,Eva,noob,5,Zelda,rpg,-1,offline",
+                "eva,Eva,noob,5",
+                "\"fabio,Fabio,noob,5,,,,",
+                "gil,Gil,noob,5,Halo,rpg,10,voador");
+
+        ResumoImportacao resumo = new ImportadoraUsuarios(4, 16).importa(arquivo, lojaController);
+
+        Assert.assertEquals(11, resumo.getLinhas());
+        Assert.assertEquals(3, resumo.getUsuarios());
+        Assert.assertEquals(1, resumo.getJogos());
+        Assert.assertEquals(10, resumo.getQtdeRejeitadas());
+        Assert.assertEquals(Arrays.asList(
+                "Linha 3 (ana): " + Usuario.JOGO_JA_VENDIDO,
+                "Linha 4 (ana): Não há o tipo de jogo indicado",
+                "Linha 5 (bob): É necessário que o usuário tenha um role inicial.",
+                "Linha 6 (ana): " + LojaController.USUARIO_EXISTENTE,
+                "Linha 7 (dani): " + LojaController.USUARIO_EXISTENTE,
+                "Linha 8 (caio): Crédito inválido: muito",
+                "Linha 9 (eva): Preço inválido: -1",
+                "Linha 10: A quantidade de colunas é diferente da do cabeçalho.",
+                "Linha 11: Campo entre aspas malformado.",
+                "Linha 12 (gil): Jogo inválido, a jogabilidade  \"voador\" não existe."), textos(resumo));
+        Assert.assertEquals(10.0, lojaController.confereCredito("ana"), 0.0);
+        Assert.assertEquals(0.0, lojaController.confereCredito("dani"), 0.0);
+        Assert.assertTrue(usuarios.get("gil").getJogosComprados().isEmpty());
+    }
+
+    @Test
+    public void testaLinhasDeUmUsuarioEmPartesDiferentes() throws Exception {
+        List<String> linhas = new ArrayList<>();
+        linhas.add("login,nome,papel,credito,jogo,tipo,preco,jogabilidades");
+        String[] jogos = {"Tekken,luta,25,online", "Mario,plataforma,30,offline", "Zelda,rpg,59.9,offline"};
+        for (int i = 0; i < 500; i++) {
+            for (int j = 0; j <= i % 3; j++) {
+                linhas.add("u" + i + ",Usuario " + i + "," + (i % 2 == 0 ? "noob" : "veterano") + "," + i + ","
+                        + jogos[j]);
+            }
+        }
+        linhas.add("u7,Repetido,noob,1,,,,");
+        escreve(linhas.toArray(new String[0]));
+
+        ResumoImportacao resumo = new ImportadoraUsuarios(4, 100).importa(arquivo, lojaController);
+
+        Assert.assertEquals(1000, resumo.getLinhas());
+        Assert.assertEquals(500, resumo.getUsuarios());
+        Assert.assertEquals(999, resumo.getJogos());
+        Assert.assertEquals(1, resumo.getQtdeRejeitadas());
+        Assert.assertEquals(1001, resumo.getRejeicoes().get(0).getLinha());
+        for (int i = 0; i < 500; i++) {
+            Usuario usuario = usuarios.get("u" + i);
+            Assert.assertEquals(i % 3 + 1, usuario.getJogosComprados().size());
+            Assert.assertEquals(i, usuario.getCredito(), 0.0);
+        }
+        Assert.assertEquals(new Veterano().getX2pInicial(), usuarios.get("u1").getX2p());
+    }
+
+    @Test
+    public void testaImportaArquivoExportado() throws Exception {
+        JogoFactory jogoFactory = new JogoFactory();
+        Usuario ana = new Usuario("Ana, a \"Primeira\"", "ana", new LinkedHashMap<>(), new Noob());
+        ana.adicionaSaldo(100);
+        ana.adicionaJogo(jogoFactory.criaJogo("Street, Fighter", 20, "luta", "online competitivo"));
+        ana.adicionaJogo(jogoFactory.criaJogo("Zelda", 59.9, "rpg", "offline"));
+        Usuario bob = new Usuario("Bob", "bob", new LinkedHashMap<>(), new Veterano());
+        new ExportadoraUsuarios(FormatoExportacao.CSV).exporta(Arrays.asList(ana, bob), arquivo, false);
+
+        ResumoImportacao resumo = new ImportadoraUsuarios().importa(arquivo, lojaController);
+
+        Assert.assertEquals(0, resumo.getQtdeRejeitadas());
+        Usuario importada = usuarios.get("ana");
+        Assert.assertEquals(ana.getNome(), importada.getNome());
+        Assert.assertEquals(ana.getCredito(), importada.getCredito(), 0.001);
+        Assert.assertEquals(2, importada.getJogosComprados().size());
+        Assert.assertTrue(importada.possuiJogo("Street, Fighter"));
+        Assert.assertTrue(usuarios.get("bob").getRole() instanceof Veterano);
+    }
+
+    @Test
+    public void testaCabecalhoSemColunaObrigatoria() throws Exception {
+        escreve("login,nome,credito", "ana,Ana,10");
+        try {
+            new ImportadoraUsuarios().importa(arquivo, lojaController);
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertEquals("Coluna obrigatória ausente no cabeçalho: papel", e.getMessage());
+        }
+        escreve("login,nome,papel,jogo", "ana,Ana,noob,Tekken");
+        try {
+            new ImportadoraUsuarios().importa(arquivo, lojaController);
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertEquals("Coluna obrigatória ausente no cabeçalho: tipo", e.getMessage());
+        }
+        Assert.assertTrue(usuarios.isEmpty());
+    }
+
+    private void escreve(final String... linhas) throws IOException {
+        Files.write(arquivo, String.join("\n", linhas).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> textos(final ResumoImportacao resumo) {
+        List<String> textos = new ArrayList<>();
+        for (Rejeicao rejeicao : resumo.getRejeicoes()) {
+            textos.add(rejeicao.toString());
+        }
+        return textos;
+    }
+}
@@ -0,0 +1,106 @@
+package test.unidade.service.tendencia;
+
+import main.controller.LojaControllerImpl;
+import main.service.tendencia.Resolucao;
+import main.service.tendencia.SerieTemporal;
+import main.service.tendencia.TendenciasLoja;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import test.util.TestUtils;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Testes para {@link TendenciasLoja}
+ */
+public class TendenciasLojaTest {
+
+    private static final long MINUTO = TimeUnit.MINUTES.toMillis(1);
+
+    private static final long HORA = TimeUnit.HOURS.toMillis(1);
+
+    private final AtomicLong agora = new AtomicLong(TimeUnit.DAYS.toMillis(20000));
+
+    private TendenciasLoja tendencias;
+
+    private LojaControllerImpl lojaController;
+
+    @Before
+    public void setup() throws Exception {
+        tendencias = new TendenciasLoja(agora::get);
+        lojaController = new LojaControllerImpl(new HashMap<>(), TestUtils.getFormatadora(), tendencias);
+        lojaController.adicionaUsuario("Ana", "ana", "noob");
+        lojaController.adicionaUsuario("Bob", "bob", "veterano");
+        lojaController.adicionarDinheiroUsuario("ana", 500);
+        lojaController.adicionarDinheiroUsuario("bob", 500);
+    }
+
+    @Test
+    public void testaReceitaPorTipoEPapel() throws Exception {
+        lojaController.vendeJogo("Tekken", 50, "online", "luta", "ana");
+        lojaController.vendeJogo("Zelda", 100, "offline", "rpg", "bob");
+        lojaController.vendeJogo("Mortal", 20, "online", "luta", "ana");
+        agora.addAndGet(30 * MINUTO);
+        try {
+            lojaController.vendeJogo("Doom", 1000, "online", "luta", "ana");
+            Assert.fail();
+        } catch (Exception e) {
+            // Vendas que falham não contam como receita.
+        }
+
+        Assert.assertEquals(63.0, tendencias.getReceita("Luta", "Noob", HORA), 0.0);
+        Assert.assertEquals(80.0, tendencias.getReceita("Rpg", "Veterano", HORA), 0.0);
+        Assert.assertEquals(0.0, tendencias.getReceita("Luta", "Veterano", HORA), 0.0);
+        Assert.assertEquals(31.5, tendencias.getReceitaPorHora("Luta", "Noob", 2 * HORA), 0.0);
+    }
+
+    @Test
+    public void testaJogadasPorMinutoEZeradasPorHora() throws Exception {
+        lojaController.vendeJogo("Tekken", 50, "online", "luta", "ana");
+        lojaController.recompensar("Tekken", "ana", 100, true);
+        lojaController.punir("Tekken", "ana", 50, false);
+        lojaController.recompensar("Tekken", "ana", 200, false);
+        agora.addAndGet(2 * MINUTO);
+        lojaController.registraSessao("ana", "Tekken", new int[]{1, 2}, new boolean[]{true, true}, true);
+        try {
+            lojaController.recompensar("Zelda", "ana", 10, true);
+            Assert.fail();
+        } catch (Exception e) {
+            // Jogadas que falham não são contadas.
+        }
+
+        SerieTemporal jogadas = tendencias.getSerieJogadas("Tekken");
+        Assert.assertEquals(2, jogadas.soma(agora.get(), MINUTO));
+        Assert.assertEquals(5, jogadas.soma(agora.get(), 5 * MINUTO));
+        Assert.assertArrayEquals(new long[]{3, 0, 2}, jogadas.intervalos(Resolucao.MINUTO, agora.get(), 3));
+        Assert.assertEquals(1.0, tendencias.getJogadasPorMinuto("Tekken", 5 * MINUTO), 0.0);
+        Assert.assertEquals(3.0, tendencias.getZeradasPorHora("Tekken", HORA), 0.0);
+        Assert.assertNull(tendencias.getSerieJogadas("Zelda"));
+        Assert.assertEquals(0.0, tendencias.getJogadasPorMinuto("Zelda", HORA), 0.0);
+    }
+
+    @Test
+    public void testaIntervalosAntigosSaemDaJanela() {
+        SerieTemporal serie = new SerieTemporal();
+        long inicio = agora.get();
+        serie.registra(inicio, 7);
+        long depois = inicio + Resolucao.MINUTO.getRetencaoMillis();
+        serie.registra(depois, 1);
+        serie.registra(inicio, 100);
+
+        Assert.assertEquals(1, serie.soma(depois, MINUTO));
+        Assert.assertEquals(1, serie.soma(depois, Resolucao.MINUTO.getRetencaoMillis()));
+        Assert.assertEquals(108, serie.soma(depois, 4 * HORA));
+        Assert.assertEquals(108, serie.soma(depois, TimeUnit.DAYS.toMillis(2)));
+        Assert.assertEquals(0, serie.soma(depois + Resolucao.HORA.getRetencaoMillis(), HORA));
+        Assert.assertEquals(108, serie.soma(depois + Resolucao.HORA.getRetencaoMillis(), TimeUnit.DAYS.toMillis(5)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testaJanelaMaiorQueARetencao() {
+        new SerieTemporal().soma(agora.get(), Resolucao.DIA.getRetencaoMillis() + 1);
+    }
+}
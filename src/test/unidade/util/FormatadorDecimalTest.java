@@ -0,0 +1,92 @@
+package test.unidade.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+import test.util.MedidorAlocacao;
+import util.FormatadorDecimal;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Testes para {@link FormatadorDecimal}
+ */
+public class FormatadorDecimalTest {
+
+    private static final long SEM_ALOCACAO = 15;
+
+    private static final double[] EMPATES = {0.125, 1.005, 2.675, 0.05, 0.15, 0.35, 9.995, 99.995, 0.045, -2.5, 2.5};
+
+    @Test
+    public void testaFormatacao() {
+        Assert.assertEquals("0.00", FormatadorDecimal.formata(0, 2));
+        Assert.assertEquals("10.5", FormatadorDecimal.formata(10.5, 1));
+        Assert.assertEquals("1234567.89", FormatadorDecimal.formata(1234567.891, 2));
+        Assert.assertEquals("0.07", FormatadorDecimal.formata(0.07, 2));
+        Assert.assertEquals("3", FormatadorDecimal.formata(2.5, 0));
+        Assert.assertEquals("-0.0", FormatadorDecimal.formata(-0.01, 1));
+        Assert.assertEquals("-0.00", FormatadorDecimal.formata(-0.0, 2));
+        Assert.assertEquals("NaN", FormatadorDecimal.formata(Double.NaN, 2));
+        Assert.assertEquals("-Infinity", FormatadorDecimal.formata(Double.NEGATIVE_INFINITY, 2));
+        Assert.assertEquals("100000000000000000000.0", FormatadorDecimal.formata(1e20, 1));
+    }
+
+    @Test
+    public void testaMesmoArredondamentoQueFormatter() {
+        for (double valor : EMPATES) {
+            verificaIgualAoFormatter(valor);
+        }
+        Random aleatorio = new Random(43);
+        for (int i = 0; i < 20000; i++) {
+            verificaIgualAoFormatter(aleatorio.nextInt(2000000) / 1000.0 - 1000);
+            verificaIgualAoFormatter((aleatorio.nextInt(20000) + 0.5) / 100);
+            verificaIgualAoFormatter(aleatorio.nextDouble() * 1e9);
+        }
+    }
+
+    @Test
+    public void testaSeparadorIndependenteDoLocale() {
+        Locale original = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("pt", "BR"));
+            Assert.assertEquals("1234.50", FormatadorDecimal.formata(1234.5, 2));
+            Assert.assertEquals("1234.50", FormatadorDecimal.acrescenta(new StringBuilder(), 1234.5, 2).toString());
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    public void testaEscritaEmVetor() {
+        char[] destino = "Total: ________".toCharArray();
+        int fim = FormatadorDecimal.escreve(42.125, 2, destino, 7);
+        Assert.assertEquals("Total: 42.13", new String(destino, 0, fim));
+        Assert.assertEquals(-1, FormatadorDecimal.escreve(123456.0, 2, new char[5], 0));
+        Assert.assertEquals(-1, FormatadorDecimal.escreve(Double.NaN, 2, destino, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testaCasasInvalidas() {
+        FormatadorDecimal.formata(1, FormatadorDecimal.MAXIMO_CASAS + 1);
+    }
+
+    @Test
+    public void testaAlocacaoEscritaReaproveitandoBuffer() throws Exception {
+        char[] destino = new char[FormatadorDecimal.TAMANHO_MAXIMO];
+        StringBuilder construtor = new StringBuilder(FormatadorDecimal.TAMANHO_MAXIMO);
+        MedidorAlocacao.verificaOrcamento("escreve", SEM_ALOCACAO,
+                i -> FormatadorDecimal.escreve(i * 0.37, 2, destino, 0));
+        MedidorAlocacao.verificaOrcamento("acrescenta", SEM_ALOCACAO, i -> {
+            construtor.setLength(0);
+            FormatadorDecimal.acrescenta(construtor, i * 0.37, 2);
+        });
+    }
+
+    private static void verificaIgualAoFormatter(final double valor) {
+        for (int casas = 0; casas <= 3; casas++) {
+            String esperado = String.format(Locale.ROOT, "%." + casas + "f", valor);
+            Assert.assertEquals(esperado, FormatadorDecimal.formata(valor, casas));
+            Assert.assertEquals(esperado, FormatadorDecimal.acrescenta(new StringBuilder(), valor, casas).toString());
+        }
+    }
+}
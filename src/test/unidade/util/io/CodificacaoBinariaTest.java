@@ -0,0 +1,78 @@
+package test.unidade.util.io;
+
+import main.entidade.usuario.Usuario;
+import main.factory.JogoFactory;
+import main.factory.UsuarioFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import util.io.CodificacaoBinaria;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+
+/**
+ * Testes para {@link CodificacaoBinaria}
+ */
+public class CodificacaoBinariaTest {
+
+    @Test
+    public void testaLeUsuarioComJogos() throws Exception {
+        Usuario usuario = new UsuarioFactory().criaUsuario("Ana", "ana", "veterano");
+        usuario.adicionaSaldo(500);
+        usuario.adicionaJogo(new JogoFactory().criaJogo("Tekken", 50, "luta", "online multiplayer"));
+        usuario.adicionaJogo(new JogoFactory().criaJogo("Mario", 30, "plataforma", "offline"));
+        usuario.recompensar("Tekken", 120000, true);
+
+        Usuario lido = CodificacaoBinaria.leObjeto(entradaCom(usuario), Usuario.class,
+                Usuario.CLASSES_SERIALIZADAS);
+
+        Assert.assertEquals(usuario.getLogin(), lido.getLogin());
+        Assert.assertEquals(usuario.getCredito(), lido.getCredito(), 0.0);
+        Assert.assertEquals(usuario.getX2p(), lido.getX2p());
+        Assert.assertEquals(usuario.getJogo("Tekken"), lido.getJogo("Tekken"));
+        Assert.assertEquals(usuario.getJogo("Mario"), lido.getJogo("Mario"));
+        Assert.assertEquals(120000, lido.getJogo("Tekken").getMaiorScore());
+        Assert.assertEquals(usuario.getRole().getClass(), lido.getRole().getClass());
+    }
+
+    @Test
+    public void testaLeNulo() throws IOException {
+        Assert.assertNull(CodificacaoBinaria.leObjeto(entradaCom(null), Usuario.class,
+                Usuario.CLASSES_SERIALIZADAS));
+    }
+
+    @Test(expected = IOException.class)
+    public void testaRejeitaClasseNaoPermitida() throws IOException {
+        CodificacaoBinaria.leObjeto(entradaCom(new Date()), Usuario.class, Usuario.CLASSES_SERIALIZADAS);
+    }
+
+    @Test(expected = IOException.class)
+    public void testaRejeitaClasseNaoPermitidaAninhada() throws IOException {
+        HashMap<String, Object> mapa = new HashMap<>();
+        mapa.put("data", new Date());
+        CodificacaoBinaria.leObjeto(entradaCom(mapa), HashMap.class, Collections.singletonList(String.class));
+    }
+
+    @Test(expected = IOException.class)
+    public void testaRejeitaObjetoAcimaDoTamanhoMaximo() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new DataOutputStream(bytes).writeInt(CodificacaoBinaria.TAMANHO_MAXIMO_OBJETO + 1);
+        CodificacaoBinaria.leObjeto(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+                Usuario.class, Usuario.CLASSES_SERIALIZADAS);
+    }
+
+    private DataInputStream entradaCom(final Serializable objeto) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream saida = new DataOutputStream(bytes);
+        CodificacaoBinaria.escreveObjeto(saida, objeto);
+        saida.flush();
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+}
@@ -0,0 +1,73 @@
+package test.unidade.util.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+import util.io.Entrada;
+import util.io.EntradaBufferizada;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+
+/**
+ * Testes para {@link EntradaBufferizada}
+ */
+public class EntradaBufferizadaTest {
+
+    private Entrada criaEntrada(final String conteudo, final int tamanhoBuffer) {
+        byte[] bytes = conteudo.getBytes(StandardCharsets.UTF_8);
+        return new EntradaBufferizada(Channels.newChannel(new ByteArrayInputStream(bytes)), tamanhoBuffer);
+    }
+
+    @Test
+    public void testaLeInteiro() {
+        Entrada entrada = criaEntrada("42\n-7\n\n+3\n2147483647\n-2147483648\n", 4);
+        Assert.assertEquals(Integer.valueOf(42), entrada.leInteiro());
+        Assert.assertEquals(Integer.valueOf(-7), entrada.leInteiro());
+        Assert.assertEquals(Integer.valueOf(0), entrada.leInteiro());
+        Assert.assertEquals(Integer.valueOf(3), entrada.leInteiro());
+        Assert.assertEquals(Integer.valueOf(Integer.MAX_VALUE), entrada.leInteiro());
+        Assert.assertEquals(Integer.valueOf(Integer.MIN_VALUE), entrada.leInteiro());
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testaLeInteiroInvalido() {
+        criaEntrada("12a\n", 64).leInteiro();
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testaLeInteiroEstouro() {
+        criaEntrada("2147483648\n", 64).leInteiro();
+    }
+
+    @Test
+    public void testaLeDouble() {
+        Entrada entrada = criaEntrada("25,5\n25.5\n-0,125\n1e3\n7\n0.1\n123456789012345678901,5\n", 5);
+        Assert.assertEquals(25.5, entrada.leDouble(), 0);
+        Assert.assertEquals(25.5, entrada.leDouble(), 0);
+        Assert.assertEquals(-0.125, entrada.leDouble(), 0);
+        Assert.assertEquals(1000.0, entrada.leDouble(), 0);
+        Assert.assertEquals(7.0, entrada.leDouble(), 0);
+        Assert.assertEquals(Double.valueOf(0.1), entrada.leDouble());
+        Assert.assertEquals(Double.valueOf(123456789012345678901.5), entrada.leDouble());
+    }
+
+    @Test
+    public void testaLeStringLongaEntreBuffers() {
+        StringBuilder longa = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            longa.append("Ação ");
+        }
+        Entrada entrada = criaEntrada(longa + "\r\nfim", 16);
+        Assert.assertEquals(longa.toString(), entrada.leString());
+        Assert.assertEquals("fim", entrada.leString());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testaFimDaEntrada() {
+        Entrada entrada = criaEntrada("unica\n", 64);
+        entrada.leString();
+        entrada.leString();
+    }
+}
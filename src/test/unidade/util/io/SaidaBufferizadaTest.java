@@ -0,0 +1,66 @@
+package test.unidade.util.io;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import util.io.PontoDescarga;
+import util.io.Saida;
+import util.io.SaidaBufferizada;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+
+/**
+ * Testes para {@link SaidaBufferizada}
+ */
+public class SaidaBufferizadaTest {
+
+    private static final String NL = System.lineSeparator();
+
+    private ByteArrayOutputStream destino;
+
+    @Before
+    public void setup() {
+        destino = new ByteArrayOutputStream();
+    }
+
+    private Saida criaSaida(final int tamanhoBuffer, final EnumSet<PontoDescarga> pontos) {
+        return new SaidaBufferizada(Channels.newChannel(destino), tamanhoBuffer, pontos);
+    }
+
+    private String escrito() {
+        return new String(destino.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testaDescargaNosPontosConfigurados() {
+        Saida saida = criaSaida(1024, EnumSet.of(PontoDescarga.FIM_DE_RELATORIO));
+        saida.escreve("linha 1");
+        saida.descarrega(PontoDescarga.FIM_DE_COMANDO);
+        Assert.assertEquals("", escrito());
+
+        saida.escreve("linha 2");
+        saida.descarrega(PontoDescarga.FIM_DE_RELATORIO);
+        Assert.assertEquals("linha 1" + NL + "linha 2" + NL, escrito());
+    }
+
+    @Test
+    public void testaDescargaNoEncerramento() {
+        Saida saida = criaSaida(1024, EnumSet.noneOf(PontoDescarga.class));
+        saida.escreve("fim");
+        Assert.assertEquals("", escrito());
+        saida.descarrega(PontoDescarga.ENCERRAMENTO);
+        Assert.assertEquals("fim" + NL, escrito());
+    }
+
+    @Test
+    public void testaDescargaComBufferCheio() {
+        Saida saida = criaSaida(8, EnumSet.noneOf(PontoDescarga.class));
+        saida.escreve("Usuário não encontrado 🎮");
+        Assert.assertTrue(escrito().length() > 0);
+        saida.descarrega(PontoDescarga.ENCERRAMENTO);
+        Assert.assertEquals("Usuário não encontrado 🎮" + NL, escrito());
+    }
+}
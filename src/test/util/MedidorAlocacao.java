@@ -0,0 +1,106 @@
+package test.util;
+
+import org.junit.Assert;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Mede a quantidade de bytes alocados por operação na thread atual, usando os contadores de alocação de
+ * {@link com.sun.management.ThreadMXBean}, e verifica orçamentos de alocação.
+ */
+public class MedidorAlocacao {
+
+    private static final int REPETICOES_AQUECIMENTO = 20000;
+    private static final int REPETICOES_MEDICAO = 10000;
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+    private MedidorAlocacao() {
+
+    }
+
+    /**
+     * Operação a ser medida.
+     */
+    public interface Operacao {
+        /**
+         * Executa a operação uma vez.
+         *
+         * @param iteracao Número da iteração atual.
+         * @throws Exception Caso a operação falhe.
+         */
+        void executa(int iteracao) throws Exception;
+    }
+
+    /**
+     * @return {@code true}, caso a JVM suporte a medição de alocação por thread.
+     */
+    public static boolean medicaoSuportada() {
+        return THREAD_MX_BEAN != null && THREAD_MX_BEAN.isThreadAllocatedMemorySupported()
+                && THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Mede a média de bytes alocados por execução de {@code operacao}, após um aquecimento.
+     *
+     * @param operacao Operação a ser medida.
+     * @return A média de bytes alocados por execução.
+     * @throws Exception Caso a operação falhe.
+     */
+    public static double bytesPorOperacao(final Operacao operacao) throws Exception {
+        for (int i = 0; i < REPETICOES_AQUECIMENTO; i++) {
+            operacao.executa(i);
+        }
+        long idThread = Thread.currentThread().getId();
+        long custoMedicao = custoMedicao(idThread);
+
+        long inicio = THREAD_MX_BEAN.getThreadAllocatedBytes(idThread);
+        for (int i = 0; i < REPETICOES_MEDICAO; i++) {
+            operacao.executa(REPETICOES_AQUECIMENTO + i);
+        }
+        long fim = THREAD_MX_BEAN.getThreadAllocatedBytes(idThread);
+
+        return Math.max(0, fim - inicio - custoMedicao) / (double) REPETICOES_MEDICAO;
+    }
+
+    /**
+     * Verifica que {@code operacao} não aloca mais que {@code orcamentoBytes} bytes por execução.
+     * Caso a JVM não suporte a medição, a verificação é ignorada.
+     *
+     * @param nome           Nome da operação, usado na mensagem de falha.
+     * @param orcamentoBytes Orçamento de bytes alocados por execução.
+     * @param operacao       Operação a ser verificada.
+     * @throws Exception Caso a operação falhe.
+     */
+    public static void verificaOrcamento(final String nome, final long orcamentoBytes,
+                                         final Operacao operacao) throws Exception {
+        if (!medicaoSuportada()) {
+            return;
+        }
+        double medido = bytesPorOperacao(operacao);
+        if (medido > orcamentoBytes) {
+            Assert.fail(String.format("%s alocou %.1f bytes por operação, acima do orçamento de %d bytes",
+                    nome, medido, orcamentoBytes));
+        }
+    }
+
+    /**
+     * Mede quantos bytes a própria leitura do contador aloca.
+     *
+     * @param idThread Id da thread atual.
+     * @return bytes alocados por um par de leituras do contador.
+     */
+    private static long custoMedicao(final long idThread) {
+        long inicio = THREAD_MX_BEAN.getThreadAllocatedBytes(idThread);
+        long fim = THREAD_MX_BEAN.getThreadAllocatedBytes(idThread);
+        return fim - inicio;
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return (com.sun.management.ThreadMXBean) threadMXBean;
+        }
+        return null;
+    }
+}
@@ -1,5 +1,6 @@
 package test.util;
 
+import main.controller.LojaController;
 import main.entidade.jogo.Jogabilidade;
 import main.entidade.jogo.Jogo;
 import main.exception.JogoInvalidoException;
@@ -12,8 +13,16 @@ import main.entidade.usuario.role.Noob;
 import main.entidade.usuario.role.Veterano;
 import main.service.Formatadora;
 import main.service.FormatadoraCentralP2Cg;
+import org.junit.Assert;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -94,4 +103,64 @@ public class TestUtils {
     public static Formatadora getFormatadora() {
         return new FormatadoraCentralP2Cg();
     }
+
+    /**
+     * Preenche {@code loja} com os usuários {@code u0} a {@code u<qtdeUsuarios - 1>}, alternando entre noob e veterano,
+     * cada um com crédito, um jogo comprado e uma recompensa e uma punição nele.
+     */
+    public static void preencheLoja(final LojaController loja, final int qtdeUsuarios) throws Exception {
+        for (int i = 0; i < qtdeUsuarios; i++) {
+            String login = "u" + i;
+            loja.adicionaUsuario("Usuario " + i, login, i % 2 == 0 ? "noob" : "veterano");
+            loja.adicionarDinheiroUsuario(login, 10 + i);
+            loja.vendeJogo("Tekken", 10, "online", "luta", login);
+            loja.recompensar("Tekken", login, i * 100, i % 3 == 0);
+            loja.punir("Tekken", login, i * 50, i % 5 == 0);
+        }
+    }
+
+    /**
+     * Confere que {@code obtida}, preenchida por {@link #preencheLoja(LojaController, int)}, tem o mesmo crédito e x2p
+     * de {@code esperada} em cada usuário, e o mesmo relatório, a menos da ordem dos usuários.
+     */
+    public static void confereEquivalencia(final LojaController esperada, final LojaController obtida,
+                                           final int qtdeUsuarios) throws Exception {
+        for (int i = 0; i < qtdeUsuarios; i++) {
+            String login = "u" + i;
+            Assert.assertEquals(esperada.confereCredito(login), obtida.confereCredito(login), 0.0);
+            Assert.assertEquals(esperada.getX2pUsuario(login), obtida.getX2pUsuario(login));
+        }
+        List<String> relatorioEsperado = esperada.getRelatorioUsuarios();
+        List<String> relatorioObtido = obtida.getRelatorioUsuarios();
+        Assert.assertEquals(relatorioEsperado.get(0), relatorioObtido.get(0));
+        Assert.assertEquals(ordena(relatorioEsperado), ordena(relatorioObtido));
+    }
+
+    public static List<String> ordena(final List<String> relatorio) {
+        List<String> itens = new ArrayList<>(relatorio);
+        Collections.sort(itens);
+        return itens;
+    }
+
+    /**
+     * Executa {@code classe} num novo processo, com o classpath dos testes, e espera que ele escreva na saída padrão a
+     * linha {@code pronto} seguida de uma porta.
+     *
+     * @param processos Lista à qual o processo é acrescentado, para ser encerrado pelo teste.
+     * @return A porta informada pelo processo.
+     */
+    public static int iniciaProcesso(final List<Process> processos, final Class<?> classe, final String pronto,
+                                     final String... args) throws IOException {
+        List<String> comando = new ArrayList<>(Arrays.asList(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"), classe.getName()));
+        comando.addAll(Arrays.asList(args));
+        Process processo = new ProcessBuilder(comando).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        processos.add(processo);
+        String linha = new BufferedReader(new InputStreamReader(processo.getInputStream(), StandardCharsets.UTF_8))
+                .readLine();
+        Assert.assertNotNull(linha);
+        Assert.assertTrue(linha, linha.startsWith(pronto + " "));
+        return Integer.parseInt(linha.substring(pronto.length() + 1));
+    }
 }
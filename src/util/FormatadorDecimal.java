@@ -0,0 +1,174 @@
+package util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Formata números com uma quantidade fixa de casas decimais, sempre com '.' como separador, independentemente do
+ * {@link java.util.Locale} padrão. O arredondamento é o mesmo de {@code String.format("%.nf", valor)}: metade para
+ * cima, sobre os dígitos decimais mais curtos que representam o {@code double}.
+ * <p>
+ * Os métodos que escrevem em um {@link StringBuilder} ou em um {@code char[]} fornecido por quem chama não alocam,
+ * exceto quando o valor fica a menos de um ulp de um empate no arredondamento ou não cabe em um {@code long} depois
+ * de escalado; nesses casos raros o arredondamento é delegado a {@link BigDecimal}.
+ */
+public final class FormatadorDecimal {
+
+    /**
+     * Quantidade máxima de casas decimais suportada.
+     */
+    public static final int MAXIMO_CASAS = 9;
+
+    /**
+     * Quantidade de caracteres que garante espaço para qualquer valor escalado que cabe em um {@code long}.
+     */
+    public static final int TAMANHO_MAXIMO = 32;
+
+    private static final long[] POTENCIAS_DEZ = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L};
+
+    /**
+     * A partir deste valor escalado, o {@code double} não representa mais todas as unidades exatamente.
+     */
+    private static final double MAXIMO_ESCALADO_EXATO = 0x1p53;
+
+    private static final int NAO_CABE = -1;
+
+    private FormatadorDecimal() {
+    }
+
+    /**
+     * Formata {@code valor} em uma nova {@link String}.
+     *
+     * @param valor Valor a ser formatado.
+     * @param casas Quantidade de casas decimais, de 0 a {@link #MAXIMO_CASAS}.
+     * @return O valor formatado.
+     */
+    public static String formata(final double valor, final int casas) {
+        char[] destino = new char[TAMANHO_MAXIMO];
+        int fim = escreve(valor, casas, destino, 0);
+        if (fim == NAO_CABE) {
+            return formataLento(valor, casas);
+        }
+        return new String(destino, 0, fim);
+    }
+
+    /**
+     * Acrescenta {@code valor} formatado ao fim de {@code destino}.
+     *
+     * @param destino {@link StringBuilder} de destino.
+     * @param valor   Valor a ser formatado.
+     * @param casas   Quantidade de casas decimais, de 0 a {@link #MAXIMO_CASAS}.
+     * @return {@code destino}.
+     */
+    public static StringBuilder acrescenta(final StringBuilder destino, final double valor, final int casas) {
+        verificaCasas(casas);
+        if (!Double.isFinite(valor)) {
+            return destino.append(valor);
+        }
+        long unidades = unidades(Math.abs(valor), casas);
+        if (unidades < 0) {
+            return destino.append(formataLento(valor, casas));
+        }
+        if (negativo(valor)) {
+            destino.append('-');
+        }
+        long potencia = POTENCIAS_DEZ[casas];
+        destino.append(unidades / potencia);
+        if (casas > 0) {
+            destino.append('.');
+            long fracao = unidades % potencia;
+            for (long limite = potencia / 10; limite > fracao && limite > 1; limite /= 10) {
+                destino.append('0');
+            }
+            destino.append(fracao);
+        }
+        return destino;
+    }
+
+    /**
+     * Escreve {@code valor} formatado em {@code destino}, a partir de {@code inicio}. Com {@link #TAMANHO_MAXIMO}
+     * posições livres, a escrita só falha para valores que não cabem em um {@code long} depois de escalados.
+     *
+     * @param valor   Valor a ser formatado.
+     * @param casas   Quantidade de casas decimais, de 0 a {@link #MAXIMO_CASAS}.
+     * @param destino Vetor de destino.
+     * @param inicio  Posição do primeiro caractere escrito.
+     * @return A posição seguinte ao último caractere escrito, ou -1 caso o valor não caiba em {@code destino}, que
+     * fica então com conteúdo indefinido a partir de {@code inicio}.
+     */
+    public static int escreve(final double valor, final int casas, final char[] destino, final int inicio) {
+        verificaCasas(casas);
+        if (!Double.isFinite(valor)) {
+            return NAO_CABE;
+        }
+        long unidades = unidades(Math.abs(valor), casas);
+        if (unidades < 0) {
+            return NAO_CABE;
+        }
+        int digitos = Math.max(contaDigitos(unidades), casas + 1);
+        int tamanho = digitos + (casas > 0 ? 1 : 0) + (negativo(valor) ? 1 : 0);
+        if (inicio + tamanho > destino.length) {
+            return NAO_CABE;
+        }
+        int posicao = inicio + tamanho;
+        for (int i = 0; i < digitos; i++) {
+            if (i == casas && casas > 0) {
+                destino[--posicao] = '.';
+            }
+            destino[--posicao] = (char) ('0' + unidades % 10);
+            unidades /= 10;
+        }
+        if (posicao > inicio) {
+            destino[--posicao] = '-';
+        }
+        return inicio + tamanho;
+    }
+
+    /**
+     * Arredonda {@code absoluto} para {@code casas} casas decimais, devolvendo o valor em unidades da última casa, ou
+     * -1 caso o resultado não caiba com exatidão em um {@code long}.
+     */
+    private static long unidades(final double absoluto, final int casas) {
+        double escalado = absoluto * POTENCIAS_DEZ[casas];
+        if (escalado >= MAXIMO_ESCALADO_EXATO) {
+            return NAO_CABE;
+        }
+        double inteiro = Math.floor(escalado);
+        double distanciaEmpate = Math.abs(escalado - inteiro - 0.5);
+        if (distanciaEmpate <= 2 * Math.ulp(escalado)) {
+            BigDecimal arredondado = BigDecimal.valueOf(absoluto).setScale(casas, RoundingMode.HALF_UP);
+            return arredondado.unscaledValue().longValue();
+        }
+        return (long) inteiro + (escalado - inteiro > 0.5 ? 1 : 0);
+    }
+
+    private static String formataLento(final double valor, final int casas) {
+        if (!Double.isFinite(valor)) {
+            return Double.toString(valor);
+        }
+        String absoluto = BigDecimal.valueOf(Math.abs(valor)).setScale(casas, RoundingMode.HALF_UP).toPlainString();
+        return negativo(valor) ? "-" + absoluto : absoluto;
+    }
+
+    /**
+     * Assim como {@link java.util.Formatter}, mantém o sinal de {@code -0.0} e de negativos que arredondam para zero.
+     */
+    private static boolean negativo(final double valor) {
+        return Double.doubleToRawLongBits(valor) < 0;
+    }
+
+    private static int contaDigitos(final long valor) {
+        int digitos = 1;
+        for (long limite = 10; digitos < 19 && valor >= limite; limite *= 10) {
+            digitos++;
+        }
+        return digitos;
+    }
+
+    private static void verificaCasas(final int casas) {
+        if (casas < 0 || casas > MAXIMO_CASAS) {
+            throw new IllegalArgumentException("Quantidade de casas decimais inválida: " + casas);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package util.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * {@link WritableByteChannel} que compacta no formato gzip tudo o que recebe e escreve o resultado em outro canal.
+ * Ao contrário de {@link java.util.zip.GZIPOutputStream}, entrada e saída passam pelo {@link Deflater} em
+ * {@link ByteBuffer}s, sem cópias para vetores intermediários.
+ * <p>
+ * Fechar este canal completa o arquivo gzip e fecha o canal de destino.
+ */
+public final class CanalGzip implements WritableByteChannel {
+
+    private static final byte[] CABECALHO = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private static final int TAMANHO_RODAPE = 8;
+
+    private static final byte[] SEM_ENTRADA = new byte[0];
+
+    /**
+     * Canal que recebe os bytes compactados.
+     */
+    private final WritableByteChannel destino;
+
+    private final Deflater deflater;
+
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Buffer dos bytes compactados ainda não escritos no destino.
+     */
+    private final ByteBuffer saida;
+
+    /**
+     * Quantidade de bytes recebidos, antes da compactação.
+     */
+    private long tamanhoOriginal;
+
+    private boolean aberto = true;
+
+    /**
+     * Construtor. O cabeçalho gzip é escrito em {@code destino} junto com os primeiros dados compactados.
+     *
+     * @param destino       Canal que recebe os bytes compactados.
+     * @param nivel         Nível de compactação do {@link Deflater}, de {@link Deflater#BEST_SPEED} a
+     *                      {@link Deflater#BEST_COMPRESSION}.
+     * @param tamanhoBuffer Tamanho, em bytes, do buffer de saída.
+     */
+    public CanalGzip(final WritableByteChannel destino, final int nivel, final int tamanhoBuffer) {
+        this.destino = destino;
+        this.deflater = new Deflater(nivel, true);
+        this.saida = ByteBuffer.allocateDirect(Math.max(tamanhoBuffer, CABECALHO.length));
+        saida.put(CABECALHO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int write(final ByteBuffer origem) throws IOException {
+        if (!aberto) {
+            throw new ClosedChannelException();
+        }
+        int inicio = origem.position();
+        int bytes = origem.remaining();
+        crc.update(origem);
+        origem.position(inicio);
+        tamanhoOriginal += bytes;
+
+        deflater.setInput(origem);
+        while (!deflater.needsInput()) {
+            compacta();
+        }
+        // O Deflater guarda o buffer de entrada, que pode ser reaproveitado por quem chama depois do retorno.
+        deflater.setInput(SEM_ENTRADA);
+        return bytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isOpen() {
+        return aberto;
+    }
+
+    /**
+     * Completa o arquivo gzip, com o restante dos dados compactados e o rodapé, e fecha o canal de destino.
+     *
+     * @throws IOException Caso a escrita ou o fechamento do destino falhem.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!aberto) {
+            return;
+        }
+        aberto = false;
+        try {
+            deflater.finish();
+            while (!deflater.finished()) {
+                compacta();
+            }
+            if (saida.remaining() < TAMANHO_RODAPE) {
+                esvazia();
+            }
+            saida.order(ByteOrder.LITTLE_ENDIAN);
+            saida.putInt((int) crc.getValue());
+            saida.putInt((int) tamanhoOriginal);
+            esvazia();
+        } finally {
+            deflater.end();
+            destino.close();
+        }
+    }
+
+    private void compacta() throws IOException {
+        deflater.deflate(saida);
+        if (!saida.hasRemaining()) {
+            esvazia();
+        }
+    }
+
+    private void esvazia() throws IOException {
+        saida.flip();
+        while (saida.hasRemaining()) {
+            destino.write(saida);
+        }
+        saida.clear();
+    }
+}
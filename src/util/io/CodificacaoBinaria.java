@@ -0,0 +1,145 @@
+package util.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Codificação de textos e objetos nos protocolos binários do sistema, sobre {@link DataOutputStream} e
+ * {@link DataInputStream}.
+ * <p>
+ * Textos são o tamanho em bytes, ou -1 para {@code null}, seguido dos bytes UTF-8. Objetos são o tamanho, ou -1 para
+ * {@code null}, seguido da serialização do Java.
+ * <p>
+ * Como objetos chegam pela rede, a leitura só instancia as classes esperadas, e limita o tamanho e a profundidade do
+ * objeto, antes de desserializar qualquer coisa.
+ */
+public final class CodificacaoBinaria {
+
+    /**
+     * Tamanho máximo, em bytes, de um objeto lido.
+     */
+    public static final int TAMANHO_MAXIMO_OBJETO = 16 * 1024 * 1024;
+
+    /**
+     * Profundidade máxima do grafo de um objeto lido.
+     */
+    public static final int PROFUNDIDADE_MAXIMA_OBJETO = 20;
+
+    private CodificacaoBinaria() {
+    }
+
+    /**
+     * Escreve um texto, que pode ser {@code null}.
+     *
+     * @param saida {@link DataOutputStream} de destino.
+     * @param texto Texto a ser escrito.
+     * @throws IOException Caso a escrita falhe.
+     */
+    public static void escreveTexto(final DataOutputStream saida, final String texto) throws IOException {
+        if (texto == null) {
+            saida.writeInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        saida.writeInt(bytes.length);
+        saida.write(bytes);
+    }
+
+    /**
+     * Lê um texto escrito por {@link #escreveTexto(DataOutputStream, String)}.
+     *
+     * @param entrada {@link DataInputStream} de origem.
+     * @return O texto lido, que pode ser {@code null}.
+     * @throws IOException Caso a leitura falhe.
+     */
+    public static String leTexto(final DataInputStream entrada) throws IOException {
+        int tamanho = entrada.readInt();
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Escreve um objeto, que pode ser {@code null}.
+     *
+     * @param saida  {@link DataOutputStream} de destino.
+     * @param objeto Objeto a ser escrito.
+     * @throws IOException Caso a escrita falhe.
+     */
+    public static void escreveObjeto(final DataOutputStream saida, final Serializable objeto) throws IOException {
+        if (objeto == null) {
+            saida.writeInt(-1);
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objetos = new ObjectOutputStream(bytes)) {
+            objetos.writeObject(objeto);
+        }
+        saida.writeInt(bytes.size());
+        bytes.writeTo(saida);
+    }
+
+    /**
+     * Lê um objeto escrito por {@link #escreveObjeto(DataOutputStream, Serializable)}. O objeto e tudo o que ele
+     * referencia só podem ser de {@code tipo}, de uma das {@code permitidas} ou de subtipos delas; qualquer outra
+     * classe é rejeitada antes de ser instanciada.
+     *
+     * @param entrada    {@link DataInputStream} de origem.
+     * @param tipo       Classe esperada do objeto.
+     * @param permitidas Demais classes que podem compor o objeto.
+     * @return O objeto lido, que pode ser {@code null}.
+     * @throws IOException Caso a leitura falhe, o objeto exceda os limites ou contenha uma classe não permitida.
+     */
+    public static <T extends Serializable> T leObjeto(final DataInputStream entrada, final Class<T> tipo,
+                                                      final Collection<Class<?>> permitidas) throws IOException {
+        int tamanho = entrada.readInt();
+        if (tamanho < 0) {
+            return null;
+        }
+        if (tamanho > TAMANHO_MAXIMO_OBJETO) {
+            throw new IOException("Objeto recebido com " + tamanho + " bytes, acima do máximo.");
+        }
+        byte[] bytes = new byte[tamanho];
+        entrada.readFully(bytes);
+        try (ObjectInputStream objetos = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            objetos.setObjectInputFilter(filtro(tipo, permitidas));
+            return tipo.cast(objetos.readObject());
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Objeto recebido em formato desconhecido.", e);
+        }
+    }
+
+    private static ObjectInputFilter filtro(final Class<?> tipo, final Collection<Class<?>> permitidas) {
+        return info -> {
+            if (info.depth() > PROFUNDIDADE_MAXIMA_OBJETO || info.arrayLength() > TAMANHO_MAXIMO_OBJETO) {
+                return ObjectInputFilter.Status.REJECTED;
+            }
+            Class<?> classe = info.serialClass();
+            // Arrays não executam código ao serem criados, e seus elementos passam pelo filtro um a um.
+            if (classe == null || classe.isArray()) {
+                return ObjectInputFilter.Status.UNDECIDED;
+            }
+            if (tipo.isAssignableFrom(classe) || classe == Enum.class) {
+                return ObjectInputFilter.Status.ALLOWED;
+            }
+            for (Class<?> permitida : permitidas) {
+                if (permitida.isAssignableFrom(classe)) {
+                    return ObjectInputFilter.Status.ALLOWED;
+                }
+            }
+            return ObjectInputFilter.Status.REJECTED;
+        };
+    }
+}
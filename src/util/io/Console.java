@@ -27,4 +27,12 @@ public class Console implements Saida {
     public void escreve(String str) {
         console.println(str);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void descarrega(PontoDescarga ponto) {
+        console.flush();
+    }
 }
@@ -0,0 +1,289 @@
+package util.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementação de {@link Entrada} que lê bytes diretamente de um {@link ReadableByteChannel}, através de um buffer
+ * reutilizável. Inteiros e números decimais são interpretados diretamente a partir dos bytes da linha, sem
+ * expressões regulares nem {@link String}s intermediárias, o que a torna adequada para grandes arquivos de comandos
+ * redirecionados para a entrada padrão.
+ * <p>
+ * Assim como em {@link Teclado}, cada valor ocupa uma linha, uma linha vazia é lida como o inteiro 0 e números
+ * decimais aceitam tanto ',' quanto '.' como separador.
+ */
+public class EntradaBufferizada implements Entrada {
+
+    private static final int TAMANHO_BUFFER_PADRAO = 1 << 16;
+    private static final int TAMANHO_LINHA_INICIAL = 128;
+
+    /**
+     * Maior mantissa que um double representa exatamente.
+     */
+    private static final long MAIOR_MANTISSA_EXATA = 1L << 53;
+
+    /**
+     * Potências de dez representadas exatamente por um double.
+     */
+    private static final double[] POTENCIAS_DE_DEZ = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Canal de onde serão lidos os dados.
+     */
+    private final ReadableByteChannel canal;
+
+    /**
+     * Buffer de leitura do canal.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Bytes da última linha lida, sem o terminador.
+     */
+    private byte[] linha = new byte[TAMANHO_LINHA_INICIAL];
+
+    /**
+     * Quantidade de bytes válidos em {@code linha}.
+     */
+    private int tamanhoLinha;
+
+    /**
+     * Indica se o fim do canal foi atingido.
+     */
+    private boolean fimDoCanal;
+
+    /**
+     * Construtor padrão, que lê da entrada padrão.
+     */
+    public EntradaBufferizada() {
+        this(Channels.newChannel(System.in));
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param canal {@link ReadableByteChannel} de onde serão lidos os dados.
+     */
+    public EntradaBufferizada(final ReadableByteChannel canal) {
+        this(canal, TAMANHO_BUFFER_PADRAO);
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param canal         {@link ReadableByteChannel} de onde serão lidos os dados.
+     * @param tamanhoBuffer Tamanho, em bytes, do buffer de leitura.
+     */
+    public EntradaBufferizada(final ReadableByteChannel canal, final int tamanhoBuffer) {
+        this.canal = canal;
+        this.buffer = ByteBuffer.allocate(tamanhoBuffer);
+        this.buffer.flip();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Integer leInteiro() {
+        leLinha();
+        if (tamanhoLinha == 0) {
+            return 0;
+        }
+        return interpretaInteiro();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String leString() {
+        leLinha();
+        return new String(linha, 0, tamanhoLinha, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double leDouble() {
+        leLinha();
+        return interpretaDouble();
+    }
+
+    /**
+     * Lê a próxima linha do canal para {@code linha}, descartando o terminador ("\n" ou "\r\n").
+     *
+     * @throws NoSuchElementException Caso não haja mais linhas.
+     */
+    private void leLinha() {
+        tamanhoLinha = 0;
+        boolean leuAlgo = false;
+        while (true) {
+            if (!buffer.hasRemaining() && !preencheBuffer()) {
+                if (!leuAlgo) {
+                    throw new NoSuchElementException("No line found");
+                }
+                break;
+            }
+            leuAlgo = true;
+            byte[] dados = buffer.array();
+            int inicio = buffer.position();
+            int fim = buffer.limit();
+            int i = inicio;
+            while (i < fim && dados[i] != '\n') {
+                i++;
+            }
+            anexaALinha(dados, inicio, i - inicio);
+            if (i < fim) {
+                buffer.position(i + 1);
+                break;
+            }
+            buffer.position(fim);
+        }
+        if (tamanhoLinha > 0 && linha[tamanhoLinha - 1] == '\r') {
+            tamanhoLinha--;
+        }
+    }
+
+    /**
+     * Lê mais bytes do canal para o buffer.
+     *
+     * @return {@code false}, caso o fim do canal tenha sido atingido.
+     */
+    private boolean preencheBuffer() {
+        if (fimDoCanal) {
+            return false;
+        }
+        buffer.clear();
+        try {
+            int lidos;
+            do {
+                lidos = canal.read(buffer);
+            } while (lidos == 0);
+            if (lidos < 0) {
+                fimDoCanal = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.flip();
+        }
+        return buffer.hasRemaining();
+    }
+
+    /**
+     * Anexa {@code quantidade} bytes de {@code dados} à linha atual, aumentando-a caso necessário.
+     */
+    private void anexaALinha(final byte[] dados, final int inicio, final int quantidade) {
+        if (tamanhoLinha + quantidade > linha.length) {
+            linha = Arrays.copyOf(linha, Math.max(linha.length * 2, tamanhoLinha + quantidade));
+        }
+        System.arraycopy(dados, inicio, linha, tamanhoLinha, quantidade);
+        tamanhoLinha += quantidade;
+    }
+
+    /**
+     * Interpreta a linha atual como um inteiro, com as mesmas regras de {@link Integer#parseInt(String)}.
+     *
+     * @return o inteiro lido.
+     * @throws NumberFormatException Caso a linha não seja um inteiro válido.
+     */
+    private int interpretaInteiro() {
+        int i = 0;
+        boolean negativo = false;
+        if (linha[0] == '-' || linha[0] == '+') {
+            negativo = linha[0] == '-';
+            i++;
+            if (tamanhoLinha == 1) {
+                throw erroDeFormato();
+            }
+        }
+        long limite = negativo ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long valor = 0;
+        for (; i < tamanhoLinha; i++) {
+            int digito = linha[i] - '0';
+            if (digito < 0 || digito > 9) {
+                throw erroDeFormato();
+            }
+            valor = valor * 10 + digito;
+            if (valor > limite) {
+                throw erroDeFormato();
+            }
+        }
+        return (int) (negativo ? -valor : valor);
+    }
+
+    /**
+     * Interpreta a linha atual como um número decimal, aceitando ',' ou '.' como separador. Números simples são
+     * convertidos diretamente dos bytes; os demais (notação científica, muitos dígitos, etc.) são delegados a
+     * {@link Double#parseDouble(String)}.
+     *
+     * @return o número lido.
+     * @throws NumberFormatException Caso a linha não seja um número válido.
+     */
+    private double interpretaDouble() {
+        int i = 0;
+        int fim = tamanhoLinha;
+        while (i < fim && linha[i] <= ' ') {
+            i++;
+        }
+        while (fim > i && linha[fim - 1] <= ' ') {
+            fim--;
+        }
+        boolean negativo = false;
+        if (i < fim && (linha[i] == '-' || linha[i] == '+')) {
+            negativo = linha[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digitos = 0;
+        int casasDecimais = 0;
+        boolean separador = false;
+        for (; i < fim; i++) {
+            byte b = linha[i];
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digitos++;
+                if (separador) {
+                    casasDecimais++;
+                }
+                if (mantissa >= MAIOR_MANTISSA_EXATA) {
+                    return interpretaDoubleLento();
+                }
+            } else if ((b == '.' || b == ',') && !separador) {
+                separador = true;
+            } else {
+                return interpretaDoubleLento();
+            }
+        }
+        if (digitos == 0 || casasDecimais >= POTENCIAS_DE_DEZ.length) {
+            return interpretaDoubleLento();
+        }
+        double valor = mantissa / POTENCIAS_DE_DEZ[casasDecimais];
+        return negativo ? -valor : valor;
+    }
+
+    /**
+     * Interpreta a linha atual com {@link Double#parseDouble(String)}, trocando ',' por '.'.
+     *
+     * @return o número lido.
+     */
+    private double interpretaDoubleLento() {
+        return Double.parseDouble(new String(linha, 0, tamanhoLinha, StandardCharsets.UTF_8).replace(",", "."));
+    }
+
+    private NumberFormatException erroDeFormato() {
+        return new NumberFormatException("For input string: \""
+                + new String(linha, 0, tamanhoLinha, StandardCharsets.UTF_8) + "\"");
+    }
+}
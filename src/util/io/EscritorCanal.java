@@ -0,0 +1,196 @@
+package util.io;
+
+import util.FormatadorDecimal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Codifica textos em UTF-8 e números em ASCII num buffer direto reutilizável, escrevendo-o num
+ * {@link WritableByteChannel} sempre que ele enche e em {@link #descarrega()}. A memória usada é a do buffer,
+ * independentemente da quantidade de dados escritos, e as escritas não alocam.
+ * <p>
+ * Não é thread-safe.
+ */
+public final class EscritorCanal {
+
+    /**
+     * Maior quantidade de bytes que um caractere (ou par de surrogates) ocupa em UTF-8.
+     */
+    public static final int MAIOR_CARACTERE_UTF8 = 4;
+
+    /**
+     * Canal no qual serão escritos os dados.
+     */
+    private final WritableByteChannel canal;
+
+    /**
+     * Buffer reutilizável com os bytes ainda não escritos no canal.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Área de trabalho para os números, antes de serem copiados para o buffer.
+     */
+    private final char[] numero = new char[FormatadorDecimal.TAMANHO_MAXIMO];
+
+    /**
+     * Bytes escritos no canal, sem contar os que ainda estão no buffer.
+     */
+    private long bytesDescarregados;
+
+    /**
+     * Construtor.
+     *
+     * @param canal         {@link WritableByteChannel} no qual serão escritos os dados.
+     * @param tamanhoBuffer Tamanho, em bytes, do buffer de escrita.
+     */
+    public EscritorCanal(final WritableByteChannel canal, final int tamanhoBuffer) {
+        if (tamanhoBuffer < MAIOR_CARACTERE_UTF8) {
+            throw new IllegalArgumentException("O buffer deve ter ao menos " + MAIOR_CARACTERE_UTF8 + " bytes.");
+        }
+        this.canal = canal;
+        this.buffer = ByteBuffer.allocateDirect(tamanhoBuffer);
+    }
+
+    /**
+     * Codifica {@code texto} em UTF-8. Surrogates sem par são escritos como '?'.
+     *
+     * @param texto Texto a ser escrito.
+     * @return Este escritor.
+     * @throws IOException Caso a escrita no canal falhe.
+     */
+    public EscritorCanal escreve(final CharSequence texto) throws IOException {
+        int tamanho = texto.length();
+        for (int i = 0; i < tamanho; i++) {
+            char c = texto.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < tamanho && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                escreveCodePoint(Character.toCodePoint(c, texto.charAt(++i)));
+            } else {
+                escreve(c);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Codifica um caractere em UTF-8. Surrogates são escritos como '?'; use {@link #escreveCodePoint(int)} para
+     * caracteres fora do plano básico.
+     *
+     * @param c Caractere a ser escrito.
+     * @return Este escritor.
+     * @throws IOException Caso a escrita no canal falhe.
+     */
+    public EscritorCanal escreve(final char c) throws IOException {
+        garanteEspaco(MAIOR_CARACTERE_UTF8);
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | (c >> 6)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        } else if (Character.isSurrogate(c)) {
+            buffer.put((byte) '?');
+        } else {
+            buffer.put((byte) (0xE0 | (c >> 12)));
+            buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        }
+        return this;
+    }
+
+    /**
+     * Codifica um code point em UTF-8.
+     *
+     * @param codePoint Code point a ser escrito.
+     * @return Este escritor.
+     * @throws IOException Caso a escrita no canal falhe.
+     */
+    public EscritorCanal escreveCodePoint(final int codePoint) throws IOException {
+        if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            return escreve((char) codePoint);
+        }
+        garanteEspaco(MAIOR_CARACTERE_UTF8);
+        buffer.put((byte) (0xF0 | (codePoint >> 18)));
+        buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+        buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+        buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+        return this;
+    }
+
+    /**
+     * Escreve um inteiro em decimal.
+     *
+     * @param valor Valor a ser escrito.
+     * @return Este escritor.
+     * @throws IOException Caso a escrita no canal falhe.
+     */
+    public EscritorCanal escreve(final long valor) throws IOException {
+        int inicio = numero.length;
+        long restante = valor;
+        do {
+            numero[--inicio] = (char) ('0' + Math.abs(restante % 10));
+            restante /= 10;
+        } while (restante != 0);
+        if (valor < 0) {
+            numero[--inicio] = '-';
+        }
+        return copiaNumero(inicio, numero.length);
+    }
+
+    /**
+     * Escreve um número com {@code casas} casas decimais, como {@link FormatadorDecimal}.
+     *
+     * @param valor Valor a ser escrito.
+     * @param casas Quantidade de casas decimais.
+     * @return Este escritor.
+     * @throws IOException Caso a escrita no canal falhe.
+     */
+    public EscritorCanal escreveDecimal(final double valor, final int casas) throws IOException {
+        int fim = FormatadorDecimal.escreve(valor, casas, numero, 0);
+        if (fim < 0) {
+            return escreve(FormatadorDecimal.formata(valor, casas));
+        }
+        return copiaNumero(0, fim);
+    }
+
+    /**
+     * Escreve no canal todo o conteúdo do buffer.
+     *
+     * @throws IOException Caso a escrita no canal falhe.
+     */
+    public void descarrega() throws IOException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                bytesDescarregados += canal.write(buffer);
+            }
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * @return A quantidade de bytes escritos até agora, incluindo os que ainda estão no buffer.
+     */
+    public long getBytesEscritos() {
+        return bytesDescarregados + buffer.position();
+    }
+
+    /**
+     * Copia para o buffer os caracteres ASCII de {@link #numero} entre {@code inicio} e {@code fim}.
+     */
+    private EscritorCanal copiaNumero(final int inicio, final int fim) throws IOException {
+        for (int i = inicio; i < fim; i++) {
+            garanteEspaco(1);
+            buffer.put((byte) numero[i]);
+        }
+        return this;
+    }
+
+    private void garanteEspaco(final int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            descarrega();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package util.io;
+
+/**
+ * Pontos da execução do sistema nos quais uma {@link Saida} pode descarregar o que foi escrito.
+ */
+public enum PontoDescarga {
+    /**
+     * Fim da execução de um comando do usuário.
+     */
+    FIM_DE_COMANDO,
+
+    /**
+     * Fim da escrita de um relatório.
+     */
+    FIM_DE_RELATORIO,
+
+    /**
+     * Encerramento do sistema. Toda {@link Saida} deve descarregar seu conteúdo neste ponto.
+     */
+    ENCERRAMENTO
+}
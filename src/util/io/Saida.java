@@ -12,4 +12,13 @@ public interface Saida {
      * @param str - {@link String} a ser escrita.
      */
     void escreve(String str);
+
+    /**
+     * Indica que a execução atingiu {@code ponto}, permitindo que o conteúdo escrito até aqui seja descarregado. Não
+     * faz nada por padrão, para saídas que escrevem tudo imediatamente.
+     *
+     * @param ponto - {@link PontoDescarga} atingido.
+     */
+    default void descarrega(PontoDescarga ponto) {
+    }
 }
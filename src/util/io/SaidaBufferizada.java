@@ -0,0 +1,96 @@
+package util.io;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Implementação de {@link Saida} que codifica o texto em UTF-8 num buffer de bytes reutilizável, por meio de um
+ * {@link EscritorCanal}, e o escreve em blocos grandes num {@link WritableByteChannel}.
+ * <p>
+ * O buffer é descarregado quando fica cheio, nos {@link PontoDescarga}s configurados e sempre no
+ * {@link PontoDescarga#ENCERRAMENTO}.
+ */
+public class SaidaBufferizada implements Saida {
+
+    private static final int TAMANHO_BUFFER_PADRAO = 1 << 16;
+
+    private static final String SEPARADOR_LINHA = System.lineSeparator();
+
+    /**
+     * Escritor com o buffer reutilizável dos bytes ainda não escritos no canal.
+     */
+    private final EscritorCanal escritor;
+
+    /**
+     * Pontos nos quais o buffer será descarregado.
+     */
+    private final Set<PontoDescarga> pontosDescarga;
+
+    /**
+     * Construtor padrão, que escreve na saída padrão e descarrega apenas quando o buffer enche, ao fim dos relatórios
+     * e no encerramento.
+     */
+    public SaidaBufferizada() {
+        this(new FileOutputStream(FileDescriptor.out).getChannel(), TAMANHO_BUFFER_PADRAO,
+                EnumSet.of(PontoDescarga.FIM_DE_RELATORIO));
+    }
+
+    /**
+     * Construtor.
+     *
+     * @param canal          {@link WritableByteChannel} no qual serão escritos os dados.
+     * @param tamanhoBuffer  Tamanho, em bytes, do buffer de escrita.
+     * @param pontosDescarga {@link PontoDescarga}s nos quais o buffer deve ser descarregado.
+     */
+    public SaidaBufferizada(final WritableByteChannel canal, final int tamanhoBuffer,
+                            final Set<PontoDescarga> pontosDescarga) {
+        this.escritor = new EscritorCanal(canal, tamanhoBuffer);
+        this.pontosDescarga = EnumSet.of(PontoDescarga.ENCERRAMENTO);
+        this.pontosDescarga.addAll(pontosDescarga);
+    }
+
+    /**
+     * Registra um gancho de encerramento da JVM que descarrega esta saída.
+     */
+    public void registraGanchoEncerramento() {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> descarrega(PontoDescarga.ENCERRAMENTO)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void escreve(final String str) {
+        try {
+            escritor.escreve(str).escreve(SEPARADOR_LINHA);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void descarrega(final PontoDescarga ponto) {
+        if (pontosDescarga.contains(ponto)) {
+            esvaziaBuffer();
+        }
+    }
+
+    /**
+     * Escreve todo o conteúdo do buffer no canal.
+     */
+    private void esvaziaBuffer() {
+        try {
+            escritor.descarrega();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}